@@ -0,0 +1,46 @@
+package ar.edu.utn.frc.backend.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Punto de entrada de benchmarks.jar. Acepta las mismas opciones que org.openjdk.jmh.Main,
+ * pero si no se indica formato de resultados los guarda en JSON (target/jmh-result.json)
+ * para poder comparar corridas entre versiones.
+ */
+public final class EjecutarBenchmarks {
+
+    private static final String ARCHIVO_RESULTADOS = "target/jmh-result.json";
+
+    private EjecutarBenchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions lineaDeComandos = new CommandLineOptions(args);
+        if (lineaDeComandos.shouldHelp()) {
+            lineaDeComandos.showHelp();
+            return;
+        }
+        if (lineaDeComandos.shouldList()) {
+            new Runner(lineaDeComandos).list();
+            return;
+        }
+
+        OptionsBuilder opciones = new OptionsBuilder();
+        opciones.parent(lineaDeComandos);
+
+        if (lineaDeComandos.getResultFormat().hasValue() || lineaDeComandos.getResult().hasValue()) {
+            new Runner(opciones.build()).run();
+            return;
+        }
+
+        Options conJson = opciones
+                .resultFormat(ResultFormatType.JSON)
+                .result(ARCHIVO_RESULTADOS)
+                .build();
+        new Runner(conJson).run();
+    }
+}
@@ -0,0 +1,45 @@
+package ar.edu.utn.frc.backend.benchmarks;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Acceso a miembros privados de las clases medidas, para ejercitar el código real
+ * sin cambiar su visibilidad ni levantar el contexto de Spring.
+ */
+public final class Reflexion {
+
+    private Reflexion() {
+    }
+
+    public static MethodHandle metodo(Class<?> clase, String nombre, Class<?> retorno, Class<?>... parametros) {
+        try {
+            return MethodHandles.privateLookupIn(clase, MethodHandles.lookup())
+                    .findVirtual(clase, nombre, MethodType.methodType(retorno, parametros));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se encontró el método " + clase.getSimpleName() + "." + nombre, e);
+        }
+    }
+
+    // Clase anidada privada, para usarla como tipo de parámetro o retorno en metodo(...)
+    public static Class<?> claseAnidada(Class<?> externa, String nombre) {
+        for (Class<?> anidada : externa.getDeclaredClasses()) {
+            if (anidada.getSimpleName().equals(nombre)) {
+                return anidada;
+            }
+        }
+        throw new IllegalStateException("No se encontró la clase " + externa.getSimpleName() + "." + nombre);
+    }
+
+    public static void asignar(Object destino, String campo, Object valor) {
+        try {
+            Field field = destino.getClass().getDeclaredField(campo);
+            field.setAccessible(true);
+            field.set(destino, valor);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("No se pudo asignar el campo " + campo, e);
+        }
+    }
+}
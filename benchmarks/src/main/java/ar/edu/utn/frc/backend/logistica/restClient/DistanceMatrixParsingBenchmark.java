@@ -0,0 +1,106 @@
+package ar.edu.utn.frc.backend.logistica.restClient;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ar.edu.utn.frc.backend.benchmarks.Reflexion;
+import ar.edu.utn.frc.backend.logistica.config.GoogleMapsResilienciaProperties;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.MatrizDistanciasDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Parseo de respuestas de la Distance Matrix API: lectura en streaming de GoogleMapsClient.parsearMatriz
+ * contra el modelo de árbol (readTree) que usa la consulta de un solo tramo.
+ * Escala el tamaño de la respuesta: 1x1 (un tramo) y 10x10 (un bloque completo de 100 elementos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DistanceMatrixParsingBenchmark {
+
+    private static final MethodHandle PARSEAR_MATRIZ = Reflexion.metodo(GoogleMapsClient.class, "parsearMatriz",
+            String.class, InputStream.class, MatrizDistanciasDto.class, int.class, int.class, int.class, int.class);
+
+    @Param({"1", "10"})
+    private int lado;
+
+    private GoogleMapsClient googleMapsClient;
+    private ObjectMapper objectMapper;
+    private byte[] respuesta;
+
+    @Setup
+    public void preparar() {
+        googleMapsClient = new GoogleMapsClient(RestClient.create(), "benchmark", null,
+                new GoogleMapsResilienciaProperties(), null, new SimpleMeterRegistry());
+        objectMapper = new ObjectMapper();
+
+        StringBuilder json = new StringBuilder("{\"destination_addresses\":[");
+        for (int j = 0; j < lado; j++) {
+            json.append(j > 0 ? "," : "").append("\"Destino ").append(j).append(", Córdoba, Argentina\"");
+        }
+        json.append("],\"origin_addresses\":[");
+        for (int i = 0; i < lado; i++) {
+            json.append(i > 0 ? "," : "").append("\"Origen ").append(i).append(", Rosario, Argentina\"");
+        }
+        json.append("],\"rows\":[");
+        for (int i = 0; i < lado; i++) {
+            json.append(i > 0 ? "," : "").append("{\"elements\":[");
+            for (int j = 0; j < lado; j++) {
+                int metros = 100_000 + i * 1_000 + j;
+                json.append(j > 0 ? "," : "")
+                        .append("{\"distance\":{\"text\":\"").append(metros / 1000).append(" km\",\"value\":").append(metros)
+                        .append("},\"duration\":{\"text\":\"1 hour 15 mins\",\"value\":").append(4500 + i + j)
+                        .append("},\"status\":\"OK\"}");
+            }
+            json.append("]}");
+        }
+        json.append("],\"status\":\"OK\"}");
+        respuesta = json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public MatrizDistanciasDto streaming() throws Throwable {
+        MatrizDistanciasDto matriz = new MatrizDistanciasDto(lado, lado);
+        PARSEAR_MATRIZ.invoke(googleMapsClient, (InputStream) new ByteArrayInputStream(respuesta), matriz, 0, 0, lado, lado);
+        return matriz;
+    }
+
+    @Benchmark
+    public MatrizDistanciasDto arbol() throws Exception {
+        MatrizDistanciasDto matriz = new MatrizDistanciasDto(lado, lado);
+        JsonNode rows = objectMapper.readTree(respuesta).path("rows");
+        for (int i = 0; i < rows.size(); i++) {
+            JsonNode elements = rows.get(i).path("elements");
+            for (int j = 0; j < elements.size(); j++) {
+                JsonNode element = elements.get(j);
+                if ("OK".equals(element.path("status").asText())) {
+                    matriz.setCelda(i, j, (float) (element.path("distance").path("value").asDouble() / 1000.0),
+                            element.path("duration").path("value").asLong());
+                }
+            }
+        }
+        return matriz;
+    }
+}
@@ -0,0 +1,72 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compara el costo de un lote de tramos calculado con BigDecimal (cálculo original)
+ * contra el núcleo en centavos de CalculadoraCostoTramo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CostoTramoBenchmark {
+
+    @Param({"100000"})
+    private int tramos;
+
+    private float[] distancias;
+    private CalculadoraCostoTramo calculadora;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(42);
+        distancias = new float[tramos];
+        for (int i = 0; i < tramos; i++) {
+            distancias[i] = random.nextFloat() * 1_500f;
+        }
+        calculadora = new CalculadoraCostoTramo(new BigDecimal("0.35"), new BigDecimal("120.50"),
+                new BigDecimal("1450.00"), new BigDecimal("5000.00"));
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        for (float distancia : distancias) {
+            blackhole.consume(calculadora.costoExacto(distancia));
+        }
+    }
+
+    @Benchmark
+    public void centavos(Blackhole blackhole) {
+        for (float distancia : distancias) {
+            blackhole.consume(calculadora.costoCentavos(distancia));
+        }
+    }
+
+    // Suma de la ruta en centavos y conversión única a BigDecimal (como en armarRutaTentativa)
+    @Benchmark
+    public BigDecimal centavosConTotal() {
+        long total = 0;
+        for (float distancia : distancias) {
+            total += calculadora.costoCentavos(distancia);
+        }
+        return CalculadoraCostoTramo.aMonto(total);
+    }
+}
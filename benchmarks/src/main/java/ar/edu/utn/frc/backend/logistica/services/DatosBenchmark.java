@@ -0,0 +1,99 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
+import ar.edu.utn.frc.backend.logistica.entities.Camion;
+import ar.edu.utn.frc.backend.logistica.entities.Ciudad;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+
+/**
+ * Genera datos sintéticos reproducibles para los benchmarks: depósitos repartidos en una zona
+ * similar a la de Argentina, su matriz de distancias (Haversine * 1.25 como aproximación de ruta)
+ * y camiones con costos y consumos variados.
+ */
+final class DatosBenchmark {
+
+    private static final double FACTOR_RUTA = 1.25;
+
+    private DatosBenchmark() {
+    }
+
+    static List<Deposito> depositos(int cantidad) {
+        Random random = new Random(42);
+        Ciudad ciudad = new Ciudad(1, "Córdoba", "5000");
+        List<Deposito> depositos = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            depositos.add(new Deposito(i + 1, "Depósito " + (i + 1), "Calle " + i,
+                    BigDecimal.valueOf(1000 + random.nextInt(9000), 2),
+                    -55f + random.nextFloat() * 33f, -73f + random.nextFloat() * 20f, ciudad));
+        }
+        return depositos;
+    }
+
+    static List<DepositoDto> dtos(List<Deposito> depositos) {
+        List<DepositoDto> dtos = new ArrayList<>(depositos.size());
+        for (Deposito deposito : depositos) {
+            dtos.add(DepositoDto.builder()
+                    .id(deposito.getId())
+                    .nombre(deposito.getNombre())
+                    .direccion(deposito.getDireccion())
+                    .precioPorDia(deposito.getPrecioPorDia())
+                    .latitud(deposito.getLatitud())
+                    .Longitud(deposito.getLongitud())
+                    .ciudad(deposito.getCiudad().getNombre())
+                    .build());
+        }
+        return dtos;
+    }
+
+    static MatrizDepositos matriz(List<Deposito> depositos) {
+        int n = depositos.size();
+        int[] ids = new int[n];
+        float[] latitudes = new float[n];
+        float[] longitudes = new float[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = depositos.get(i).getId();
+            latitudes[i] = depositos.get(i).getLatitud();
+            longitudes[i] = depositos.get(i).getLongitud();
+        }
+
+        float[][] kilometros = new float[n][n];
+        long[][] duraciones = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                double km = haversine(latitudes[i], longitudes[i], latitudes[j], longitudes[j]) * FACTOR_RUTA;
+                kilometros[i][j] = (float) km;
+                duraciones[i][j] = (long) (km / 80.0 * 3600);
+            }
+        }
+        return new MatrizDepositos(ids, latitudes, longitudes, kilometros, duraciones, new boolean[n][n], null);
+    }
+
+    static List<Camion> camiones(int cantidad) {
+        Random random = new Random(7);
+        List<Camion> camiones = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            Camion camion = new Camion();
+            camion.setId(i + 1);
+            camion.setDominio("AA" + (100 + i) + "BB");
+            camion.setCapacidadVolumen(BigDecimal.valueOf(3000 + random.nextInt(7000), 2));
+            camion.setCapacidadPeso(BigDecimal.valueOf(500000 + random.nextInt(2500000), 2));
+            camion.setCostoPorKm(BigDecimal.valueOf(8000 + random.nextInt(8000), 2));
+            camion.setConsumoCombustiblePromedio(BigDecimal.valueOf(20 + random.nextInt(30), 2));
+            camiones.add(camion);
+        }
+        return camiones;
+    }
+
+    static double haversine(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 6371.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+}
@@ -0,0 +1,101 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.modelmapper.ModelMapper;
+import org.modelmapper.convention.MatchingStrategies;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
+import ar.edu.utn.frc.backend.logistica.dto.TramoDto;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+import ar.edu.utn.frc.backend.logistica.entities.Estado;
+import ar.edu.utn.frc.backend.logistica.entities.TipoTramo;
+import ar.edu.utn.frc.backend.logistica.entities.Tramo;
+import ar.edu.utn.frc.backend.logistica.mappers.DepositoMapper;
+import ar.edu.utn.frc.backend.logistica.mappers.TramoMapper;
+
+/**
+ * Mapeo entidad -> DTO de depósitos y tramos: mappers escritos a mano contra ModelMapper con la
+ * configuración que tenía la aplicación (STRICT, sin nulos). Correr con '-prof gc' para comparar
+ * también los bytes asignados por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeoDtosBenchmark {
+
+    private ModelMapper modelMapper;
+    private Deposito deposito;
+    private Tramo tramo;
+
+    @Setup
+    public void preparar() {
+        modelMapper = new ModelMapper();
+        modelMapper.getConfiguration()
+                .setMatchingStrategy(MatchingStrategies.STRICT)
+                .setSkipNullEnabled(true);
+
+        deposito = DatosBenchmark.depositos(1).get(0);
+        tramo = new Tramo();
+        tramo.setId(1);
+        tramo.setNroOrden(1);
+        tramo.setCostoEstimado(new BigDecimal("125000.50"));
+        tramo.setTiempoEstimado(14_400L);
+        tramo.setFechaHoraInicio(LocalDateTime.of(2025, 11, 1, 8, 0));
+        tramo.setDistanciaKm(320f);
+        tramo.setEstado(Estado.builder().id(1).nombre("Iniciado").build());
+        tramo.setTipoTramo(TipoTramo.ORIGEN_DEPOSITO);
+        tramo.setOrigen(deposito);
+        tramo.setDestino(DatosBenchmark.depositos(2).get(1));
+        tramo.setCamion(DatosBenchmark.camiones(1).get(0));
+    }
+
+    @Benchmark
+    public DepositoDto depositoModelMapper() {
+        DepositoDto dto = modelMapper.map(deposito, DepositoDto.class);
+        dto.setCiudad(deposito.getCiudad().getNombre());
+        return dto;
+    }
+
+    @Benchmark
+    public DepositoDto depositoMapper() {
+        return DepositoMapper.aDto(deposito);
+    }
+
+    // Lo que hacía TramoService.mapTramoToDto antes de los mappers escritos a mano
+    @Benchmark
+    public TramoDto tramoModelMapper() {
+        TramoDto dto = modelMapper.map(tramo, TramoDto.class);
+        dto.setTiempoEstimadoSegundos(tramo.getTiempoEstimado() != null ? tramo.getTiempoEstimado() : 0L);
+        dto.setTiempoRealSegundos(tramo.getTiempoReal() != null ? tramo.getTiempoReal() : 0L);
+        dto.setNombreEstado(tramo.getEstado().getNombre());
+        dto.setTipoTramo(tramo.getTipoTramo().name());
+        DepositoDto origen = modelMapper.map(tramo.getOrigen(), DepositoDto.class);
+        origen.setCiudad(tramo.getOrigen().getCiudad().getNombre());
+        dto.setOrigen(origen);
+        DepositoDto destino = modelMapper.map(tramo.getDestino(), DepositoDto.class);
+        destino.setCiudad(tramo.getDestino().getCiudad().getNombre());
+        dto.setDestino(destino);
+        return dto;
+    }
+
+    @Benchmark
+    public TramoDto tramoMapper() {
+        return TramoMapper.aDto(tramo);
+    }
+}
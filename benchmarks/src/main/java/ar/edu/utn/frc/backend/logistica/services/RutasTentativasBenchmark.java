@@ -0,0 +1,214 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.lang.invoke.MethodHandle;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.client.RestClient;
+
+import ar.edu.utn.frc.backend.benchmarks.Reflexion;
+import ar.edu.utn.frc.backend.logistica.config.GoogleMapsResilienciaProperties;
+import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
+import ar.edu.utn.frc.backend.logistica.dto.ResumenCamionesDisponiblesDto;
+import ar.edu.utn.frc.backend.logistica.dto.RutaTentativaDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.DistanciaDto;
+import ar.edu.utn.frc.backend.logistica.entities.Contenedor;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+import ar.edu.utn.frc.backend.logistica.entities.SolicitudTransporte;
+import ar.edu.utn.frc.backend.logistica.restClient.GoogleMapsClient;
+import ar.edu.utn.frc.backend.logistica.restClient.LlamadasAsincronas;
+import ar.edu.utn.frc.backend.logistica.restClient.RecursosClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Cálculo de rutas tentativas de una solicitud por el camino de producción (RutaService.calcularTentativas,
+ * con el contexto que arma crearContexto para un lote) sin red ni base de datos: el proveedor de distancias
+ * es un stub que responde con Haversine, Recursos responde un resumen fijo de camiones y los depósitos son
+ * sintéticos. Se mide con la matriz vacía (plantillas de 0/1/2 intermedios por proximidad) y con la matriz
+ * cargada (motor k-rutas), y el motor solo. Escala la cantidad de depósitos; los promedios de camiones
+ * llegan agregados desde el índice de disponibilidad de Recursos (medido en DisponibilidadCamionesBenchmark).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RutasTentativasBenchmark {
+
+    private static final Class<?> CONTEXTO = Reflexion.claseAnidada(RutaService.class, "ContextoTentativas");
+    private static final MethodHandle CREAR_CONTEXTO = Reflexion.metodo(RutaService.class,
+            "crearContexto", CONTEXTO, Map.class);
+    private static final MethodHandle CALCULAR_TENTATIVAS = Reflexion.metodo(RutaService.class,
+            "calcularTentativas", List.class, SolicitudTransporte.class, CONTEXTO);
+
+    private static final int CAMIONES = 10;
+    private static final BigDecimal CONSUMO = new BigDecimal("0.35");
+    private static final BigDecimal COSTO_BASE = new BigDecimal("120.50");
+    private static final BigDecimal COMBUSTIBLE = new BigDecimal("1450.00");
+    private static final BigDecimal CARGO_GESTION = new BigDecimal("5000.00");
+
+    /**
+     * Proveedor de distancias sin red: Haversine * 1.25 y 80 km/h.
+     */
+    static final class GoogleMapsClientStub extends GoogleMapsClient {
+
+        GoogleMapsClientStub() {
+            super(RestClient.create(), "benchmark", null, new GoogleMapsResilienciaProperties(), null,
+                    new SimpleMeterRegistry());
+        }
+
+        @Override
+        public DistanciaDto calcularDistancia(Float latitudOrg, Float longitudOrg, Float latitudDest, Float longitudDest) {
+            double km = DatosBenchmark.haversine(latitudOrg, longitudOrg, latitudDest, longitudDest) * 1.25;
+            return DistanciaDto.builder()
+                    .kilometros(km)
+                    .duracionSegundos((long) (km / 80.0 * 3600))
+                    .build();
+        }
+    }
+
+    /**
+     * Recursos sin red: todos los contenedores entran en 10 camiones cuyos promedios son CONSUMO y COSTO_BASE.
+     */
+    static final class RecursosClientStub extends RecursosClient {
+
+        RecursosClientStub() {
+            super(RestClient.create());
+        }
+
+        @Override
+        public ResumenCamionesDisponiblesDto getResumenCamionesDisponibles(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
+            return new ResumenCamionesDisponiblesDto(CAMIONES, COSTO_BASE.multiply(BigDecimal.valueOf(CAMIONES)),
+                    CONSUMO.multiply(BigDecimal.valueOf(CAMIONES)));
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Red {
+
+        @Param({"13", "100", "1000"})
+        int depositos;
+
+        ExecutorService executor;
+        // Mismo servicio con la matriz vacía (antes del primer refresco) y con la matriz cargada
+        RutaService sinMatriz;
+        RutaService conMatriz;
+        MotorRutasService motorRutasService;
+        MatrizDepositos matriz;
+        CalculadoraCostoTramo calculadora;
+        Map<Integer, DepositoDto> depositosPorId;
+        SolicitudTransporte solicitud;
+        DepositoDto origen;
+        DepositoDto destino;
+
+        @Setup(Level.Trial)
+        public void preparar() {
+            executor = Executors.newFixedThreadPool(8, Thread.ofVirtual().factory());
+            motorRutasService = new MotorRutasService(3, 3);
+
+            List<Deposito> entidades = DatosBenchmark.depositos(depositos);
+            List<DepositoDto> dtos = DatosBenchmark.dtos(entidades);
+            matriz = DatosBenchmark.matriz(entidades);
+            calculadora = new CalculadoraCostoTramo(CONSUMO, COSTO_BASE, COMBUSTIBLE, CARGO_GESTION);
+            depositosPorId = dtos.stream().collect(Collectors.toMap(DepositoDto::getId, Function.identity()));
+            origen = dtos.get(0);
+            destino = dtos.get(dtos.size() - 1);
+
+            solicitud = new SolicitudTransporte();
+            solicitud.setId(1);
+            solicitud.setContenedor(Contenedor.builder()
+                    .id(1)
+                    .volumen(new BigDecimal("30.00"))
+                    .peso(new BigDecimal("12000.00"))
+                    .build());
+            solicitud.setDepositoOrigen(entidades.get(0));
+            solicitud.setDepositoDestino(entidades.get(entidades.size() - 1));
+
+            sinMatriz = crearRutaService(null);
+            conMatriz = crearRutaService(matriz);
+        }
+
+        @TearDown(Level.Trial)
+        public void cerrar() {
+            executor.shutdown();
+        }
+
+        private RutaService crearRutaService(MatrizDepositos precalculada) {
+            GoogleMapsClient googleMapsClient = new GoogleMapsClientStub();
+            LlamadasAsincronas llamadasAsincronas = new LlamadasAsincronas(executor);
+
+            TarifasVigentesService tarifasVigentesService = new TarifasVigentesService(null, llamadasAsincronas,
+                    new SimpleMeterRegistry());
+            Reflexion.asignar(tarifasVigentesService, "vigentes",
+                    new TarifasVigentes(COMBUSTIBLE, null, CARGO_GESTION, null, Instant.now()));
+
+            MatrizDepositosService matrizDepositosService = new MatrizDepositosService(null, googleMapsClient,
+                    new SimpleMeterRegistry(), Duration.ofMinutes(5), Duration.ofHours(6), 5);
+            if (precalculada != null) {
+                Reflexion.asignar(matrizDepositosService, "matriz", precalculada);
+            }
+
+            RutaService rutaService = new RutaService();
+            Reflexion.asignar(rutaService, "tarifasVigentesService", tarifasVigentesService);
+            Reflexion.asignar(rutaService, "googleMapsClient", googleMapsClient);
+            Reflexion.asignar(rutaService, "recursosClient", new RecursosClientStub());
+            Reflexion.asignar(rutaService, "llamadasAsincronas", llamadasAsincronas);
+            Reflexion.asignar(rutaService, "calculoTramosExecutor", executor);
+            Reflexion.asignar(rutaService, "matrizDepositosService", matrizDepositosService);
+            Reflexion.asignar(rutaService, "motorRutasService", motorRutasService);
+            // Valores por defecto de app.rutas.candidatos
+            Reflexion.asignar(rutaService, "factorElipseCandidatos", 1.5);
+            Reflexion.asignar(rutaService, "maxIntermediosCandidatos", 30);
+            return rutaService;
+        }
+    }
+
+    // Matriz vacía: plantillas directa / 1 intermedio / 2 intermedios con el proveedor stub
+    @Benchmark
+    public List<RutaTentativaDto> tentativasPorProximidad(Red red) throws Throwable {
+        return calcularTentativas(red.sinMatriz, red);
+    }
+
+    // Matriz cargada: candidatos en la elipse + k rutas más baratas, tramos leídos de la matriz
+    @Benchmark
+    public List<RutaTentativaDto> tentativasSobreMatriz(Red red) throws Throwable {
+        return calcularTentativas(red.conMatriz, red);
+    }
+
+    // Selección de candidatos en la elipse + k rutas más baratas sobre la matriz precalculada
+    @Benchmark
+    public List<int[]> motorRutasSobreMatriz(Red red) {
+        int origen = red.matriz.indiceDe(red.origen.getId());
+        int destino = red.matriz.indiceDe(red.destino.getId());
+        int[] candidatos = red.matriz.getIndiceEspacial().candidatosEnElipse(origen, destino, 1.5, 30);
+        return red.motorRutasService.buscarRutas(red.matriz, candidatos, origen, destino, red.calculadora);
+    }
+
+    // Un contexto nuevo por solicitud, como en un lote de una sola solicitud (sin tramos ya consultados)
+    @SuppressWarnings("unchecked")
+    private static List<RutaTentativaDto> calcularTentativas(RutaService rutaService, Red red) throws Throwable {
+        Object contexto = CREAR_CONTEXTO.invoke(rutaService, red.depositosPorId);
+        return (List<RutaTentativaDto>) CALCULAR_TENTATIVAS.invoke(rutaService, red.solicitud, contexto);
+    }
+}
@@ -0,0 +1,93 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.lang.invoke.MethodHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ar.edu.utn.frc.backend.benchmarks.Reflexion;
+import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+
+/**
+ * Selección de depósitos intermedios: ordenamiento completo por la heurística euclidiana
+ * (comparador que recalcula ambos scores en cada comparación, como el ordenamiento original)
+ * contra la consulta de la elipse sobre el índice espacial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SeleccionIntermediosBenchmark {
+
+    private static final MethodHandle DISTANCIA_EUCLIDIANA = Reflexion.metodo(RutaService.class,
+            "calculateEuclideanDistanceSquared", double.class, Float.class, Float.class, Float.class, Float.class);
+
+    @Param({"13", "100", "1000", "5000"})
+    private int depositos;
+
+    private RutaService rutaService;
+    private List<DepositoDto> dtos;
+    private IndiceEspacialDepositos indice;
+    private float[] latitudes;
+    private float[] longitudes;
+
+    @Setup
+    public void preparar() {
+        rutaService = new RutaService();
+        List<Deposito> entidades = DatosBenchmark.depositos(depositos);
+        dtos = DatosBenchmark.dtos(entidades);
+        latitudes = new float[depositos];
+        longitudes = new float[depositos];
+        for (int i = 0; i < depositos; i++) {
+            latitudes[i] = entidades.get(i).getLatitud();
+            longitudes[i] = entidades.get(i).getLongitud();
+        }
+        indice = new IndiceEspacialDepositos(latitudes, longitudes);
+    }
+
+    @Benchmark
+    public List<DepositoDto> ordenamientoEuclidiano() {
+        DepositoDto origen = dtos.get(0);
+        DepositoDto destino = dtos.get(dtos.size() - 1);
+        List<DepositoDto> intermedios = new ArrayList<>(dtos.subList(1, dtos.size() - 1));
+        intermedios.sort((depA, depB) -> Double.compare(score(origen, depA, destino), score(origen, depB, destino)));
+        return intermedios;
+    }
+
+    @Benchmark
+    public int[] indiceEspacial() {
+        return indice.candidatosEnElipse(0, depositos - 1, 1.5, 30);
+    }
+
+    // Costo de reconstruir el índice (solo ocurre cuando cambian los depósitos)
+    @Benchmark
+    public IndiceEspacialDepositos construccionIndice() {
+        return new IndiceEspacialDepositos(latitudes, longitudes);
+    }
+
+    private double score(DepositoDto origen, DepositoDto intermedio, DepositoDto destino) {
+        try {
+            return (double) DISTANCIA_EUCLIDIANA.invoke(rutaService,
+                    origen.getLatitud(), origen.getLongitud(), intermedio.getLatitud(), intermedio.getLongitud())
+                    + (double) DISTANCIA_EUCLIDIANA.invoke(rutaService,
+                    intermedio.getLatitud(), intermedio.getLongitud(), destino.getLatitud(), destino.getLongitud());
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
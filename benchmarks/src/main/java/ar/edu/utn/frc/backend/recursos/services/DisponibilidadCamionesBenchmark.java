@@ -0,0 +1,97 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ar.edu.utn.frc.backend.recursos.dto.CamionDto;
+import ar.edu.utn.frc.backend.recursos.dto.ResumenCamionesDisponiblesDto;
+
+/**
+ * Consultas de camiones disponibles por capacidad mínima sobre IndiceDisponibilidadCamiones (listado y
+ * resumen con cantidad y sumas de costo y consumo) contra el filtrado lineal de la flota que reemplaza.
+ * La flota es sintética (uno de cada cinco camiones ocupado) y la capacidad pedida deja pasar cerca
+ * de la mitad de los camiones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisponibilidadCamionesBenchmark {
+
+    private static final BigDecimal VOLUMEN_MINIMO = new BigDecimal("50.00");
+    private static final BigDecimal PESO_MINIMO = new BigDecimal("10000.00");
+
+    @Param({"10", "100", "1000"})
+    private int camiones;
+
+    private List<CamionDto> flota;
+    private IndiceDisponibilidadCamiones indice;
+
+    @Setup
+    public void preparar() {
+        Random random = new Random(7);
+        flota = new ArrayList<>(camiones);
+        for (int i = 0; i < camiones; i++) {
+            flota.add(CamionDto.builder()
+                    .id(i + 1)
+                    .dominio("AA" + (100 + i) + "BB")
+                    .capacidadVolumen(BigDecimal.valueOf(3000 + random.nextInt(7000), 2))
+                    .capacidadPeso(BigDecimal.valueOf(500000 + random.nextInt(2500000), 2))
+                    .costoPorKm(BigDecimal.valueOf(8000 + random.nextInt(8000), 2))
+                    .consumoCombustiblePromedio(BigDecimal.valueOf(20 + random.nextInt(30), 2))
+                    .disponibilidad(i % 5 != 0)
+                    .build());
+        }
+        indice = IndiceDisponibilidadCamiones.de(flota);
+    }
+
+    @Benchmark
+    public List<CamionDto> buscarEnIndice() {
+        return indice.buscar(VOLUMEN_MINIMO, PESO_MINIMO);
+    }
+
+    @Benchmark
+    public ResumenCamionesDisponiblesDto resumirEnIndice() {
+        return indice.resumir(VOLUMEN_MINIMO, PESO_MINIMO);
+    }
+
+    // Línea de base: recorrer toda la flota filtrando y sumando
+    @Benchmark
+    public ResumenCamionesDisponiblesDto resumirRecorriendo() {
+        ResumenCamionesDisponiblesDto resumen = new ResumenCamionesDisponiblesDto(0, BigDecimal.ZERO, BigDecimal.ZERO);
+        for (CamionDto camion : flota) {
+            if (IndiceDisponibilidadCamiones.esIndexable(camion)
+                    && camion.getCapacidadVolumen().compareTo(VOLUMEN_MINIMO) >= 0
+                    && camion.getCapacidadPeso().compareTo(PESO_MINIMO) >= 0) {
+                resumen.setCantidad(resumen.getCantidad() + 1);
+                resumen.setSumaCostoPorKm(resumen.getSumaCostoPorKm().add(camion.getCostoPorKm()));
+                resumen.setSumaConsumoCombustiblePromedio(
+                        resumen.getSumaConsumoCombustiblePromedio().add(camion.getConsumoCombustiblePromedio()));
+            }
+        }
+        return resumen;
+    }
+
+    // Costo de reconstruir el índice (recarga programada o cambio de un camión)
+    @Benchmark
+    public IndiceDisponibilidadCamiones construccionIndice() {
+        return IndiceDisponibilidadCamiones.de(flota);
+    }
+}
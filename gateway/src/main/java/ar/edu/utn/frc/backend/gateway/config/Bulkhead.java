@@ -0,0 +1,114 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Límite de pedidos simultáneos hacia un servicio, sin bloquear hilos: hasta 'maxConcurrentes' en curso,
+ * hasta 'maxEnCola' esperando (en orden de llegada) como mucho 'esperaMaxima'. Lo que no entra se rechaza
+ * con Rechazo. Cada permiso obtenido con adquirir() se devuelve con liberar().
+ */
+final class Bulkhead {
+
+    static final class Rechazo extends RuntimeException {
+        private final String motivo;
+
+        Rechazo(String nombre, String motivo) {
+            super("Bulkhead '" + nombre + "' sin lugar (" + motivo + ")", null, false, false);
+            this.motivo = motivo;
+        }
+
+        String getMotivo() {
+            return motivo;
+        }
+    }
+
+    private static final class Espera {
+        private final MonoSink<Boolean> sink;
+        private boolean otorgado;
+
+        private Espera(MonoSink<Boolean> sink) {
+            this.sink = sink;
+        }
+    }
+
+    private final String nombre;
+    private final int maxConcurrentes;
+    private final int maxEnCola;
+    private final Duration esperaMaxima;
+
+    // Solo se usan con el lock de la instancia
+    private int enCurso;
+    private final ArrayDeque<Espera> cola = new ArrayDeque<>();
+
+    Bulkhead(String nombre, LimitesTraficoProperties.Bulkhead configuracion) {
+        this.nombre = nombre;
+        this.maxConcurrentes = configuracion.getMaxConcurrentes();
+        this.maxEnCola = configuracion.getMaxEnCola();
+        this.esperaMaxima = configuracion.getEsperaMaxima();
+    }
+
+    Mono<Boolean> adquirir() {
+        return Mono.<Boolean>create(sink -> {
+            Espera espera = new Espera(sink);
+            // Si se cancela antes de recibir el permiso: sale de la cola o, si ya se le otorgó, lo devuelve
+            sink.onCancel(() -> cancelar(espera));
+            boolean inmediato;
+            boolean encolado = false;
+            synchronized (this) {
+                inmediato = enCurso < maxConcurrentes;
+                if (inmediato) {
+                    enCurso++;
+                    espera.otorgado = true;
+                } else if (cola.size() < maxEnCola) {
+                    cola.addLast(espera);
+                    encolado = true;
+                }
+            }
+            if (inmediato) {
+                sink.success(Boolean.TRUE);
+            } else if (!encolado) {
+                sink.error(new Rechazo(nombre, "cola-llena"));
+            }
+        }).timeout(esperaMaxima, Mono.error(() -> new Rechazo(nombre, "espera-vencida")));
+    }
+
+    // El permiso pasa al primero de la cola o queda libre
+    void liberar() {
+        Espera siguiente;
+        synchronized (this) {
+            siguiente = cola.pollFirst();
+            if (siguiente == null) {
+                enCurso--;
+                return;
+            }
+            siguiente.otorgado = true;
+        }
+        siguiente.sink.success(Boolean.TRUE);
+    }
+
+    private void cancelar(Espera espera) {
+        boolean devolver;
+        synchronized (this) {
+            devolver = !cola.remove(espera) && espera.otorgado;
+        }
+        if (devolver) {
+            liberar();
+        }
+    }
+
+    Duration getEsperaMaxima() {
+        return esperaMaxima;
+    }
+
+    synchronized int getEnCurso() {
+        return enCurso;
+    }
+
+    synchronized int getEnCola() {
+        return cola.size();
+    }
+}
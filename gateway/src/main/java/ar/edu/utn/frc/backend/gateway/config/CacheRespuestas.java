@@ -0,0 +1,46 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Crea los filtros de cache de respuestas de cada ruta (CacheRespuestasFilter) según
+ * CacheRespuestasProperties. Una escritura exitosa por cualquiera de esas rutas vacía todas las caches:
+ * los datos de referencia dependen entre sí (un depósito incluye el nombre de su ciudad) y cambian poco.
+ */
+@Component
+public class CacheRespuestas {
+
+    private final CacheRespuestasProperties properties;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final List<CacheRespuestasFilter> filtros = new CopyOnWriteArrayList<>();
+
+    public CacheRespuestas(CacheRespuestasProperties properties, WebClient webClient, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Filtro para la ruta 'idRuta'; si la ruta no tiene cache configurada, no hace nada
+    public GatewayFilter paraRuta(String idRuta) {
+        CacheRespuestasProperties.Ruta configuracion = properties.getRutas().get(idRuta);
+        if (configuracion == null) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        CacheRespuestasFilter filtro = new CacheRespuestasFilter(idRuta, configuracion, webClient, meterRegistry,
+                this::invalidarTodo);
+        filtros.add(filtro);
+        return filtro;
+    }
+
+    public void invalidarTodo() {
+        filtros.forEach(CacheRespuestasFilter::invalidarTodo);
+    }
+}
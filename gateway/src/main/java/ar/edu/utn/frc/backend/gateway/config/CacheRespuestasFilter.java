@@ -0,0 +1,318 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.net.URI;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Cache de respuestas GET de una ruta del gateway (datos de referencia de Recursos).
+ * <ul>
+ * <li>La clave es la ruta, la query, el Accept y los roles del usuario (Vary por rol): usuarios con los
+ * mismos roles comparten la respuesta, porque los servicios autorizan estas rutas solo por rol.</li>
+ * <li>Solo se guardan respuestas 200. Dentro del 'ttl' se responden sin ir al servicio (y con 304 si el
+ * cliente manda el mismo ETag).</li>
+ * <li>Vencido el ttl y dentro de 'stale-while-revalidate', se responde lo guardado y se revalida en segundo
+ * plano con If-None-Match. Más tarde, se revalida antes de responder. Si la revalidación falla, el pedido
+ * sigue el camino normal de la ruta.</li>
+ * <li>Los cuerpos guardados suman como mucho 'maximo-bytes'; se descartan los menos usados.</li>
+ * <li>Un POST/PUT/DELETE exitoso por la ruta invalida la cache (ver CacheRespuestas).</li>
+ * </ul>
+ */
+public final class CacheRespuestasFilter implements GatewayFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheRespuestasFilter.class);
+    static final String CABECERA_ESTADO = "X-Cache";
+
+    private record Entrada(byte[] cuerpo, MediaType tipo, String etag, String ultimaModificacion,
+            Instant vence, Instant obsoletaHasta) {
+    }
+
+    private final String idRuta;
+    private final CacheRespuestasProperties.Ruta configuracion;
+    private final WebClient webClient;
+    private final Runnable alEscribir;
+    private final long maximoBytes;
+
+    // Orden de acceso (LRU); solo se usa con el lock de la instancia
+    private final LinkedHashMap<String, Entrada> entradas = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    // Se incrementa en cada invalidación: una respuesta pedida antes no se guarda
+    private long generacion;
+    private final Set<String> revalidando = ConcurrentHashMap.newKeySet();
+
+    private final Counter aciertos;
+    private final Counter obsoletos;
+    private final Counter revalidados;
+    private final Counter fallos;
+
+    CacheRespuestasFilter(String idRuta, CacheRespuestasProperties.Ruta configuracion, WebClient webClient,
+            MeterRegistry meterRegistry, Runnable alEscribir) {
+        this.idRuta = idRuta;
+        this.configuracion = configuracion;
+        this.webClient = webClient;
+        this.alEscribir = alEscribir;
+        this.maximoBytes = configuracion.getMaximoBytes().toBytes();
+
+        this.aciertos = contador(meterRegistry, "acierto");
+        this.obsoletos = contador(meterRegistry, "obsoleto");
+        this.revalidados = contador(meterRegistry, "revalidado");
+        this.fallos = contador(meterRegistry, "fallo");
+        Gauge.builder("gateway.cache.respuestas.bytes", this, CacheRespuestasFilter::bytesGuardados)
+                .description("Bytes de cuerpos de respuesta guardados en la cache de la ruta")
+                .tag("ruta", idRuta)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        HttpMethod metodo = exchange.getRequest().getMethod();
+        if (HttpMethod.HEAD.equals(metodo) || HttpMethod.OPTIONS.equals(metodo)) {
+            return chain.filter(exchange);
+        }
+        if (!HttpMethod.GET.equals(metodo)) {
+            return chain.filter(exchange).then(Mono.fromRunnable(() -> {
+                HttpStatusCode status = exchange.getResponse().getStatusCode();
+                if (status != null && status.is2xxSuccessful()) {
+                    alEscribir.run();
+                }
+            }));
+        }
+
+        return clave(exchange).flatMap(clave -> {
+            Instant ahora = Instant.now();
+            Entrada entrada = obtener(clave);
+            if (entrada != null && ahora.isBefore(entrada.vence())) {
+                aciertos.increment();
+                return responder(exchange, entrada, "HIT");
+            }
+            if (entrada != null && ahora.isBefore(entrada.obsoletaHasta())) {
+                obsoletos.increment();
+                revalidarEnSegundoPlano(exchange, clave, entrada);
+                return responder(exchange, entrada, "STALE");
+            }
+            fallos.increment();
+            if (entrada != null && entrada.etag() != null) {
+                return revalidar(exchange, clave, entrada)
+                        .flatMap(nueva -> responder(exchange, nueva, "REVALIDATED"))
+                        .switchIfEmpty(Mono.defer(() -> pasarYGuardar(exchange, chain, clave)));
+            }
+            return pasarYGuardar(exchange, chain, clave);
+        });
+    }
+
+    // Antes de los filtros globales que rutean el pedido (RouteToRequestUrlFilter, NettyRoutingFilter)
+    @Override
+    public int getOrder() {
+        return 0;
+    }
+
+    public synchronized void invalidarTodo() {
+        generacion++;
+        entradas.clear();
+        bytes = 0;
+    }
+
+    private synchronized double bytesGuardados() {
+        return bytes;
+    }
+
+    // Vary por rol: la clave incluye los roles del usuario autenticado
+    private Mono<String> clave(ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        String recurso = request.getURI().getRawPath()
+                + (request.getURI().getRawQuery() == null ? "" : "?" + request.getURI().getRawQuery())
+                + "|" + String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT));
+        return exchange.getPrincipal()
+                .filter(Authentication.class::isInstance)
+                .map(principal -> ((Authentication) principal).getAuthorities().stream()
+                        .map(GrantedAuthority::getAuthority)
+                        .sorted()
+                        .collect(Collectors.joining(",")))
+                .defaultIfEmpty("anonimo")
+                .map(roles -> roles + "|" + recurso);
+    }
+
+    private synchronized Entrada obtener(String clave) {
+        return entradas.get(clave);
+    }
+
+    private synchronized long generacionActual() {
+        return generacion;
+    }
+
+    private synchronized void guardar(String clave, Entrada entrada, long generacionInicial) {
+        if (generacion != generacionInicial || entrada.cuerpo().length > maximoBytes) {
+            return;
+        }
+        Entrada anterior = entradas.put(clave, entrada);
+        bytes += entrada.cuerpo().length - (anterior == null ? 0 : anterior.cuerpo().length);
+        var iterador = entradas.values().iterator();
+        while (bytes > maximoBytes && iterador.hasNext()) {
+            bytes -= iterador.next().cuerpo().length;
+            iterador.remove();
+        }
+    }
+
+    private Mono<Void> responder(ServerWebExchange exchange, Entrada entrada, String estado) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.set(CABECERA_ESTADO, estado);
+        headers.set(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+        if (entrada.etag() != null) {
+            headers.setETag(entrada.etag());
+        }
+        if (entrada.ultimaModificacion() != null) {
+            headers.set(HttpHeaders.LAST_MODIFIED, entrada.ultimaModificacion());
+        }
+        if (entrada.etag() != null && exchange.getRequest().getHeaders().getIfNoneMatch().contains(entrada.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        response.setStatusCode(HttpStatus.OK);
+        if (entrada.tipo() != null) {
+            headers.setContentType(entrada.tipo());
+        }
+        headers.setContentLength(entrada.cuerpo().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(entrada.cuerpo())));
+    }
+
+    // Sigue el camino normal de la ruta y guarda la respuesta si es un 200 que entra en la cache
+    private Mono<Void> pasarYGuardar(ServerWebExchange exchange, GatewayFilterChain chain, String clave) {
+        long generacionInicial = generacionActual();
+        ServerHttpResponse original = exchange.getResponse();
+        ServerHttpResponseDecorator decorada = new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> cuerpo) {
+                HttpHeaders headers = getHeaders();
+                if (!HttpStatus.OK.equals(getStatusCode()) || headers.getContentLength() > maximoBytes) {
+                    return super.writeWith(cuerpo);
+                }
+                return DataBufferUtils.join(Flux.from(cuerpo)).flatMap(buffer -> {
+                    byte[] bytesCuerpo = new byte[buffer.readableByteCount()];
+                    buffer.read(bytesCuerpo);
+                    DataBufferUtils.release(buffer);
+                    guardar(clave, nuevaEntrada(bytesCuerpo, headers), generacionInicial);
+                    headers.set(CABECERA_ESTADO, "MISS");
+                    headers.set(HttpHeaders.VARY, HttpHeaders.AUTHORIZATION);
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytesCuerpo)));
+                });
+            }
+        };
+        return chain.filter(exchange.mutate().response(decorada).build());
+    }
+
+    private void revalidarEnSegundoPlano(ServerWebExchange exchange, String clave, Entrada entrada) {
+        if (!revalidando.add(clave)) {
+            return;
+        }
+        revalidar(exchange, clave, entrada)
+                .doFinally(senal -> revalidando.remove(clave))
+                .subscribe(nueva -> { },
+                        e -> logger.debug("No se pudo revalidar {} en la ruta {}: {}", clave, idRuta, e.getMessage()));
+    }
+
+    /**
+     * Pedido condicional (If-None-Match) al servicio de la ruta con las credenciales del pedido actual.
+     * 304: se renueva la entrada guardada; 200: se reemplaza; cualquier otra respuesta o error: vacío.
+     */
+    private Mono<Entrada> revalidar(ServerWebExchange exchange, String clave, Entrada entrada) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null) {
+            return Mono.empty();
+        }
+        ServerHttpRequest request = exchange.getRequest();
+        URI uri = UriComponentsBuilder.fromUri(route.getUri())
+                .replacePath(request.getURI().getRawPath())
+                .replaceQuery(request.getURI().getRawQuery())
+                .build(true)
+                .toUri();
+        List<String> autorizacion = request.getHeaders().getOrEmpty(HttpHeaders.AUTHORIZATION);
+        List<String> accept = request.getHeaders().getOrEmpty(HttpHeaders.ACCEPT);
+        long generacionInicial = generacionActual();
+
+        return webClient.get()
+                .uri(uri)
+                .headers(h -> {
+                    h.addAll(HttpHeaders.AUTHORIZATION, autorizacion);
+                    h.addAll(HttpHeaders.ACCEPT, accept);
+                    h.setIfNoneMatch(entrada.etag());
+                })
+                .exchangeToMono(respuesta -> leerRevalidacion(respuesta, entrada))
+                .doOnNext(nueva -> guardar(clave, nueva, generacionInicial))
+                .onErrorResume(e -> {
+                    logger.debug("Revalidación fallida de {} en la ruta {}: {}", clave, idRuta, e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Entrada> leerRevalidacion(ClientResponse respuesta, Entrada entrada) {
+        if (respuesta.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            revalidados.increment();
+            return respuesta.releaseBody().thenReturn(renovar(entrada));
+        }
+        if (respuesta.statusCode().value() == HttpStatus.OK.value()) {
+            HttpHeaders headers = respuesta.headers().asHttpHeaders();
+            return respuesta.bodyToMono(byte[].class)
+                    .defaultIfEmpty(new byte[0])
+                    .map(cuerpo -> nuevaEntrada(cuerpo, headers));
+        }
+        return respuesta.releaseBody().then(Mono.empty());
+    }
+
+    private Entrada nuevaEntrada(byte[] cuerpo, HttpHeaders headers) {
+        Instant ahora = Instant.now();
+        Instant vence = ahora.plus(configuracion.getTtl());
+        return new Entrada(cuerpo, headers.getContentType(), headers.getETag(),
+                headers.getFirst(HttpHeaders.LAST_MODIFIED), vence, vence.plus(configuracion.getStaleWhileRevalidate()));
+    }
+
+    private Entrada renovar(Entrada entrada) {
+        Instant vence = Instant.now().plus(configuracion.getTtl());
+        return new Entrada(entrada.cuerpo(), entrada.tipo(), entrada.etag(), entrada.ultimaModificacion(), vence,
+                vence.plus(configuracion.getStaleWhileRevalidate()));
+    }
+
+    private Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("gateway.cache.respuestas")
+                .description("Pedidos GET resueltos desde la cache del gateway o enviados al servicio")
+                .tag("ruta", idRuta)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,59 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Cache de respuestas del gateway por ruta ('app.cache-respuestas.rutas.<id de ruta>'). Solo las rutas
+ * configuradas se cachean; el resto pasa directo al servicio.
+ */
+@ConfigurationProperties(prefix = "app.cache-respuestas")
+public class CacheRespuestasProperties {
+
+    private Map<String, Ruta> rutas = new HashMap<>();
+
+    public Map<String, Ruta> getRutas() {
+        return rutas;
+    }
+
+    public void setRutas(Map<String, Ruta> rutas) {
+        this.rutas = rutas;
+    }
+
+    public static class Ruta {
+        // Tiempo en que una respuesta se sirve sin consultar al servicio
+        private Duration ttl = Duration.ofMinutes(1);
+        // Después del ttl, tiempo en que se sigue sirviendo mientras se revalida en segundo plano
+        private Duration staleWhileRevalidate = Duration.ofMinutes(5);
+        // Tamaño total de los cuerpos guardados para la ruta; se descartan los menos usados
+        private DataSize maximoBytes = DataSize.ofMegabytes(2);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+
+        public DataSize getMaximoBytes() {
+            return maximoBytes;
+        }
+
+        public void setMaximoBytes(DataSize maximoBytes) {
+            this.maximoBytes = maximoBytes;
+        }
+    }
+}
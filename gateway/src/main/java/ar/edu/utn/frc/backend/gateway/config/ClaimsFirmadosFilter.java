@@ -0,0 +1,96 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Con 'app.seguridad.claims-firmados.habilitado', agrega a cada pedido autenticado la cabecera
+ * 'app.seguridad.claims-firmados.cabecera' con los claims del token ya validado, firmados con HS256 y el
+ * secreto compartido con los servicios. Los servicios verifican ese HMAC en lugar de la firma RSA del token.
+ * La cabecera que venga del cliente se descarta siempre (default-filters de application.yml).
+ */
+@Component
+public class ClaimsFirmadosFilter implements GlobalFilter, Ordered {
+
+    private final boolean habilitado;
+    private final String cabecera;
+    private final MACSigner firmante;
+
+    public ClaimsFirmadosFilter(@Value("${app.seguridad.claims-firmados.habilitado:false}") boolean habilitado,
+            @Value("${app.seguridad.claims-firmados.cabecera:X-Claims-Validados}") String cabecera,
+            @Value("${app.seguridad.claims-firmados.secreto:}") String secreto) throws JOSEException {
+        this.habilitado = habilitado;
+        this.cabecera = cabecera;
+        if (habilitado && secreto.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException("app.seguridad.claims-firmados.secreto debe tener al menos 32 bytes para HS256");
+        }
+        this.firmante = habilitado ? new MACSigner(secreto.getBytes(StandardCharsets.UTF_8)) : null;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!habilitado) {
+            return chain.filter(exchange);
+        }
+        return exchange.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(principal -> {
+                    String firmados = firmar(((JwtAuthenticationToken) principal).getToken());
+                    return exchange.mutate().request(r -> r.headers(h -> h.set(cabecera, firmados))).build();
+                })
+                .defaultIfEmpty(exchange)
+                .flatMap(chain::filter);
+    }
+
+    // Después de los default-filters (que quitan la cabecera entrante) y antes del ruteo
+    @Override
+    public int getOrder() {
+        return 10_000;
+    }
+
+    String firmar(Jwt jwt) {
+        JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder();
+        for (Map.Entry<String, Object> claim : jwt.getClaims().entrySet()) {
+            claims.claim(claim.getKey(), aNimbus(claim.getValue()));
+        }
+        SignedJWT firmado = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims.build());
+        try {
+            firmado.sign(firmante);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("No se pudieron firmar los claims del token", e);
+        }
+        return firmado.serialize();
+    }
+
+    // Spring expone las fechas como Instant y el emisor como URL; el JSON del JWT usa segundos y texto
+    private static Object aNimbus(Object valor) {
+        if (valor instanceof Instant instante) {
+            return Date.from(instante);
+        }
+        if (valor instanceof URL url) {
+            return url.toString();
+        }
+        return valor;
+    }
+}
@@ -0,0 +1,98 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Claves públicas de Keycloak (JWKS) en memoria. Se descargan al iniciar y se refrescan en segundo plano
+ * cada 'app.seguridad.jwt.intervalo-recarga-jwks', así que validar una firma nunca espera a Keycloak.
+ * Si llega un token firmado con una clave desconocida (rotación), se recarga fuera del event loop, como
+ * mucho una vez cada 'intervalo-minimo-jwks'.
+ * Variante reactiva de la ClavesJwks de logistica, recursos y solicitudes (ver JwtConfig).
+ */
+@Component
+public class ClavesJwks {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClavesJwks.class);
+    private static final int TIMEOUT_MS = 2000;
+    private static final int TAMANIO_MAXIMO = 64 * 1024;
+
+    private final URL jwkSetUrl;
+    private final Duration intervaloMinimo;
+
+    private volatile JWKSet conjunto = new JWKSet();
+    private Instant ultimoIntento = Instant.EPOCH;
+
+    public ClavesJwks(@Value("${app.seguridad.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${app.seguridad.jwt.intervalo-minimo-jwks:PT30S}") Duration intervaloMinimo) throws IOException {
+        this.jwkSetUrl = URI.create(jwkSetUri).toURL();
+        this.intervaloMinimo = intervaloMinimo;
+    }
+
+    // Claves que pueden verificar la firma de 'jwt' (por 'kid' y algoritmo)
+    public Flux<JWK> seleccionar(SignedJWT jwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        List<JWK> claves = selector.select(conjunto);
+        if (!claves.isEmpty()) {
+            return Flux.fromIterable(claves);
+        }
+        return Mono.fromCallable(this::recargarSiCorresponde)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMapIterable(recargado -> selector.select(conjunto));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        recargarSiCorresponde();
+    }
+
+    @Scheduled(initialDelayString = "${app.seguridad.jwt.intervalo-recarga-jwks:PT5M}",
+            fixedDelayString = "${app.seguridad.jwt.intervalo-recarga-jwks:PT5M}")
+    public void refrescar() {
+        recargar();
+    }
+
+    // Recarga salvo que se haya intentado hace menos de 'intervaloMinimo'; devuelve si se cargó algo nuevo
+    private synchronized boolean recargarSiCorresponde() {
+        if (Instant.now().isBefore(ultimoIntento.plus(intervaloMinimo))) {
+            return false;
+        }
+        return recargar();
+    }
+
+    private synchronized boolean recargar() {
+        ultimoIntento = Instant.now();
+        try {
+            conjunto = JWKSet.load(jwkSetUrl, TIMEOUT_MS, TIMEOUT_MS, TAMANIO_MAXIMO);
+            logger.debug("Claves JWKS cargadas desde {}: {} claves.", jwkSetUrl, conjunto.getKeys().size());
+            return true;
+        } catch (IOException | ParseException e) {
+            // Se siguen usando las claves anteriores
+            logger.warn("No se pudieron cargar las claves JWKS desde {}: {}", jwkSetUrl, e.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Cubeta de tokens: admite ráfagas de hasta 'capacidad' pedidos y 'porSegundo' pedidos sostenidos.
+ */
+final class CubetaTokens {
+
+    private final double capacidad;
+    private final double porNano;
+    private final LongSupplier reloj;
+
+    private double tokens;
+    private long ultimaRecarga;
+
+    CubetaTokens(LimitesTraficoProperties.Cubeta configuracion) {
+        this(configuracion.getCapacidad(), configuracion.getPorSegundo(), System::nanoTime);
+    }
+
+    CubetaTokens(int capacidad, double porSegundo, LongSupplier reloj) {
+        this.capacidad = capacidad;
+        this.porNano = porSegundo / 1_000_000_000d;
+        this.reloj = reloj;
+        this.tokens = capacidad;
+        this.ultimaRecarga = reloj.getAsLong();
+    }
+
+    // Toma un token: devuelve 0 si lo había o los nanosegundos que faltan para el próximo
+    synchronized long tomar() {
+        recargar();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return Math.max(1, (long) Math.ceil((1 - tokens) / porNano));
+    }
+
+    // Llena = sin uso reciente; se puede descartar sin cambiar el comportamiento
+    synchronized boolean llena() {
+        recargar();
+        return tokens >= capacidad;
+    }
+
+    private void recargar() {
+        long ahora = reloj.getAsLong();
+        tokens = Math.min(capacidad, tokens + (ahora - ultimaRecarga) * porNano);
+        ultimaRecarga = ahora;
+    }
+}
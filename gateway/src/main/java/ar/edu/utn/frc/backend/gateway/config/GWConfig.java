@@ -1,15 +1,18 @@
 package ar.edu.utn.frc.backend.gateway.config;
 
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.gateway.route.RouteLocator;
 import org.springframework.cloud.gateway.route.builder.RouteLocatorBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@EnableConfigurationProperties({ CacheRespuestasProperties.class, LimitesTraficoProperties.class })
 public class GWConfig {
 
     @Bean
-    public RouteLocator customRouteLocator(RouteLocatorBuilder builder) {
+    public RouteLocator customRouteLocator(RouteLocatorBuilder builder, CacheRespuestas cacheRespuestas,
+            LimitesTrafico limites) {
         return builder.routes()
 
             // ========== RUTAS DE SWAGGER PARA CADA MICROSERVICIO ==========
@@ -36,53 +39,72 @@ public class GWConfig {
                 .uri("http://logistica:8083"))
 
             // ========== RUTAS DE API (PATH PRESERVADO) ==========
+            // Todas pasan por los límites de tasa y el bulkhead de su servicio (app.limites)
 
             // Servicio de Recursos: El path completo /api/recursos/** se envía a http://recursos:8081
             .route("recursos-service", r -> r
                 .path("/api/recursos/**")
+                .filters(f -> f.filter(limites.paraRuta("recursos-service", "recursos")))
                 .uri("http://recursos:8081"))
 
             // Servicio de Solicitudes: El path completo /api/solicitudes/** se envía a http://solicitudes:8082
             .route("solicitudes-service", r -> r
                 .path("/api/solicitudes/**")
+                .filters(f -> f.filter(limites.paraRuta("solicitudes-service", "solicitudes")))
                 .uri("http://solicitudes:8082"))
 
             // Servicio de Logística: El path completo /api/logistica/** se envía a http://logistica:8083
             .route("logistica-service", r -> r
                 .path("/api/logistica/**")
+                .filters(f -> f.filter(limites.paraRuta("logistica-service", "logistica")))
                 .uri("http://logistica:8083"))
 
             // Rutas específicas para mantener compatibilidad (Path Preservado)
+            // Depósitos, tarifas y ciudades: datos de referencia con cache de respuestas (app.cache-respuestas)
             .route("recursos-camiones", r -> r
                 .path("/api/camiones/**")
+                .filters(f -> f.filter(limites.paraRuta("recursos-camiones", "recursos")))
                 .uri("http://recursos:8081"))
 
             .route("recursos-depositos", r -> r
                 .path("/api/depositos/**")
+                .filters(f -> f
+                    .filter(limites.paraRuta("recursos-depositos", "recursos"))
+                    .filter(cacheRespuestas.paraRuta("recursos-depositos")))
                 .uri("http://recursos:8081"))
 
             .route("recursos-tarifas", r -> r
                 .path("/api/tarifas/**")
+                .filters(f -> f
+                    .filter(limites.paraRuta("recursos-tarifas", "recursos"))
+                    .filter(cacheRespuestas.paraRuta("recursos-tarifas")))
                 .uri("http://recursos:8081"))
                 
             .route("recursos-ciudades", r -> r
                 .path("/api/ciudades/**")
+                .filters(f -> f
+                    .filter(limites.paraRuta("recursos-ciudades", "recursos"))
+                    .filter(cacheRespuestas.paraRuta("recursos-ciudades")))
                 .uri("http://recursos:8081"))
 
             .route("solicitudes-clientes", r -> r
                 .path("/api/clientes/**")
+                .filters(f -> f.filter(limites.paraRuta("solicitudes-clientes", "solicitudes")))
                 .uri("http://solicitudes:8082"))
                 
             .route("solicitudes-contenedores", r -> r
                 .path("/api/contenedores/**")
+                .filters(f -> f.filter(limites.paraRuta("solicitudes-contenedores", "solicitudes")))
                 .uri("http://solicitudes:8082"))
 
             .route("logistica-rutas", r -> r
                 .path("/api/rutas/**")
+                .filters(f -> f.filter(limites.paraRuta("logistica-rutas", "logistica")))
                 .uri("http://logistica:8083"))
                 
             .route("logistica-tramos", r -> r
                 .path("/api/tramos/**")
+                .filters(f -> f.filter(limites.paraRuta("logistica-tramos", "logistica")))
                 .uri("http://logistica:8083"))
 
             .build();
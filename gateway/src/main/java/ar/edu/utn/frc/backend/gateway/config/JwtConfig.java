@@ -0,0 +1,38 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Validación de los JWT de Keycloak con claves precargadas (ClavesJwks) y cache de tokens ya validados:
+ * un token repetido no vuelve a parsearse ni a verificar su firma hasta su 'exp'.
+ * Variante reactiva de la JwtConfig de logistica, recursos y solicitudes: comparte con ellas la forma de
+ * validar y cachear, así que un cambio en esa lógica debe replicarse allí.
+ */
+@Configuration
+public class JwtConfig {
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
+    private String issuer;
+
+    @Value("${app.seguridad.jwt.cache-maximo-entradas:10000}")
+    private int maximoEntradas;
+
+    @Bean
+    public ReactiveJwtDecoder reactiveJwtDecoder(ClavesJwks clavesJwks, MeterRegistry meterRegistry) {
+        NimbusReactiveJwtDecoder keycloak = NimbusReactiveJwtDecoder.withJwkSource(clavesJwks::seleccionar)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .build();
+        keycloak.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+
+        CacheJwtValidados cache = new CacheJwtValidados(maximoEntradas, meterRegistry);
+        return token -> cache.obtener(token, keycloak::decode);
+    }
+}
@@ -0,0 +1,56 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Crea los filtros de límites de cada ruta (LimitesTraficoFilter) según LimitesTraficoProperties. Los
+ * bulkheads se comparten entre las rutas que usan el mismo nombre.
+ */
+@Component
+public class LimitesTrafico {
+
+    private final LimitesTraficoProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public LimitesTrafico(LimitesTraficoProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // Filtro para la ruta 'idRuta' del servicio 'servicio'; sin configuración para ninguno de los dos, no hace nada
+    public GatewayFilter paraRuta(String idRuta, String servicio) {
+        LimitesTraficoProperties.Ruta ruta = properties.getRutas().getOrDefault(idRuta, new LimitesTraficoProperties.Ruta());
+        Bulkhead bulkhead = bulkhead(ruta.getBulkhead() != null ? ruta.getBulkhead() : servicio);
+        if (ruta.getTotal() == null && ruta.getUsuario() == null && bulkhead == null) {
+            return (exchange, chain) -> chain.filter(exchange);
+        }
+        return new LimitesTraficoFilter(idRuta, ruta, properties.getMaximoUsuariosPorRuta(), bulkhead, meterRegistry);
+    }
+
+    private Bulkhead bulkhead(String nombre) {
+        LimitesTraficoProperties.Bulkhead configuracion = properties.getBulkheads().get(nombre);
+        if (configuracion == null) {
+            return null;
+        }
+        return bulkheads.computeIfAbsent(nombre, n -> {
+            Bulkhead bulkhead = new Bulkhead(n, configuracion);
+            Gauge.builder("gateway.bulkhead.en_curso", bulkhead, Bulkhead::getEnCurso)
+                    .description("Pedidos en curso hacia el servicio")
+                    .tag("bulkhead", n)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.bulkhead.en_cola", bulkhead, Bulkhead::getEnCola)
+                    .description("Pedidos esperando lugar en el bulkhead")
+                    .tag("bulkhead", n)
+                    .register(meterRegistry);
+            return bulkhead;
+        });
+    }
+}
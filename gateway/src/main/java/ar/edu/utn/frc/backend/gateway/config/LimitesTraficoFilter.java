@@ -0,0 +1,118 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Límites de una ruta: primero la tasa total y la del usuario (429 con Retry-After si se supera), después
+ * un lugar en el bulkhead del servicio (503 con Retry-After si no lo hay dentro de la espera máxima).
+ * Los rechazos no llegan al servicio.
+ */
+public final class LimitesTraficoFilter implements GatewayFilter, Ordered {
+
+    private final CubetaTokens total;
+    private final LimitesTraficoProperties.Cubeta porUsuario;
+    private final Map<String, CubetaTokens> usuarios = new ConcurrentHashMap<>();
+    private final int maximoUsuarios;
+    private final Bulkhead bulkhead;
+
+    private final Counter rechazosTotal;
+    private final Counter rechazosUsuario;
+    private final Counter rechazosBulkhead;
+
+    LimitesTraficoFilter(String idRuta, LimitesTraficoProperties.Ruta configuracion, int maximoUsuarios,
+            Bulkhead bulkhead, MeterRegistry meterRegistry) {
+        this.total = configuracion.getTotal() == null ? null : new CubetaTokens(configuracion.getTotal());
+        this.porUsuario = configuracion.getUsuario();
+        this.maximoUsuarios = maximoUsuarios;
+        this.bulkhead = bulkhead;
+
+        this.rechazosTotal = contador(meterRegistry, idRuta, "tasa-ruta");
+        this.rechazosUsuario = contador(meterRegistry, idRuta, "tasa-usuario");
+        this.rechazosBulkhead = contador(meterRegistry, idRuta, "bulkhead");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long espera = total == null ? 0 : total.tomar();
+        if (espera > 0) {
+            rechazosTotal.increment();
+            return rechazar(exchange, HttpStatus.TOO_MANY_REQUESTS, Duration.ofNanos(espera));
+        }
+        return usuario(exchange).flatMap(usuario -> {
+            long esperaUsuario = porUsuario == null ? 0 : cubetaDe(usuario).tomar();
+            if (esperaUsuario > 0) {
+                rechazosUsuario.increment();
+                return rechazar(exchange, HttpStatus.TOO_MANY_REQUESTS, Duration.ofNanos(esperaUsuario));
+            }
+            if (bulkhead == null) {
+                return chain.filter(exchange);
+            }
+            return Mono.usingWhen(bulkhead.adquirir(),
+                            permiso -> chain.filter(exchange),
+                            permiso -> Mono.fromRunnable(bulkhead::liberar))
+                    .onErrorResume(Bulkhead.Rechazo.class, e -> {
+                        rechazosBulkhead.increment();
+                        return rechazar(exchange, HttpStatus.SERVICE_UNAVAILABLE, bulkhead.getEsperaMaxima());
+                    });
+        });
+    }
+
+    // Antes de la cache de respuestas y del ruteo
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+
+    // Claim 'sub' del token validado; sin token, la IP del cliente
+    private Mono<String> usuario(ServerWebExchange exchange) {
+        if (porUsuario == null) {
+            return Mono.just("");
+        }
+        InetSocketAddress remoto = exchange.getRequest().getRemoteAddress();
+        String ip = remoto == null ? "desconocido" : remoto.getHostString();
+        return exchange.getPrincipal().map(Principal::getName).defaultIfEmpty("ip:" + ip);
+    }
+
+    private CubetaTokens cubetaDe(String usuario) {
+        CubetaTokens cubeta = usuarios.get(usuario);
+        if (cubeta != null) {
+            return cubeta;
+        }
+        if (usuarios.size() >= maximoUsuarios) {
+            usuarios.values().removeIf(CubetaTokens::llena);
+        }
+        return usuarios.computeIfAbsent(usuario, u -> new CubetaTokens(porUsuario));
+    }
+
+    private static Mono<Void> rechazar(ServerWebExchange exchange, HttpStatus status, Duration reintentarEn) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(status);
+        long segundos = Math.max(1, (reintentarEn.toMillis() + 999) / 1000);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        return response.setComplete();
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String idRuta, String motivo) {
+        return Counter.builder("gateway.limites.rechazos")
+                .description("Pedidos rechazados por límite de tasa (429) o bulkhead sin lugar (503)")
+                .tag("ruta", idRuta)
+                .tag("motivo", motivo)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,132 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Límites de tráfico del gateway ('app.limites'): tasa por ruta y por usuario (cubetas de tokens en
+ * memoria) y concurrencia por bulkhead. Cada ruta usa el bulkhead que indique 'bulkhead' o, si no, el de
+ * su servicio; así una ruta costosa puede tener su propio bulkhead y no ocupar el de las demás.
+ */
+@ConfigurationProperties(prefix = "app.limites")
+public class LimitesTraficoProperties {
+
+    private Map<String, Ruta> rutas = new HashMap<>();
+    private Map<String, Bulkhead> bulkheads = new HashMap<>();
+    // Cubetas por usuario que se conservan por ruta; pasado el máximo se descartan las que están llenas (inactivas)
+    private int maximoUsuariosPorRuta = 10_000;
+
+    public Map<String, Ruta> getRutas() {
+        return rutas;
+    }
+
+    public void setRutas(Map<String, Ruta> rutas) {
+        this.rutas = rutas;
+    }
+
+    public Map<String, Bulkhead> getBulkheads() {
+        return bulkheads;
+    }
+
+    public void setBulkheads(Map<String, Bulkhead> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    public int getMaximoUsuariosPorRuta() {
+        return maximoUsuariosPorRuta;
+    }
+
+    public void setMaximoUsuariosPorRuta(int maximoUsuariosPorRuta) {
+        this.maximoUsuariosPorRuta = maximoUsuariosPorRuta;
+    }
+
+    public static class Ruta {
+        // Límite para todos los pedidos de la ruta (null: sin límite)
+        private Cubeta total;
+        // Límite por usuario (claim 'sub'; IP si no hay token) (null: sin límite)
+        private Cubeta usuario;
+        // Bulkhead de la ruta; por defecto el del servicio
+        private String bulkhead;
+
+        public Cubeta getTotal() {
+            return total;
+        }
+
+        public void setTotal(Cubeta total) {
+            this.total = total;
+        }
+
+        public Cubeta getUsuario() {
+            return usuario;
+        }
+
+        public void setUsuario(Cubeta usuario) {
+            this.usuario = usuario;
+        }
+
+        public String getBulkhead() {
+            return bulkhead;
+        }
+
+        public void setBulkhead(String bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+    }
+
+    public static class Cubeta {
+        // Ráfaga máxima
+        private int capacidad = 20;
+        // Pedidos sostenidos por segundo
+        private double porSegundo = 10;
+
+        public int getCapacidad() {
+            return capacidad;
+        }
+
+        public void setCapacidad(int capacidad) {
+            this.capacidad = capacidad;
+        }
+
+        public double getPorSegundo() {
+            return porSegundo;
+        }
+
+        public void setPorSegundo(double porSegundo) {
+            this.porSegundo = porSegundo;
+        }
+    }
+
+    public static class Bulkhead {
+        private int maxConcurrentes = 32;
+        // Pedidos que esperan un lugar; con la cola llena se rechaza en el momento
+        private int maxEnCola = 64;
+        private Duration esperaMaxima = Duration.ofSeconds(1);
+
+        public int getMaxConcurrentes() {
+            return maxConcurrentes;
+        }
+
+        public void setMaxConcurrentes(int maxConcurrentes) {
+            this.maxConcurrentes = maxConcurrentes;
+        }
+
+        public int getMaxEnCola() {
+            return maxEnCola;
+        }
+
+        public void setMaxEnCola(int maxEnCola) {
+            this.maxEnCola = maxEnCola;
+        }
+
+        public Duration getEsperaMaxima() {
+            return esperaMaxima;
+        }
+
+        public void setEsperaMaxima(Duration esperaMaxima) {
+            this.esperaMaxima = esperaMaxima;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package ar.edu.utn.frc.backend.gateway.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Proxy no bloqueante al endpoint de tokens de Keycloak (grants 'password' y 'refresh_token').
+ * Los tokens todavía válidos se guardan un rato corto ('app.auth.token-cache.ttl-maximo', y nunca más allá
+ * de su expires_in menos 'margen') con una clave HMAC de las credenciales: la cache no guarda contraseñas
+ * ni refresh tokens en claro. Los pedidos idénticos que llegan mientras otro está en curso comparten la
+ * misma llamada a Keycloak. Los errores de Keycloak no se cachean.
+ */
+@Service
+public class TokenProxyService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenProxyService.class);
+    private static final ParameterizedTypeReference<Map<String, Object>> RESPUESTA_TOKEN = new ParameterizedTypeReference<>() {
+    };
+
+    public static final String GRANT_PASSWORD = "password";
+    public static final String GRANT_REFRESH_TOKEN = "refresh_token";
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final String tokenUrl;
+    private final String clientId;
+    private final Duration ttlMaximo;
+    private final Duration margen;
+    private final Duration timeout;
+    private final int maximoEntradas;
+
+    private final Map<String, TokenCacheado> cache = new ConcurrentHashMap<>();
+    private final Map<String, Mono<Map<String, Object>>> enCurso = new ConcurrentHashMap<>();
+    private final byte[] claveHmac = new byte[32];
+
+    private final Counter aciertos;
+    private final Counter fallos;
+    private final Counter compartidos;
+
+    private record TokenCacheado(Map<String, Object> respuesta, Instant emitido, Instant vence) {
+    }
+
+    public TokenProxyService(WebClient webClient, MeterRegistry meterRegistry,
+            @Value("${keycloak.url}") String keycloakUrl,
+            @Value("${keycloak.realm}") String realm,
+            @Value("${keycloak.client-id}") String clientId,
+            @Value("${app.auth.token-cache.ttl-maximo:PT1M}") Duration ttlMaximo,
+            @Value("${app.auth.token-cache.margen:PT30S}") Duration margen,
+            @Value("${app.auth.token-cache.maximo-entradas:10000}") int maximoEntradas,
+            @Value("${app.auth.keycloak-timeout:PT5S}") Duration timeout) {
+        this.webClient = webClient;
+        this.meterRegistry = meterRegistry;
+        this.tokenUrl = String.format("%s/realms/%s/protocol/openid-connect/token", keycloakUrl, realm);
+        this.clientId = clientId;
+        this.ttlMaximo = ttlMaximo;
+        this.margen = margen;
+        this.maximoEntradas = maximoEntradas;
+        this.timeout = timeout;
+        new SecureRandom().nextBytes(claveHmac);
+
+        this.aciertos = contador("acierto");
+        this.fallos = contador("fallo");
+        this.compartidos = contador("compartido");
+        meterRegistry.gaugeMapSize("auth.token.cache.entradas", List.of(), cache);
+    }
+
+    // Token por usuario y contraseña (grant 'password')
+    public Mono<Map<String, Object>> obtenerToken(String username, String password) {
+        MultiValueMap<String, String> formulario = formulario(GRANT_PASSWORD);
+        formulario.add("username", username);
+        formulario.add("password", password);
+        return resolver(GRANT_PASSWORD, clave(GRANT_PASSWORD, username, password), formulario);
+    }
+
+    // Token nuevo a partir de un refresh token (grant 'refresh_token')
+    public Mono<Map<String, Object>> refrescarToken(String refreshToken) {
+        MultiValueMap<String, String> formulario = formulario(GRANT_REFRESH_TOKEN);
+        formulario.add("refresh_token", refreshToken);
+        return resolver(GRANT_REFRESH_TOKEN, clave(GRANT_REFRESH_TOKEN, refreshToken), formulario);
+    }
+
+    private Mono<Map<String, Object>> resolver(String grantType, String clave, MultiValueMap<String, String> formulario) {
+        return Mono.defer(() -> {
+            Instant ahora = Instant.now();
+            TokenCacheado cacheado = cache.get(clave);
+            if (cacheado != null) {
+                if (ahora.isBefore(cacheado.vence())) {
+                    aciertos.increment();
+                    return Mono.just(conExpiracionRestante(cacheado, ahora));
+                }
+                cache.remove(clave, cacheado);
+            }
+
+            boolean[] nuevo = new boolean[1];
+            Mono<Map<String, Object>> llamada = enCurso.computeIfAbsent(clave, k -> {
+                nuevo[0] = true;
+                return pedirAKeycloak(grantType, formulario)
+                        .doOnNext(respuesta -> guardar(clave, respuesta))
+                        // Se quita antes de entregar el resultado: un pedido posterior no reusa una llamada terminada
+                        .doOnTerminate(() -> enCurso.remove(k))
+                        .doOnCancel(() -> enCurso.remove(k))
+                        .cache();
+            });
+            (nuevo[0] ? fallos : compartidos).increment();
+            return llamada;
+        });
+    }
+
+    private Mono<Map<String, Object>> pedirAKeycloak(String grantType, MultiValueMap<String, String> formulario) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        return webClient.post()
+                .uri(tokenUrl)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(BodyInserters.fromFormData(formulario))
+                .retrieve()
+                .bodyToMono(RESPUESTA_TOKEN)
+                .timeout(timeout)
+                .doOnSuccess(respuesta -> registrarLatencia(muestra, grantType, "exito"))
+                .doOnError(e -> {
+                    registrarLatencia(muestra, grantType, "error");
+                    logger.warn("Keycloak rechazó o no respondió el pedido de token ({}): {}", grantType, e.getMessage());
+                });
+    }
+
+    private void guardar(String clave, Map<String, Object> respuesta) {
+        Instant ahora = Instant.now();
+        Instant vence = ahora.plus(ttlMaximo);
+        if (respuesta.get("expires_in") instanceof Number expiraEn) {
+            Instant venceToken = ahora.plusSeconds(expiraEn.longValue()).minus(margen);
+            if (venceToken.isBefore(vence)) {
+                vence = venceToken;
+            }
+        }
+        if (!ahora.isBefore(vence)) {
+            return;
+        }
+        if (cache.size() >= maximoEntradas) {
+            cache.values().removeIf(token -> !ahora.isBefore(token.vence()));
+            if (cache.size() >= maximoEntradas) {
+                logger.debug("Cache de tokens llena ({} entradas): el token no se guarda.", cache.size());
+                return;
+            }
+        }
+        cache.put(clave, new TokenCacheado(respuesta, ahora, vence));
+    }
+
+    // Una respuesta desde la cache informa los segundos que le quedan al token, no los originales
+    private static Map<String, Object> conExpiracionRestante(TokenCacheado cacheado, Instant ahora) {
+        if (!(cacheado.respuesta().get("expires_in") instanceof Number expiraEn)) {
+            return cacheado.respuesta();
+        }
+        Map<String, Object> copia = new LinkedHashMap<>(cacheado.respuesta());
+        copia.put("expires_in", expiraEn.longValue() - Duration.between(cacheado.emitido(), ahora).toSeconds());
+        return copia;
+    }
+
+    private MultiValueMap<String, String> formulario(String grantType) {
+        MultiValueMap<String, String> formulario = new LinkedMultiValueMap<>();
+        formulario.add("client_id", clientId);
+        formulario.add("grant_type", grantType);
+        return formulario;
+    }
+
+    private String clave(String... partes) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(claveHmac, "HmacSHA256"));
+            for (String parte : partes) {
+                mac.update((parte == null ? "" : parte).getBytes(StandardCharsets.UTF_8));
+                mac.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(mac.doFinal());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("No se pudo calcular la clave de la cache de tokens", e);
+        }
+    }
+
+    private void registrarLatencia(Timer.Sample muestra, String grantType, String resultado) {
+        muestra.stop(Timer.builder("auth.token.keycloak")
+                .description("Latencia de los pedidos de token a Keycloak")
+                .tag("grant_type", grantType)
+                .tag("resultado", resultado)
+                .register(meterRegistry));
+    }
+
+    private Counter contador(String resultado) {
+        return Counter.builder("auth.token.cache")
+                .description("Pedidos de token resueltos desde la cache, compartiendo una llamada en curso o yendo a Keycloak")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,133 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class CacheRespuestasFilterTest {
+
+	private final AtomicInteger llamadasServicio = new AtomicInteger();
+	private final AtomicInteger revalidaciones = new AtomicInteger();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	// El servicio responde la lista de depósitos con su ETag
+	private final GatewayFilterChain servicio = exchange -> {
+		llamadasServicio.incrementAndGet();
+		exchange.getResponse().setStatusCode(HttpStatus.OK);
+		exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+		exchange.getResponse().getHeaders().setETag("\"v1\"");
+		return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory()
+				.wrap("[{\"id\":1}]".getBytes(StandardCharsets.UTF_8))));
+	};
+
+	// Revalidación condicional: el servicio contesta 304
+	private final WebClient webClient = WebClient.builder()
+			.exchangeFunction(pedido -> {
+				revalidaciones.incrementAndGet();
+				assertEquals("\"v1\"", pedido.headers().getFirst(HttpHeaders.IF_NONE_MATCH));
+				return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+			})
+			.build();
+
+	@Test
+	void dentroDelTtlRespondeSinIrAlServicioYSeparaPorRol() {
+		CacheRespuestasFilter filtro = filtro(Duration.ofMinutes(1), Duration.ZERO);
+
+		MockServerWebExchange primero = get("ROLE_ADMIN", null);
+		filtro.filter(primero, servicio).block();
+		assertEquals("MISS", primero.getResponse().getHeaders().getFirst(CacheRespuestasFilter.CABECERA_ESTADO));
+
+		MockServerWebExchange segundo = get("ROLE_ADMIN", null);
+		filtro.filter(segundo, servicio).block();
+		assertEquals("HIT", segundo.getResponse().getHeaders().getFirst(CacheRespuestasFilter.CABECERA_ESTADO));
+		assertEquals("[{\"id\":1}]", segundo.getResponse().getBodyAsString().block());
+
+		MockServerWebExchange condicional = get("ROLE_ADMIN", "\"v1\"");
+		filtro.filter(condicional, servicio).block();
+		assertEquals(HttpStatus.NOT_MODIFIED, condicional.getResponse().getStatusCode());
+
+		filtro.filter(get("ROLE_CLIENTE", null), servicio).block();
+		assertEquals(2, llamadasServicio.get());
+		assertEquals(2.0, meterRegistry.get("gateway.cache.respuestas").tag("resultado", "acierto").counter().count());
+	}
+
+	@Test
+	void vencidoSeSirveObsoletoYSeRevalidaConElEtag() {
+		CacheRespuestasFilter filtro = filtro(Duration.ZERO, Duration.ofMinutes(1));
+		filtro.filter(get("ROLE_ADMIN", null), servicio).block();
+
+		MockServerWebExchange obsoleto = get("ROLE_ADMIN", null);
+		filtro.filter(obsoleto, servicio).block();
+
+		assertEquals("STALE", obsoleto.getResponse().getHeaders().getFirst(CacheRespuestasFilter.CABECERA_ESTADO));
+		assertEquals("[{\"id\":1}]", obsoleto.getResponse().getBodyAsString().block());
+		assertEquals(1, revalidaciones.get());
+		assertEquals(1, llamadasServicio.get());
+	}
+
+	@Test
+	void unaEscrituraExitosaInvalidaLaCache() {
+		CacheRespuestas cacheRespuestas = new CacheRespuestas(propiedades(Duration.ofMinutes(1), Duration.ZERO),
+				webClient, meterRegistry);
+		CacheRespuestasFilter depositos = (CacheRespuestasFilter) cacheRespuestas.paraRuta("recursos-depositos");
+		depositos.filter(get("ROLE_ADMIN", null), servicio).block();
+
+		MockServerWebExchange put = MockServerWebExchange.from(MockServerHttpRequest.put("/api/depositos/1").build());
+		depositos.filter(put, exchange -> {
+			exchange.getResponse().setStatusCode(HttpStatus.OK);
+			return exchange.getResponse().setComplete();
+		}).block();
+
+		depositos.filter(get("ROLE_ADMIN", null), servicio).block();
+		assertEquals(2, llamadasServicio.get());
+	}
+
+	private CacheRespuestasFilter filtro(Duration ttl, Duration staleWhileRevalidate) {
+		return (CacheRespuestasFilter) new CacheRespuestas(propiedades(ttl, staleWhileRevalidate), webClient, meterRegistry)
+				.paraRuta("recursos-depositos");
+	}
+
+	private static CacheRespuestasProperties propiedades(Duration ttl, Duration staleWhileRevalidate) {
+		CacheRespuestasProperties.Ruta ruta = new CacheRespuestasProperties.Ruta();
+		ruta.setTtl(ttl);
+		ruta.setStaleWhileRevalidate(staleWhileRevalidate);
+		CacheRespuestasProperties properties = new CacheRespuestasProperties();
+		properties.getRutas().put("recursos-depositos", ruta);
+		return properties;
+	}
+
+	private static MockServerWebExchange get(String rol, String ifNoneMatch) {
+		MockServerHttpRequest.BaseBuilder<?> request = MockServerHttpRequest.get("/api/depositos");
+		if (ifNoneMatch != null) {
+			request.ifNoneMatch(ifNoneMatch);
+		}
+		MockServerWebExchange exchange = MockServerWebExchange.builder(request.build())
+				.principal(new TestingAuthenticationToken("ana", null, List.of(() -> rol)))
+				.build();
+		exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+				.id("recursos-depositos")
+				.uri("http://recursos:8081")
+				.predicate(e -> true)
+				.build());
+		return exchange;
+	}
+}
@@ -0,0 +1,96 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACVerifier;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+class JwtConfigTest {
+
+	private static final String ISSUER = "http://keycloak:8080/realms/tpi-backend";
+	private static final String SECRETO = "secreto-compartido-de-prueba-con-32-bytes";
+
+	@Test
+	void unTokenValidadoNoVuelveAVerificarLaFirmaHastaSuVencimiento() throws JOSEException {
+		RSAKey clave = new RSAKeyGenerator(2048).keyID("k1").generate();
+		ClavesJwks clavesJwks = mock(ClavesJwks.class);
+		when(clavesJwks.seleccionar(any())).thenAnswer(inv -> Flux.just(clave.toPublicJWK()));
+		JwtConfig config = new JwtConfig();
+		ReflectionTestUtils.setField(config, "issuer", ISSUER);
+		ReflectionTestUtils.setField(config, "maximoEntradas", 100);
+		ReactiveJwtDecoder decoder = config.reactiveJwtDecoder(clavesJwks, new SimpleMeterRegistry());
+
+		String token = firmarRs256(clave, Instant.now().plusSeconds(300));
+		assertEquals("ana", decoder.decode(token).block().getSubject());
+		assertEquals("ana", decoder.decode(token).block().getSubject());
+		verify(clavesJwks, times(1)).seleccionar(any());
+
+		String vencido = firmarRs256(clave, Instant.now().minusSeconds(300));
+		assertThrows(JwtException.class, () -> decoder.decode(vencido).block());
+	}
+
+	@Test
+	void losClaimsFirmadosConservanLosDelTokenYSeVerificanConElSecreto() throws JOSEException, ParseException {
+		Instant vence = Instant.now().plusSeconds(300);
+		Jwt jwt = Jwt.withTokenValue("token")
+				.header("alg", "RS256")
+				.subject("ana")
+				.issuer(ISSUER)
+				.expiresAt(vence)
+				.claim("realm_access", Map.of("roles", List.of("admin")))
+				.build();
+
+		ClaimsFirmadosFilter filtro = new ClaimsFirmadosFilter(true, "X-Claims-Validados", SECRETO);
+		SignedJWT firmado = SignedJWT.parse(filtro.firmar(jwt));
+
+		assertEquals(JWSAlgorithm.HS256, firmado.getHeader().getAlgorithm());
+		assertTrue(firmado.verify(new MACVerifier(SECRETO)));
+		assertEquals("ana", firmado.getJWTClaimsSet().getSubject());
+		assertEquals(ISSUER, firmado.getJWTClaimsSet().getIssuer());
+		assertEquals(vence.getEpochSecond(), firmado.getJWTClaimsSet().getExpirationTime().toInstant().getEpochSecond());
+		assertEquals(Map.of("roles", List.of("admin")), firmado.getJWTClaimsSet().getJSONObjectClaim("realm_access"));
+
+		assertThrows(IllegalStateException.class, () -> new ClaimsFirmadosFilter(true, "X-Claims-Validados", "corto"));
+	}
+
+	private static String firmarRs256(RSAKey clave, Instant vence) throws JOSEException {
+		JWTClaimsSet claims = new JWTClaimsSet.Builder()
+				.subject("ana")
+				.issuer(ISSUER)
+				.issueTime(new Date())
+				.expirationTime(Date.from(vence))
+				.build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID("k1").build(), claims);
+		jwt.sign(new RSASSASigner(clave));
+		return jwt.serialize();
+	}
+}
@@ -0,0 +1,106 @@
+package ar.edu.utn.frc.backend.gateway.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+class LimitesTraficoFilterTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final GatewayFilterChain servicio = exchange -> {
+		exchange.getResponse().setStatusCode(HttpStatus.OK);
+		return exchange.getResponse().setComplete();
+	};
+
+	@Test
+	void laCubetaAdmiteLaRafagaYDespuesLaTasaSostenida() {
+		AtomicLong reloj = new AtomicLong();
+		CubetaTokens cubeta = new CubetaTokens(2, 4, reloj::get);
+
+		assertEquals(0, cubeta.tomar());
+		assertEquals(0, cubeta.tomar());
+		assertEquals(Duration.ofMillis(250).toNanos(), cubeta.tomar());
+
+		reloj.addAndGet(Duration.ofMillis(250).toNanos());
+		assertEquals(0, cubeta.tomar());
+		reloj.addAndGet(Duration.ofSeconds(10).toNanos());
+		assertEquals(true, cubeta.llena());
+	}
+
+	@Test
+	void cadaUsuarioTieneSuPropioLimiteYElRechazoInformaRetryAfter() {
+		LimitesTraficoProperties.Cubeta cubeta = new LimitesTraficoProperties.Cubeta();
+		cubeta.setCapacidad(1);
+		cubeta.setPorSegundo(0.5);
+		LimitesTraficoProperties properties = new LimitesTraficoProperties();
+		LimitesTraficoProperties.Ruta ruta = new LimitesTraficoProperties.Ruta();
+		ruta.setUsuario(cubeta);
+		properties.getRutas().put("logistica-rutas", ruta);
+		GatewayFilter filtro = new LimitesTrafico(properties, meterRegistry).paraRuta("logistica-rutas", "logistica");
+
+		assertEquals(HttpStatus.OK, ejecutar(filtro, "ana").getResponse().getStatusCode());
+		MockServerWebExchange rechazado = ejecutar(filtro, "ana");
+		assertEquals(HttpStatus.TOO_MANY_REQUESTS, rechazado.getResponse().getStatusCode());
+		assertEquals("2", rechazado.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+		assertEquals(HttpStatus.OK, ejecutar(filtro, "beto").getResponse().getStatusCode());
+		assertEquals(1.0, meterRegistry.get("gateway.limites.rechazos").tag("motivo", "tasa-usuario").counter().count());
+	}
+
+	@Test
+	void elBulkheadEncolaHastaSuLimiteYRechazaConServiceUnavailable() {
+		LimitesTraficoProperties.Bulkhead configuracion = new LimitesTraficoProperties.Bulkhead();
+		configuracion.setMaxConcurrentes(1);
+		configuracion.setMaxEnCola(1);
+		configuracion.setEsperaMaxima(Duration.ofSeconds(5));
+		LimitesTraficoProperties properties = new LimitesTraficoProperties();
+		properties.getBulkheads().put("logistica", configuracion);
+		GatewayFilter filtro = new LimitesTrafico(properties, meterRegistry).paraRuta("logistica-tramos", "logistica");
+
+		// El primer pedido queda en curso hasta que el servicio responde
+		Sinks.Empty<Void> respuesta = Sinks.empty();
+		MockServerWebExchange enCurso = exchange("ana");
+		MockServerWebExchange encolado = exchange("beto");
+		filtro.filter(enCurso, e -> respuesta.asMono()).subscribe();
+		Mono<Void> segundo = filtro.filter(encolado, servicio);
+
+		StepVerifier.create(segundo)
+				.then(() -> {
+					MockServerWebExchange rechazado = ejecutar(filtro, "carla");
+					assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rechazado.getResponse().getStatusCode());
+					assertEquals("5", rechazado.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+					assertNull(encolado.getResponse().getStatusCode());
+					respuesta.tryEmitEmpty();
+				})
+				.verifyComplete();
+		assertEquals(HttpStatus.OK, encolado.getResponse().getStatusCode());
+		assertEquals(0.0, meterRegistry.get("gateway.bulkhead.en_curso").gauge().value());
+	}
+
+	private MockServerWebExchange ejecutar(GatewayFilter filtro, String usuario) {
+		MockServerWebExchange exchange = exchange(usuario);
+		filtro.filter(exchange, servicio).block();
+		return exchange;
+	}
+
+	private static MockServerWebExchange exchange(String usuario) {
+		return MockServerWebExchange.builder(MockServerHttpRequest.get("/api/rutas/tentativas").build())
+				.principal(new TestingAuthenticationToken(usuario, null))
+				.build();
+	}
+}
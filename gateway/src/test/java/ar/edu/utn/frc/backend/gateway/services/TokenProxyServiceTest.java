@@ -0,0 +1,88 @@
+package ar.edu.utn.frc.backend.gateway.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class TokenProxyServiceTest {
+
+	private final AtomicInteger llamadas = new AtomicInteger();
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void unTokenVigenteSeSirveDesdeLaCacheSoloParaLasMismasCredenciales() {
+		TokenProxyService service = service(() -> respuesta(HttpStatus.OK, "{\"access_token\":\"abc\",\"expires_in\":300}"), Duration.ZERO);
+
+		assertEquals("abc", service.obtenerToken("ana", "secreta").block().get("access_token"));
+		Map<String, Object> cacheado = service.obtenerToken("ana", "secreta").block();
+		assertEquals(1, llamadas.get());
+		assertEquals(300L, ((Number) cacheado.get("expires_in")).longValue());
+
+		service.obtenerToken("ana", "otra").block();
+		service.refrescarToken("secreta").block();
+		assertEquals(3, llamadas.get());
+		assertEquals(1.0, meterRegistry.get("auth.token.cache").tag("resultado", "acierto").counter().count());
+		assertEquals(2, meterRegistry.get("auth.token.keycloak").tag("grant_type", "password").timer().count());
+	}
+
+	@Test
+	void losPedidosSimultaneosCompartenUnaSolaLlamada() {
+		TokenProxyService service = service(() -> respuesta(HttpStatus.OK, "{\"access_token\":\"abc\",\"expires_in\":300}"),
+				Duration.ofMillis(200));
+
+		Mono<Map<String, Object>> primero = service.obtenerToken("ana", "secreta");
+		Mono<Map<String, Object>> segundo = service.obtenerToken("ana", "secreta");
+		Mono.zip(primero, segundo).block();
+
+		assertEquals(1, llamadas.get());
+		assertEquals(1.0, meterRegistry.get("auth.token.cache").tag("resultado", "compartido").counter().count());
+	}
+
+	@Test
+	void losErroresDeKeycloakNoSeCacheanYLosTokensPorVencerTampoco() {
+		TokenProxyService conError = service(() -> respuesta(HttpStatus.UNAUTHORIZED, "{\"error\":\"invalid_grant\"}"), Duration.ZERO);
+		assertThrows(WebClientResponseException.Unauthorized.class, () -> conError.obtenerToken("ana", "mala").block());
+		assertThrows(WebClientResponseException.Unauthorized.class, () -> conError.obtenerToken("ana", "mala").block());
+		assertEquals(2, llamadas.get());
+
+		// expires_in menor que el margen: no vale la pena guardarlo
+		llamadas.set(0);
+		TokenProxyService porVencer = service(() -> respuesta(HttpStatus.OK, "{\"access_token\":\"abc\",\"expires_in\":10}"), Duration.ZERO);
+		porVencer.obtenerToken("ana", "secreta").block();
+		porVencer.obtenerToken("ana", "secreta").block();
+		assertEquals(2, llamadas.get());
+	}
+
+	private TokenProxyService service(Supplier<ClientResponse> respuesta, Duration demora) {
+		WebClient webClient = WebClient.builder()
+				.exchangeFunction(pedido -> Mono.fromCallable(() -> {
+					llamadas.incrementAndGet();
+					return respuesta.get();
+				}).delayElement(demora))
+				.build();
+		return new TokenProxyService(webClient, meterRegistry, "http://keycloak", "tpi-backend", "tpi-backend-client",
+				Duration.ofMinutes(1), Duration.ofSeconds(30), 100, Duration.ofSeconds(5));
+	}
+
+	private static ClientResponse respuesta(HttpStatus status, String cuerpo) {
+		return ClientResponse.create(status)
+				.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+				.body(cuerpo)
+				.build();
+	}
+}
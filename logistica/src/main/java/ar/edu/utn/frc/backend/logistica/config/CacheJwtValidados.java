@@ -0,0 +1,90 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.security.oauth2.jwt.Jwt;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Tokens ya validados (firma, emisor y vigencia), por hash SHA-256 del token. Una entrada vale hasta el
+ * 'exp' del token: después se vuelve a validar (y falla). Con 'maximo' entradas se descartan las vencidas
+ * y, si sigue llena, el token nuevo no se guarda.
+ * Igual en logistica, recursos y solicitudes (ver JwtConfig); la del gateway es la variante reactiva (Mono).
+ */
+public final class CacheJwtValidados {
+
+    private final Map<String, Jwt> entradas = new ConcurrentHashMap<>();
+    private final int maximo;
+    private final Counter aciertos;
+    private final Counter fallos;
+
+    public CacheJwtValidados(int maximo, MeterRegistry meterRegistry) {
+        this.maximo = maximo;
+        this.aciertos = contador(meterRegistry, "acierto");
+        this.fallos = contador(meterRegistry, "fallo");
+        meterRegistry.gaugeMapSize("seguridad.jwt.cache.entradas", List.of(), entradas);
+    }
+
+    // Devuelve el token validado desde la cache o lo valida con 'validar' (que lanza JwtException si no es válido)
+    public Jwt obtener(String token, Function<String, Jwt> validar) {
+        String clave = clave(token);
+        Instant ahora = Instant.now();
+        Jwt jwt = entradas.get(clave);
+        if (jwt != null && vigente(jwt, ahora)) {
+            aciertos.increment();
+            return jwt;
+        }
+        fallos.increment();
+        jwt = validar.apply(token);
+        guardar(clave, jwt, ahora);
+        return jwt;
+    }
+
+    public int size() {
+        return entradas.size();
+    }
+
+    private void guardar(String clave, Jwt jwt, Instant ahora) {
+        if (!vigente(jwt, ahora)) {
+            return;
+        }
+        if (entradas.size() >= maximo) {
+            entradas.values().removeIf(guardado -> !vigente(guardado, ahora));
+            if (entradas.size() >= maximo) {
+                return;
+            }
+        }
+        entradas.put(clave, jwt);
+    }
+
+    // Sin 'exp' no hay cota de vigencia: esos tokens no se guardan
+    private static boolean vigente(Jwt jwt, Instant ahora) {
+        return jwt.getExpiresAt() != null && ahora.isBefore(jwt.getExpiresAt());
+    }
+
+    private static String clave(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    private static Counter contador(MeterRegistry meterRegistry, String resultado) {
+        return Counter.builder("seguridad.jwt.cache")
+                .description("Validaciones de JWT resueltas desde la cache o verificando la firma")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,91 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+
+/**
+ * Claves públicas de Keycloak (JWKS) en memoria. Se descargan al iniciar y se refrescan en segundo plano
+ * cada 'app.seguridad.jwt.intervalo-recarga-jwks', así que validar una firma nunca espera a Keycloak.
+ * Si llega un token firmado con una clave desconocida (rotación), se recarga en el momento, como mucho
+ * una vez cada 'intervalo-minimo-jwks'.
+ * Igual en logistica, recursos y solicitudes (ver JwtConfig); la del gateway recarga fuera del event loop.
+ */
+@Component
+public class ClavesJwks implements JWKSource<SecurityContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClavesJwks.class);
+    private static final int TIMEOUT_MS = 2000;
+    private static final int TAMANIO_MAXIMO = 64 * 1024;
+
+    private final URL jwkSetUrl;
+    private final Duration intervaloMinimo;
+
+    private volatile JWKSet conjunto = new JWKSet();
+    private Instant ultimoIntento = Instant.EPOCH;
+
+    public ClavesJwks(@Value("${app.seguridad.jwt.jwk-set-uri}") String jwkSetUri,
+            @Value("${app.seguridad.jwt.intervalo-minimo-jwks:PT30S}") Duration intervaloMinimo) throws IOException {
+        this.jwkSetUrl = URI.create(jwkSetUri).toURL();
+        this.intervaloMinimo = intervaloMinimo;
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector selector, SecurityContext contexto) {
+        List<JWK> claves = selector.select(conjunto);
+        if (claves.isEmpty() && recargarSiCorresponde()) {
+            claves = selector.select(conjunto);
+        }
+        return claves;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        recargarSiCorresponde();
+    }
+
+    @Scheduled(initialDelayString = "${app.seguridad.jwt.intervalo-recarga-jwks:PT5M}",
+            fixedDelayString = "${app.seguridad.jwt.intervalo-recarga-jwks:PT5M}")
+    public void refrescar() {
+        recargar();
+    }
+
+    // Recarga salvo que se haya intentado hace menos de 'intervaloMinimo'; devuelve si se cargó algo nuevo
+    private synchronized boolean recargarSiCorresponde() {
+        if (Instant.now().isBefore(ultimoIntento.plus(intervaloMinimo))) {
+            return false;
+        }
+        return recargar();
+    }
+
+    private synchronized boolean recargar() {
+        ultimoIntento = Instant.now();
+        try {
+            conjunto = JWKSet.load(jwkSetUrl, TIMEOUT_MS, TIMEOUT_MS, TAMANIO_MAXIMO);
+            logger.debug("Claves JWKS cargadas desde {}: {} claves.", jwkSetUrl, conjunto.getKeys().size());
+            return true;
+        } catch (IOException | ParseException e) {
+            // Se siguen usando las claves anteriores
+            logger.warn("No se pudieron cargar las claves JWKS desde {}: {}", jwkSetUrl, e.getMessage());
+            return false;
+        }
+    }
+}
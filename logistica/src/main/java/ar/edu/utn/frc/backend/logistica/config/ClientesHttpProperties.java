@@ -0,0 +1,40 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Configuración de los clientes HTTP hacia otros servicios ('app.http'). Cada destino (recursos,
+ * solicitudes, google-maps) tiene su propio pool de conexiones y sus propios timeouts, de modo que
+ * un destino lento solo agota su pool y no bloquea las llamadas a los demás.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.http")
+public class ClientesHttpProperties {
+
+    private Map<String, Destino> destinos = new HashMap<>();
+
+    // Ejecución de las variantes asincrónicas (LlamadasAsincronas)
+    private boolean hilosVirtuales = true;
+    private int hilosPlataforma = 16; // Tamaño del pool si no se usan hilos virtuales
+
+    public Destino destino(String nombre) {
+        return destinos.getOrDefault(nombre, new Destino());
+    }
+
+    @Data
+    public static class Destino {
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration readTimeout = Duration.ofSeconds(5);
+        // Espera máxima por una conexión libre del pool; vencida, la llamada falla en lugar de encolarse
+        private Duration esperaConexion = Duration.ofSeconds(1);
+        private int maxConexiones = 20;
+        private Duration keepAlive = Duration.ofSeconds(30);
+        private Duration tiempoVidaConexion = Duration.ofMinutes(5);
+    }
+}
@@ -0,0 +1,44 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import org.springframework.http.client.observation.ClientHttpObservationDocumentation.LowCardinalityKeyNames;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+
+import io.micrometer.common.KeyValue;
+
+/**
+ * Etiquetas de 'http.client.requests' por destino: 'client.name' es el nombre lógico del destino
+ * (no el host) y 'uri' es la plantilla sin query string, para que la API key de Google Maps y las
+ * coordenadas de cada consulta no terminen en las métricas.
+ */
+class ConvencionObservacionClienteHttp extends DefaultClientRequestObservationConvention {
+
+    private static final String SIN_URI = "none";
+
+    private final String destino;
+
+    ConvencionObservacionClienteHttp(String destino) {
+        this.destino = destino;
+    }
+
+    @Override
+    protected KeyValue clientName(ClientRequestObservationContext context) {
+        return KeyValue.of(LowCardinalityKeyNames.CLIENT_NAME, destino);
+    }
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        String plantilla = context.getUriTemplate();
+        if (plantilla == null) {
+            return KeyValue.of(LowCardinalityKeyNames.URI, SIN_URI);
+        }
+        int query = plantilla.indexOf('?');
+        String ruta = query >= 0 ? plantilla.substring(0, query) : plantilla;
+        int esquema = ruta.indexOf("://");
+        if (esquema >= 0) {
+            int barra = ruta.indexOf('/', esquema + 3);
+            ruta = barra >= 0 ? ruta.substring(barra) : "";
+        }
+        return KeyValue.of(LowCardinalityKeyNames.URI, ruta.isEmpty() ? "/" : ruta);
+    }
+}
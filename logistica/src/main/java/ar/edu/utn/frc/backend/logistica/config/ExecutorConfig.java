@@ -0,0 +1,41 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExecutorConfig {
+
+    // Executor acotado (hilos virtuales) para resolver en paralelo los tramos de las rutas tentativas.
+    // El tamaño del pool limita la cantidad de consultas simultáneas al proveedor de distancias.
+    @Bean(name = "calculoTramosExecutor", destroyMethod = "shutdown")
+    ExecutorService calculoTramosExecutor(
+            @Value("${app.rutas.calculo-tramos.max-concurrencia:8}") int maxConcurrencia) {
+        return Executors.newFixedThreadPool(maxConcurrencia,
+                Thread.ofVirtual().name("calculo-tramos-", 0).factory());
+    }
+
+    // Executor para calcular en paralelo las solicitudes de un lote de rutas tentativas.
+    // Es independiente del de tramos: cada solicitud espera sus tramos, y compartir el pool podría bloquearlo.
+    @Bean(name = "tentativasLoteExecutor", destroyMethod = "shutdown")
+    ExecutorService tentativasLoteExecutor(
+            @Value("${app.rutas.lote.max-concurrencia:4}") int maxConcurrencia) {
+        return Executors.newFixedThreadPool(maxConcurrencia,
+                Thread.ofVirtual().name("tentativas-lote-", 0).factory());
+    }
+
+    // Executor de las llamadas HTTP asincrónicas (LlamadasAsincronas). Con hilos virtuales cada llamada
+    // tiene su hilo; la concurrencia real hacia cada destino la acota su pool de conexiones.
+    @Bean(name = "llamadasHttpExecutor", destroyMethod = "shutdown")
+    ExecutorService llamadasHttpExecutor(ClientesHttpProperties properties) {
+        if (properties.isHilosVirtuales()) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("llamadas-http-", 0).factory());
+        }
+        return Executors.newFixedThreadPool(properties.getHilosPlataforma(),
+                Thread.ofPlatform().name("llamadas-http-", 0).factory());
+    }
+}
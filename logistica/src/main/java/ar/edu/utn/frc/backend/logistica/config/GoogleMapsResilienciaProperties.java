@@ -0,0 +1,49 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+/**
+ * Protección de las llamadas a la Distance Matrix API ('app.google.maps.resiliencia'): el circuito deja de
+ * consultar al proveedor cuando falla o responde lento (se usa directamente la estimación Haversine) y el
+ * hedge repite una consulta de tramo que tarda más que el p95 observado.
+ */
+@Data
+@ConfigurationProperties(prefix = "app.google.maps.resiliencia")
+public class GoogleMapsResilienciaProperties {
+
+    private Circuito circuito = new Circuito();
+    private Hedge hedge = new Hedge();
+
+    @Data
+    public static class Circuito {
+        private boolean habilitado = true;
+        // Últimas llamadas que se evalúan y mínimo necesario para poder abrir el circuito
+        private int ventana = 20;
+        private int minimoLlamadas = 10;
+        // Proporción de llamadas fallidas o lentas de la ventana que abre el circuito
+        private double umbralFallas = 0.5;
+        // Una llamada exitosa que tarda más que esto cuenta como falla
+        private Duration llamadaLenta = Duration.ofSeconds(2);
+        // Tiempo abierto antes de dejar pasar llamadas de prueba
+        private Duration esperaAbierto = Duration.ofSeconds(30);
+        // Llamadas de prueba en semiabierto: todas exitosas cierran el circuito, una falla lo vuelve a abrir
+        private int llamadasPrueba = 3;
+    }
+
+    @Data
+    public static class Hedge {
+        private boolean habilitado = true;
+        // Demora antes del segundo pedido mientras no haya 'muestrasMinimas' latencias para estimar el p95
+        private Duration demoraInicial = Duration.ofMillis(800);
+        private int muestrasMinimas = 20;
+        // Límites de la demora calculada a partir del p95
+        private Duration demoraMinima = Duration.ofMillis(100);
+        private Duration demoraMaxima = Duration.ofSeconds(2);
+        // Proporción máxima de consultas que pueden lanzar un segundo pedido
+        private double presupuesto = 0.1;
+    }
+}
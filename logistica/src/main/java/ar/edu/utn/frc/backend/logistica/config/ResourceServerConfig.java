@@ -10,6 +10,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -25,7 +26,7 @@ import org.springframework.security.web.SecurityFilterChain;
 public class ResourceServerConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, SecretoAvisosInternos secretoAvisosInternos) throws Exception {
         http
             // Deshabilitar CSRF (Crucial para APIs REST sin estado)
             .csrf(csrf -> csrf.disable())
@@ -34,6 +35,9 @@ public class ResourceServerConfig {
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/**").permitAll()
                 .requestMatchers("/publico/**").permitAll() 
+                // Avisos internos de Recursos (ruta no publicada en el gateway): sin token, con el secreto compartido
+                .requestMatchers(HttpMethod.POST, "/api/interno/tarifas/invalidacion").access((autenticacion, contexto) ->
+                        new AuthorizationDecision(secretoAvisosInternos.esValido(contexto.getRequest())))
 
                 // === REGLAS ESPECÍFICAS DE LOGÍSTICA ===
                 
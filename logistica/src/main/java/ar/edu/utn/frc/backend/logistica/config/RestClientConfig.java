@@ -1,32 +1,112 @@
 package ar.edu.utn.frc.backend.logistica.config;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
-import org.springframework.web.util.DefaultUriBuilderFactory;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Clientes REST hacia otros servicios. Cada destino usa un pool de conexiones propio (Apache HttpClient 5,
+ * con keep-alive) y timeouts de conexión, de lectura y de espera por conexión libre configurados en
+ * 'app.http.destinos'. Los clientes se crean a partir del RestClient.Builder de Spring Boot, por lo que
+ * registran 'http.client.requests' etiquetado por destino.
+ */
 @Configuration
-public class RestClientConfig {
-  
+@EnableConfigurationProperties({ ClientesHttpProperties.class, GoogleMapsResilienciaProperties.class })
+public class RestClientConfig implements DisposableBean {
+
+  private final ClientesHttpProperties properties;
+  private final MeterRegistry meterRegistry;
+  private final List<HttpComponentsClientHttpRequestFactory> requestFactories = new ArrayList<>();
+
+  public RestClientConfig(ClientesHttpProperties properties, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.meterRegistry = meterRegistry;
+  }
+
   @Bean(name = "recursosRestClient")
-  RestClient recursosClient(@Value("${app.recursos.base-url}") String baseUrl) {
-    return RestClient.builder().baseUrl(baseUrl).build();
+  RestClient recursosClient(RestClient.Builder builder, @Value("${app.recursos.base-url}") String baseUrl) {
+    return crear(builder, "recursos", baseUrl);
   }
 
   @Bean(name = "solicitudesRestClient")
-  RestClient solicitudesClient(@Value("${app.solicitudes.base-url}") String baseUrl) {
-    return RestClient.builder().baseUrl(baseUrl).build();
+  RestClient solicitudesClient(RestClient.Builder builder, @Value("${app.solicitudes.base-url}") String baseUrl) {
+    return crear(builder, "solicitudes", baseUrl);
   }
 
   @Bean(name = "googleMapsRestClient")
   RestClient googleMapsClient(
-      @Value("${app.google.maps.distance-matrix-url}") String baseUrl,
-      @Value("${app.google.maps.api-key}") String apiKey
+      RestClient.Builder builder,
+      @Value("${app.google.maps.distance-matrix-url}") String baseUrl
   ) {
-      // Configuración simple sin parámetros por defecto
-      return RestClient.builder()
-          .baseUrl(baseUrl)
-          .build();
+      return crear(builder, "google-maps", baseUrl);
+  }
+
+  @Override
+  public void destroy() throws Exception {
+    for (HttpComponentsClientHttpRequestFactory requestFactory : requestFactories) {
+      requestFactory.destroy();
+    }
+  }
+
+  private RestClient crear(RestClient.Builder builder, String destino, String baseUrl) {
+    return builder.clone()
+        .baseUrl(baseUrl)
+        .requestFactory(requestFactory(destino, properties.destino(destino)))
+        .observationConvention(new ConvencionObservacionClienteHttp(destino))
+        .build();
+  }
+
+  private HttpComponentsClientHttpRequestFactory requestFactory(String destino, ClientesHttpProperties.Destino config) {
+    PoolingHttpClientConnectionManager pool = PoolingHttpClientConnectionManagerBuilder.create()
+        .setMaxConnTotal(config.getMaxConexiones())
+        .setMaxConnPerRoute(config.getMaxConexiones())
+        .setDefaultConnectionConfig(ConnectionConfig.custom()
+            .setConnectTimeout(Timeout.of(config.getConnectTimeout()))
+            .setSocketTimeout(Timeout.of(config.getReadTimeout()))
+            .setTimeToLive(TimeValue.of(config.getTiempoVidaConexion()))
+            .build())
+        .build();
+
+    CloseableHttpClient httpClient = HttpClients.custom()
+        .setConnectionManager(pool)
+        .setDefaultRequestConfig(RequestConfig.custom()
+            .setConnectionRequestTimeout(Timeout.of(config.getEsperaConexion()))
+            .setResponseTimeout(Timeout.of(config.getReadTimeout()))
+            .setConnectionKeepAlive(TimeValue.of(config.getKeepAlive()))
+            .build())
+        .evictExpiredConnections()
+        .evictIdleConnections(TimeValue.of(config.getKeepAlive()))
+        .build();
+
+    Gauge.builder("http.cliente.conexiones.en.uso", pool, p -> p.getTotalStats().getLeased())
+        .description("Conexiones del pool en uso por destino")
+        .tag("destino", destino)
+        .register(meterRegistry);
+    Gauge.builder("http.cliente.conexiones.en.espera", pool, p -> p.getTotalStats().getPending())
+        .description("Llamadas esperando una conexión libre del pool por destino")
+        .tag("destino", destino)
+        .register(meterRegistry);
+
+    HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(httpClient);
+    requestFactories.add(requestFactory);
+    return requestFactory;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Autenticación de los avisos entre servicios que no pasan por el gateway (p. ej. la invalidación de tarifas
+ * que envía Recursos): el emisor manda en una cabecera el secreto compartido. Sin secreto configurado los
+ * avisos se rechazan y las tarifas se actualizan solo con el refresco periódico.
+ */
+@Component
+public class SecretoAvisosInternos {
+
+    private static final Logger logger = LoggerFactory.getLogger(SecretoAvisosInternos.class);
+
+    private final String cabecera;
+    private final byte[] secreto;
+
+    public SecretoAvisosInternos(
+            @Value("${app.seguridad.avisos-internos.cabecera:X-Aviso-Interno}") String cabecera,
+            @Value("${app.seguridad.avisos-internos.secreto:}") String secreto) {
+        this.cabecera = cabecera;
+        this.secreto = secreto.getBytes(StandardCharsets.UTF_8);
+        if (this.secreto.length == 0) {
+            logger.warn("app.seguridad.avisos-internos.secreto no está configurado: se rechazan los avisos internos.");
+        }
+    }
+
+    public boolean esValido(HttpServletRequest request) {
+        String recibido = request.getHeader(cabecera);
+        if (secreto.length == 0 || recibido == null) {
+            return false;
+        }
+        // Comparación en tiempo constante
+        return MessageDigest.isEqual(secreto, recibido.getBytes(StandardCharsets.UTF_8));
+    }
+}
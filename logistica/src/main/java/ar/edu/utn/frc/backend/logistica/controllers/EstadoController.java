@@ -0,0 +1,65 @@
+package ar.edu.utn.frc.backend.logistica.controllers;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import ar.edu.utn.frc.backend.logistica.dto.EstadoDto;
+import ar.edu.utn.frc.backend.logistica.services.CatalogoEstados;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/logistica/estados")
+@Tag(name = "4. Administración", description = "APIs de administración del servicio")
+@SecurityRequirement(name = "bearerAuth")
+public class EstadoController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EstadoController.class);
+
+    @Autowired
+    private CatalogoEstados catalogoEstados;
+
+    @Operation(
+        summary = "Recargar catálogo de estados",
+        description = """
+            Vuelve a leer la tabla de estados y reemplaza el catálogo en memoria que usan las transiciones
+            de tramos. Retorna los estados cargados.
+            
+            **Roles permitidos:** ADMIN
+            """,
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Catálogo recargado exitosamente",
+            content = @Content(schema = @Schema(implementation = EstadoDto[].class))
+        ),
+        @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
+        @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping("/recarga")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<EstadoDto>> recargarCatalogo() {
+        logger.info("POST /api/logistica/estados/recarga - Recargando catálogo de estados");
+        List<EstadoDto> estados = catalogoEstados.recargar().stream()
+                .map(estado -> new EstadoDto(estado.getId(), estado.getNombre(), estado.getDescripcion()))
+                .toList();
+        logger.info("Catálogo de estados recargado con {} estados.", estados.size());
+        return ResponseEntity.ok(estados);
+    }
+}
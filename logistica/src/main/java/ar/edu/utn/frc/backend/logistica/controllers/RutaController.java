@@ -1,12 +1,17 @@
 package ar.edu.utn.frc.backend.logistica.controllers;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,9 +20,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import ar.edu.utn.frc.backend.logistica.dto.RutaDto;
 import ar.edu.utn.frc.backend.logistica.dto.RutaTentativaDto;
+import ar.edu.utn.frc.backend.logistica.dto.TentativasSolicitudDto;
 import ar.edu.utn.frc.backend.logistica.dto.TramoDto; // Importación de TramoDto
 import ar.edu.utn.frc.backend.logistica.services.RutaService;
 import ar.edu.utn.frc.backend.logistica.services.TramoService; // Importación de TramoService
@@ -45,6 +52,9 @@ public class RutaController {
     @Autowired
     private TramoService tramoService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Operation(
         summary = "Obtener rutas tentativas",
         description = """
@@ -85,6 +95,61 @@ public class RutaController {
         }
     }
 
+    @Operation(
+        summary = "Obtener rutas tentativas en lote",
+        description = """
+            Calcula las rutas tentativas de varias solicitudes en una sola pasada. Si no se envía cuerpo
+            (o la lista está vacía) se procesan todas las solicitudes en estado 'Borrador'.
+            Tarifas, depósitos y camiones disponibles se obtienen una única vez para todo el lote y las
+            solicitudes se calculan en paralelo. La respuesta es NDJSON: una línea por solicitud,
+            enviada apenas termina su cálculo (el orden es el de finalización). Si una solicitud falla,
+            su línea trae el campo 'error' y el resto del lote continúa.
+            
+            **Roles permitidos:** ADMIN
+            """,
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Resultados por solicitud en formato NDJSON",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = TentativasSolicitudDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
+        @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
+        @ApiResponse(responseCode = "500", description = "No se pudieron obtener las tarifas del servicio 'Recursos' o error interno")
+    })
+    @PostMapping(value = "/tentativas/lote", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> obtenerTentativasLote(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                description = "IDs de las solicitudes. Vacío: todas las solicitudes en estado 'Borrador'", required = false)
+            @RequestBody(required = false) List<Integer> solicitudIds) {
+
+        logger.info("POST /api/rutas/tentativas/lote - Solicitud de rutas tentativas en lote ({}).",
+                solicitudIds == null || solicitudIds.isEmpty() ? "Borrador" : solicitudIds.size() + " solicitudes");
+
+        // Las tarifas y los datos compartidos se obtienen acá: si fallan se responde con error antes de empezar el stream
+        Stream<TentativasSolicitudDto> resultados = rutaService.obtenerTentativasLote(solicitudIds);
+
+        StreamingResponseBody cuerpo = salida -> {
+            int enviados = 0;
+            // Cerrar el Stream cancela los cálculos pendientes: también si falla una escritura (cliente desconectado)
+            try (resultados) {
+                Iterator<TentativasSolicitudDto> iterador = resultados.iterator();
+                while (iterador.hasNext()) {
+                    salida.write(objectMapper.writeValueAsBytes(iterador.next()));
+                    salida.write('\n');
+                    salida.flush();
+                    enviados++;
+                }
+            }
+            logger.info("Lote de rutas tentativas finalizado: {} resultados enviados.", enviados);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+
     @Operation(
         summary = "Obtener tramos por ID de ruta",
         description = """
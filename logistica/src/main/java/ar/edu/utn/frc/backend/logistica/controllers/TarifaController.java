@@ -0,0 +1,55 @@
+package ar.edu.utn.frc.backend.logistica.controllers;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import ar.edu.utn.frc.backend.logistica.dto.helpers.InvalidacionTarifaDto;
+import ar.edu.utn.frc.backend.logistica.services.TarifasVigentesService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+
+@RestController
+@RequestMapping("/api/interno/tarifas")
+@Tag(name = "3. Interno", description = "APIs de uso interno entre microservicios (no expuestas por el gateway)")
+public class TarifaController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TarifaController.class);
+
+    @Autowired
+    private TarifasVigentesService tarifasVigentesService;
+
+    @Operation(
+        summary = "Invalidar tarifas vigentes",
+        description = """
+            Aviso enviado por Recursos al guardar un nuevo precio de combustible o cargo de gestión.
+            Descarta la foto de tarifas en memoria si la tarifa avisada es más nueva; la próxima lectura
+            la vuelve a consultar.
+            
+            **Acceso:** Interno (sin token; cabecera `X-Aviso-Interno` con el secreto compartido
+            `app.seguridad.avisos-internos.secreto`; no se publica en el gateway)
+            """,
+        security = {}
+    )
+    @ApiResponses({
+        @ApiResponse(responseCode = "204", description = "Aviso procesado"),
+        @ApiResponse(responseCode = "400", description = "Datos de entrada inválidos"),
+        @ApiResponse(responseCode = "401", description = "Falta la cabecera con el secreto compartido o no coincide")
+    })
+    @PostMapping("/invalidacion")
+    public ResponseEntity<Void> invalidarTarifas(@Valid @RequestBody InvalidacionTarifaDto aviso) {
+        logger.info("POST /api/interno/tarifas/invalidacion - Tarifa {} vigente desde {}.",
+                aviso.getTarifa(), aviso.getFechaHoraDesde());
+
+        tarifasVigentesService.invalidar(aviso.getTarifa(), aviso.getFechaHoraDesde());
+        return ResponseEntity.noContent().build();
+    }
+}
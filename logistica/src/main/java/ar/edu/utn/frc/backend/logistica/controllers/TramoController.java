@@ -184,7 +184,8 @@ public class TramoController {
         @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
         @ApiResponse(responseCode = "403", description = "No autorizado - No es propietario del tramo o no tiene rol TRANSPORTISTA"),
         @ApiResponse(responseCode = "404", description = "Tramo no encontrado"),
-        @ApiResponse(responseCode = "409", description = "El tramo no está en estado adecuado para finalizar")
+        @ApiResponse(responseCode = "409", description = "El tramo no está en estado adecuado para finalizar"),
+        @ApiResponse(responseCode = "500", description = "No se pudieron obtener las tarifas de 'Recursos': el tramo sigue 'Iniciado' y puede reintentarse")
     })
     @PutMapping("/{tramoId}/finalizado")
     @PreAuthorize("hasRole('TRANSPORTISTA') and @tramoService.esPropietarioDelTramo(#tramoId, authentication.principal.claims['sub'])")
@@ -0,0 +1,16 @@
+package ar.edu.utn.frc.backend.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// Reserva de un camión en Recursos: vence en 'venceEn' salvo que se confirme (CAMION_OCUPADO) con el mismo token
+@Data @AllArgsConstructor @NoArgsConstructor @Builder
+public class ReservaCamionDto {
+
+    private Integer idCamion;
+    private String token;
+    private LocalDateTime venceEn;
+}
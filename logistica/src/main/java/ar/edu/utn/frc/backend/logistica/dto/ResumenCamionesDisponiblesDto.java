@@ -0,0 +1,16 @@
+package ar.edu.utn.frc.backend.logistica.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+// Cantidad y sumas de costo/consumo de los camiones disponibles con una capacidad mínima (índice de Recursos)
+@Data @AllArgsConstructor @NoArgsConstructor @Builder
+public class ResumenCamionesDisponiblesDto {
+
+    private Integer cantidad;
+    private BigDecimal sumaCostoPorKm;
+    private BigDecimal sumaConsumoCombustiblePromedio;
+}
@@ -0,0 +1,27 @@
+package ar.edu.utn.frc.backend.logistica.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Resultado del cálculo de rutas tentativas de una solicitud dentro de un lote (una línea NDJSON)")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TentativasSolicitudDto {
+
+    @Schema(description = "ID de la solicitud de transporte", example = "1")
+    private Integer solicitudId;
+
+    @Schema(description = "Rutas tentativas generadas (null si hubo error)")
+    private List<RutaTentativaDto> rutas;
+
+    @Schema(description = "Motivo por el que no se pudieron calcular las rutas (null si no hubo error)",
+            example = "No hay camiones disponibles que cumplan con la capacidad del contenedor.")
+    private String error;
+}
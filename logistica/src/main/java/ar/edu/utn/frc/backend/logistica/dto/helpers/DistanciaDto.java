@@ -15,4 +15,6 @@ public class DistanciaDto {
     private double kilometros;
     private String duracionTexto;
     private Long duracionSegundos;
+    // true cuando la distancia es una estimación (Haversine) y no fue resuelta por el proveedor
+    private boolean aproximada;
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package ar.edu.utn.frc.backend.logistica.dto.helpers;
+
+import java.time.LocalDateTime;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Schema(description = "Aviso de Recursos: se guardó una nueva tarifa vigente")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class InvalidacionTarifaDto {
+
+    @Schema(description = "Tarifa modificada: COMBUSTIBLE o GESTION", example = "COMBUSTIBLE")
+    @NotNull(message = "La tarifa es obligatoria.")
+    private String tarifa;
+
+    @Schema(description = "Inicio de vigencia de la nueva tarifa", example = "2025-11-20T10:15:30")
+    private LocalDateTime fechaHoraDesde;
+}
@@ -0,0 +1,54 @@
+package ar.edu.utn.frc.backend.logistica.dto.helpers;
+
+import java.util.Arrays;
+
+import lombok.Getter;
+
+/**
+ * Matriz densa de distancias (km) y duraciones (segundos) entre una lista de orígenes (filas)
+ * y una lista de destinos (columnas). Las celdas que el proveedor no pudo resolver quedan en NaN / -1
+ * hasta que se completan con una estimación, en cuyo caso se marcan como aproximadas.
+ */
+@Getter
+public class MatrizDistanciasDto {
+
+    private final float[][] kilometros;
+    private final long[][] duracionSegundos;
+    private final boolean[][] aproximada;
+
+    public MatrizDistanciasDto(int filas, int columnas) {
+        this.kilometros = new float[filas][columnas];
+        this.duracionSegundos = new long[filas][columnas];
+        this.aproximada = new boolean[filas][columnas];
+        for (int i = 0; i < filas; i++) {
+            Arrays.fill(kilometros[i], Float.NaN);
+            Arrays.fill(duracionSegundos[i], -1L);
+        }
+    }
+
+    public int getFilas() {
+        return kilometros.length;
+    }
+
+    public int getColumnas() {
+        return kilometros.length == 0 ? 0 : kilometros[0].length;
+    }
+
+    public void setCelda(int fila, int columna, float km, long segundos) {
+        kilometros[fila][columna] = km;
+        duracionSegundos[fila][columna] = segundos;
+    }
+
+    public void setCeldaAproximada(int fila, int columna, float km, long segundos) {
+        setCelda(fila, columna, km, segundos);
+        aproximada[fila][columna] = true;
+    }
+
+    public boolean esAproximada(int fila, int columna) {
+        return aproximada[fila][columna];
+    }
+
+    public boolean estaResuelta(int fila, int columna) {
+        return !Float.isNaN(kilometros[fila][columna]);
+    }
+}
@@ -0,0 +1,43 @@
+package ar.edu.utn.frc.backend.logistica.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Distancia y duración resueltas por el proveedor de mapas para un par de coordenadas.
+ * La clave se arma con las coordenadas redondeadas de origen y destino.
+ */
+@Entity
+@Table(name = "distancia_cache")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DistanciaCache {
+
+    @Id
+    @Column(name = "clave", length = 64)
+    private String clave;
+
+    @Column(name = "kilometros", nullable = false)
+    private Double kilometros;
+
+    @Column(name = "duracion_segundos", nullable = false)
+    private Long duracionSegundos;
+
+    @Column(name = "duracion_texto", length = 50)
+    private String duracionTexto;
+
+    @Column(name = "fecha_actualizacion", nullable = false)
+    private LocalDateTime fechaActualizacion;
+}
@@ -0,0 +1,9 @@
+package ar.edu.utn.frc.backend.logistica.entities;
+
+public enum EstadoEventoSaliente {
+    PENDIENTE, // Registrado (o con reintento programado), todavía no confirmado por el destino.
+    ENVIADO, // Entregado y confirmado por el servicio destino.
+    FALLIDO, // Rechazado por el destino o sin éxito tras agotar los reintentos; requiere revisión. Retiene los
+             // eventos posteriores del mismo agregado hasta que se lo vuelve a PENDIENTE o se lo descarta.
+    DESCARTADO // Fallido ya resuelto (revisado o compensado localmente): no se entrega ni retiene al agregado.
+}
@@ -0,0 +1,73 @@
+package ar.edu.utn.frc.backend.logistica.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Evento del outbox: cambio que hay que propagar a otro microservicio (Solicitudes o Recursos).
+ * Se inserta en la misma transacción que el cambio local y lo entrega el relay en segundo plano.
+ * 'agregado' identifica la entidad remota afectada (p. ej. "solicitud-12"): los eventos de un mismo
+ * agregado se entregan en orden. 'claveIdempotencia' viaja en la cabecera Idempotency-Key.
+ */
+@Entity
+@Table(name = "evento_saliente", indexes = {
+    @Index(name = "idx_evento_saliente_pendientes", columnList = "estado, proximo_intento"),
+    @Index(name = "idx_evento_saliente_agregado", columnList = "agregado, estado")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventoSaliente {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "clave_idempotencia", nullable = false, unique = true, length = 100)
+    private String claveIdempotencia;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tipo", nullable = false, length = 40)
+    private TipoEventoSaliente tipo;
+
+    @Column(name = "agregado", nullable = false, length = 50)
+    private String agregado;
+
+    @Column(name = "datos", nullable = false, length = 1000)
+    private String datos; // JSON con los parámetros de la llamada remota
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false, length = 20)
+    private EstadoEventoSaliente estado;
+
+    @Column(name = "intentos", nullable = false)
+    private Integer intentos;
+
+    @Column(name = "proximo_intento", nullable = false)
+    private LocalDateTime proximoIntento;
+
+    @Column(name = "fecha_creacion", nullable = false)
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_envio")
+    private LocalDateTime fechaEnvio;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+}
@@ -0,0 +1,15 @@
+package ar.edu.utn.frc.backend.logistica.entities;
+
+public enum TipoEventoSaliente {
+    SOLICITUD_EN_TRANSITO, // Solicitudes: la solicitud pasa a 'En Tránsito' (primer tramo iniciado).
+    CONTENEDOR_EN_VIAJE, // Solicitudes: el contenedor sale de un depósito intermedio.
+    CONTENEDOR_EN_DEPOSITO, // Solicitudes: el contenedor llega a un depósito intermedio.
+    SOLICITUD_ENTREGADA, // Solicitudes: último tramo finalizado, con costo y tiempo reales.
+    CAMION_OCUPADO, // Recursos: el camión queda asignado a un tramo.
+    CAMION_LIBRE; // Recursos: el camión termina su tramo.
+
+    // Los eventos de Solicitudes se entregan juntos en un lote de transiciones
+    public boolean esDeSolicitudes() {
+        return this != CAMION_OCUPADO && this != CAMION_LIBRE;
+    }
+}
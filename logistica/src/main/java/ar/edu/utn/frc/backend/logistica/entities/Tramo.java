@@ -69,6 +69,10 @@ public class Tramo {
     @JoinColumn(name = "id_camion", nullable = true)
     private Camion camion;
 
+    // Clave con la que se reservó el camión en Recursos (una por intento de asignación); con ella se libera
+    @Column(name = "reserva_camion", nullable = true, length = 100)
+    private String reservaCamion;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "id_ruta", nullable = false)
     private Ruta ruta;
@@ -0,0 +1,25 @@
+package ar.edu.utn.frc.backend.logistica.mappers;
+
+import ar.edu.utn.frc.backend.logistica.dto.CamionDto;
+import ar.edu.utn.frc.backend.logistica.entities.Camion;
+
+public final class CamionMapper {
+
+    private CamionMapper() {
+    }
+
+    public static CamionDto aDto(Camion camion) {
+        if (camion == null) {
+            return null;
+        }
+        return new CamionDto(
+                camion.getId(),
+                camion.getDominio(),
+                camion.getCapacidadVolumen(),
+                camion.getCapacidadPeso(),
+                camion.getCostoPorKm(),
+                camion.getConsumoCombustiblePromedio(),
+                camion.getNombreTransportista(),
+                camion.getTelefonoTransportista());
+    }
+}
@@ -0,0 +1,30 @@
+package ar.edu.utn.frc.backend.logistica.mappers;
+
+import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
+import ar.edu.utn.frc.backend.logistica.entities.Ciudad;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+
+/**
+ * Mapeo Deposito -> DepositoDto escrito a mano: se usa por cada depósito al calcular rutas y al
+ * armar tramos, donde el mapeo reflexivo de ModelMapper pesaba más que el propio cálculo.
+ */
+public final class DepositoMapper {
+
+    private DepositoMapper() {
+    }
+
+    public static DepositoDto aDto(Deposito deposito) {
+        if (deposito == null) {
+            return null;
+        }
+        Ciudad ciudad = deposito.getCiudad();
+        return new DepositoDto(
+                deposito.getId(),
+                deposito.getNombre(),
+                deposito.getDireccion(),
+                deposito.getPrecioPorDia(),
+                deposito.getLatitud(),
+                deposito.getLongitud(),
+                ciudad != null ? ciudad.getNombre() : null);
+    }
+}
@@ -0,0 +1,20 @@
+package ar.edu.utn.frc.backend.logistica.mappers;
+
+import ar.edu.utn.frc.backend.logistica.dto.RutaDto;
+import ar.edu.utn.frc.backend.logistica.entities.Ruta;
+
+public final class RutaMapper {
+
+    private RutaMapper() {
+    }
+
+    /** Mapea los datos propios de la ruta; los tramos los completa quien llama (ver TramoService.buscarPorRuta). */
+    public static RutaDto aDto(Ruta ruta) {
+        return RutaDto.builder()
+                .id(ruta.getId())
+                .cantidadTramos(ruta.getCantidadTramos())
+                .cantidadDepositos(ruta.getCantidadDepositos())
+                .idSolicitud(ruta.getSolicitud() != null ? ruta.getSolicitud().getId() : null)
+                .build();
+    }
+}
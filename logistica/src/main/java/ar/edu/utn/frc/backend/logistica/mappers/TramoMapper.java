@@ -0,0 +1,32 @@
+package ar.edu.utn.frc.backend.logistica.mappers;
+
+import ar.edu.utn.frc.backend.logistica.dto.TramoDto;
+import ar.edu.utn.frc.backend.logistica.entities.Tramo;
+
+public final class TramoMapper {
+
+    private TramoMapper() {
+    }
+
+    /**
+     * Los tiempos se devuelven en 0 si todavía no se conocen. Recorre estado, depósitos (con su ciudad)
+     * y camión, así que el tramo debe venir con esas relaciones cargadas o dentro de una sesión abierta.
+     */
+    public static TramoDto aDto(Tramo tramo) {
+        return TramoDto.builder()
+                .id(tramo.getId())
+                .nroOrden(tramo.getNroOrden())
+                .origen(DepositoMapper.aDto(tramo.getOrigen()))
+                .destino(DepositoMapper.aDto(tramo.getDestino()))
+                .tiempoEstimadoSegundos(tramo.getTiempoEstimado() != null ? tramo.getTiempoEstimado() : 0L)
+                .tiempoRealSegundos(tramo.getTiempoReal() != null ? tramo.getTiempoReal() : 0L)
+                .costoEstimado(tramo.getCostoEstimado())
+                .costoReal(tramo.getCostoReal())
+                .fechaHoraInicio(tramo.getFechaHoraInicio())
+                .fechaHoraFin(tramo.getFechaHoraFin())
+                .nombreEstado(tramo.getEstado() != null ? tramo.getEstado().getNombre() : null)
+                .tipoTramo(tramo.getTipoTramo() != null ? tramo.getTipoTramo().name() : null)
+                .camion(CamionMapper.aDto(tramo.getCamion()))
+                .build();
+    }
+}
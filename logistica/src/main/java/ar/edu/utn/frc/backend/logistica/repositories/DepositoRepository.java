@@ -1,9 +1,15 @@
 package ar.edu.utn.frc.backend.logistica.repositories;
 
+import java.util.List;
+
 import ar.edu.utn.frc.backend.logistica.entities.Deposito;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface DepositoRepository extends JpaRepository<Deposito, Integer> {
-}
\ No newline at end of file
+
+    @Query("SELECT d FROM Deposito d JOIN FETCH d.ciudad ORDER BY d.id")
+    List<Deposito> findAllConCiudad();
+}
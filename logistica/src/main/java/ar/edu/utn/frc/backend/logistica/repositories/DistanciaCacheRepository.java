@@ -0,0 +1,10 @@
+package ar.edu.utn.frc.backend.logistica.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import ar.edu.utn.frc.backend.logistica.entities.DistanciaCache;
+
+@Repository
+public interface DistanciaCacheRepository extends JpaRepository<DistanciaCache, String> {
+}
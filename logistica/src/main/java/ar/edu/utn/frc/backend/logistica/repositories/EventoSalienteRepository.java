@@ -0,0 +1,39 @@
+package ar.edu.utn.frc.backend.logistica.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import ar.edu.utn.frc.backend.logistica.entities.EstadoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.EventoSaliente;
+
+@Repository
+public interface EventoSalienteRepository extends JpaRepository<EventoSaliente, Long> {
+
+    // Próximos eventos a entregar: solo el más antiguo pendiente de cada agregado (orden por agregado).
+    // Un evento FALLIDO anterior retiene al agregado: nada se entrega después de un evento que no llegó.
+    // SKIP LOCKED evita que dos instancias tomen el mismo evento.
+    @Query(value = "SELECT e.* FROM evento_saliente e "
+            + "WHERE e.estado = 'PENDIENTE' AND e.proximo_intento <= :ahora "
+            + "AND NOT EXISTS (SELECT 1 FROM evento_saliente a "
+            + "    WHERE a.agregado = e.agregado AND a.estado IN ('PENDIENTE', 'FALLIDO') AND a.id < e.id) "
+            + "ORDER BY e.id LIMIT :limite FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<EventoSaliente> findLoteParaEnviar(@Param("ahora") LocalDateTime ahora, @Param("limite") int limite);
+
+    long countByEstado(EstadoEventoSaliente estado);
+
+    // Agregados con eventos pendientes retenidos detrás de un evento FALLIDO
+    @Query("SELECT COUNT(DISTINCT f.agregado) FROM EventoSaliente f WHERE f.estado = :fallido "
+            + "AND EXISTS (SELECT p.id FROM EventoSaliente p WHERE p.agregado = f.agregado AND p.estado = :pendiente AND p.id > f.id)")
+    long countAgregadosRetenidos(@Param("fallido") EstadoEventoSaliente fallido,
+            @Param("pendiente") EstadoEventoSaliente pendiente);
+
+    @Modifying
+    @Query("DELETE FROM EventoSaliente e WHERE e.estado = :estado AND e.fechaEnvio < :limite")
+    int deleteByEstadoAndFechaEnvioBefore(@Param("estado") EstadoEventoSaliente estado, @Param("limite") LocalDateTime limite);
+}
@@ -2,6 +2,7 @@ package ar.edu.utn.frc.backend.logistica.repositories;
 
 import ar.edu.utn.frc.backend.logistica.entities.SolicitudTransporte;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -14,4 +15,17 @@ public interface SolicitudTransporteRepository extends JpaRepository<SolicitudTr
 
     @Query("SELECT s FROM SolicitudTransporte s JOIN s.estado e WHERE e.nombre = :nombreEstado")
     List<SolicitudTransporte> findByEstadoNombre(@Param("nombreEstado") String nombreEstado);
+
+    // Cargan junto con la solicitud el contenedor y los depósitos (con su ciudad) para calcular rutas fuera de la sesión
+    @Query("SELECT s FROM SolicitudTransporte s JOIN FETCH s.contenedor "
+            + "JOIN FETCH s.depositoOrigen o JOIN FETCH o.ciudad "
+            + "JOIN FETCH s.depositoDestino d JOIN FETCH d.ciudad "
+            + "WHERE s.id IN :ids")
+    List<SolicitudTransporte> findConDetalleByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT s FROM SolicitudTransporte s JOIN FETCH s.contenedor "
+            + "JOIN FETCH s.depositoOrigen o JOIN FETCH o.ciudad "
+            + "JOIN FETCH s.depositoDestino d JOIN FETCH d.ciudad "
+            + "JOIN s.estado e WHERE e.nombre = :nombreEstado")
+    List<SolicitudTransporte> findConDetalleByEstadoNombre(@Param("nombreEstado") String nombreEstado);
 }
@@ -4,10 +4,13 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import ar.edu.utn.frc.backend.logistica.entities.Camion;
+import ar.edu.utn.frc.backend.logistica.entities.Estado;
 import ar.edu.utn.frc.backend.logistica.entities.Tramo;
 
 @Repository
@@ -23,4 +26,11 @@ public interface TramoRepository extends JpaRepository<Tramo, Integer> {
     List<Tramo> findByCamionAsignado(@Param("idCamion") Integer idCamion);
 
     Optional<Tramo> findByRutaIdAndNroOrden(Integer rutaId, Integer nroOrden);
+
+    // Asignación condicional: solo si el tramo todavía no tiene camión (entre pedidos concurrentes gana uno)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Tramo t SET t.camion = :camion, t.estado = :estado, t.reservaCamion = :reserva "
+            + "WHERE t.id = :id AND t.camion IS NULL")
+    int asignarCamionSiNoTiene(@Param("id") Integer id, @Param("camion") Camion camion, @Param("estado") Estado estado,
+            @Param("reserva") String reserva);
 }
\ No newline at end of file
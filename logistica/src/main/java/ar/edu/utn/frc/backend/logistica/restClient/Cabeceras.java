@@ -0,0 +1,11 @@
+package ar.edu.utn.frc.backend.logistica.restClient;
+
+// Cabeceras HTTP compartidas por los clientes de los otros microservicios
+public final class Cabeceras {
+
+    // Clave con la que el destino descarta los reintentos de una operación ya aplicada
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private Cabeceras() {
+    }
+}
@@ -0,0 +1,155 @@
+package ar.edu.utn.frc.backend.logistica.restClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ar.edu.utn.frc.backend.logistica.config.GoogleMapsResilienciaProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+
+/**
+ * Circuito de un proveedor externo evaluado sobre las últimas 'ventana' llamadas. Cerrado, deja pasar todo;
+ * cuando las fallas (errores o respuestas más lentas que 'llamadaLenta') superan 'umbralFallas' se abre y
+ * rechaza las llamadas sin esperar, para que el cliente use su estimación local. Pasado 'esperaAbierto'
+ * queda semiabierto y deja pasar 'llamadasPrueba' llamadas: si todas salen bien se cierra, si una falla
+ * vuelve a abrirse. Cada llamada permitida debe informar su resultado con registrar().
+ */
+public class CircuitoProveedor {
+
+    private static final Logger logger = LoggerFactory.getLogger(CircuitoProveedor.class);
+
+    public enum Estado {
+        CERRADO, SEMIABIERTO, ABIERTO
+    }
+
+    private final String nombre;
+    private final GoogleMapsResilienciaProperties.Circuito config;
+    private final LongSupplier reloj;
+    private final MeterRegistry meterRegistry;
+
+    // Resultados de las últimas llamadas (true: falla), como buffer circular
+    private final boolean[] ventana;
+    private int posicion;
+    private int llamadas;
+    private int fallas;
+
+    private Estado estado = Estado.CERRADO;
+    private long abiertoDesde;
+    private int pruebasPermitidas;
+    private int pruebasExitosas;
+
+    public CircuitoProveedor(String nombre, GoogleMapsResilienciaProperties.Circuito config, MeterRegistry meterRegistry) {
+        this(nombre, config, meterRegistry, System::nanoTime);
+    }
+
+    CircuitoProveedor(String nombre, GoogleMapsResilienciaProperties.Circuito config, MeterRegistry meterRegistry,
+            LongSupplier reloj) {
+        this.nombre = nombre;
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+        this.reloj = reloj;
+        this.ventana = new boolean[Math.max(1, config.getVentana())];
+        Gauge.builder("proveedor.circuito.estado", this, circuito -> circuito.getEstado().ordinal())
+                .description("Estado del circuito del proveedor (0 cerrado, 1 semiabierto, 2 abierto)")
+                .tag("proveedor", nombre)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Indica si la llamada puede hacerse. Con el circuito abierto (o sin lugar para otra prueba) devuelve
+     * false y el llamador debe usar su alternativa local sin consultar al proveedor.
+     */
+    public synchronized boolean permitir() {
+        if (!config.isHabilitado()) {
+            return true;
+        }
+        if (estado == Estado.ABIERTO && reloj.getAsLong() - abiertoDesde >= config.getEsperaAbierto().toNanos()) {
+            cambiarA(Estado.SEMIABIERTO);
+        }
+        return switch (estado) {
+            case CERRADO -> true;
+            case ABIERTO -> false;
+            case SEMIABIERTO -> {
+                if (pruebasPermitidas >= config.getLlamadasPrueba()) {
+                    yield false;
+                }
+                pruebasPermitidas++;
+                yield true;
+            }
+        };
+    }
+
+    // Resultado de una llamada permitida: 'exito' es la respuesta del proveedor, 'duracion' lo que tardó
+    public synchronized void registrar(boolean exito, Duration duracion) {
+        if (!config.isHabilitado()) {
+            return;
+        }
+        boolean falla = !exito || duracion.compareTo(config.getLlamadaLenta()) > 0;
+        switch (estado) {
+            case CERRADO -> {
+                agregarAVentana(falla);
+                if (llamadas >= config.getMinimoLlamadas() && fallas >= config.getUmbralFallas() * llamadas) {
+                    logger.warn("Circuito de {} abierto: {} de las últimas {} llamadas fallaron o fueron lentas.",
+                            nombre, fallas, llamadas);
+                    cambiarA(Estado.ABIERTO);
+                }
+            }
+            case SEMIABIERTO -> {
+                if (falla) {
+                    logger.warn("Circuito de {} reabierto: falló una llamada de prueba.", nombre);
+                    cambiarA(Estado.ABIERTO);
+                } else if (++pruebasExitosas >= config.getLlamadasPrueba()) {
+                    logger.info("Circuito de {} cerrado: las llamadas de prueba respondieron bien.", nombre);
+                    cambiarA(Estado.CERRADO);
+                }
+            }
+            // Llamadas que empezaron antes de abrirse: ya no cambian nada
+            case ABIERTO -> {
+            }
+        }
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    private void agregarAVentana(boolean falla) {
+        if (llamadas == ventana.length) {
+            if (ventana[posicion]) {
+                fallas--;
+            }
+        } else {
+            llamadas++;
+        }
+        ventana[posicion] = falla;
+        if (falla) {
+            fallas++;
+        }
+        posicion = (posicion + 1) % ventana.length;
+    }
+
+    private void cambiarA(Estado nuevo) {
+        estado = nuevo;
+        pruebasPermitidas = 0;
+        pruebasExitosas = 0;
+        if (nuevo == Estado.ABIERTO) {
+            abiertoDesde = reloj.getAsLong();
+        }
+        if (nuevo == Estado.CERRADO) {
+            posicion = 0;
+            llamadas = 0;
+            fallas = 0;
+        }
+        Counter.builder("proveedor.circuito.transiciones")
+                .description("Cambios de estado del circuito del proveedor")
+                .tags(List.of(Tag.of("proveedor", nombre), Tag.of("estado", nuevo.name().toLowerCase())))
+                .register(meterRegistry)
+                .increment();
+    }
+}
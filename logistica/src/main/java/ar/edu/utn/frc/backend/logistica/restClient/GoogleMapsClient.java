@@ -1,120 +1,527 @@
 package ar.edu.utn.frc.backend.logistica.restClient;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
 import org.springframework.beans.factory.annotation.Value;
 
+import ar.edu.utn.frc.backend.logistica.config.GoogleMapsResilienciaProperties;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.CoordenadasDto;
 import ar.edu.utn.frc.backend.logistica.dto.helpers.DistanciaDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.MatrizDistanciasDto;
+import ar.edu.utn.frc.backend.logistica.services.DistanciaCacheService;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
 public class GoogleMapsClient {
+
+    // Límites por consulta de la Distance Matrix API
+    private static final int MAX_ORIGENES_POR_CONSULTA = 25;
+    private static final int MAX_DESTINOS_POR_CONSULTA = 25;
+    private static final int MAX_ELEMENTOS_POR_CONSULTA = 100;
+    // Velocidad promedio usada para estimar la duración cuando el proveedor no responde
+    private static final double VELOCIDAD_PROMEDIO_FALLBACK_KMH = 80.0;
+    // Status generales que indican un pedido mal armado y no una falla del proveedor (no cuentan para el circuito)
+    private static final Set<String> ERRORES_DEL_PEDIDO = Set.of("INVALID_REQUEST", "MAX_ELEMENTS_EXCEEDED",
+            "MAX_DIMENSIONS_EXCEEDED");
+    private static final String OPERACION_DISTANCIA = "distancia";
+    private static final String OPERACION_MATRIZ = "matriz";
     
     private final RestClient restClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
     private final String apiKey; // Agregar este campo
+    private final DistanciaCacheService distanciaCacheService;
+    private final LlamadasAsincronas llamadasAsincronas;
+    private final MeterRegistry meterRegistry;
+    private final GoogleMapsResilienciaProperties.Hedge configHedge;
+    private final CircuitoProveedor circuito;
+
+    // Presupuesto de hedges: consultas de tramo que pudieron lanzar un segundo pedido y cuántas lo hicieron
+    private final AtomicLong consultasConHedge = new AtomicLong();
+    private final AtomicLong hedgesLanzados = new AtomicLong();
 
     // Modificar el constructor para recibir el API Key
     public GoogleMapsClient(
             @Qualifier("googleMapsRestClient") RestClient restClient,
-            @Value("${app.google.maps.api-key}") String apiKey) {
+            @Value("${app.google.maps.api-key}") String apiKey,
+            DistanciaCacheService distanciaCacheService,
+            GoogleMapsResilienciaProperties resiliencia,
+            LlamadasAsincronas llamadasAsincronas,
+            MeterRegistry meterRegistry) {
         this.restClient = restClient;
         this.apiKey = apiKey;
+        this.distanciaCacheService = distanciaCacheService;
+        this.llamadasAsincronas = llamadasAsincronas;
+        this.meterRegistry = meterRegistry;
+        this.configHedge = resiliencia.getHedge();
+        this.circuito = new CircuitoProveedor("google-maps", resiliencia.getCircuito(), meterRegistry);
         log.info("GoogleMapsClient inicializado con API Key: {}", 
                  apiKey != null ? "PRESENTE (longitud: " + apiKey.length() + ")" : "AUSENTE");
     }
 
+    // Indica si vale la pena consultar al proveedor: hay API key y el circuito no está abierto
+    public boolean proveedorDisponible() {
+        return apiKey != null && !apiKey.isBlank() && circuito.getEstado() != CircuitoProveedor.Estado.ABIERTO;
+    }
+
     public DistanciaDto calcularDistancia(Float latitudOrg, Float LongitudOrg, 
                                          Float latitudDest, Float LongitudDest) {
-        try {
-            String origen = latitudOrg + "," + LongitudOrg;
-            String destino = latitudDest + "," + LongitudDest;
+        String origen = latitudOrg + "," + LongitudOrg;
+        String destino = latitudDest + "," + LongitudDest;
 
-            String uri = String.format("?destinations=%s&origins=%s&units=metric&key=%s", 
-                                     destino, origen, apiKey);
+        // Se consulta primero la caché (memoria y tabla distancia_cache); el proveedor solo ante un fallo
+        String clave = distanciaCacheService.clave(latitudOrg, LongitudOrg, latitudDest, LongitudDest);
+        DistanciaDto distancia = distanciaCacheService.obtener(clave, () -> consultarDistanceMatrix(origen, destino));
 
-            log.debug("Consultando Google Maps Distance Matrix: {}", 
-                     uri.replace(apiKey, "API_KEY_REDACTED")); // Log seguro
-            
-            String response = restClient.get()
-                    .uri(uri)
-                    .retrieve()
-                    .body(String.class);
+        if (distancia == null) {
+            return crearDistanciaFallback(origen, destino, latitudOrg, LongitudOrg, latitudDest, LongitudDest);
+        }
+        return distancia;
+    }
+
+    /**
+     * Consulta la Distance Matrix API. Retorna null si el proveedor no pudo resolver el tramo o si el
+     * circuito está abierto (en ese caso sin consultar, para que el llamador estime enseguida).
+     */
+    private DistanciaDto consultarDistanceMatrix(String origen, String destino) {
+        if (!circuito.permitir()) {
+            log.debug("Circuito de Google Maps abierto: se estima el tramo {} -> {} sin consultar.", origen, destino);
+            registrarFallback(OPERACION_DISTANCIA, "circuito-abierto");
+            return null;
+        }
+
+        String uri = String.format("?destinations=%s&origins=%s&units=metric&key=%s", 
+                                 destino, origen, apiKey);
+        log.debug("Consultando Google Maps Distance Matrix: {}", 
+                 uri.replace(apiKey, "API_KEY_REDACTED")); // Log seguro
 
+        long inicio = System.nanoTime();
+        boolean proveedorRespondio = false;
+        DistanciaDto distancia = null;
+        String motivoFallback = "error";
+        try {
+            String response = conHedge(() -> pedirDistancia(uri));
             log.debug("Google Maps response: {}", response);
             
             JsonNode root = objectMapper.readTree(response);
             
             // Verificar status general
             String apiStatus = root.path("status").asText();
+            proveedorRespondio = "OK".equals(apiStatus) || ERRORES_DEL_PEDIDO.contains(apiStatus);
             if (!"OK".equals(apiStatus)) {
                 log.error("Google Maps API error status: {}", apiStatus);
-                return crearDistanciaFallback(origen, destino, latitudOrg, LongitudOrg, latitudDest, LongitudDest);
+            } else {
+                motivoFallback = "sin-resultado";
+                distancia = leerDistancia(root, origen, destino);
             }
+        } catch (Exception e) {
+            log.error("Error calling Google Maps API: {}", e.getMessage(), e);
+        } finally {
+            circuito.registrar(proveedorRespondio, Duration.ofNanos(System.nanoTime() - inicio));
+        }
+
+        if (distancia == null) {
+            registrarFallback(OPERACION_DISTANCIA, motivoFallback);
+        }
+        return distancia;
+    }
+
+    private DistanciaDto leerDistancia(JsonNode root, String origen, String destino) {
+        JsonNode rows = root.path("rows");
+        if (rows.isEmpty() || !rows.has(0)) {
+            log.error("No rows in Google Maps response");
+            return null;
+        }
+        
+        JsonNode elements = rows.get(0).path("elements");
+        if (elements.isEmpty() || !elements.has(0)) {
+            log.error("No elements in Google Maps response");
+            return null;
+        }
+        
+        JsonNode element = elements.get(0);
+        String elementStatus = element.path("status").asText();
+        
+        if ("OK".equals(elementStatus)) {
+            JsonNode distanceNode = element.path("distance");
+            JsonNode durationNode = element.path("duration");
             
-            JsonNode rows = root.path("rows");
-            if (rows.isEmpty() || !rows.has(0)) {
-                log.error("No rows in Google Maps response");
-                return crearDistanciaFallback(origen, destino, latitudOrg, LongitudOrg, latitudDest, LongitudDest);
+            if (distanceNode.isMissingNode() || durationNode.isMissingNode()) {
+                log.error("Missing distance or duration in Google Maps response");
+                return null;
             }
             
-            JsonNode elements = rows.get(0).path("elements");
-            if (elements.isEmpty() || !elements.has(0)) {
-                log.error("No elements in Google Maps response");
-                return crearDistanciaFallback(origen, destino, latitudOrg, LongitudOrg, latitudDest, LongitudDest);
-            }
+            double metros = distanceNode.path("value").asDouble();
+            String duracionTexto = durationNode.path("text").asText();
             
-            JsonNode element = elements.get(0);
-            String elementStatus = element.path("status").asText();
+            // CORRECCIÓN: Usar asLong() en lugar de casting
+            Long duracionSegundos = durationNode.path("value").asLong();
             
-            if ("OK".equals(elementStatus)) {
-                JsonNode distanceNode = element.path("distance");
-                JsonNode durationNode = element.path("duration");
-                
-                if (distanceNode.isMissingNode() || durationNode.isMissingNode()) {
-                    log.error("Missing distance or duration in Google Maps response");
-                    return crearDistanciaFallback(origen, destino, latitudOrg, LongitudOrg, latitudDest, LongitudDest);
+            log.info("Google Maps response - Distance: {} km, Duration: {} segundos", 
+                    metros / 1000.0, duracionSegundos);
+            
+            return DistanciaDto.builder()
+                .origen(origen)
+                .destino(destino)
+                .kilometros(metros / 1000.0)
+                .duracionTexto(duracionTexto)
+                .duracionSegundos(duracionSegundos)
+                .build();
+        } else {
+            log.warn("Google Maps element status: {}", elementStatus);
+            return null;
+        }
+    }
+
+    // Un pedido de tramo al proveedor; cada intento (también el segundo de un hedge) registra su latencia
+    private String pedirDistancia(String uri) {
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        String resultado = "error";
+        try {
+            String response = restClient.get()
+                    .uri(uri)
+                    .retrieve()
+                    .body(String.class);
+            resultado = "exito";
+            return response;
+        } finally {
+            muestra.stop(latencia(OPERACION_DISTANCIA, resultado));
+        }
+    }
+
+    /**
+     * Lanza la consulta y, si no respondió dentro de la demora de hedge (el p95 de las consultas de tramo
+     * exitosas, acotado por la configuración), lanza una segunda igual y devuelve la primera que responde
+     * bien; la otra termina en segundo plano y se descarta. No se lanza la segunda consulta si el circuito
+     * no está cerrado o si se agotó el presupuesto de hedges (una fracción de las consultas).
+     */
+    private String conHedge(Supplier<String> consulta) {
+        if (!configHedge.isHabilitado()) {
+            return consulta.get();
+        }
+        consultasConHedge.incrementAndGet();
+        CompletableFuture<String> primera = llamadasAsincronas.ejecutar(consulta);
+        try {
+            return primera.get(demoraHedge().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // Sigue con el segundo pedido
+        } catch (ExecutionException e) {
+            return LlamadasAsincronas.esperar(primera);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Consulta a Google Maps interrumpida", e);
+        }
+
+        if (circuito.getEstado() != CircuitoProveedor.Estado.CERRADO || !hayPresupuestoHedge()) {
+            contadorHedge("omitido").increment();
+            return LlamadasAsincronas.esperar(primera);
+        }
+        contadorHedge("lanzado").increment();
+        CompletableFuture<String> segunda = llamadasAsincronas.ejecutar(consulta);
+
+        CompletableFuture<String> resultado = new CompletableFuture<>();
+        AtomicBoolean respondida = new AtomicBoolean();
+        AtomicInteger fallidas = new AtomicInteger();
+        for (CompletableFuture<String> intento : List.of(primera, segunda)) {
+            intento.whenComplete((respuesta, error) -> {
+                if (error == null) {
+                    // El contador se actualiza antes de liberar al llamador
+                    if (respondida.compareAndSet(false, true)) {
+                        if (intento == segunda) {
+                            contadorHedge("ganado").increment();
+                        }
+                        resultado.complete(respuesta);
+                    }
+                } else if (fallidas.incrementAndGet() == 2) {
+                    resultado.completeExceptionally(error);
+                }
+            });
+        }
+        return LlamadasAsincronas.esperar(resultado);
+    }
+
+    private boolean hayPresupuestoHedge() {
+        long lanzados = hedgesLanzados.incrementAndGet();
+        if (lanzados <= configHedge.getPresupuesto() * consultasConHedge.get()) {
+            return true;
+        }
+        hedgesLanzados.decrementAndGet();
+        return false;
+    }
+
+    // p95 de la latencia de las consultas de tramo exitosas, o la demora inicial si todavía hay pocas muestras
+    private Duration demoraHedge() {
+        Timer exitosas = latencia(OPERACION_DISTANCIA, "exito");
+        if (exitosas.count() >= configHedge.getMuestrasMinimas()) {
+            for (ValueAtPercentile percentil : exitosas.takeSnapshot().percentileValues()) {
+                if (percentil.percentile() == 0.95) {
+                    Duration p95 = Duration.ofNanos((long) percentil.value(TimeUnit.NANOSECONDS));
+                    if (p95.compareTo(configHedge.getDemoraMinima()) < 0) {
+                        return configHedge.getDemoraMinima();
+                    }
+                    return p95.compareTo(configHedge.getDemoraMaxima()) > 0 ? configHedge.getDemoraMaxima() : p95;
                 }
-                
-                double metros = distanceNode.path("value").asDouble();
-                String duracionTexto = durationNode.path("text").asText();
-                
-                // CORRECCIÓN: Usar asLong() en lugar de casting
-                Long duracionSegundos = durationNode.path("value").asLong();
-                
-                log.info("Google Maps response - Distance: {} km, Duration: {} segundos", 
-                        metros / 1000.0, duracionSegundos);
-                
-                return DistanciaDto.builder()
-                    .origen(origen)
-                    .destino(destino)
-                    .kilometros(metros / 1000.0)
-                    .duracionTexto(duracionTexto)
-                    .duracionSegundos(duracionSegundos)
-                    .build();
-            } else {
-                log.warn("Google Maps element status: {}", elementStatus);
-                return crearDistanciaFallback(origen, destino, latitudOrg, LongitudOrg, latitudDest, LongitudDest);
             }
-            
+        }
+        return configHedge.getDemoraInicial();
+    }
+
+    private Timer latencia(String operacion, String resultado) {
+        return Timer.builder("google.maps.latencia")
+                .description("Latencia de cada pedido a la Distance Matrix API")
+                .tag("operacion", operacion)
+                .tag("resultado", resultado)
+                .publishPercentiles(0.95)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void registrarFallback(String operacion, String motivo, double cantidad) {
+        Counter.builder("google.maps.fallback")
+                .description("Distancias estimadas con Haversine en lugar de obtenerse del proveedor")
+                .tag("operacion", operacion)
+                .tag("motivo", motivo)
+                .register(meterRegistry)
+                .increment(cantidad);
+    }
+
+    private void registrarFallback(String operacion, String motivo) {
+        registrarFallback(operacion, motivo, 1);
+    }
+
+    private Counter contadorHedge(String resultado) {
+        return Counter.builder("google.maps.hedge")
+                .description("Consultas de tramo que superaron la demora de hedge")
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Calcula la matriz de distancias y duraciones entre todos los orígenes y destinos dados.
+     * El trabajo se divide en bloques que respetan los límites por consulta del proveedor
+     * (25 orígenes, 25 destinos y 100 elementos), y cada respuesta se procesa en una sola
+     * pasada en streaming escribiendo directamente sobre la matriz.
+     * Las celdas que el proveedor no pueda resolver se completan con la estimación Haversine
+     * (la misma de crearDistanciaFallback) y se marcan como aproximadas.
+     */
+    public MatrizDistanciasDto calcularMatriz(List<CoordenadasDto> origenes, List<CoordenadasDto> destinos) {
+        MatrizDistanciasDto matriz = new MatrizDistanciasDto(origenes.size(), destinos.size());
+        if (origenes.isEmpty() || destinos.isEmpty()) {
+            return matriz;
+        }
+
+        int destinosPorBloque = Math.min(MAX_DESTINOS_POR_CONSULTA, destinos.size());
+        int origenesPorBloque = Math.min(MAX_ORIGENES_POR_CONSULTA, MAX_ELEMENTOS_POR_CONSULTA / destinosPorBloque);
+        int consultas = 0;
+        int saltadas = 0;
+
+        for (int fila = 0; fila < origenes.size(); fila += origenesPorBloque) {
+            List<CoordenadasDto> bloqueOrigenes = origenes.subList(fila, Math.min(fila + origenesPorBloque, origenes.size()));
+
+            for (int columna = 0; columna < destinos.size(); columna += destinosPorBloque) {
+                List<CoordenadasDto> bloqueDestinos = destinos.subList(columna, Math.min(columna + destinosPorBloque, destinos.size()));
+                if (consultarBloque(bloqueOrigenes, bloqueDestinos, matriz, fila, columna)) {
+                    consultas++;
+                } else {
+                    saltadas += bloqueOrigenes.size() * bloqueDestinos.size();
+                }
+            }
+        }
+
+        int aproximadas = completarConFallback(matriz, origenes, destinos);
+        if (saltadas > 0) {
+            registrarFallback(OPERACION_MATRIZ, "circuito-abierto", saltadas);
+        }
+        if (aproximadas > saltadas) {
+            registrarFallback(OPERACION_MATRIZ, "sin-resultado", aproximadas - saltadas);
+        }
+        log.info("Matriz de distancias {}x{} calculada con {} consultas al proveedor ({} celdas aproximadas).",
+                origenes.size(), destinos.size(), consultas, aproximadas);
+        return matriz;
+    }
+
+    private int completarConFallback(MatrizDistanciasDto matriz, List<CoordenadasDto> origenes, List<CoordenadasDto> destinos) {
+        int aproximadas = 0;
+        for (int i = 0; i < origenes.size(); i++) {
+            CoordenadasDto origen = origenes.get(i);
+            for (int j = 0; j < destinos.size(); j++) {
+                if (matriz.estaResuelta(i, j)) {
+                    continue;
+                }
+                CoordenadasDto destino = destinos.get(j);
+                double distancia = calcularDistanciaHaversine(origen.getLatitud(), origen.getLongitud(),
+                        destino.getLatitud(), destino.getLongitud());
+                matriz.setCeldaAproximada(i, j, (float) distancia, estimarSegundos(distancia));
+                aproximadas++;
+            }
+        }
+        return aproximadas;
+    }
+
+    private long estimarSegundos(double kilometros) {
+        return (long) ((kilometros / VELOCIDAD_PROMEDIO_FALLBACK_KMH) * 3600);
+    }
+
+    // Consulta un bloque de la matriz. Retorna false si no se consultó porque el circuito está abierto.
+    // Los bloques no usan hedge: repetir un pedido de hasta 100 elementos duplicaría su costo en el proveedor.
+    private boolean consultarBloque(List<CoordenadasDto> origenes, List<CoordenadasDto> destinos,
+                                    MatrizDistanciasDto matriz, int filaBase, int columnaBase) {
+        if (!circuito.permitir()) {
+            log.debug("Circuito de Google Maps abierto: el bloque [{}, {}] se estima sin consultar.", filaBase, columnaBase);
+            return false;
+        }
+        String uri = String.format("?destinations=%s&origins=%s&units=metric&key=%s",
+                unirCoordenadas(destinos), unirCoordenadas(origenes), apiKey);
+
+        Timer.Sample muestra = Timer.start(meterRegistry);
+        boolean proveedorRespondio = false;
+        try {
+            String apiStatus = restClient.get()
+                    .uri(uri)
+                    .exchange((request, response) -> {
+                        if (response.getStatusCode().isError()) {
+                            return "HTTP " + response.getStatusCode().value();
+                        }
+                        return parsearMatriz(response.getBody(), matriz, filaBase, columnaBase,
+                                origenes.size(), destinos.size());
+                    });
+
+            proveedorRespondio = "OK".equals(apiStatus) || ERRORES_DEL_PEDIDO.contains(apiStatus);
+            if (!"OK".equals(apiStatus)) {
+                log.error("Google Maps API error status en bloque [{}, {}] ({}x{}): {}",
+                        filaBase, columnaBase, origenes.size(), destinos.size(), apiStatus);
+            }
         } catch (Exception e) {
-            log.error("Error calling Google Maps API: {}", e.getMessage(), e);
-            return crearDistanciaFallback(
-                latitudOrg + "," + LongitudOrg, 
-                latitudDest + "," + LongitudDest,
-                latitudOrg, LongitudOrg, latitudDest, LongitudDest
-            );
+            log.error("Error calling Google Maps API para bloque [{}, {}]: {}", filaBase, columnaBase, e.getMessage(), e);
+        } finally {
+            long nanos = muestra.stop(latencia(OPERACION_MATRIZ, proveedorRespondio ? "exito" : "error"));
+            circuito.registrar(proveedorRespondio, Duration.ofNanos(nanos));
+        }
+        return true;
+    }
+
+    private String unirCoordenadas(List<CoordenadasDto> coordenadas) {
+        return coordenadas.stream()
+                .map(c -> c.getLatitud() + "," + c.getLongitud())
+                .collect(Collectors.joining("|"));
+    }
+
+    /**
+     * Recorre la respuesta JSON token a token (sin construir el árbol) y escribe cada elemento
+     * con status OK en la celda correspondiente de la matriz. Retorna el status general.
+     */
+    private String parsearMatriz(InputStream body, MatrizDistanciasDto matriz, int filaBase, int columnaBase,
+                                 int filas, int columnas) throws IOException {
+        String apiStatus = null;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return "INVALID_RESPONSE";
+            }
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                parser.nextToken();
+
+                if ("status".equals(campo)) {
+                    apiStatus = parser.getText();
+                } else if ("rows".equals(campo) && parser.currentToken() == JsonToken.START_ARRAY) {
+                    int fila = 0;
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String campoFila = parser.currentName();
+                            parser.nextToken();
+                            if ("elements".equals(campoFila) && parser.currentToken() == JsonToken.START_ARRAY && fila < filas) {
+                                parsearElementos(parser, matriz, filaBase + fila, columnaBase, columnas);
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                        fila++;
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return apiStatus;
+    }
+
+    private void parsearElementos(JsonParser parser, MatrizDistanciasDto matriz, int fila, int columnaBase,
+                                  int columnas) throws IOException {
+        int columna = 0;
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            String elementStatus = null;
+            double metros = -1;
+            long segundos = -1;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String campo = parser.currentName();
+                parser.nextToken();
+                switch (campo) {
+                    case "status" -> elementStatus = parser.getText();
+                    case "distance" -> metros = leerValor(parser);
+                    case "duration" -> segundos = (long) leerValor(parser);
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if ("OK".equals(elementStatus) && metros >= 0 && segundos >= 0 && columna < columnas) {
+                matriz.setCelda(fila, columnaBase + columna, (float) (metros / 1000.0), segundos);
+            } else if (columna < columnas) {
+                log.warn("Google Maps element status [{}, {}]: {}", fila, columnaBase + columna, elementStatus);
+            }
+            columna++;
+        }
+    }
+
+    // Lee el campo "value" de un objeto {"text": ..., "value": ...}
+    private double leerValor(JsonParser parser) throws IOException {
+        double valor = -1;
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            parser.skipChildren();
+            return valor;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String campo = parser.currentName();
+            parser.nextToken();
+            if ("value".equals(campo)) {
+                valor = parser.getValueAsDouble(-1);
+            } else {
+                parser.skipChildren();
+            }
         }
+        return valor;
     }
 
     private DistanciaDto crearDistanciaFallback(String origen, String destino, 
                                                Float lat1, Float lon1, Float lat2, Float lon2) {
         double distancia = calcularDistanciaHaversine(lat1, lon1, lat2, lon2);
-        long segundos = (long) ((distancia / 80.0) * 3600); // 80 km/h promedio
+        long segundos = estimarSegundos(distancia); // 80 km/h promedio
         
         String duracionTexto;
         int horas = (int) (segundos / 3600);
@@ -134,6 +541,7 @@ public class GoogleMapsClient {
             .kilometros(distancia)
             .duracionTexto(duracionTexto)
             .duracionSegundos(segundos)
+            .aproximada(true)
             .build();
     }
     
@@ -0,0 +1,46 @@
+package ar.edu.utn.frc.backend.logistica.restClient;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Variante asincrónica de las llamadas de los clientes REST: ejecuta la llamada bloqueante en el executor
+ * 'llamadasHttpExecutor' (hilos virtuales por defecto) y devuelve un CompletableFuture, para lanzar en
+ * paralelo consultas independientes sin ocupar hilos de Tomcat mientras se espera la respuesta.
+ */
+@Component
+public class LlamadasAsincronas {
+
+    private final Executor executor;
+
+    public LlamadasAsincronas(@Qualifier("llamadasHttpExecutor") Executor executor) {
+        this.executor = executor;
+    }
+
+    public <T> CompletableFuture<T> ejecutar(Supplier<T> llamada) {
+        return CompletableFuture.supplyAsync(llamada, executor);
+    }
+
+    /**
+     * Espera el resultado y propaga la excepción original de la llamada (p. ej. RestClientException)
+     * en lugar de la CompletionException que la envuelve.
+     */
+    public static <T> T esperar(CompletableFuture<T> llamada) {
+        try {
+            return llamada.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
@@ -2,6 +2,7 @@ package ar.edu.utn.frc.backend.logistica.restClient;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.core.ParameterizedTypeReference;
@@ -11,6 +12,8 @@ import ar.edu.utn.frc.backend.logistica.dto.CamionDto;
 import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
 import ar.edu.utn.frc.backend.logistica.dto.CargoGestionDto;
 import ar.edu.utn.frc.backend.logistica.dto.PrecioCombustibleDto;
+import ar.edu.utn.frc.backend.logistica.dto.ReservaCamionDto;
+import ar.edu.utn.frc.backend.logistica.dto.ResumenCamionesDisponiblesDto;
 
 @Component
 public class RecursosClient {
@@ -24,31 +27,54 @@ public class RecursosClient {
 
     // Obtener los camiones disponibles cuyo volumen y peso mínimos se especifican
     public List<CamionDto> getCamionesDisponibles(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
-        String uri = String.format("/camiones/disponibles?volumen=%s&peso=%s", volumenMinimo, pesoMinimo);
+        String uri = "/camiones/disponibles?volumen={volumenMinimo}&peso={pesoMinimo}";
 
         return restClient.get()
-                .uri(uri)
+                .uri(uri, volumenMinimo, pesoMinimo)
                 .retrieve()
                 .body(new ParameterizedTypeReference<List<CamionDto>>() {
                 });
     }
 
-    // Marcar un camión como ocupado
-    public CamionDto setCamionOcupado(Integer idCamion) {
-        String uri = String.format("/camiones/%d/ocupado", idCamion);
+    // Cantidad y sumas de costo/consumo de los camiones disponibles con volumen y peso mínimos
+    public ResumenCamionesDisponiblesDto getResumenCamionesDisponibles(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
+        String uri = "/camiones/libres/resumen?volumen={volumenMinimo}&peso={pesoMinimo}";
+
+        return restClient.get()
+                .uri(uri, volumenMinimo, pesoMinimo)
+                .retrieve()
+                .body(ResumenCamionesDisponiblesDto.class);
+    }
+
+    // Reservar un camión (atómico en Recursos); repetir con la misma clave devuelve la misma reserva
+    public ReservaCamionDto reservarCamion(Integer idCamion, String claveIdempotencia) {
+        String uri = "/camiones/{idCamion}/reserva";
 
         return restClient.put()
-                .uri(uri)
+                .uri(uri, idCamion)
+                .header(Cabeceras.IDEMPOTENCY_KEY, claveIdempotencia)
                 .retrieve()
-                .body(CamionDto.class);
+                .body(ReservaCamionDto.class);
     }
 
-    // Marcar un camión como libre.
-    public CamionDto setCamionLibre(Integer idCamion) {
-        String uri = String.format("/camiones/%d/libre", idCamion);
+    // Marcar un camión como ocupado (con la clave de la reserva, la confirma)
+    public CamionDto setCamionOcupado(Integer idCamion, String claveIdempotencia) {
+        String uri = "/camiones/{idCamion}/ocupado";
 
         return restClient.put()
-                .uri(uri)
+                .uri(uri, idCamion)
+                .header(Cabeceras.IDEMPOTENCY_KEY, claveIdempotencia)
+                .retrieve()
+                .body(CamionDto.class);
+    }
+
+    // Marcar un camión como libre. Con 'reserva' (clave con la que se ocupó) solo se libera esa ocupación.
+    public CamionDto setCamionLibre(Integer idCamion, String claveIdempotencia, String reserva) {
+        return restClient.put()
+                .uri(uriBuilder -> uriBuilder.path("/camiones/{idCamion}/libre")
+                        .queryParamIfPresent("reserva", Optional.ofNullable(reserva))
+                        .build(idCamion))
+                .header(Cabeceras.IDEMPOTENCY_KEY, claveIdempotencia)
                 .retrieve()
                 .body(CamionDto.class);
     }
@@ -86,10 +112,10 @@ public class RecursosClient {
 
     // Obtener un depósito por su ID
     public DepositoDto getDepositoById(Integer idDeposito) {
-        String uri = String.format("/depositos/%d", idDeposito);
+        String uri = "/depositos/{idDeposito}";
 
         return restClient.get()
-                .uri(uri)
+                .uri(uri, idDeposito)
                 .retrieve()
                 .body(DepositoDto.class);
     }
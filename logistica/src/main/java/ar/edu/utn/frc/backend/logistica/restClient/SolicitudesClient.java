@@ -8,6 +8,8 @@ import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.client.RestClient;
 import ar.edu.utn.frc.backend.logistica.dto.helpers.CostoYTiempoDto;
 import ar.edu.utn.frc.backend.logistica.dto.helpers.InfoDepositoDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.ResultadoTransicionDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.TransicionSolicitudDto;
 import ar.edu.utn.frc.backend.logistica.dto.SolicitudTransporteDto;
 
 @Component
@@ -20,10 +22,10 @@ public class SolicitudesClient {
 
     // Obtener la solicitud por ID
     public SolicitudTransporteDto getSolicitudById(Integer idSolicitud) {
-        String uri = String.format("/solicitudes/%d", idSolicitud);
+        String uri = "/solicitudes/{idSolicitud}";
 
         return restClient.get()
-                .uri(uri)
+                .uri(uri, idSolicitud)
                 .retrieve()
                 .body(SolicitudTransporteDto.class);
     }
@@ -46,65 +48,82 @@ public class SolicitudesClient {
                 .costo(costoEstimado)
                 .tiempo(tiempoEstimado)
                 .build();
-        String uri = String.format("/solicitudes/%d/programada", idSolicitud);
+        String uri = "/solicitudes/{idSolicitud}/programada";
 
         return restClient.put()
-                .uri(uri)
+                .uri(uri, idSolicitud)
                 .body(costoYTiempoDto)
                 .retrieve()
                 .body(SolicitudTransporteDto.class);
     }
 
     // Actualizar la solicitud a en transito
-    public SolicitudTransporteDto actualizarSolicitudAEnTransito(Integer idSolicitud) {
-        String uri = String.format("/solicitudes/%d/en-transito", idSolicitud);
+    public SolicitudTransporteDto actualizarSolicitudAEnTransito(Integer idSolicitud, String claveIdempotencia) {
+        String uri = "/solicitudes/{idSolicitud}/en-transito";
 
         return restClient.put()
-                .uri(uri)
+                .uri(uri, idSolicitud)
+                .header(Cabeceras.IDEMPOTENCY_KEY, claveIdempotencia)
                 .retrieve()
                 .body(SolicitudTransporteDto.class);
     }
 
     // Actualizar la solicitud a programada
-    public SolicitudTransporteDto actualizarSolicitudAEntregada(Integer idSolicitud, BigDecimal costoReal, Long tiempoReal) {
+    public SolicitudTransporteDto actualizarSolicitudAEntregada(Integer idSolicitud, BigDecimal costoReal, Long tiempoReal,
+            String claveIdempotencia) {
         CostoYTiempoDto costoYTiempoDto = CostoYTiempoDto.builder()
                 .costo(costoReal)
                 .tiempo(tiempoReal)
                 .build();
-        String uri = String.format("/solicitudes/%d/entregada", idSolicitud);
+        String uri = "/solicitudes/{idSolicitud}/entregada";
 
         return restClient.put()
-                .uri(uri)
+                .uri(uri, idSolicitud)
+                .header(Cabeceras.IDEMPOTENCY_KEY, claveIdempotencia)
                 .body(costoYTiempoDto)
                 .retrieve()
                 .body(SolicitudTransporteDto.class);
     }
 
     // Actualizar el contenedor de una solicitud a en viaje
-    public SolicitudTransporteDto actualizarContenedorEnViaje(Integer idSolicitud, String nombreDeposito) {
+    public SolicitudTransporteDto actualizarContenedorEnViaje(Integer idSolicitud, String nombreDeposito, String claveIdempotencia) {
         InfoDepositoDto infoDepositoDto = InfoDepositoDto.builder()
                 .nombre(nombreDeposito)
                 .build();
-        String uri = String.format("/solicitudes/%d/contenedor/en-viaje", idSolicitud);
+        String uri = "/solicitudes/{idSolicitud}/contenedor/en-viaje";
 
         return restClient.put()
-                .uri(uri)
+                .uri(uri, idSolicitud)
+                .header(Cabeceras.IDEMPOTENCY_KEY, claveIdempotencia)
                 .body(infoDepositoDto)
                 .retrieve()
                 .body(SolicitudTransporteDto.class);
     }
 
     // Actualizar el contenedor de una solicitud a en deposito
-    public SolicitudTransporteDto actualizarContenedorEnDeposito(Integer idSolicitud, String nombreDeposito) {
+    public SolicitudTransporteDto actualizarContenedorEnDeposito(Integer idSolicitud, String nombreDeposito, String claveIdempotencia) {
         InfoDepositoDto infoDepositoDto = InfoDepositoDto.builder()
                 .nombre(nombreDeposito)
                 .build();
-        String uri = String.format("/solicitudes/%d/contenedor/en-deposito", idSolicitud);
+        String uri = "/solicitudes/{idSolicitud}/contenedor/en-deposito";
 
         return restClient.put()
-                .uri(uri)
+                .uri(uri, idSolicitud)
+                .header(Cabeceras.IDEMPOTENCY_KEY, claveIdempotencia)
                 .body(infoDepositoDto)
                 .retrieve()
                 .body(SolicitudTransporteDto.class);
     }
+
+    // Aplicar un lote de transiciones (cada una con su clave de idempotencia); retorna el resultado de cada una
+    public List<ResultadoTransicionDto> aplicarTransiciones(List<TransicionSolicitudDto> transiciones) {
+        String uri = "/solicitudes/transiciones";
+
+        return restClient.put()
+                .uri(uri)
+                .body(transiciones)
+                .retrieve()
+                .body(new ParameterizedTypeReference<List<ResultadoTransicionDto>>() {
+                });
+    }
 }
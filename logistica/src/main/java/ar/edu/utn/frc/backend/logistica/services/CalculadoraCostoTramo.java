@@ -0,0 +1,77 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Núcleo de cálculo del costo de un tramo en centavos (long), sin crear BigDecimal por tramo.
+ * Fórmula: distancia * consumo * precio combustible + distancia * costo base + cargo de gestión,
+ * redondeada a 2 decimales con HALF_UP; el resultado es idéntico al cálculo con BigDecimal.
+ *
+ * El costo se estima en double y solo se redondea directamente cuando la estimación está lejos
+ * de un empate (x,xx5): el error relativo del double es del orden de 1e-15, muy inferior al margen
+ * exigido. En los casos cercanos al empate, negativos o fuera de rango se usa el cálculo exacto.
+ */
+public final class CalculadoraCostoTramo {
+
+    private static final int SCALE = 2;
+    private static final double MAXIMO_EXACTO = 0x1p52;
+    private static final double ERROR_RELATIVO = 1e-12;
+
+    private final BigDecimal consumoPromedio;
+    private final BigDecimal costoBasePromedio;
+    private final BigDecimal costoCombustible;
+    private final BigDecimal cargoGestion;
+
+    private final double combustiblePorKm;
+    private final double basePorKm;
+    private final double cargo;
+
+    public CalculadoraCostoTramo(BigDecimal consumoPromedio, BigDecimal costoBasePromedio,
+            BigDecimal costoCombustible, BigDecimal cargoGestion) {
+        this.consumoPromedio = consumoPromedio;
+        this.costoBasePromedio = costoBasePromedio;
+        this.costoCombustible = costoCombustible;
+        this.cargoGestion = cargoGestion;
+        this.combustiblePorKm = consumoPromedio.doubleValue() * costoCombustible.doubleValue();
+        this.basePorKm = costoBasePromedio.doubleValue();
+        this.cargo = cargoGestion.doubleValue();
+    }
+
+    /**
+     * Costo del tramo en centavos.
+     */
+    public long costoCentavos(float distanciaKm) {
+        double km = distanciaKm;
+        double combustible = km * combustiblePorKm;
+        double base = km * basePorKm;
+        double centavos = (combustible + base + cargo) * 100;
+
+        if (centavos >= 0 && centavos < MAXIMO_EXACTO) {
+            double entero = Math.floor(centavos);
+            double fraccion = centavos - entero;
+            double margen = ERROR_RELATIVO * (Math.abs(combustible) + Math.abs(base) + Math.abs(cargo)) * 100;
+            if (Math.abs(fraccion - 0.5) > margen) {
+                return (long) entero + (fraccion > 0.5 ? 1 : 0);
+            }
+        }
+        return costoExacto(distanciaKm).movePointRight(SCALE).longValueExact();
+    }
+
+    /**
+     * Cálculo de referencia con BigDecimal (misma secuencia de operaciones que el cálculo original).
+     */
+    public BigDecimal costoExacto(Float distanciaKm) {
+        BigDecimal distancia = BigDecimal.valueOf(distanciaKm);
+        BigDecimal costoCombustibleTramo = distancia.multiply(consumoPromedio).multiply(costoCombustible);
+        BigDecimal costoBaseTramo = distancia.multiply(costoBasePromedio);
+        return costoCombustibleTramo.add(costoBaseTramo).add(cargoGestion).setScale(SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Convierte centavos al monto con 2 decimales que se expone en los DTOs.
+     */
+    public static BigDecimal aMonto(long centavos) {
+        return BigDecimal.valueOf(centavos, SCALE);
+    }
+}
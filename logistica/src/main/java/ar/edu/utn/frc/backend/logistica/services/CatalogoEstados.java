@@ -0,0 +1,122 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import ar.edu.utn.frc.backend.logistica.entities.Estado;
+import ar.edu.utn.frc.backend.logistica.repositories.EstadoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Catálogo en memoria de la tabla 'estado' (nombre → Estado e id → Estado). Se carga al iniciar y se publica
+ * como una foto inmutable, de modo que las transiciones de estado no consultan la tabla. Si se pide un estado
+ * que no está en la foto (p. ej. dado de alta después del arranque) se recarga una vez antes de informarlo
+ * como inexistente; también puede recargarse a pedido desde el endpoint de administración.
+ * Los Estado devueltos son compartidos: no deben modificarse.
+ * Igual en logistica y solicitudes (cambia solo el paquete): un cambio debe aplicarse a ambas copias.
+ */
+@Service
+public class CatalogoEstados {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogoEstados.class);
+
+    static final String MOTIVO_INICIO = "inicio";
+    static final String MOTIVO_ADMIN = "admin";
+    static final String MOTIVO_FALTANTE = "faltante";
+
+    private record Foto(Map<String, Estado> porNombre, Map<Integer, Estado> porId) {
+        static final Foto VACIA = new Foto(Map.of(), Map.of());
+    }
+
+    private final EstadoRepository estadoRepository;
+    private final MeterRegistry meterRegistry;
+    private final Counter faltantes;
+
+    private volatile Foto foto = Foto.VACIA;
+
+    public CatalogoEstados(EstadoRepository estadoRepository, MeterRegistry meterRegistry) {
+        this.estadoRepository = estadoRepository;
+        this.meterRegistry = meterRegistry;
+        this.faltantes = Counter.builder("estados.catalogo.faltantes")
+                .description("Consultas de estados que no estaban en el catálogo en memoria")
+                .register(meterRegistry);
+        Gauge.builder("estados.catalogo.tamanio", this, c -> c.foto.porId().size())
+                .description("Estados cargados en el catálogo en memoria")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        try {
+            recargar(MOTIVO_INICIO);
+        } catch (RuntimeException e) {
+            // Se reintenta en la primera consulta
+            logger.warn("No se pudo cargar el catálogo de estados al iniciar: {}", e.getMessage());
+        }
+    }
+
+    public Optional<Estado> buscarPorNombre(String nombre) {
+        Foto actual = foto;
+        Estado estado = actual.porNombre().get(nombre);
+        if (estado == null) {
+            estado = recargarPorFaltante(actual).porNombre().get(nombre);
+        }
+        return Optional.ofNullable(estado);
+    }
+
+    public Optional<Estado> buscarPorId(Integer id) {
+        Foto actual = foto;
+        Estado estado = actual.porId().get(id);
+        if (estado == null) {
+            estado = recargarPorFaltante(actual).porId().get(id);
+        }
+        return Optional.ofNullable(estado);
+    }
+
+    // Todos los estados por nombre (mapa inmutable)
+    public Map<String, Estado> porNombre() {
+        Foto actual = foto;
+        return actual.porNombre().isEmpty() ? recargarPorFaltante(actual).porNombre() : actual.porNombre();
+    }
+
+    /**
+     * Vuelve a leer la tabla 'estado' y publica la nueva foto. Retorna los estados cargados, ordenados por id.
+     */
+    public List<Estado> recargar() {
+        return recargar(MOTIVO_ADMIN).porId().values().stream()
+                .sorted(Comparator.comparing(Estado::getId))
+                .toList();
+    }
+
+    private synchronized Foto recargarPorFaltante(Foto vista) {
+        faltantes.increment();
+        // Otro hilo ya recargó mientras se esperaba el lock
+        return foto != vista ? foto : recargar(MOTIVO_FALTANTE);
+    }
+
+    private synchronized Foto recargar(String motivo) {
+        List<Estado> estados = estadoRepository.findAll();
+        Map<String, Estado> porNombre = new HashMap<>();
+        Map<Integer, Estado> porId = new HashMap<>();
+        for (Estado estado : estados) {
+            porNombre.put(estado.getNombre(), estado);
+            porId.put(estado.getId(), estado);
+        }
+        Foto nueva = new Foto(Map.copyOf(porNombre), Map.copyOf(porId));
+        foto = nueva;
+
+        meterRegistry.counter("estados.catalogo.recargas", "motivo", motivo).increment();
+        logger.info("Catálogo de estados cargado ({}): {} estados.", motivo, estados.size());
+        return nueva;
+    }
+}
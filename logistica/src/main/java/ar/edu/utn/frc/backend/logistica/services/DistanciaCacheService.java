@@ -0,0 +1,130 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import ar.edu.utn.frc.backend.logistica.dto.helpers.DistanciaDto;
+import ar.edu.utn.frc.backend.logistica.entities.DistanciaCache;
+import ar.edu.utn.frc.backend.logistica.repositories.DistanciaCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché de dos niveles para las distancias del proveedor de mapas:
+ * 1. Mapa en memoria acotado y con TTL (por instancia).
+ * 2. Tabla 'distancia_cache' compartida por todas las réplicas y persistente entre reinicios.
+ */
+@Service
+public class DistanciaCacheService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistanciaCacheService.class);
+
+    private final DistanciaCacheRepository distanciaCacheRepository;
+    private final Cache<String, DistanciaDto> cacheLocal;
+    private final Duration antiguedadMaximaPersistida;
+    private final Counter aciertosPersistidos;
+    private final Counter fallosPersistidos;
+
+    public DistanciaCacheService(
+            DistanciaCacheRepository distanciaCacheRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.google.maps.cache.max-entradas:10000}") long maxEntradas,
+            @Value("${app.google.maps.cache.ttl:12h}") Duration ttl,
+            @Value("${app.google.maps.cache.antiguedad-maxima-persistida:30d}") Duration antiguedadMaximaPersistida) {
+        this.distanciaCacheRepository = distanciaCacheRepository;
+        this.antiguedadMaximaPersistida = antiguedadMaximaPersistida;
+        this.cacheLocal = Caffeine.newBuilder()
+                .maximumSize(maxEntradas)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // Métricas del nivel en memoria: cache_gets{result=hit|miss}, cache_evictions, cache_size
+        CaffeineCacheMetrics.monitor(meterRegistry, cacheLocal, "distancias");
+
+        // Métricas del nivel persistido
+        this.aciertosPersistidos = Counter.builder("distancias.cache.persistida")
+                .tag("result", "hit")
+                .description("Consultas resueltas desde la tabla distancia_cache")
+                .register(meterRegistry);
+        this.fallosPersistidos = Counter.builder("distancias.cache.persistida")
+                .tag("result", "miss")
+                .description("Consultas no encontradas (o vencidas) en la tabla distancia_cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Arma la clave del par de coordenadas redondeadas a 4 decimales (~11 metros).
+     */
+    public String clave(Float latitudOrg, Float longitudOrg, Float latitudDest, Float longitudDest) {
+        return String.format(Locale.ROOT, "%.4f,%.4f|%.4f,%.4f", latitudOrg, longitudOrg, latitudDest, longitudDest);
+    }
+
+    /**
+     * Obtiene la distancia de la clave consultando memoria, luego la tabla y por último el proveedor.
+     * Solo se almacenan los resultados del proveedor; si éste devuelve null no se guarda nada.
+     * Las consultas concurrentes de una misma clave se resuelven una sola vez.
+     */
+    public DistanciaDto obtener(String clave, Supplier<DistanciaDto> proveedor) {
+        return cacheLocal.get(clave, k -> buscarPersistida(k).orElseGet(() -> {
+            DistanciaDto distancia = proveedor.get();
+            if (distancia != null) {
+                persistir(k, distancia);
+            }
+            return distancia;
+        }));
+    }
+
+    private Optional<DistanciaDto> buscarPersistida(String clave) {
+        try {
+            LocalDateTime limite = LocalDateTime.now().minus(antiguedadMaximaPersistida);
+            Optional<DistanciaDto> persistida = distanciaCacheRepository.findById(clave)
+                    .filter(entrada -> entrada.getFechaActualizacion().isAfter(limite))
+                    .map(entrada -> DistanciaDto.builder()
+                            .kilometros(entrada.getKilometros())
+                            .duracionSegundos(entrada.getDuracionSegundos())
+                            .duracionTexto(entrada.getDuracionTexto())
+                            .build());
+
+            if (persistida.isPresent()) {
+                aciertosPersistidos.increment();
+                logger.debug("Distancia {} obtenida de la tabla distancia_cache.", clave);
+            } else {
+                fallosPersistidos.increment();
+            }
+            return persistida;
+        } catch (DataAccessException e) {
+            logger.warn("No se pudo leer la distancia {} de la tabla distancia_cache: {}", clave, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void persistir(String clave, DistanciaDto distancia) {
+        try {
+            distanciaCacheRepository.save(DistanciaCache.builder()
+                    .clave(clave)
+                    .kilometros(distancia.getKilometros())
+                    .duracionSegundos(distancia.getDuracionSegundos())
+                    .duracionTexto(distancia.getDuracionTexto())
+                    .fechaActualizacion(LocalDateTime.now())
+                    .build());
+            logger.debug("Distancia {} guardada en la tabla distancia_cache.", clave);
+        } catch (DataAccessException e) {
+            // Otra réplica pudo haber insertado la misma clave en paralelo: el valor en memoria sigue siendo válido.
+            logger.warn("No se pudo guardar la distancia {} en la tabla distancia_cache: {}", clave, e.getMessage());
+        }
+    }
+}
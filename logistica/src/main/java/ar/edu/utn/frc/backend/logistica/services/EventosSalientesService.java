@@ -0,0 +1,72 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ar.edu.utn.frc.backend.logistica.entities.EstadoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.EventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.TipoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.repositories.EventoSalienteRepository;
+
+/**
+ * Registro de eventos del outbox. Se llama dentro de la transacción que modifica el estado local, así el
+ * evento se confirma (o se descarta) junto con ese cambio; la entrega la hace {@link RelayEventosSalientes}.
+ */
+@Service
+public class EventosSalientesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventosSalientesService.class);
+
+    @Autowired
+    private EventoSalienteRepository eventoSalienteRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarParaSolicitud(TipoEventoSaliente tipo, Integer idSolicitud, String claveIdempotencia,
+            Map<String, Object> datos) {
+        registrar(tipo, "solicitud-" + idSolicitud, claveIdempotencia, datos);
+    }
+
+    // 'reserva' es la clave con la que el tramo ocupó el camión: Recursos solo lo libera si sigue ocupado con ella
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarParaCamion(TipoEventoSaliente tipo, Integer idCamion, Integer idTramo, String claveIdempotencia,
+            String reserva) {
+        registrar(tipo, "camion-" + idCamion, claveIdempotencia,
+                Map.of("camionId", idCamion, "tramoId", idTramo, "reserva", reserva));
+    }
+
+    private void registrar(TipoEventoSaliente tipo, String agregado, String claveIdempotencia, Map<String, Object> datos) {
+        LocalDateTime ahora = LocalDateTime.now();
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(datos);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Datos del evento " + tipo + " no serializables.", e);
+        }
+
+        EventoSaliente evento = EventoSaliente.builder()
+                .claveIdempotencia(claveIdempotencia)
+                .tipo(tipo)
+                .agregado(agregado)
+                .datos(json)
+                .estado(EstadoEventoSaliente.PENDIENTE)
+                .intentos(0)
+                .proximoIntento(ahora)
+                .fechaCreacion(ahora)
+                .build();
+        eventoSalienteRepository.save(evento);
+        logger.debug("Evento {} registrado en el outbox para {} (clave {}).", tipo, agregado, claveIdempotencia);
+    }
+}
@@ -0,0 +1,187 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.util.Arrays;
+
+/**
+ * KD-tree inmutable sobre la latitud/longitud de los depósitos de una matriz.
+ * El árbol es implícito: un único arreglo de índices donde cada subrango [desde, hasta) tiene
+ * su nodo en la posición del medio, alternando el eje (latitud/longitud) por nivel.
+ * Se usa para elegir depósitos intermedios dentro de la elipse origen-destino sin recorrer todos.
+ */
+public final class IndiceEspacialDepositos {
+
+    private static final double RADIO_TIERRA_KM = 6371.0;
+    private static final double KM_POR_GRADO_LATITUD = 111.32;
+
+    private final float[] latitudes;
+    private final float[] longitudes;
+    private final int[] arbol;
+
+    IndiceEspacialDepositos(float[] latitudes, float[] longitudes) {
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.arbol = new int[latitudes.length];
+        for (int i = 0; i < arbol.length; i++) {
+            arbol[i] = i;
+        }
+        construir(0, arbol.length, 0);
+    }
+
+    /**
+     * Devuelve hasta 'maximo' depósitos (índices de la matriz) dentro de la elipse con focos en
+     * origen y destino, es decir con d(origen, p) + d(p, destino) <= factor * d(origen, destino),
+     * ordenados por ese desvío de menor a mayor. Origen y destino no se incluyen.
+     */
+    public int[] candidatosEnElipse(int origen, int destino, double factor, int maximo) {
+        if (maximo <= 0 || arbol.length == 0) {
+            return new int[0];
+        }
+
+        double directa = haversine(origen, latitudes[destino], longitudes[destino]);
+        // Con origen y destino en el mismo punto la elipse degenera: se toma un radio mínimo de 1 km
+        double limite = Math.max(factor * directa, 1.0);
+
+        // La elipse está contenida en el círculo centrado en el punto medio con radio = semieje mayor
+        double radioKm = limite / 2;
+        double latitudMedia = (latitudes[origen] + latitudes[destino]) / 2.0;
+        double longitudMedia = (longitudes[origen] + longitudes[destino]) / 2.0;
+        double deltaLatitud = radioKm / KM_POR_GRADO_LATITUD;
+        double latitudExtrema = Math.min(89.0, Math.abs(latitudMedia) + deltaLatitud);
+        double deltaLongitud = radioKm / (KM_POR_GRADO_LATITUD * Math.cos(Math.toRadians(latitudExtrema)));
+
+        Busqueda busqueda = new Busqueda(origen, destino, limite, maximo,
+                latitudMedia - deltaLatitud, latitudMedia + deltaLatitud,
+                longitudMedia - deltaLongitud, longitudMedia + deltaLongitud);
+        buscar(busqueda, 0, arbol.length, 0);
+        return busqueda.resultado();
+    }
+
+    private void construir(int desde, int hasta, int eje) {
+        if (hasta - desde <= 1) {
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        seleccionar(desde, hasta - 1, medio, eje);
+        construir(desde, medio, 1 - eje);
+        construir(medio + 1, hasta, 1 - eje);
+    }
+
+    // Quickselect: deja en 'k' el elemento que iría en esa posición si el rango estuviera ordenado por el eje
+    private void seleccionar(int izquierda, int derecha, int k, int eje) {
+        while (izquierda < derecha) {
+            float pivote = coordenada(arbol[(izquierda + derecha) >>> 1], eje);
+            int i = izquierda;
+            int j = derecha;
+            while (i <= j) {
+                while (coordenada(arbol[i], eje) < pivote) {
+                    i++;
+                }
+                while (coordenada(arbol[j], eje) > pivote) {
+                    j--;
+                }
+                if (i <= j) {
+                    int aux = arbol[i];
+                    arbol[i++] = arbol[j];
+                    arbol[j--] = aux;
+                }
+            }
+            if (k <= j) {
+                derecha = j;
+            } else if (k >= i) {
+                izquierda = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void buscar(Busqueda busqueda, int desde, int hasta, int eje) {
+        if (desde >= hasta) {
+            return;
+        }
+        int medio = (desde + hasta) >>> 1;
+        int nodo = arbol[medio];
+        busqueda.evaluar(nodo);
+
+        float valor = coordenada(nodo, eje);
+        double minimo = eje == 0 ? busqueda.latitudMinima : busqueda.longitudMinima;
+        double maximo = eje == 0 ? busqueda.latitudMaxima : busqueda.longitudMaxima;
+        if (minimo <= valor) {
+            buscar(busqueda, desde, medio, 1 - eje);
+        }
+        if (maximo >= valor) {
+            buscar(busqueda, medio + 1, hasta, 1 - eje);
+        }
+    }
+
+    private float coordenada(int indice, int eje) {
+        return eje == 0 ? latitudes[indice] : longitudes[indice];
+    }
+
+    private double haversine(int indice, double latitud, double longitud) {
+        double lat1 = Math.toRadians(latitudes[indice]);
+        double lat2 = Math.toRadians(latitud);
+        double dLat = lat2 - lat1;
+        double dLon = Math.toRadians(longitud - longitudes[indice]);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(lat1) * Math.cos(lat2) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return RADIO_TIERRA_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * Estado de una consulta: caja envolvente de la elipse y los mejores candidatos encontrados,
+     * guardados en arreglos ordenados por desvío (inserción acotada a 'maximo').
+     */
+    private final class Busqueda {
+
+        private final int origen;
+        private final int destino;
+        private final double limite;
+        private final double latitudMinima;
+        private final double latitudMaxima;
+        private final double longitudMinima;
+        private final double longitudMaxima;
+        private final int[] indices;
+        private final double[] desvios;
+        private int cantidad;
+
+        Busqueda(int origen, int destino, double limite, int maximo,
+                double latitudMinima, double latitudMaxima, double longitudMinima, double longitudMaxima) {
+            this.origen = origen;
+            this.destino = destino;
+            this.limite = limite;
+            this.latitudMinima = latitudMinima;
+            this.latitudMaxima = latitudMaxima;
+            this.longitudMinima = longitudMinima;
+            this.longitudMaxima = longitudMaxima;
+            this.indices = new int[maximo];
+            this.desvios = new double[maximo];
+        }
+
+        void evaluar(int nodo) {
+            if (nodo == origen || nodo == destino
+                    || latitudes[nodo] < latitudMinima || latitudes[nodo] > latitudMaxima
+                    || longitudes[nodo] < longitudMinima || longitudes[nodo] > longitudMaxima) {
+                return;
+            }
+            double desvio = haversine(origen, latitudes[nodo], longitudes[nodo])
+                    + haversine(destino, latitudes[nodo], longitudes[nodo]);
+            if (desvio > limite || (cantidad == indices.length && desvio >= desvios[cantidad - 1])) {
+                return;
+            }
+
+            int posicion = cantidad < indices.length ? cantidad++ : cantidad - 1;
+            while (posicion > 0 && desvios[posicion - 1] > desvio) {
+                desvios[posicion] = desvios[posicion - 1];
+                indices[posicion] = indices[posicion - 1];
+                posicion--;
+            }
+            desvios[posicion] = desvio;
+            indices[posicion] = nodo;
+        }
+
+        int[] resultado() {
+            return Arrays.copyOf(indices, cantidad);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Foto inmutable de la matriz de distancias entre todos los depósitos.
+ * Cada depósito ocupa un índice fijo (ordenado por id) y las distancias/duraciones se guardan
+ * en arreglos primitivos densos para poder recorrerlas sin crear objetos por celda.
+ * Las celdas marcadas como aproximadas fueron estimadas con Haversine y se vuelven a consultar
+ * al proveedor en el siguiente refresco. Incluye el índice espacial de las ubicaciones, que solo
+ * se reconstruye cuando cambia el conjunto de depósitos o sus coordenadas.
+ */
+public final class MatrizDepositos {
+
+    static final MatrizDepositos VACIA = new MatrizDepositos(new int[0], new float[0], new float[0],
+            new float[0][0], new long[0][0], new boolean[0][0], null);
+
+    private final int[] ids;
+    private final Map<Integer, Integer> indicePorId;
+    private final float[] latitudes;
+    private final float[] longitudes;
+    private final float[][] kilometros;
+    private final long[][] duracionSegundos;
+    private final boolean[][] aproximada;
+    private final IndiceEspacialDepositos indiceEspacial;
+
+    /**
+     * Si 'indiceEspacial' es null se construye uno nuevo a partir de las coordenadas.
+     */
+    MatrizDepositos(int[] ids, float[] latitudes, float[] longitudes,
+            float[][] kilometros, long[][] duracionSegundos, boolean[][] aproximada,
+            IndiceEspacialDepositos indiceEspacial) {
+        this.ids = ids;
+        this.latitudes = latitudes;
+        this.longitudes = longitudes;
+        this.kilometros = kilometros;
+        this.duracionSegundos = duracionSegundos;
+        this.aproximada = aproximada;
+        this.indiceEspacial = indiceEspacial != null ? indiceEspacial : new IndiceEspacialDepositos(latitudes, longitudes);
+        this.indicePorId = new HashMap<>(ids.length * 2);
+        for (int i = 0; i < ids.length; i++) {
+            indicePorId.put(ids[i], i);
+        }
+    }
+
+    public IndiceEspacialDepositos getIndiceEspacial() {
+        return indiceEspacial;
+    }
+
+    public int cantidad() {
+        return ids.length;
+    }
+
+    /**
+     * Índice del depósito en la matriz, o -1 si el depósito no forma parte de la foto.
+     */
+    public int indiceDe(Integer depositoId) {
+        Integer indice = depositoId == null ? null : indicePorId.get(depositoId);
+        return indice == null ? -1 : indice;
+    }
+
+    public int idEn(int indice) {
+        return ids[indice];
+    }
+
+    public float latitud(int indice) {
+        return latitudes[indice];
+    }
+
+    public float longitud(int indice) {
+        return longitudes[indice];
+    }
+
+    public float kilometros(int origen, int destino) {
+        return kilometros[origen][destino];
+    }
+
+    public long duracionSegundos(int origen, int destino) {
+        return duracionSegundos[origen][destino];
+    }
+
+    public boolean esAproximada(int origen, int destino) {
+        return aproximada[origen][destino];
+    }
+
+    /**
+     * Indica si alguna celda de la fila del depósito es una estimación.
+     */
+    boolean filaConAproximadas(int origen) {
+        for (boolean celda : aproximada[origen]) {
+            if (celda) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
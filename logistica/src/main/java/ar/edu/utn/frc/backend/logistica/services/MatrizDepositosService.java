@@ -0,0 +1,298 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.CoordenadasDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.DistanciaDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.MatrizDistanciasDto;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+import ar.edu.utn.frc.backend.logistica.repositories.DepositoRepository;
+import ar.edu.utn.frc.backend.logistica.restClient.GoogleMapsClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mantiene precalculada la matriz de distancias entre todos los pares de depósitos.
+ * La matriz se refresca en segundo plano: en cada ciclo se compara la tabla 'deposito' con la foto
+ * vigente y solo se vuelven a consultar las filas/columnas de los depósitos nuevos o movidos y
+ * las filas que quedaron con celdas aproximadas. Las lecturas nunca bloquean: usan la última foto publicada.
+ * Las filas aproximadas se reintentan con espera exponencial por fila (de 'reintento.espera-inicial' a
+ * 'reintento.espera-maxima'), a lo sumo 'reintento.max-filas' por ciclo, y no se reintentan mientras el
+ * proveedor no esté disponible (sin API key o con el circuito abierto).
+ */
+@Service
+public class MatrizDepositosService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatrizDepositosService.class);
+
+    private final DepositoRepository depositoRepository;
+    private final GoogleMapsClient googleMapsClient;
+    private final Duration esperaInicialReintento;
+    private final Duration esperaMaximaReintento;
+    private final int maxFilasReintento;
+    private final LongSupplier reloj;
+
+    private volatile MatrizDepositos matriz = MatrizDepositos.VACIA;
+
+    // Próximo reintento de cada fila que quedó con celdas aproximadas, por id de depósito (solo en refrescar())
+    private final Map<Integer, Reintento> reintentos = new HashMap<>();
+
+    private record Reintento(int intentos, long proximo) {
+    }
+
+    @Autowired
+    public MatrizDepositosService(DepositoRepository depositoRepository, GoogleMapsClient googleMapsClient,
+            MeterRegistry meterRegistry,
+            @Value("${app.rutas.matriz.reintento.espera-inicial:PT5M}") Duration esperaInicialReintento,
+            @Value("${app.rutas.matriz.reintento.espera-maxima:PT6H}") Duration esperaMaximaReintento,
+            @Value("${app.rutas.matriz.reintento.max-filas:5}") int maxFilasReintento) {
+        this(depositoRepository, googleMapsClient, meterRegistry, esperaInicialReintento, esperaMaximaReintento,
+                maxFilasReintento, System::nanoTime);
+    }
+
+    MatrizDepositosService(DepositoRepository depositoRepository, GoogleMapsClient googleMapsClient,
+            MeterRegistry meterRegistry, Duration esperaInicialReintento, Duration esperaMaximaReintento,
+            int maxFilasReintento, LongSupplier reloj) {
+        this.depositoRepository = depositoRepository;
+        this.googleMapsClient = googleMapsClient;
+        this.esperaInicialReintento = esperaInicialReintento;
+        this.esperaMaximaReintento = esperaMaximaReintento;
+        this.maxFilasReintento = maxFilasReintento;
+        this.reloj = reloj;
+
+        Gauge.builder("depositos.matriz.depositos", this, s -> s.matriz.cantidad())
+                .description("Depósitos incluidos en la matriz de distancias precalculada")
+                .register(meterRegistry);
+        Gauge.builder("depositos.matriz.celdas.aproximadas", this, MatrizDepositosService::contarAproximadas)
+                .description("Celdas de la matriz de depósitos estimadas con Haversine")
+                .register(meterRegistry);
+    }
+
+    public MatrizDepositos getMatriz() {
+        return matriz;
+    }
+
+    /**
+     * Devuelve la distancia precalculada del tramo, siempre que ambos depósitos estén en la foto
+     * vigente con las mismas coordenadas. Si no, el llamador debe consultar al proveedor.
+     */
+    public Optional<DistanciaDto> obtenerTramo(DepositoDto origen, DepositoDto destino) {
+        return obtenerTramo(matriz, origen, destino);
+    }
+
+    /**
+     * Igual que {@link #obtenerTramo(DepositoDto, DepositoDto)} pero sobre una foto ya obtenida,
+     * para que todos los tramos de un mismo cálculo usen la misma versión de la matriz.
+     */
+    public Optional<DistanciaDto> obtenerTramo(MatrizDepositos actual, DepositoDto origen, DepositoDto destino) {
+        int i = actual.indiceDe(origen.getId());
+        int j = actual.indiceDe(destino.getId());
+        if (i < 0 || j < 0 || !mismaUbicacion(actual, i, origen) || !mismaUbicacion(actual, j, destino)) {
+            return Optional.empty();
+        }
+        return Optional.of(DistanciaDto.builder()
+                .kilometros(actual.kilometros(i, j))
+                .duracionSegundos(actual.duracionSegundos(i, j))
+                .aproximada(actual.esAproximada(i, j))
+                .build());
+    }
+
+    /**
+     * Sincroniza la matriz con la tabla de depósitos. La primera ejecución ocurre al iniciar
+     * la aplicación (en un hilo del scheduler) y luego cada 'app.rutas.matriz.intervalo-refresco'. El
+     * scheduler tiene un pool ('spring.task.scheduling.pool.size'): un refresco lento no frena al resto de las tareas.
+     */
+    @Scheduled(fixedDelayString = "${app.rutas.matriz.intervalo-refresco:PT1M}")
+    public synchronized void refrescar() {
+        try {
+            List<Deposito> depositos = new ArrayList<>(depositoRepository.findAll());
+            depositos.sort(Comparator.comparing(Deposito::getId));
+            MatrizDepositos anterior = matriz;
+            MatrizDepositos nueva = recalcular(anterior, depositos);
+            if (nueva != anterior) {
+                matriz = nueva;
+            }
+        } catch (Exception e) {
+            logger.error("Error refrescando la matriz de distancias entre depósitos: {}", e.getMessage(), e);
+        }
+    }
+
+    private MatrizDepositos recalcular(MatrizDepositos anterior, List<Deposito> depositos) {
+        int n = depositos.size();
+        int[] ids = new int[n];
+        float[] latitudes = new float[n];
+        float[] longitudes = new float[n];
+        int[] indiceAnterior = new int[n];
+        boolean[] cambiado = new boolean[n];
+        boolean[] pendiente = new boolean[n];
+        int cambiados = 0;
+        int pendientes = 0;
+        long ahora = reloj.getAsLong();
+        int cupoReintentos = googleMapsClient.proveedorDisponible() ? maxFilasReintento : 0;
+
+        for (int i = 0; i < n; i++) {
+            Deposito deposito = depositos.get(i);
+            ids[i] = deposito.getId();
+            latitudes[i] = deposito.getLatitud();
+            longitudes[i] = deposito.getLongitud();
+
+            int k = anterior.indiceDe(deposito.getId());
+            indiceAnterior[i] = k;
+            cambiado[i] = k < 0 || anterior.latitud(k) != latitudes[i] || anterior.longitud(k) != longitudes[i];
+            // Una fila con celdas aproximadas se reintenta cuando vence su espera y queda cupo en el ciclo
+            boolean reintentar = !cambiado[i] && cupoReintentos > 0 && anterior.filaConAproximadas(k)
+                    && reintentoVencido(deposito.getId(), ahora);
+            cupoReintentos -= reintentar ? 1 : 0;
+            pendiente[i] = cambiado[i] || reintentar;
+            cambiados += cambiado[i] ? 1 : 0;
+            pendientes += pendiente[i] ? 1 : 0;
+        }
+
+        if (pendientes == 0 && n == anterior.cantidad()) {
+            logger.debug("Matriz de depósitos sin cambios ({} depósitos).", n);
+            return anterior;
+        }
+
+        float[][] kilometros = new float[n][n];
+        long[][] duracionSegundos = new long[n][n];
+        boolean[][] aproximada = new boolean[n][n];
+
+        // 1. Filas completas de los depósitos nuevos, movidos o con celdas aproximadas
+        List<Integer> filasPendientes = indices(pendiente, true);
+        MatrizDistanciasDto filas = googleMapsClient.calcularMatriz(
+                coordenadas(filasPendientes, latitudes, longitudes), coordenadas(indices(n), latitudes, longitudes));
+        for (int f = 0; f < filasPendientes.size(); f++) {
+            int i = filasPendientes.get(f);
+            for (int j = 0; j < n; j++) {
+                kilometros[i][j] = filas.getKilometros()[f][j];
+                duracionSegundos[i][j] = filas.getDuracionSegundos()[f][j];
+                aproximada[i][j] = filas.esAproximada(f, j);
+            }
+        }
+
+        // 2. Filas restantes: se copian de la foto anterior salvo las columnas de depósitos cambiados
+        List<Integer> filasVigentes = indices(pendiente, false);
+        List<Integer> columnasCambiadas = indices(cambiado, true);
+        MatrizDistanciasDto columnas = filasVigentes.isEmpty() || columnasCambiadas.isEmpty()
+                ? new MatrizDistanciasDto(0, 0)
+                : googleMapsClient.calcularMatriz(coordenadas(filasVigentes, latitudes, longitudes),
+                        coordenadas(columnasCambiadas, latitudes, longitudes));
+        for (int f = 0; f < filasVigentes.size(); f++) {
+            int i = filasVigentes.get(f);
+            int c = 0;
+            for (int j = 0; j < n; j++) {
+                if (cambiado[j]) {
+                    kilometros[i][j] = columnas.getKilometros()[f][c];
+                    duracionSegundos[i][j] = columnas.getDuracionSegundos()[f][c];
+                    aproximada[i][j] = columnas.esAproximada(f, c);
+                    c++;
+                } else {
+                    kilometros[i][j] = anterior.kilometros(indiceAnterior[i], indiceAnterior[j]);
+                    duracionSegundos[i][j] = anterior.duracionSegundos(indiceAnterior[i], indiceAnterior[j]);
+                    aproximada[i][j] = anterior.esAproximada(indiceAnterior[i], indiceAnterior[j]);
+                }
+            }
+        }
+
+        programarReintentos(ids, pendiente, aproximada, ahora);
+
+        logger.info("Matriz de depósitos actualizada: {} depósitos, {} nuevos o movidos, {} filas recalculadas.",
+                n, cambiados, filasPendientes.size());
+        // Si solo se recalcularon celdas aproximadas las ubicaciones son las mismas y se reutiliza el índice espacial
+        boolean mismasUbicaciones = cambiados == 0 && n == anterior.cantidad();
+        return new MatrizDepositos(ids, latitudes, longitudes, kilometros, duracionSegundos, aproximada,
+                mismasUbicaciones ? anterior.getIndiceEspacial() : null);
+    }
+
+    private boolean reintentoVencido(Integer id, long ahora) {
+        Reintento reintento = reintentos.get(id);
+        return reintento == null || ahora - reintento.proximo() >= 0;
+    }
+
+    // Tras recalcular una fila: si sigue con celdas aproximadas se duplica su espera, si no se olvida
+    private void programarReintentos(int[] ids, boolean[] recalculada, boolean[][] aproximada, long ahora) {
+        Set<Integer> vigentes = new HashSet<>();
+        for (int i = 0; i < ids.length; i++) {
+            vigentes.add(ids[i]);
+            if (!recalculada[i]) {
+                continue;
+            }
+            boolean conAproximadas = false;
+            for (boolean celda : aproximada[i]) {
+                conAproximadas |= celda;
+            }
+            if (!conAproximadas) {
+                reintentos.remove(ids[i]);
+                continue;
+            }
+            Reintento anterior = reintentos.get(ids[i]);
+            int intentos = anterior == null ? 0 : anterior.intentos() + 1;
+            Duration espera = esperaInicialReintento.multipliedBy(1L << Math.min(intentos, 20));
+            if (espera.compareTo(esperaMaximaReintento) > 0) {
+                espera = esperaMaximaReintento;
+            }
+            reintentos.put(ids[i], new Reintento(intentos, ahora + espera.toNanos()));
+        }
+        reintentos.keySet().retainAll(vigentes);
+    }
+
+    private boolean mismaUbicacion(MatrizDepositos actual, int indice, DepositoDto deposito) {
+        return Objects.equals(actual.latitud(indice), deposito.getLatitud())
+                && Objects.equals(actual.longitud(indice), deposito.getLongitud());
+    }
+
+    private double contarAproximadas() {
+        MatrizDepositos actual = matriz;
+        int aproximadas = 0;
+        for (int i = 0; i < actual.cantidad(); i++) {
+            for (int j = 0; j < actual.cantidad(); j++) {
+                aproximadas += actual.esAproximada(i, j) ? 1 : 0;
+            }
+        }
+        return aproximadas;
+    }
+
+    private List<Integer> indices(boolean[] marcas, boolean valor) {
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < marcas.length; i++) {
+            if (marcas[i] == valor) {
+                indices.add(i);
+            }
+        }
+        return indices;
+    }
+
+    private List<Integer> indices(int cantidad) {
+        List<Integer> indices = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            indices.add(i);
+        }
+        return indices;
+    }
+
+    private List<CoordenadasDto> coordenadas(List<Integer> indices, float[] latitudes, float[] longitudes) {
+        List<CoordenadasDto> coordenadas = new ArrayList<>(indices.size());
+        for (int i : indices) {
+            coordenadas.add(new CoordenadasDto(latitudes[i], longitudes[i]));
+        }
+        return coordenadas;
+    }
+}
@@ -0,0 +1,278 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Motor de rutas sobre el grafo completo de depósitos de la matriz precalculada.
+ * Devuelve las k rutas sin ciclos más baratas entre dos depósitos (algoritmo de Yen) limitadas
+ * a una cantidad máxima de tramos. El costo de cada arista es el costo en centavos del tramo
+ * (CalculadoraCostoTramo), por lo que el costo de una ruta coincide con la suma de los costos que
+ * luego se muestran en sus tramos. La adyacencia es la propia matriz densa y el costo de cada arista
+ * se calcula al vuelo sin crear objetos por arista. La búsqueda se limita a los depósitos intermedios recibidos
+ * (los candidatos del índice espacial) y trabaja con índices locales a esos candidatos, de modo que ni el
+ * tiempo ni la memoria de cada búsqueda crecen con el tamaño de la red.
+ */
+@Service
+public class MotorRutasService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MotorRutasService.class);
+
+    private static final long SIN_CAMINO = Long.MAX_VALUE;
+
+    private final int maxTramos;
+    private final int cantidadRutas;
+
+    public MotorRutasService(
+            @Value("${app.rutas.motor.max-tramos:3}") int maxTramos,
+            @Value("${app.rutas.motor.cantidad-rutas:3}") int cantidadRutas) {
+        this.maxTramos = maxTramos;
+        this.cantidadRutas = cantidadRutas;
+    }
+
+    /**
+     * Busca las rutas más baratas entre origen y destino (índices de la matriz) pasando solo por
+     * los depósitos intermedios indicados. Cada ruta es el arreglo de índices de depósitos visitados,
+     * origen y destino incluidos, y la lista viene ordenada por costo ascendente.
+     */
+    public List<int[]> buscarRutas(MatrizDepositos matriz, int[] intermedios, int origen, int destino,
+            CalculadoraCostoTramo calculadora) {
+        return buscarRutas(matriz, intermedios, origen, destino, calculadora, cantidadRutas, maxTramos);
+    }
+
+    // Búsqueda sobre toda la red: todos los depósitos de la matriz son intermedios posibles
+    List<int[]> buscarRutas(MatrizDepositos matriz, int origen, int destino,
+            CalculadoraCostoTramo calculadora, int k, int maxSaltos) {
+        int[] todos = new int[matriz.cantidad()];
+        for (int i = 0; i < todos.length; i++) {
+            todos[i] = i;
+        }
+        return buscarRutas(matriz, todos, origen, destino, calculadora, k, maxSaltos);
+    }
+
+    List<int[]> buscarRutas(MatrizDepositos matriz, int[] intermedios, int origen, int destino,
+            CalculadoraCostoTramo calculadora, int k, int maxSaltos) {
+        List<int[]> rutas = new ArrayList<>();
+        if (origen < 0 || destino < 0 || origen == destino || k <= 0 || maxSaltos <= 0) {
+            return rutas;
+        }
+
+        // Las rutas se arman con índices locales (posiciones en 'nodos': 0 es el origen y 1 el destino)
+        // y se traducen a índices de la matriz al final
+        int[] nodos = nodosDelGrafo(intermedios, origen, destino);
+        int n = nodos.length;
+        Busqueda busqueda = new Busqueda(matriz, nodos, calculadora, 1);
+
+        int[] primera = busqueda.caminoMinimo(0, maxSaltos, new boolean[n], new boolean[n]);
+        if (primera == null) {
+            return rutas;
+        }
+        rutas.add(primera);
+
+        List<int[]> candidatas = new ArrayList<>();
+        List<Long> costosCandidatas = new ArrayList<>();
+
+        while (rutas.size() < k) {
+            int[] ultima = rutas.get(rutas.size() - 1);
+
+            // Cada nodo de la última ruta (salvo el destino) es un posible punto de desvío
+            for (int i = 0; i < ultima.length - 1; i++) {
+                int desvio = ultima[i];
+                boolean[] aristaBloqueada = new boolean[n];
+                boolean[] nodoBloqueado = new boolean[n];
+
+                // Se bloquea la arista siguiente de las rutas ya aceptadas que comparten el mismo prefijo
+                for (int[] ruta : rutas) {
+                    if (ruta.length > i + 1 && Arrays.equals(ruta, 0, i + 1, ultima, 0, i + 1)) {
+                        aristaBloqueada[ruta[i + 1]] = true;
+                    }
+                }
+                // El prefijo no puede volver a visitarse (rutas sin ciclos)
+                for (int j = 0; j < i; j++) {
+                    nodoBloqueado[ultima[j]] = true;
+                }
+
+                int[] sufijo = busqueda.caminoMinimo(desvio, maxSaltos - i, nodoBloqueado, aristaBloqueada);
+                if (sufijo == null) {
+                    continue;
+                }
+
+                int[] ruta = new int[i + sufijo.length];
+                System.arraycopy(ultima, 0, ruta, 0, i);
+                System.arraycopy(sufijo, 0, ruta, i, sufijo.length);
+                if (!contiene(candidatas, ruta) && !contiene(rutas, ruta)) {
+                    candidatas.add(ruta);
+                    costosCandidatas.add(busqueda.costoRuta(ruta));
+                }
+            }
+
+            if (candidatas.isEmpty()) {
+                break;
+            }
+
+            int mejor = 0;
+            for (int c = 1; c < candidatas.size(); c++) {
+                if (costosCandidatas.get(c) < costosCandidatas.get(mejor)) {
+                    mejor = c;
+                }
+            }
+            rutas.add(candidatas.remove(mejor));
+            costosCandidatas.remove(mejor);
+        }
+
+        for (int[] ruta : rutas) {
+            for (int i = 0; i < ruta.length; i++) {
+                ruta[i] = nodos[ruta[i]];
+            }
+        }
+        logger.debug("Motor de rutas: {} rutas encontradas entre los índices {} y {} (máx. {} tramos).",
+                rutas.size(), origen, destino, maxSaltos);
+        return rutas;
+    }
+
+    // Nodos habilitados para la búsqueda (índices de la matriz): origen, destino y los intermedios sin repetir
+    private int[] nodosDelGrafo(int[] intermedios, int origen, int destino) {
+        int[] nodos = new int[intermedios.length + 2];
+        nodos[0] = origen;
+        nodos[1] = destino;
+        int cantidad = 2;
+        for (int intermedio : Arrays.stream(intermedios).distinct().toArray()) {
+            if (intermedio != origen && intermedio != destino) {
+                nodos[cantidad++] = intermedio;
+            }
+        }
+        return Arrays.copyOf(nodos, cantidad);
+    }
+
+    private boolean contiene(List<int[]> rutas, int[] ruta) {
+        for (int[] existente : rutas) {
+            if (Arrays.equals(existente, ruta)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Estado de una búsqueda: la matriz, los nodos habilitados y la calculadora de costos de la solicitud.
+     * Los nodos se identifican por su posición en 'nodos'; solo el acceso a la matriz usa el índice real.
+     */
+    private static final class Busqueda {
+
+        private final MatrizDepositos matriz;
+        private final int[] nodos;
+        private final CalculadoraCostoTramo calculadora;
+        private final int destino;
+
+        Busqueda(MatrizDepositos matriz, int[] nodos, CalculadoraCostoTramo calculadora, int destino) {
+            this.matriz = matriz;
+            this.nodos = nodos;
+            this.calculadora = calculadora;
+            this.destino = destino;
+        }
+
+        long costoArista(int desde, int hasta) {
+            return calculadora.costoCentavos(matriz.kilometros(nodos[desde], nodos[hasta]));
+        }
+
+        long costoRuta(int[] ruta) {
+            long costo = 0;
+            for (int i = 0; i < ruta.length - 1; i++) {
+                costo += costoArista(ruta[i], ruta[i + 1]);
+            }
+            return costo;
+        }
+
+        /**
+         * Camino mínimo desde 'inicio' hasta el destino con a lo sumo 'maxSaltos' tramos
+         * (Bellman-Ford por capas de saltos) usando solo los nodos habilitados. Los nodos bloqueados no se visitan y las aristas
+         * bloqueadas solo aplican a la salida de 'inicio'. Devuelve null si no hay camino.
+         */
+        int[] caminoMinimo(int inicio, int maxSaltos, boolean[] nodoBloqueado, boolean[] aristaBloqueada) {
+            int n = nodos.length;
+            if (maxSaltos <= 0) {
+                return null;
+            }
+
+            long[] costoDestino = new long[maxSaltos + 1];
+            int[][] predecesor = new int[maxSaltos + 1][n];
+            long[] actual = new long[n];
+            long[] siguiente = new long[n];
+            Arrays.fill(actual, SIN_CAMINO);
+            Arrays.fill(costoDestino, SIN_CAMINO);
+            actual[inicio] = 0;
+
+            for (int saltos = 1; saltos <= maxSaltos; saltos++) {
+                Arrays.fill(siguiente, SIN_CAMINO);
+                for (int u = 0; u < n; u++) {
+                    if (actual[u] == SIN_CAMINO || u == destino) {
+                        continue;
+                    }
+                    for (int v = 0; v < n; v++) {
+                        if (v == u || v == inicio || nodoBloqueado[v] || (u == inicio && aristaBloqueada[v])) {
+                            continue;
+                        }
+                        float km = matriz.kilometros(nodos[u], nodos[v]);
+                        if (Float.isNaN(km)) {
+                            continue;
+                        }
+                        long costo = actual[u] + calculadora.costoCentavos(km);
+                        if (costo < siguiente[v]) {
+                            siguiente[v] = costo;
+                            predecesor[saltos][v] = u;
+                        }
+                    }
+                }
+                costoDestino[saltos] = siguiente[destino];
+                long[] aux = actual;
+                actual = siguiente;
+                siguiente = aux;
+            }
+
+            // Se prueba cada cantidad de saltos de menor a mayor costo y se descartan los caminos con ciclos
+            // (solo posibles con tramos de costo cero).
+            boolean[] probado = new boolean[maxSaltos + 1];
+            for (int intento = 1; intento <= maxSaltos; intento++) {
+                int mejor = -1;
+                for (int saltos = 1; saltos <= maxSaltos; saltos++) {
+                    if (!probado[saltos] && costoDestino[saltos] != SIN_CAMINO
+                            && (mejor < 0 || costoDestino[saltos] < costoDestino[mejor])) {
+                        mejor = saltos;
+                    }
+                }
+                if (mejor < 0) {
+                    return null;
+                }
+                probado[mejor] = true;
+                int[] camino = reconstruir(predecesor, inicio, mejor);
+                if (camino != null) {
+                    return camino;
+                }
+            }
+            return null;
+        }
+
+        private int[] reconstruir(int[][] predecesor, int inicio, int saltos) {
+            int[] camino = new int[saltos + 1];
+            boolean[] visitado = new boolean[nodos.length];
+            int nodo = destino;
+            for (int s = saltos; s >= 0; s--) {
+                if (visitado[nodo]) {
+                    return null;
+                }
+                visitado[nodo] = true;
+                camino[s] = nodo;
+                if (s > 0) {
+                    nodo = predecesor[s][nodo];
+                }
+            }
+            return camino[0] == inicio ? camino : null;
+        }
+    }
+}
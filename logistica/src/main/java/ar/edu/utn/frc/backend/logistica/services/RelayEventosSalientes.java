@@ -0,0 +1,328 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ar.edu.utn.frc.backend.logistica.dto.helpers.ResultadoTransicionDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.TransicionSolicitudDto;
+import ar.edu.utn.frc.backend.logistica.entities.EstadoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.EventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.TipoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.repositories.EventoSalienteRepository;
+import ar.edu.utn.frc.backend.logistica.restClient.RecursosClient;
+import ar.edu.utn.frc.backend.logistica.restClient.SolicitudesClient;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Entrega en segundo plano los eventos del outbox a Solicitudes y Recursos.
+ * En cada ciclo reserva un lote (transacción corta: SKIP LOCKED + plazo de reserva), hace las llamadas
+ * remotas sin transacción abierta y guarda el resultado del lote en otra transacción corta.
+ * Cada lote contiene a lo sumo el evento más antiguo pendiente de cada agregado, por lo que los eventos
+ * de una misma solicitud o camión se entregan en orden. Los eventos de Solicitudes del lote se envían en
+ * una sola llamada de transiciones en lote; los de Recursos, de a uno. Los errores de red y 5xx se reintentan
+ * con espera exponencial; los 4xx (salvo 408/429), las transiciones rechazadas y los que agotan los
+ * reintentos quedan FALLIDO. Un evento FALLIDO retiene los eventos posteriores de su agregado (la métrica
+ * 'outbox.agregados.retenidos' los cuenta) hasta que se lo revisa: vuelto a PENDIENTE se reintenta,
+ * DESCARTADO deja pasar a los siguientes. Un CAMION_OCUPADO fallido significa que el tramo perdió la reserva
+ * del camión: se deshace la asignación del tramo (si todavía no empezó) y el evento queda DESCARTADO.
+ */
+@Component
+public class RelayEventosSalientes {
+
+    private static final Logger logger = LoggerFactory.getLogger(RelayEventosSalientes.class);
+    private static final int LARGO_MAXIMO_ERROR = 500;
+
+    private final EventoSalienteRepository eventoSalienteRepository;
+    private final SolicitudesClient solicitudesClient;
+    private final RecursosClient recursosClient;
+    private final TramoService tramoService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int tamanioLote;
+    private final int maxIntentos;
+    private final Duration esperaInicial;
+    private final Duration esperaMaxima;
+    private final Duration plazoReserva;
+    private final Duration retencion;
+
+    private final Counter enviados;
+    private final Counter reintentos;
+    private final Counter fallidos;
+
+    public RelayEventosSalientes(EventoSalienteRepository eventoSalienteRepository,
+            SolicitudesClient solicitudesClient, RecursosClient recursosClient, TramoService tramoService,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+            @Value("${app.outbox.tamanio-lote:50}") int tamanioLote,
+            @Value("${app.outbox.max-intentos:10}") int maxIntentos,
+            @Value("${app.outbox.espera-inicial:PT2S}") Duration esperaInicial,
+            @Value("${app.outbox.espera-maxima:PT5M}") Duration esperaMaxima,
+            @Value("${app.outbox.plazo-reserva:PT1M}") Duration plazoReserva,
+            @Value("${app.outbox.retencion:P7D}") Duration retencion) {
+        this.eventoSalienteRepository = eventoSalienteRepository;
+        this.solicitudesClient = solicitudesClient;
+        this.recursosClient = recursosClient;
+        this.tramoService = tramoService;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanioLote = tamanioLote;
+        this.maxIntentos = maxIntentos;
+        this.esperaInicial = esperaInicial;
+        this.esperaMaxima = esperaMaxima;
+        this.plazoReserva = plazoReserva;
+        this.retencion = retencion;
+
+        this.enviados = Counter.builder("outbox.eventos.enviados")
+                .description("Eventos del outbox entregados a Solicitudes/Recursos").register(meterRegistry);
+        this.reintentos = Counter.builder("outbox.eventos.reintentos")
+                .description("Entregas fallidas que se volverán a intentar").register(meterRegistry);
+        this.fallidos = Counter.builder("outbox.eventos.fallidos")
+                .description("Eventos descartados (rechazados o sin reintentos disponibles)").register(meterRegistry);
+        Gauge.builder("outbox.eventos.pendientes", eventoSalienteRepository,
+                        repository -> repository.countByEstado(EstadoEventoSaliente.PENDIENTE))
+                .description("Eventos del outbox pendientes de entrega").register(meterRegistry);
+        Gauge.builder("outbox.agregados.retenidos", eventoSalienteRepository,
+                        repository -> repository.countAgregadosRetenidos(EstadoEventoSaliente.FALLIDO,
+                                EstadoEventoSaliente.PENDIENTE))
+                .description("Agregados con eventos retenidos detrás de un evento FALLIDO").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo:PT1S}")
+    public void despachar() {
+        try {
+            // Se sigue mientras haya avances: al entregar un evento puede quedar disponible el siguiente del agregado
+            int entregados;
+            do {
+                List<EventoSaliente> lote = reservarLote();
+                if (lote.isEmpty()) {
+                    return;
+                }
+                entregados = entregarLote(lote);
+            } while (entregados > 0);
+        } catch (Exception e) {
+            logger.error("Error despachando eventos del outbox: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.intervalo-limpieza:PT1H}")
+    public void limpiar() {
+        LocalDateTime limite = LocalDateTime.now().minus(retencion);
+        Integer borrados = transactionTemplate.execute(status ->
+                eventoSalienteRepository.deleteByEstadoAndFechaEnvioBefore(EstadoEventoSaliente.ENVIADO, limite));
+        if (borrados != null && borrados > 0) {
+            logger.info("Outbox: {} eventos enviados anteriores a {} eliminados.", borrados, limite);
+        }
+    }
+
+    private List<EventoSaliente> reservarLote() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime ahora = LocalDateTime.now();
+            List<EventoSaliente> lote = eventoSalienteRepository.findLoteParaEnviar(ahora, tamanioLote);
+            // Si la instancia se cae durante la entrega, el evento vuelve a estar disponible al vencer la reserva
+            for (EventoSaliente evento : lote) {
+                evento.setProximoIntento(ahora.plus(plazoReserva));
+            }
+            return lote;
+        });
+    }
+
+    private int entregarLote(List<EventoSaliente> lote) {
+        int entregados = 0;
+        List<EventoSaliente> resultados = new ArrayList<>(lote.size());
+        List<EventoSaliente> deSolicitudes = new ArrayList<>();
+        for (EventoSaliente evento : lote) {
+            if (evento.getTipo().esDeSolicitudes()) {
+                deSolicitudes.add(evento);
+                continue;
+            }
+            LocalDateTime ahora = LocalDateTime.now();
+            evento.setIntentos(evento.getIntentos() + 1);
+            try {
+                entregar(evento);
+                marcarEnviado(evento, ahora);
+                entregados++;
+            } catch (Exception e) {
+                registrarError(evento, e, ahora);
+            }
+            resultados.add(evento);
+        }
+        entregados += entregarTransiciones(deSolicitudes);
+        resultados.addAll(deSolicitudes);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            resultados.stream()
+                    .filter(evento -> evento.getTipo() == TipoEventoSaliente.CAMION_OCUPADO
+                            && evento.getEstado() == EstadoEventoSaliente.FALLIDO)
+                    .forEach(this::compensarReservaPerdida);
+            eventoSalienteRepository.saveAll(resultados);
+        });
+        logger.debug("Outbox: lote de {} eventos procesado, {} entregados.", lote.size(), entregados);
+        return entregados;
+    }
+
+    private void entregar(EventoSaliente evento) throws Exception {
+        JsonNode datos = objectMapper.readTree(evento.getDatos());
+        String clave = evento.getClaveIdempotencia();
+
+        switch (evento.getTipo()) {
+            // Se confirma la reserva del intento que ganó la asignación (eventos previos: la clave del evento)
+            case CAMION_OCUPADO -> recursosClient.setCamionOcupado(datos.get("camionId").asInt(),
+                    datos.path("reserva").asText(clave));
+            case CAMION_LIBRE -> recursosClient.setCamionLibre(datos.get("camionId").asInt(), clave,
+                    datos.path("reserva").asText(null));
+            default -> throw new IllegalArgumentException("Evento de Solicitudes fuera del lote de transiciones: " + evento.getTipo());
+        }
+        logger.info("Outbox: evento {} ({}) entregado.", evento.getTipo(), evento.getAgregado());
+    }
+
+    // Entrega todos los eventos de Solicitudes en una llamada y registra el resultado de cada uno
+    private int entregarTransiciones(List<EventoSaliente> eventos) {
+        if (eventos.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        List<EventoSaliente> enviadosEnLote = new ArrayList<>(eventos.size());
+        List<TransicionSolicitudDto> transiciones = new ArrayList<>(eventos.size());
+        for (EventoSaliente evento : eventos) {
+            evento.setIntentos(evento.getIntentos() + 1);
+            try {
+                transiciones.add(aTransicion(evento));
+                enviadosEnLote.add(evento);
+            } catch (Exception e) {
+                registrarError(evento, e, ahora);
+            }
+        }
+        if (transiciones.isEmpty()) {
+            return 0;
+        }
+
+        List<ResultadoTransicionDto> respuesta;
+        try {
+            respuesta = solicitudesClient.aplicarTransiciones(transiciones);
+            if (respuesta == null || respuesta.size() != transiciones.size()) {
+                throw new IllegalStateException("Respuesta incompleta de Solicitudes al lote de transiciones.");
+            }
+        } catch (Exception e) {
+            enviadosEnLote.forEach(evento -> registrarError(evento, e, ahora));
+            return 0;
+        }
+
+        int entregados = 0;
+        for (int i = 0; i < enviadosEnLote.size(); i++) {
+            EventoSaliente evento = enviadosEnLote.get(i);
+            ResultadoTransicionDto resultado = respuesta.get(i);
+            if (resultado.getResultado() == ResultadoTransicionDto.Resultado.RECHAZADA) {
+                registrarError(evento, "Transición rechazada por Solicitudes: " + resultado.getMensaje(), true, ahora);
+                continue;
+            }
+            marcarEnviado(evento, ahora);
+            entregados++;
+            logger.info("Outbox: evento {} ({}) entregado ({}).", evento.getTipo(), evento.getAgregado(), resultado.getResultado());
+        }
+        return entregados;
+    }
+
+    // El tramo no quedó con el camión en Recursos: se deshace la asignación local en la misma transacción
+    private void compensarReservaPerdida(EventoSaliente evento) {
+        try {
+            JsonNode datos = objectMapper.readTree(evento.getDatos());
+            if (!datos.hasNonNull("tramoId")
+                    || !tramoService.desasignarPorReservaPerdida(datos.get("tramoId").asInt(), datos.get("camionId").asInt())) {
+                return;
+            }
+            evento.setEstado(EstadoEventoSaliente.DESCARTADO);
+            // Libera la clave: si el tramo se vuelve a asignar se registra un evento nuevo con la misma clave
+            evento.setClaveIdempotencia(evento.getClaveIdempotencia() + "#" + evento.getId());
+            logger.warn("Outbox: reserva perdida para {} ({}); asignación del tramo deshecha y evento descartado.",
+                    evento.getAgregado(), evento.getClaveIdempotencia());
+        } catch (Exception e) {
+            logger.error("Outbox: no se pudo deshacer la asignación del evento {} ({}): {}", evento.getTipo(),
+                    evento.getAgregado(), e.getMessage(), e);
+        }
+    }
+
+    private TransicionSolicitudDto aTransicion(EventoSaliente evento) throws JsonProcessingException {
+        JsonNode datos = objectMapper.readTree(evento.getDatos());
+        TransicionSolicitudDto.TransicionSolicitudDtoBuilder transicion = TransicionSolicitudDto.builder()
+                .claveIdempotencia(evento.getClaveIdempotencia())
+                .solicitudId(datos.get("solicitudId").asInt());
+
+        switch (evento.getTipo()) {
+            case SOLICITUD_EN_TRANSITO -> transicion.tipo(TransicionSolicitudDto.Tipo.EN_TRANSITO);
+            case CONTENEDOR_EN_VIAJE -> transicion.tipo(TransicionSolicitudDto.Tipo.CONTENEDOR_EN_VIAJE)
+                    .deposito(datos.get("deposito").asText());
+            case CONTENEDOR_EN_DEPOSITO -> transicion.tipo(TransicionSolicitudDto.Tipo.CONTENEDOR_EN_DEPOSITO)
+                    .deposito(datos.get("deposito").asText());
+            case SOLICITUD_ENTREGADA -> transicion.tipo(TransicionSolicitudDto.Tipo.ENTREGADA)
+                    .costo(datos.get("costo").decimalValue())
+                    .tiempo(datos.get("tiempo").asLong());
+            default -> throw new IllegalArgumentException("El evento " + evento.getTipo() + " no es de Solicitudes.");
+        }
+        return transicion.build();
+    }
+
+    private void marcarEnviado(EventoSaliente evento, LocalDateTime ahora) {
+        evento.setEstado(EstadoEventoSaliente.ENVIADO);
+        evento.setFechaEnvio(ahora);
+        evento.setUltimoError(null);
+        enviados.increment();
+    }
+
+    private void registrarError(EventoSaliente evento, Exception e, LocalDateTime ahora) {
+        String mensaje = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+        registrarError(evento, mensaje, esRechazoDefinitivo(e), ahora);
+    }
+
+    private void registrarError(EventoSaliente evento, String mensaje, boolean definitivo, LocalDateTime ahora) {
+        evento.setUltimoError(mensaje.length() > LARGO_MAXIMO_ERROR ? mensaje.substring(0, LARGO_MAXIMO_ERROR) : mensaje);
+
+        if (definitivo || evento.getIntentos() >= maxIntentos) {
+            evento.setEstado(EstadoEventoSaliente.FALLIDO);
+            fallidos.increment();
+            logger.error("Outbox: evento {} ({}, clave {}) FALLIDO tras {} intentos: {}. Los eventos posteriores de {} "
+                    + "quedan retenidos hasta revisarlo.", evento.getTipo(), evento.getAgregado(),
+                    evento.getClaveIdempotencia(), evento.getIntentos(), mensaje, evento.getAgregado());
+            return;
+        }
+
+        evento.setProximoIntento(ahora.plus(espera(evento.getIntentos())));
+        reintentos.increment();
+        logger.warn("Outbox: error entregando evento {} ({}), intento {}. Próximo intento: {}. Error: {}",
+                evento.getTipo(), evento.getAgregado(), evento.getIntentos(), evento.getProximoIntento(), mensaje);
+    }
+
+    // Espera exponencial: esperaInicial * 2^(intentos - 1), acotada por esperaMaxima
+    private Duration espera(int intentos) {
+        Duration espera = esperaInicial.multipliedBy(1L << Math.min(intentos - 1, 20));
+        return espera.compareTo(esperaMaxima) > 0 ? esperaMaxima : espera;
+    }
+
+    private boolean esRechazoDefinitivo(Exception e) {
+        if (e instanceof HttpClientErrorException error) {
+            int status = error.getStatusCode().value();
+            return status != HttpStatus.REQUEST_TIMEOUT.value() && status != HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        // Datos del evento ilegibles: reintentar no cambia el resultado. Otros errores locales (p. ej. un bug)
+        // no son un rechazo del destino: se reintentan hasta agotar los intentos.
+        return e instanceof JsonProcessingException;
+    }
+}
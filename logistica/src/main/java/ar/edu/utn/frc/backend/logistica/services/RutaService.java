@@ -3,26 +3,42 @@ package ar.edu.utn.frc.backend.logistica.services;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestClientException;
 
 import ar.edu.utn.frc.backend.logistica.controllers.RutaController;
 import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
+import ar.edu.utn.frc.backend.logistica.dto.ResumenCamionesDisponiblesDto;
 import ar.edu.utn.frc.backend.logistica.dto.RutaDto;
 import ar.edu.utn.frc.backend.logistica.dto.RutaTentativaDto;
+import ar.edu.utn.frc.backend.logistica.dto.TentativasSolicitudDto;
 import ar.edu.utn.frc.backend.logistica.dto.TramoDto;
 import ar.edu.utn.frc.backend.logistica.dto.TramoTentativoDto;
 import ar.edu.utn.frc.backend.logistica.dto.helpers.DistanciaDto;
-import ar.edu.utn.frc.backend.logistica.entities.Camion;
 import ar.edu.utn.frc.backend.logistica.entities.Contenedor;
 import ar.edu.utn.frc.backend.logistica.entities.Deposito;
 import ar.edu.utn.frc.backend.logistica.entities.Ruta;
@@ -30,18 +46,20 @@ import ar.edu.utn.frc.backend.logistica.entities.SolicitudTransporte;
 import ar.edu.utn.frc.backend.logistica.exceptions.DataConflictException;
 import ar.edu.utn.frc.backend.logistica.exceptions.RecursoNoDisponibleException;
 import ar.edu.utn.frc.backend.logistica.exceptions.ResourceNotFoundException;
-import ar.edu.utn.frc.backend.logistica.repositories.CamionRepository;
+import ar.edu.utn.frc.backend.logistica.mappers.DepositoMapper;
+import ar.edu.utn.frc.backend.logistica.mappers.RutaMapper;
 import ar.edu.utn.frc.backend.logistica.repositories.DepositoRepository;
 import ar.edu.utn.frc.backend.logistica.repositories.RutaRepository;
 import ar.edu.utn.frc.backend.logistica.repositories.SolicitudTransporteRepository;
 import ar.edu.utn.frc.backend.logistica.restClient.GoogleMapsClient;
+import ar.edu.utn.frc.backend.logistica.restClient.LlamadasAsincronas;
 import ar.edu.utn.frc.backend.logistica.restClient.RecursosClient;
 import ar.edu.utn.frc.backend.logistica.restClient.SolicitudesClient;
 
 @Service
 public class RutaService {
     @Autowired
-    private RecursosClient recursosClient;
+    private TarifasVigentesService tarifasVigentesService;
 
     @Autowired
     private SolicitudesClient solicitudesClient;
@@ -59,48 +77,53 @@ public class RutaService {
     private DepositoRepository depositoRepository;
 
     @Autowired
-    private CamionRepository camionRepository;
+    private RecursosClient recursosClient;
+
+    @Autowired
+    private LlamadasAsincronas llamadasAsincronas;
 
     @Autowired
     private TramoService tramoService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private MatrizDepositosService matrizDepositosService;
+
+    @Autowired
+    private MotorRutasService motorRutasService;
+
+    @Autowired
+    @Qualifier("calculoTramosExecutor")
+    private ExecutorService calculoTramosExecutor;
+
+    @Autowired
+    @Qualifier("tentativasLoteExecutor")
+    private ExecutorService tentativasLoteExecutor;
+
+    @Value("${app.rutas.candidatos.factor-elipse:1.5}")
+    private double factorElipseCandidatos;
+
+    @Value("${app.rutas.candidatos.max-intermedios:30}")
+    private int maxIntermediosCandidatos;
 
     private static final int SCALE = 2;
 
+    private static final String ESTADO_BORRADOR = "Borrador";
+
     private static final Logger logger = LoggerFactory.getLogger(RutaController.class);
 
 
-    // Método helper para calcular promedios de BigDecimal
-    private BigDecimal calculateAverage(List<Camion> camiones, Function<Camion, BigDecimal> extractor) {
-        if (camiones.isEmpty()) {
-            logger.warn("calculateAverage: Lista de camiones vacía. Retornando cero.");
+    // Método helper para calcular promedios de BigDecimal a partir de la suma ya agregada por Recursos
+    private BigDecimal calculateAverage(BigDecimal sumaTotal, int cantidad) {
+        if (cantidad == 0) {
+            logger.warn("calculateAverage: Sin camiones. Retornando cero.");
             return BigDecimal.ZERO;
         }
 
-        BigDecimal sumaTotal = camiones.stream()
-                .map(extractor)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        BigDecimal divisor = new BigDecimal(camiones.size());
+        BigDecimal divisor = new BigDecimal(cantidad);
 
         return sumaTotal.divide(divisor, SCALE, RoundingMode.HALF_UP);
     }
 
-    private DepositoDto mapDepositoToDto(Deposito deposito) {
-        // Mapeo básico de todas las propiedades
-        DepositoDto dto = modelMapper.map(deposito, DepositoDto.class);
-        
-        if (deposito.getCiudad() != null) {
-            try {
-                dto.setCiudad(deposito.getCiudad().getNombre());
-            } catch (Exception e) {
-                logger.error("Error al mapear el nombre de la ciudad. Verifique la estructura de DepositoDto y Deposito.getCiudad().getNombre().", e);
-            }
-        }
-        return dto;
-    }
 
 
     // Genera rutas tentativas para una solicitud de transporte dada su ID.
@@ -114,48 +137,115 @@ public class RutaService {
             throw new ResourceNotFoundException("Solicitud de transporte no encontrada para el ID: " + solicitudId);
         }
 
-        SolicitudTransporte solicitud = solicitudOpt.get();
-        logger.debug("Solicitud obtenida - Origen: {} ({}) -> Destino: {} ({})", 
-                solicitud.getDepositoOrigen().getNombre(), solicitud.getDepositoOrigen().getId(),
-                solicitud.getDepositoDestino().getNombre(), solicitud.getDepositoDestino().getId());
+        // 2. OBTENER TARIFAS (los depósitos se consultan para esta solicitud)
+        ContextoTentativas contexto = crearContexto(null);
 
-        // Obtener contenedor desde la relación de la solicitud
-        Contenedor contenedor = solicitud.getContenedor();
-        if (contenedor == null) {
-            logger.error("obtenerTentativas: Contenedor no asociado a la solicitud ID: {}", solicitudId);
-            throw new ResourceNotFoundException("Contenedor no encontrado para la solicitud ID: " + solicitudId);
-        }
+        return calcularTentativas(solicitudOpt.get(), contexto);
+    }
 
-        // Extracción de datos del contenedor
-        BigDecimal volumen = contenedor.getVolumen();
-        BigDecimal peso = contenedor.getPeso();
-        logger.debug("Requisitos del contenedor - Volumen: {}, Peso: {}", volumen, peso);
+    /**
+     * Calcula las rutas tentativas de varias solicitudes en una sola pasada. Si no se indican IDs se toman
+     * todas las solicitudes en estado "Borrador". Las tarifas, los depósitos y la foto de la matriz se obtienen
+     * una única vez y se comparten; los tramos que hay que consultar al proveedor y los resúmenes de camiones
+     * por capacidad se consultan una sola vez aunque aparezcan en varias solicitudes.
+     * Las solicitudes se calculan en paralelo y el Stream devuelve cada resultado apenas termina
+     * (orden de finalización, no de pedido). Los errores de una solicitud no cortan el lote.
+     * El Stream debe cerrarse: al cerrarlo (por ejemplo si el cliente corta la conexión a mitad del envío)
+     * se cancelan los cálculos que todavía no empezaron.
+     */
+    public Stream<TentativasSolicitudDto> obtenerTentativasLote(List<Integer> solicitudIds) {
+        boolean todasBorrador = solicitudIds == null || solicitudIds.isEmpty();
+        logger.info("Iniciando cálculo de rutas tentativas en lote para {}.",
+                todasBorrador ? "todas las solicitudes en estado " + ESTADO_BORRADOR : solicitudIds.size() + " solicitudes");
+
+        // 1. Solicitudes con contenedor y depósitos ya cargados (se procesan fuera de la sesión de la request)
+        List<SolicitudTransporte> solicitudes = todasBorrador
+                ? solicitudTransporteRepository.findConDetalleByEstadoNombre(ESTADO_BORRADOR)
+                : solicitudTransporteRepository.findConDetalleByIdIn(new LinkedHashSet<>(solicitudIds));
+
+        // 2. Datos compartidos por todo el lote: tarifas, depósitos y matriz
+        Map<Integer, DepositoDto> depositos = new LinkedHashMap<>();
+        for (Deposito deposito : depositoRepository.findAllConCiudad()) {
+            depositos.put(deposito.getId(), DepositoMapper.aDto(deposito));
+        }
+        ContextoTentativas contexto = crearContexto(depositos);
+
+        // 3. Cálculo en paralelo; cada resultado se encola al terminar
+        BlockingQueue<TentativasSolicitudDto> terminadas = new LinkedBlockingQueue<>();
+        int total = solicitudes.size();
+        if (!todasBorrador) {
+            Set<Integer> encontradas = solicitudes.stream().map(SolicitudTransporte::getId).collect(Collectors.toSet());
+            for (Integer id : new LinkedHashSet<>(solicitudIds)) {
+                if (!encontradas.contains(id)) {
+                    terminadas.add(TentativasSolicitudDto.builder()
+                            .solicitudId(id)
+                            .error("Solicitud de transporte no encontrada para el ID: " + id)
+                            .build());
+                    total++;
+                }
+            }
+        }
 
-        // Obtener depósitos desde el repository local
-        List<Deposito> depositosEntities = depositoRepository.findAll();
-        if (depositosEntities.isEmpty()) {
-            logger.warn("obtenerTentativas: No se encontraron depósitos en el sistema.");
-            throw new RecursoNoDisponibleException("No se encontraron depósitos disponibles.");
+        List<CompletableFuture<List<RutaTentativaDto>>> calculos = new ArrayList<>(solicitudes.size());
+        for (SolicitudTransporte solicitud : solicitudes) {
+            CompletableFuture<List<RutaTentativaDto>> calculo =
+                    CompletableFuture.supplyAsync(() -> calcularTentativas(solicitud, contexto), tentativasLoteExecutor);
+            calculos.add(calculo);
+            calculo
+                    .handle((rutas, ex) -> {
+                        if (ex == null) {
+                            return TentativasSolicitudDto.builder().solicitudId(solicitud.getId()).rutas(rutas).build();
+                        }
+                        if (ex instanceof CancellationException) {
+                            return TentativasSolicitudDto.builder().solicitudId(solicitud.getId())
+                                    .error("Cálculo cancelado.").build();
+                        }
+                        Throwable causa = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                        logger.error("Error calculando rutas tentativas de la solicitud ID {} en lote: {}",
+                                solicitud.getId(), causa.getMessage());
+                        return TentativasSolicitudDto.builder().solicitudId(solicitud.getId()).error(causa.getMessage()).build();
+                    })
+                    .thenAccept(terminadas::add);
         }
 
-        // Convertir depósitos de Origen y Destino a DTOs (USANDO EL MÉTODO AUXILIAR)
-        DepositoDto depositoOrigen = mapDepositoToDto(solicitud.getDepositoOrigen());
-        DepositoDto depositoDestino = mapDepositoToDto(solicitud.getDepositoDestino());
+        logger.info("Lote de rutas tentativas en curso: {} solicitudes, {} depósitos.", total, depositos.size());
+
+        return Stream.generate(() -> {
+                    try {
+                        return terminadas.take();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException("Cálculo de rutas tentativas en lote interrumpido.", e);
+                    }
+                })
+                .limit(total)
+                .onClose(() -> cancelarPendientes(calculos));
+    }
 
-        // 2. OBTENER TARIFAS Y CAMIONES 
+    // Un cálculo ya en curso termina igual; los que siguen en la cola del executor no llegan a ejecutarse
+    private void cancelarPendientes(List<CompletableFuture<List<RutaTentativaDto>>> calculos) {
+        int cancelados = 0;
+        for (CompletableFuture<List<RutaTentativaDto>> calculo : calculos) {
+            cancelados += calculo.cancel(false) ? 1 : 0;
+        }
+        if (cancelados > 0) {
+            logger.warn("Lote de rutas tentativas cerrado antes de terminar: {} cálculos cancelados.", cancelados);
+        }
+    }
+
+    /**
+     * Obtiene las tarifas vigentes (foto en memoria) y la foto actual de la matriz. 'depositos' se indica solo
+     * cuando se comparten entre varias solicitudes; si es null se consultan por solicitud.
+     */
+    private ContextoTentativas crearContexto(Map<Integer, DepositoDto> depositos) {
         BigDecimal costoCombustiblePorLitro;
         BigDecimal cargoGestion;
-        
-        // Obtener camiones disponibles desde el repository local
-        List<Camion> camionesDisponibles = camionRepository
-                .findByDisponibilidadTrueAndCapacidadVolumenGreaterThanEqualAndCapacidadPesoGreaterThanEqual(volumen, peso);
-        
-        logger.debug("Camiones disponibles que cumplen requisitos: {} encontrados.", camionesDisponibles.size());
 
         try {
-            // Solo las tarifas se obtienen via RestClient
-            costoCombustiblePorLitro = recursosClient.getCostoCombustiblePorLitro().getPrecioPorLitro();
-            cargoGestion = recursosClient.getCargoPorGestion().getCostoPorTramo();
+            // Tarifas desde la foto en memoria (solo se consulta a Recursos si no hay foto vigente)
+            TarifasVigentes tarifas = tarifasVigentesService.obtener();
+            costoCombustiblePorLitro = tarifas.getPrecioCombustiblePorLitro();
+            cargoGestion = tarifas.getCargoGestion();
 
             logger.info("Recursos obtenidos - Costo Combustible: {}, Cargo Gestión: {}", 
                         costoCombustiblePorLitro, cargoGestion);
@@ -164,279 +254,368 @@ public class RutaService {
             throw new RecursoNoDisponibleException("Error de comunicación con el servicio 'Recursos'.", e);
         }
 
-        // 3. VALIDACIÓN DE DATOS OBTENIDOS
         if (costoCombustiblePorLitro == null || cargoGestion == null) {
             logger.error("Faltan parámetros de costo (Combustible o Gestión).");
             throw new RecursoNoDisponibleException(
                         "No se pudieron obtener los parámetros de costo (Combustible o Gestión).");
         }
-        if (camionesDisponibles == null || camionesDisponibles.isEmpty()) {
+
+        return new ContextoTentativas(matrizDepositosService.getMatriz(), costoCombustiblePorLitro, cargoGestion,
+                depositos);
+    }
+
+    private List<RutaTentativaDto> calcularTentativas(SolicitudTransporte solicitud, ContextoTentativas contexto) {
+        Integer solicitudId = solicitud.getId();
+        logger.debug("Solicitud obtenida - Origen: {} ({}) -> Destino: {} ({})", 
+                solicitud.getDepositoOrigen().getNombre(), solicitud.getDepositoOrigen().getId(),
+                solicitud.getDepositoDestino().getNombre(), solicitud.getDepositoDestino().getId());
+
+        // Obtener contenedor desde la relación de la solicitud
+        Contenedor contenedor = solicitud.getContenedor();
+        if (contenedor == null) {
+            logger.error("obtenerTentativas: Contenedor no asociado a la solicitud ID: {}", solicitudId);
+            throw new ResourceNotFoundException("Contenedor no encontrado para la solicitud ID: " + solicitudId);
+        }
+
+        // Extracción de datos del contenedor
+        BigDecimal volumen = contenedor.getVolumen();
+        BigDecimal peso = contenedor.getPeso();
+        logger.debug("Requisitos del contenedor - Volumen: {}, Peso: {}", volumen, peso);
+
+        // Convertir depósitos de Origen y Destino a DTOs (USANDO EL MÉTODO AUXILIAR)
+        DepositoDto depositoOrigen = DepositoMapper.aDto(solicitud.getDepositoOrigen());
+        DepositoDto depositoDestino = DepositoMapper.aDto(solicitud.getDepositoDestino());
+
+        // 3. CAMIONES QUE CUMPLEN LA CAPACIDAD DEL CONTENEDOR (cantidad y sumas, sin traer los camiones)
+        ResumenCamionesDisponiblesDto camionesDisponibles = camionesParaContenedor(contexto, volumen, peso);
+        int cantidadCamiones = camionesDisponibles.getCantidad() != null ? camionesDisponibles.getCantidad() : 0;
+        logger.debug("Camiones disponibles que cumplen requisitos: {} encontrados.", cantidadCamiones);
+
+        if (cantidadCamiones == 0) {
             logger.error("No hay camiones disponibles que cumplan con la capacidad requerida.");
             throw new RecursoNoDisponibleException(
                         "No hay camiones disponibles que cumplan con la capacidad del contenedor.");
         }
 
         // 4. CÁLCULO DE PROMEDIOS
-        BigDecimal consumoPromedioCombustible = calculateAverage(camionesDisponibles,
-                Camion::getConsumoCombustiblePromedio);
-        BigDecimal costoBasePromedioPorKm = calculateAverage(camionesDisponibles, Camion::getCostoPorKm);
+        BigDecimal consumoPromedioCombustible = calculateAverage(
+                camionesDisponibles.getSumaConsumoCombustiblePromedio(), cantidadCamiones);
+        BigDecimal costoBasePromedioPorKm = calculateAverage(camionesDisponibles.getSumaCostoPorKm(), cantidadCamiones);
         
         logger.info("Promedios de camiones - Consumo promedio: {} L/km, Costo base promedio: {} $/km", 
                     consumoPromedioCombustible, costoBasePromedioPorKm);
 
-        // 5. PREPARACIÓN DE DEPÓSITOS INTERMEDIOS (LÓGICA DE ORDENAMIENTO POR PROXIMIDAD)
-        List<DepositoDto> depositosIntermedios = depositosEntities.stream()
+        // Núcleo de costos de la solicitud (centavos), compartido por la búsqueda y el armado de las rutas
+        CalculadoraCostoTramo calculadora = new CalculadoraCostoTramo(consumoPromedioCombustible,
+                costoBasePromedioPorKm, contexto.costoCombustiblePorLitro, contexto.cargoGestion);
+
+        // 5. BÚSQUEDA DE LAS RUTAS MÁS BARATAS SOBRE EL GRAFO DE DEPÓSITOS (matriz precalculada)
+        List<List<DepositoDto>> candidatas = buscarCandidatasEnGrafo(depositoOrigen, depositoDestino, calculadora, contexto);
+
+        // Generar las rutas tentativas (NO se persisten en BD)
+        List<RutaTentativaDto> rutasTentativas;
+        if (!candidatas.isEmpty()) {
+            rutasTentativas = armarRutasTentativas(candidatas, calculadora, contexto);
+        } else {
+            // La matriz todavía no incluye estos depósitos: se usan las plantillas de 0/1/2 intermedios
+            logger.info("Matriz de depósitos sin datos para {} -> {}. Se usan las rutas por proximidad.",
+                    depositoOrigen.getId(), depositoDestino.getId());
+            rutasTentativas = generarRutasPorProximidad(depositoOrigen, depositoDestino,
+                    consumoPromedioCombustible, costoBasePromedioPorKm, contexto);
+        }
+
+        logger.info("Finalizada generación. Generadas {} rutas tentativas para solicitud ID: {}", rutasTentativas.size(), solicitudId);
+        return rutasTentativas;
+    }
+
+    /**
+     * Resumen de los camiones disponibles con capacidad suficiente, calculado por el índice en memoria de Recursos.
+     * En un lote, los contenedores con la misma capacidad comparten una única consulta.
+     */
+    private ResumenCamionesDisponiblesDto camionesParaContenedor(ContextoTentativas contexto, BigDecimal volumen,
+                BigDecimal peso) {
+        String clave = volumen.stripTrailingZeros().toPlainString() + "|" + peso.stripTrailingZeros().toPlainString();
+        try {
+            return LlamadasAsincronas.esperar(contexto.resumenesCamiones.computeIfAbsent(clave,
+                    k -> llamadasAsincronas.ejecutar(() -> recursosClient.getResumenCamionesDisponibles(volumen, peso))));
+        } catch (RestClientException e) {
+            logger.error("Error al consultar los camiones disponibles en 'Recursos': {}", e.getMessage(), e);
+            throw new RecursoNoDisponibleException("Error de comunicación con el servicio 'Recursos'.", e);
+        }
+    }
+
+    /**
+     * Datos que necesita el cálculo de rutas tentativas y que pueden compartirse entre solicitudes:
+     * tarifas, foto de la matriz, tramos ya consultados al proveedor y resúmenes de camiones por capacidad.
+     * Los depósitos son null cuando se consultan por solicitud (cálculo individual).
+     */
+    private static final class ContextoTentativas {
+
+        private final MatrizDepositos matriz;
+        private final BigDecimal costoCombustiblePorLitro;
+        private final BigDecimal cargoGestion;
+        private final Map<Integer, DepositoDto> depositos;
+        private final Map<String, CompletableFuture<DistanciaDto>> tramosConsultados = new ConcurrentHashMap<>();
+        private final Map<String, CompletableFuture<ResumenCamionesDisponiblesDto>> resumenesCamiones =
+                new ConcurrentHashMap<>();
+
+        private ContextoTentativas(MatrizDepositos matriz, BigDecimal costoCombustiblePorLitro, BigDecimal cargoGestion,
+                Map<Integer, DepositoDto> depositos) {
+            this.matriz = matriz;
+            this.costoCombustiblePorLitro = costoCombustiblePorLitro;
+            this.cargoGestion = cargoGestion;
+            this.depositos = depositos;
+        }
+    }
+
+    /**
+     * Obtiene las paradas de las k rutas más baratas entre origen y destino usando el motor de rutas
+     * sobre la matriz precalculada. Los intermedios se limitan a los candidatos del índice espacial
+     * dentro de la elipse origen-destino. Cada arista cuesta lo mismo que el tramo
+     * armado luego (CalculadoraCostoTramo, en centavos). Devuelve una lista vacía si la matriz no cubre ambos depósitos.
+     */
+    private List<List<DepositoDto>> buscarCandidatasEnGrafo(DepositoDto depositoOrigen, DepositoDto depositoDestino,
+                CalculadoraCostoTramo calculadora, ContextoTentativas contexto) {
+
+        MatrizDepositos matriz = contexto.matriz;
+        int origen = matriz.indiceDe(depositoOrigen.getId());
+        int destino = matriz.indiceDe(depositoDestino.getId());
+        if (origen < 0 || destino < 0) {
+            return List.of();
+        }
+
+        int[] intermedios = matriz.getIndiceEspacial().candidatosEnElipse(origen, destino,
+                factorElipseCandidatos, maxIntermediosCandidatos);
+        logger.debug("Índice espacial: {} depósitos intermedios candidatos para {} -> {}.",
+                intermedios.length, depositoOrigen.getId(), depositoDestino.getId());
+
+        List<int[]> rutas = motorRutasService.buscarRutas(matriz, intermedios, origen, destino, calculadora);
+
+        // Solo se cargan las entidades de los depósitos que aparecen en alguna ruta (salvo que el lote ya los tenga)
+        Map<Integer, DepositoDto> dtosPorId = new HashMap<>();
+        if (contexto.depositos != null) {
+            dtosPorId.putAll(contexto.depositos);
+        } else {
+            List<Integer> idsUsados = rutas.stream()
+                    .flatMapToInt(Arrays::stream)
+                    .distinct()
+                    .mapToObj(matriz::idEn)
+                    .collect(Collectors.toList());
+            for (Deposito deposito : depositoRepository.findAllById(idsUsados)) {
+                dtosPorId.put(deposito.getId(), DepositoMapper.aDto(deposito));
+            }
+        }
+        dtosPorId.put(depositoOrigen.getId(), depositoOrigen);
+        dtosPorId.put(depositoDestino.getId(), depositoDestino);
+
+        List<List<DepositoDto>> candidatas = new ArrayList<>();
+        for (int[] ruta : rutas) {
+            List<DepositoDto> paradas = new ArrayList<>(ruta.length);
+            for (int indice : ruta) {
+                DepositoDto deposito = dtosPorId.get(matriz.idEn(indice));
+                if (deposito == null) {
+                    // Depósito eliminado después del último refresco de la matriz
+                    paradas = null;
+                    break;
+                }
+                paradas.add(deposito);
+            }
+            if (paradas != null) {
+                candidatas.add(paradas);
+            }
+        }
+        return candidatas;
+    }
+
+    // Rutas de 0, 1 y 2 depósitos intermedios elegidos por proximidad al segmento origen-destino.
+    private List<RutaTentativaDto> generarRutasPorProximidad(DepositoDto depositoOrigen, DepositoDto depositoDestino,
+                BigDecimal consumoPromedioCombustible, BigDecimal costoBasePromedioPorKm,
+                ContextoTentativas contexto) {
+
+        // Obtener depósitos desde el repository local (o los ya cargados para el lote)
+        List<DepositoDto> depositos = contexto.depositos != null
+                ? new ArrayList<>(contexto.depositos.values())
+                : depositoRepository.findAll().stream().map(DepositoMapper::aDto).collect(Collectors.toList());
+        if (depositos.isEmpty()) {
+            logger.warn("obtenerTentativas: No se encontraron depósitos en el sistema.");
+            throw new RecursoNoDisponibleException("No se encontraron depósitos disponibles.");
+        }
+
+        // Preparación de depósitos intermedios (lógica de ordenamiento por proximidad)
+        List<DepositoDto> depositosIntermedios = depositos.stream()
                 // Filtrar los depósitos de origen y destino
                 .filter(dep -> !dep.getId().equals(depositoOrigen.getId())
                         && !dep.getId().equals(depositoDestino.getId()))
-                // Mapear a DTO (USANDO EL MÉTODO AUXILIAR)
-                .map(this::mapDepositoToDto)
                 .collect(Collectors.toList());
 
         // Ordenar los depósitos intermedios por la suma de distancias euclidianas (heurística de proximidad)
         // Score = Distancia^2(Origen -> Intermedio) + Distancia^2(Intermedio -> Destino)
-        depositosIntermedios.sort((depA, depB) -> {
-            // Score A
-            double scoreA = calculateEuclideanDistanceSquared(
-                depositoOrigen.getLatitud(), depositoOrigen.getLongitud(), 
-                depA.getLatitud(), depA.getLongitud()) +
+        // El score de cada depósito se calcula una sola vez, no en cada comparación.
+        Map<Integer, Double> scores = new HashMap<>();
+        for (DepositoDto dep : depositosIntermedios) {
+            scores.put(dep.getId(),
                 calculateEuclideanDistanceSquared(
-                depA.getLatitud(), depA.getLongitud(), 
-                depositoDestino.getLatitud(), depositoDestino.getLongitud());
-            
-            // Score B
-            double scoreB = calculateEuclideanDistanceSquared(
-                depositoOrigen.getLatitud(), depositoOrigen.getLongitud(), 
-                depB.getLatitud(), depB.getLongitud()) +
+                    depositoOrigen.getLatitud(), depositoOrigen.getLongitud(),
+                    dep.getLatitud(), dep.getLongitud()) +
                 calculateEuclideanDistanceSquared(
-                depB.getLatitud(), depB.getLongitud(), 
-                depositoDestino.getLatitud(), depositoDestino.getLongitud());
-            
-            return Double.compare(scoreA, scoreB); // Menor score (más cerca de la ruta directa) primero
-        });
-
-        logger.debug("Depósitos intermedios disponibles y ordenados (ID, Lat, Lon): {}", 
-                depositosIntermedios.stream()
-                    .map(dep -> String.format("%d (%.2f, %.2f)", dep.getId(), dep.getLatitud(), dep.getLongitud()))
-                    .collect(Collectors.toList()));
+                    dep.getLatitud(), dep.getLongitud(),
+                    depositoDestino.getLatitud(), depositoDestino.getLongitud()));
+        }
+        // Menor score (más cerca de la ruta directa) primero
+        depositosIntermedios.sort(Comparator.comparingDouble(dep -> scores.get(dep.getId())));
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Depósitos intermedios disponibles y ordenados (ID, Lat, Lon): {}", 
+                    depositosIntermedios.stream()
+                        .map(dep -> String.format("%d (%.2f, %.2f)", dep.getId(), dep.getLatitud(), dep.getLongitud()))
+                        .collect(Collectors.toList()));
+        }
         
         logger.debug("Depósitos intermedios disponibles para rutas: {}", depositosIntermedios.size());
 
-        // Generar las rutas tentativas (NO se persisten en BD)
-        List<RutaTentativaDto> rutasTentativas = generarRutasTentativas(
-                    depositoOrigen,
-                    depositoDestino,
-                    depositosIntermedios,
-                    consumoPromedioCombustible,
-                    costoBasePromedioPorKm,
-                    costoCombustiblePorLitro,
-                    cargoGestion);
-
-        logger.info("Finalizada generación. Generadas {} rutas tentativas para solicitud ID: {}", rutasTentativas.size(), solicitudId);
-        return rutasTentativas;
+        return armarRutasTentativas(
+                    plantillasPorProximidad(depositoOrigen, depositoDestino, depositosIntermedios),
+                    new CalculadoraCostoTramo(consumoPromedioCombustible, costoBasePromedioPorKm,
+                            contexto.costoCombustiblePorLitro, contexto.cargoGestion),
+                    contexto);
     }
 
-    public List<RutaTentativaDto> generarRutasTentativas(
-                DepositoDto depositoOrigen,
-                DepositoDto depositoDestino,
-                List<DepositoDto> depositosIntermedios, // Ya vienen ordenados
-                BigDecimal consumoPromedioCombustible,
-                BigDecimal costoBasePromedioPorKm,
-                BigDecimal costoCombustiblePorLitro,
-                BigDecimal cargoGestion) {
+    // Paradas de las rutas directa, con 1 y con 2 intermedios (los intermedios ya vienen ordenados)
+    private List<List<DepositoDto>> plantillasPorProximidad(DepositoDto depositoOrigen, DepositoDto depositoDestino,
+                List<DepositoDto> depositosIntermedios) {
+
+        List<List<DepositoDto>> candidatas = new ArrayList<>();
 
-        List<RutaTentativaDto> rutasTentativas = new ArrayList<>();
-        
-        logger.debug("Generando ruta Directa: {} -> {}", depositoOrigen.getId(), depositoDestino.getId());
         // Ruta 1: Directa (origen -> destino)
-        RutaTentativaDto rutaDirecta = generarRutaDirecta(
-            depositoOrigen, depositoDestino,
-            consumoPromedioCombustible, costoBasePromedioPorKm,
-            costoCombustiblePorLitro, cargoGestion
-        );
-        if (rutaDirecta != null) {
-            rutasTentativas.add(rutaDirecta);
-            logger.debug("Ruta Directa generada exitosamente.");
-        }
+        candidatas.add(List.of(depositoOrigen, depositoDestino));
 
-        // Ruta 2: Con 1 depósito intermedio (si hay disponibles)
+        // Ruta 2: Con 1 depósito intermedio (el mejor rankeado)
         if (!depositosIntermedios.isEmpty()) {
-            // Se utiliza el intermedio mejor rankeado (el 1er elemento de la lista ordenada)
-            DepositoDto intermedio = depositosIntermedios.get(0); 
-            logger.debug("Generando ruta con 1 intermedio (Mejor Rankeado): {} -> {} -> {}", depositoOrigen.getId(), intermedio.getId(), depositoDestino.getId());
-            RutaTentativaDto rutaConUnIntermedio = generarRutaConUnIntermedio(
-                depositoOrigen, depositoDestino, intermedio,
-                consumoPromedioCombustible, costoBasePromedioPorKm,
-                costoCombustiblePorLitro, cargoGestion
-            );
-            if (rutaConUnIntermedio != null) {
-                rutasTentativas.add(rutaConUnIntermedio);
-                logger.debug("Ruta con 1 intermedio generada exitosamente.");
-            }
+            candidatas.add(List.of(depositoOrigen, depositosIntermedios.get(0), depositoDestino));
         }
 
-        // Ruta 3: Con 2 depósitos intermedios (si hay disponibles)
+        // Ruta 3: Con 2 depósitos intermedios (los 2 mejores rankeados)
         if (depositosIntermedios.size() >= 2) {
-            // Se utilizan los dos intermedios mejor rankeados (los 2 primeros elementos)
-            DepositoDto intermedio1 = depositosIntermedios.get(0);
-            DepositoDto intermedio2 = depositosIntermedios.get(1);
-            logger.debug("Generando ruta con 2 intermedios (2 Mejores Rankeados): {} -> {} -> {} -> {}", depositoOrigen.getId(), intermedio1.getId(), intermedio2.getId(), depositoDestino.getId());
-            RutaTentativaDto rutaConDosIntermedios = generarRutaConDosIntermedios(
-                depositoOrigen, depositoDestino, 
-                intermedio1, intermedio2,
-                consumoPromedioCombustible, costoBasePromedioPorKm,
-                costoCombustiblePorLitro, cargoGestion
-            );
-            if (rutaConDosIntermedios != null) {
-                rutasTentativas.add(rutaConDosIntermedios);
-                logger.debug("Ruta con 2 intermedios generada exitosamente.");
-            }
+            candidatas.add(List.of(depositoOrigen, depositosIntermedios.get(0), depositosIntermedios.get(1), depositoDestino));
         }
-
-        return rutasTentativas;
+        return candidatas;
     }
 
-    private RutaTentativaDto generarRutaDirecta(
-                DepositoDto origen, DepositoDto destino,
-                BigDecimal consumoPromedio, BigDecimal costoBasePromedio,
-                BigDecimal costoCombustible, BigDecimal cargoGestion) {
+    private List<RutaTentativaDto> armarRutasTentativas(
+                List<List<DepositoDto>> candidatas, CalculadoraCostoTramo calculadora, ContextoTentativas contexto) {
 
-        try {
-            logger.debug("Ruta Directa - Calculando distancia entre Origen ({}) y Destino ({})", origen.getId(), destino.getId());
-            DistanciaDto distanciaInfo = googleMapsClient.calcularDistancia(
-                origen.getLatitud(), origen.getLongitud(),
-                destino.getLatitud(), destino.getLongitud()
-            );
-
-            Float distancia = (float) distanciaInfo.getKilometros();
-            Long tiempoEstimado = convertirDuracionASegundos(distanciaInfo);
-            
-            BigDecimal costoTramo = calcularCostoTramo(distancia, consumoPromedio, costoBasePromedio, costoCombustible, cargoGestion);
-            logger.debug("Tramo 1 (Directo) - Distancia: {} km, Tiempo: {}s, Costo: {}", distancia, tiempoEstimado, costoTramo);
+        // 1. Resolver en paralelo los tramos distintos que necesitan todas las candidatas
+        Map<String, DistanciaDto> distancias = resolverTramos(candidatas, contexto);
 
-            TramoTentativoDto tramo = TramoTentativoDto.builder()
-                        .nroOrden(1)
-                        .origen(origen)
-                        .destino(destino)
-                        .costoEstimado(costoTramo)
-                        .tiempoEstimadoSegundos(tiempoEstimado)
-                        .distanciaKilometros(distancia)
-                        .build();
-
-            return RutaTentativaDto.builder()
-                        .cantidadTramos(1)
-                        .cantidadDepositos(2)
-                        .tramos(List.of(tramo))
-                        .build();
-        } catch (Exception e) {
-            logger.error("Error generando ruta directa entre {} y {}: {}", origen.getId(), destino.getId(), e.getMessage());
-            return null;
+        // 2. Armar las rutas tentativas a partir de los tramos resueltos
+        List<RutaTentativaDto> rutasTentativas = new ArrayList<>();
+        for (List<DepositoDto> paradas : candidatas) {
+            RutaTentativaDto ruta = armarRutaTentativa(paradas, distancias, calculadora);
+            if (ruta != null) {
+                rutasTentativas.add(ruta);
+                logger.debug("Ruta con {} tramos generada exitosamente.", ruta.getCantidadTramos());
+            }
         }
+
+        return rutasTentativas;
     }
 
-    private RutaTentativaDto generarRutaConUnIntermedio(
-                DepositoDto origen, DepositoDto destino, DepositoDto intermedio,
-                BigDecimal consumoPromedio, BigDecimal costoBasePromedio,
-                BigDecimal costoCombustible, BigDecimal cargoGestion) {
+    /**
+     * Obtiene la distancia de cada par (origen, destino) distinto requerido por las candidatas.
+     * Primero se usa la matriz precalculada de depósitos; solo los tramos que no estén en ella
+     * (o que estén como aproximados) se consultan al proveedor. Los pares repetidos se consultan
+     * una sola vez (también entre las solicitudes de un mismo lote) y las consultas se ejecutan
+     * concurrentemente sobre el executor acotado, por lo que la latencia queda limitada por el tramo más lento.
+     */
+    private Map<String, DistanciaDto> resolverTramos(List<List<DepositoDto>> candidatas, ContextoTentativas contexto) {
+        Map<String, DistanciaDto> distancias = new HashMap<>();
+        Map<String, CompletableFuture<DistanciaDto>> pendientes = new LinkedHashMap<>();
+
+        for (List<DepositoDto> paradas : candidatas) {
+            for (int i = 0; i < paradas.size() - 1; i++) {
+                DepositoDto origen = paradas.get(i);
+                DepositoDto destino = paradas.get(i + 1);
+                String clave = claveTramo(origen, destino);
+                if (distancias.containsKey(clave) || pendientes.containsKey(clave)) {
+                    continue;
+                }
+
+                Optional<DistanciaDto> precalculada = matrizDepositosService.obtenerTramo(contexto.matriz, origen, destino)
+                        .filter(distancia -> !distancia.isAproximada());
+                if (precalculada.isPresent()) {
+                    distancias.put(clave, precalculada.get());
+                    continue;
+                }
+
+                pendientes.put(clave, contexto.tramosConsultados.computeIfAbsent(clave,
+                    k -> CompletableFuture.supplyAsync(
+                        () -> googleMapsClient.calcularDistancia(
+                            origen.getLatitud(), origen.getLongitud(),
+                            destino.getLatitud(), destino.getLongitud()),
+                        calculoTramosExecutor)));
+            }
+        }
+        logger.debug("Tramos resueltos con la matriz de depósitos: {}. Resolviendo {} tramos en paralelo.",
+                distancias.size(), pendientes.size());
 
-        List<TramoTentativoDto> tramos = new ArrayList<>();
+        CompletableFuture.allOf(pendientes.values().toArray(CompletableFuture[]::new))
+                .exceptionally(ex -> null)
+                .join();
 
-        try {
-            // Tramo 1: Origen -> Intermedio
-            logger.debug("Ruta 1 Intermedio - Calculando Tramo 1: {} -> {}", origen.getId(), intermedio.getId());
-            DistanciaDto distancia1 = googleMapsClient.calcularDistancia(
-                origen.getLatitud(), origen.getLongitud(),
-                intermedio.getLatitud(), intermedio.getLongitud()
-            );
-            
-            tramos.add(crearTramoTentativo(1, origen, intermedio, distancia1, 
-                        consumoPromedio, costoBasePromedio, costoCombustible, cargoGestion));
-
-            // Tramo 2: Intermedio -> Destino
-            logger.debug("Ruta 1 Intermedio - Calculando Tramo 2: {} -> {}", intermedio.getId(), destino.getId());
-            DistanciaDto distancia2 = googleMapsClient.calcularDistancia(
-                intermedio.getLatitud(), intermedio.getLongitud(),
-                destino.getLatitud(), destino.getLongitud()
-            );
-            
-            tramos.add(crearTramoTentativo(2, intermedio, destino, distancia2, 
-                        consumoPromedio, costoBasePromedio, costoCombustible, cargoGestion));
+        pendientes.forEach((clave, futuro) -> {
+            try {
+                distancias.put(clave, futuro.join());
+            } catch (CompletionException e) {
+                logger.error("Error calculando la distancia del tramo {}: {}", clave, e.getCause().getMessage());
+            }
+        });
+        return distancias;
+    }
 
-            logger.debug("Ruta con 1 intermedio completa. Costo Total: {}, Tramos: {}", 
-                tramos.stream().map(TramoTentativoDto::getCostoEstimado).reduce(BigDecimal.ZERO, BigDecimal::add), 
-                tramos.size());
-            
-            return RutaTentativaDto.builder()
-                        .cantidadTramos(2)
-                        .cantidadDepositos(3)
-                        .tramos(tramos)
-                        .build();
-        } catch (Exception e) {
-            logger.error("Error generando ruta con 1 intermedio ({}): {}", intermedio.getId(), e.getMessage());
-            return null;
-        }
+    private String claveTramo(DepositoDto origen, DepositoDto destino) {
+        return origen.getId() + "->" + destino.getId();
     }
 
-    private RutaTentativaDto generarRutaConDosIntermedios(
-                DepositoDto origen, DepositoDto destino, 
-                DepositoDto intermedio1, DepositoDto intermedio2,
-                BigDecimal consumoPromedio, BigDecimal costoBasePromedio,
-                BigDecimal costoCombustible, BigDecimal cargoGestion) {
+    private RutaTentativaDto armarRutaTentativa(
+                List<DepositoDto> paradas, Map<String, DistanciaDto> distancias,
+                CalculadoraCostoTramo calculadora) {
 
         List<TramoTentativoDto> tramos = new ArrayList<>();
+        long costoTotalCentavos = 0;
 
-        try {
-            // Tramo 1: Origen -> Intermedio1
-            logger.debug("Ruta 2 Intermedios - Calculando Tramo 1: {} -> {}", origen.getId(), intermedio1.getId());
-            DistanciaDto distancia1 = googleMapsClient.calcularDistancia(
-                origen.getLatitud(), origen.getLongitud(),
-                intermedio1.getLatitud(), intermedio1.getLongitud()
-            );
-            
-            tramos.add(crearTramoTentativo(1, origen, intermedio1, distancia1, 
-                        consumoPromedio, costoBasePromedio, costoCombustible, cargoGestion));
-
-            // Tramo 2: Intermedio1 -> Intermedio2
-            logger.debug("Ruta 2 Intermedios - Calculando Tramo 2: {} -> {}", intermedio1.getId(), intermedio2.getId());
-            DistanciaDto distancia2 = googleMapsClient.calcularDistancia(
-                intermedio1.getLatitud(), intermedio1.getLongitud(),
-                intermedio2.getLatitud(), intermedio2.getLongitud()
-            );
-            
-            tramos.add(crearTramoTentativo(2, intermedio1, intermedio2, distancia2, 
-                        consumoPromedio, costoBasePromedio, costoCombustible, cargoGestion));
-
-            // Tramo 3: Intermedio2 -> Destino
-            logger.debug("Ruta 2 Intermedios - Calculando Tramo 3: {} -> {}", intermedio2.getId(), destino.getId());
-            DistanciaDto distancia3 = googleMapsClient.calcularDistancia(
-                intermedio2.getLatitud(), intermedio2.getLongitud(),
-                destino.getLatitud(), destino.getLongitud()
-            );
-            
-            tramos.add(crearTramoTentativo(3, intermedio2, destino, distancia3, 
-                        consumoPromedio, costoBasePromedio, costoCombustible, cargoGestion));
+        for (int i = 0; i < paradas.size() - 1; i++) {
+            DepositoDto origen = paradas.get(i);
+            DepositoDto destino = paradas.get(i + 1);
+            DistanciaDto distanciaInfo = distancias.get(claveTramo(origen, destino));
 
-            logger.debug("Ruta con 2 intermedios completa. Costo Total: {}, Tramos: {}", 
-                tramos.stream().map(TramoTentativoDto::getCostoEstimado).reduce(BigDecimal.ZERO, BigDecimal::add), 
-                tramos.size());
+            if (distanciaInfo == null) {
+                logger.error("Error generando ruta con {} tramos: sin distancia para el tramo {} -> {}",
+                    paradas.size() - 1, origen.getId(), destino.getId());
+                return null;
+            }
 
-            return RutaTentativaDto.builder()
-                        .cantidadTramos(3)
-                        .cantidadDepositos(4)
-                        .tramos(tramos)
-                        .build();
-        } catch (Exception e) {
-            logger.error("Error generando ruta con 2 intermedios ({}, {}): {}", intermedio1.getId(), intermedio2.getId(), e.getMessage());
-            return null;
+            long costoCentavos = calculadora.costoCentavos((float) distanciaInfo.getKilometros());
+            costoTotalCentavos += costoCentavos;
+            tramos.add(crearTramoTentativo(i + 1, origen, destino, distanciaInfo, costoCentavos));
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Ruta con {} tramos completa. Costo Total: {}", tramos.size(),
+                CalculadoraCostoTramo.aMonto(costoTotalCentavos));
         }
+
+        return RutaTentativaDto.builder()
+                    .cantidadTramos(tramos.size())
+                    .cantidadDepositos(paradas.size())
+                    .tramos(tramos)
+                    .build();
     }
 
     private TramoTentativoDto crearTramoTentativo(int nroOrden, DepositoDto origen, DepositoDto destino,
-            DistanciaDto distanciaInfo, BigDecimal consumoPromedio, BigDecimal costoBasePromedio,
-            BigDecimal costoCombustible, BigDecimal cargoGestion) {
+            DistanciaDto distanciaInfo, long costoCentavos) {
         
-        BigDecimal costo = calcularCostoTramo((float)distanciaInfo.getKilometros(), consumoPromedio, 
-                                 costoBasePromedio, costoCombustible, cargoGestion);
+        // Conversión a BigDecimal recién en el límite del DTO
+        BigDecimal costo = CalculadoraCostoTramo.aMonto(costoCentavos);
         
         Long tiempo = convertirDuracionASegundos(distanciaInfo);
 
@@ -452,23 +631,6 @@ public class RutaService {
                         .distanciaKilometros((float)distanciaInfo.getKilometros())
                         .build();
     }
-    private BigDecimal calcularCostoTramo(Float distancia, BigDecimal consumoPromedio, 
-                BigDecimal costoBasePromedio, BigDecimal costoCombustible, BigDecimal cargoGestion) {
-        BigDecimal costoCombustibleTramo = BigDecimal.valueOf(distancia)
-                        .multiply(consumoPromedio)
-                        .multiply(costoCombustible);
-        BigDecimal costoBaseTramo = BigDecimal.valueOf(distancia).multiply(costoBasePromedio);
-        BigDecimal costoTotal = costoCombustibleTramo.add(costoBaseTramo).add(cargoGestion);
-        
-        // REDONDEAR a 2 decimales para cumplir con la validación @Digits(integer=8, fraction=2)
-        BigDecimal costoFinal = costoTotal.setScale(SCALE, RoundingMode.HALF_UP);
-        logger.debug("Cálculo Costo Tramo (Distancia: {} km) - Combustible: {}, Base: {}, Gestión: {}, Total: {}", 
-                     distancia, costoCombustibleTramo.setScale(SCALE, RoundingMode.HALF_UP), 
-                     costoBaseTramo.setScale(SCALE, RoundingMode.HALF_UP), cargoGestion, costoFinal);
-
-        return costoFinal;
-    }
-
     // Método para asignar una ruta a una solicitud (aquí SÍ se persiste)
     public Optional<RutaDto> asignarRutaASolicitud(Integer solicitudId, RutaTentativaDto rutaTentativa) {
         logger.info("Iniciando asignación de ruta a solicitud ID: {}", solicitudId);
@@ -524,7 +686,7 @@ public class RutaService {
             List<TramoDto> tramosDto = tramoService.buscarPorRuta(rutaGuardada.getId());
 
             // 2. Mapear la entidad Ruta a DTO (se mapean los campos básicos)
-            RutaDto rutaDto = modelMapper.map(rutaGuardada, RutaDto.class);
+            RutaDto rutaDto = RutaMapper.aDto(rutaGuardada);
 
             // 3. Asignar la lista de Tramos DTO al Ruta DTO
             rutaDto.setTramos(tramosDto);
@@ -562,7 +724,7 @@ public class RutaService {
             // --- Cargar DTOs de Tramos desde TramoService ---
             
             // 1. Mapear la entidad Ruta principal a DTO.
-            RutaDto rutaDto = modelMapper.map(ruta, RutaDto.class);
+            RutaDto rutaDto = RutaMapper.aDto(ruta);
             
             // 2. Obtener la lista de Tramos como DTOs directamente del TramoService.
             List<TramoDto> tramosDto = tramoService.buscarPorRuta(ruta.getId()); 
@@ -0,0 +1,47 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Foto inmutable de las tarifas vigentes en Recursos: precio del combustible por litro y cargo
+ * de gestión por tramo, cada uno con el inicio de su vigencia.
+ */
+public final class TarifasVigentes {
+
+    private final BigDecimal precioCombustiblePorLitro;
+    private final LocalDateTime combustibleVigenteDesde;
+    private final BigDecimal cargoGestion;
+    private final LocalDateTime gestionVigenteDesde;
+    private final Instant obtenidas;
+
+    TarifasVigentes(BigDecimal precioCombustiblePorLitro, LocalDateTime combustibleVigenteDesde,
+            BigDecimal cargoGestion, LocalDateTime gestionVigenteDesde, Instant obtenidas) {
+        this.precioCombustiblePorLitro = precioCombustiblePorLitro;
+        this.combustibleVigenteDesde = combustibleVigenteDesde;
+        this.cargoGestion = cargoGestion;
+        this.gestionVigenteDesde = gestionVigenteDesde;
+        this.obtenidas = obtenidas;
+    }
+
+    public BigDecimal getPrecioCombustiblePorLitro() {
+        return precioCombustiblePorLitro;
+    }
+
+    public LocalDateTime getCombustibleVigenteDesde() {
+        return combustibleVigenteDesde;
+    }
+
+    public BigDecimal getCargoGestion() {
+        return cargoGestion;
+    }
+
+    public LocalDateTime getGestionVigenteDesde() {
+        return gestionVigenteDesde;
+    }
+
+    public Instant getObtenidas() {
+        return obtenidas;
+    }
+}
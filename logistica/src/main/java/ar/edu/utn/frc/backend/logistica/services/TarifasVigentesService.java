@@ -0,0 +1,129 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import ar.edu.utn.frc.backend.logistica.dto.CargoGestionDto;
+import ar.edu.utn.frc.backend.logistica.dto.PrecioCombustibleDto;
+import ar.edu.utn.frc.backend.logistica.restClient.LlamadasAsincronas;
+import ar.edu.utn.frc.backend.logistica.restClient.RecursosClient;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Mantiene en memoria la foto de las tarifas vigentes (combustible y cargo de gestión) para no consultar
+ * a Recursos en cada cálculo. La foto se refresca cada 'app.tarifas.intervalo-refresco' y Recursos avisa
+ * cuando guarda una tarifa nueva (invalidación push). Si un refresco programado falla se sigue usando la
+ * foto anterior; si no hay foto, la primera lectura la carga (una sola consulta aunque lleguen varias lecturas juntas).
+ */
+@Service
+public class TarifasVigentesService {
+
+    public static final String TARIFA_COMBUSTIBLE = "COMBUSTIBLE";
+    public static final String TARIFA_GESTION = "GESTION";
+
+    private static final Logger logger = LoggerFactory.getLogger(TarifasVigentesService.class);
+
+    private final RecursosClient recursosClient;
+    private final LlamadasAsincronas llamadasAsincronas;
+
+    // Se incrementa en cada invalidación: una carga que empezó antes no publica su resultado
+    private final AtomicLong generacion = new AtomicLong();
+    private volatile TarifasVigentes vigentes;
+
+    public TarifasVigentesService(RecursosClient recursosClient, LlamadasAsincronas llamadasAsincronas,
+            MeterRegistry meterRegistry) {
+        this.recursosClient = recursosClient;
+        this.llamadasAsincronas = llamadasAsincronas;
+
+        Gauge.builder("tarifas.vigentes.antiguedad", this, TarifasVigentesService::antiguedadSegundos)
+                .description("Segundos desde que se obtuvo la foto de tarifas vigentes (NaN si no hay foto)")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Devuelve la foto vigente, cargándola desde Recursos si todavía no existe o fue invalidada.
+     * Propaga RestClientException si Recursos no responde y no hay foto disponible.
+     */
+    public TarifasVigentes obtener() {
+        TarifasVigentes actual = vigentes;
+        return actual != null ? actual : cargar(false);
+    }
+
+    @Scheduled(fixedDelayString = "${app.tarifas.intervalo-refresco:PT5M}")
+    public void refrescar() {
+        try {
+            cargar(true);
+        } catch (RuntimeException e) {
+            logger.warn("No se pudieron refrescar las tarifas vigentes, se mantiene la foto anterior: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Descarta la foto si la tarifa avisada es más nueva que la que se tiene. Devuelve false si la foto
+     * ya incluía esa vigencia (p. ej. el refresco programado se adelantó al aviso).
+     */
+    public boolean invalidar(String tarifa, LocalDateTime fechaHoraDesde) {
+        TarifasVigentes actual = vigentes;
+        if (actual != null && fechaHoraDesde != null) {
+            LocalDateTime vigenteDesde = TARIFA_COMBUSTIBLE.equalsIgnoreCase(tarifa) ? actual.getCombustibleVigenteDesde()
+                    : TARIFA_GESTION.equalsIgnoreCase(tarifa) ? actual.getGestionVigenteDesde()
+                    : null;
+            if (vigenteDesde != null && !vigenteDesde.isBefore(fechaHoraDesde)) {
+                logger.debug("Aviso de tarifa {} ({}) ya reflejado en la foto vigente.", tarifa, fechaHoraDesde);
+                return false;
+            }
+        }
+        generacion.incrementAndGet();
+        vigentes = null;
+        logger.info("Tarifas vigentes invalidadas por cambio de tarifa {} (vigente desde {}).", tarifa, fechaHoraDesde);
+        return true;
+    }
+
+    private synchronized TarifasVigentes cargar(boolean forzar) {
+        TarifasVigentes actual = vigentes;
+        if (!forzar && actual != null) {
+            // Otro hilo la cargó mientras se esperaba el lock
+            return actual;
+        }
+
+        long generacionInicial = generacion.get();
+        // Las dos tarifas se consultan en paralelo
+        CompletableFuture<PrecioCombustibleDto> consultaCombustible =
+                llamadasAsincronas.ejecutar(recursosClient::getCostoCombustiblePorLitro);
+        CompletableFuture<CargoGestionDto> consultaGestion = llamadasAsincronas.ejecutar(recursosClient::getCargoPorGestion);
+        PrecioCombustibleDto combustible = LlamadasAsincronas.esperar(consultaCombustible);
+        CargoGestionDto gestion = LlamadasAsincronas.esperar(consultaGestion);
+
+        TarifasVigentes nuevas = new TarifasVigentes(
+                combustible != null ? combustible.getPrecioPorLitro() : null,
+                combustible != null ? combustible.getFechaHoraDesde() : null,
+                gestion != null ? gestion.getCostoPorTramo() : null,
+                gestion != null ? gestion.getFechaHoraDesde() : null,
+                Instant.now());
+
+        // Una foto incompleta no se publica: se vuelve a consultar en la próxima lectura
+        boolean completa = nuevas.getPrecioCombustiblePorLitro() != null && nuevas.getCargoGestion() != null;
+        if (completa && generacion.get() == generacionInicial) {
+            vigentes = nuevas;
+            logger.info("Tarifas vigentes actualizadas - Combustible: {} (desde {}), Gestión: {} (desde {})",
+                    nuevas.getPrecioCombustiblePorLitro(), nuevas.getCombustibleVigenteDesde(),
+                    nuevas.getCargoGestion(), nuevas.getGestionVigenteDesde());
+        }
+        return nuevas;
+    }
+
+    private double antiguedadSegundos() {
+        TarifasVigentes actual = vigentes;
+        return actual == null ? Double.NaN : Duration.between(actual.getObtenidas(), Instant.now()).toSeconds();
+    }
+}
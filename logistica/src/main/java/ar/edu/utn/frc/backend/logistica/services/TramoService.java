@@ -5,35 +5,40 @@ import java.math.RoundingMode;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 
 import ar.edu.utn.frc.backend.logistica.controllers.RutaController;
-import ar.edu.utn.frc.backend.logistica.dto.DepositoDto;
+import ar.edu.utn.frc.backend.logistica.dto.ReservaCamionDto;
 import ar.edu.utn.frc.backend.logistica.dto.RutaTentativaDto;
 import ar.edu.utn.frc.backend.logistica.dto.TramoDto;
 import ar.edu.utn.frc.backend.logistica.entities.Camion;
 import ar.edu.utn.frc.backend.logistica.entities.Deposito;
 import ar.edu.utn.frc.backend.logistica.entities.Estado;
 import ar.edu.utn.frc.backend.logistica.entities.Ruta;
+import ar.edu.utn.frc.backend.logistica.entities.TipoEventoSaliente;
 import ar.edu.utn.frc.backend.logistica.entities.TipoTramo;
 import ar.edu.utn.frc.backend.logistica.entities.Tramo;
 import ar.edu.utn.frc.backend.logistica.exceptions.DataConflictException;
+import ar.edu.utn.frc.backend.logistica.exceptions.RecursoNoDisponibleException;
 import ar.edu.utn.frc.backend.logistica.exceptions.ResourceNotFoundException;
+import ar.edu.utn.frc.backend.logistica.mappers.TramoMapper;
 import ar.edu.utn.frc.backend.logistica.repositories.CamionRepository;
 import ar.edu.utn.frc.backend.logistica.repositories.DepositoRepository;
-import ar.edu.utn.frc.backend.logistica.repositories.EstadoRepository;
 import ar.edu.utn.frc.backend.logistica.repositories.TramoRepository;
 import ar.edu.utn.frc.backend.logistica.restClient.RecursosClient;
-import ar.edu.utn.frc.backend.logistica.restClient.SolicitudesClient;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -53,19 +58,22 @@ public class TramoService {
     private CamionRepository camionRepository;
 
     @Autowired
-    private EstadoRepository estadoRepository;
+    private CatalogoEstados catalogoEstados;
 
     @Autowired
     private DepositoRepository depositoRepository;
 
     @Autowired
-    private RecursosClient recursosClient;
+    private TarifasVigentesService tarifasVigentesService;
+
+    @Autowired
+    private EventosSalientesService eventosSalientesService;
 
     @Autowired
-    private SolicitudesClient solicitudesClient;
+    private RecursosClient recursosClient;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private PlatformTransactionManager transactionManager;
 
     private static final Logger logger = LoggerFactory.getLogger(RutaController.class);
 
@@ -76,7 +84,7 @@ public class TramoService {
     public void crearTramosDesdeRutaTentativa(Ruta ruta, RutaTentativaDto rutaTentativa) {
         logger.info("Iniciando creación de tramos para ruta ID: {}", ruta.getId());
         
-        Optional<Estado> estadoEstimado = estadoRepository.findByNombre(ESTADO_ESTIMADO);
+        Optional<Estado> estadoEstimado = catalogoEstados.buscarPorNombre(ESTADO_ESTIMADO);
         if (estadoEstimado.isEmpty()) {
             logger.error("Estado '{}' no encontrado en la base de datos.", ESTADO_ESTIMADO);
             throw new ResourceNotFoundException("Estado '" + ESTADO_ESTIMADO + "' no encontrado en la base de datos");
@@ -161,7 +169,7 @@ public class TramoService {
         
         logger.info("Encontrados {} tramos con estado: {}", tramos.size(), estado);
         return tramos.stream()
-                .map(this::mapTramoToDto)
+                .map(TramoMapper::aDto)
                 .collect(Collectors.toList());
     }
 
@@ -179,63 +187,115 @@ public class TramoService {
         
         logger.info("Encontrados {} tramos para ruta ID: {}", tramos.size(), idRuta);
         return tramos.stream()
-                .map(this::mapTramoToDto)
+                .map(TramoMapper::aDto)
                 .collect(Collectors.toList());
     }
 
-    // Asignar camión a un tramo
-    @Transactional
+    /**
+     * Asigna el camión al tramo. La reserva en Recursos se pide antes de abrir la transacción local, así la
+     * conexión a la base no queda tomada durante la llamada remota; después, en una transacción corta, se
+     * guarda la asignación junto con el evento que confirma la ocupación. Si esa transacción falla (p. ej. otro
+     * pedido asignó el tramo mientras tanto) se intenta liberar la reserva; si tampoco se puede, vence sola.
+     * Cada intento reserva con su propia clave: dos pedidos simultáneos por el mismo tramo y camión no comparten
+     * la reserva, y el que pierde solo puede liberar la suya, nunca la del que ganó.
+     */
     public Optional<TramoDto> asignarCamion(Integer idTramo, Integer idCamion) {
         logger.info("Iniciando asignación de Camión ID: {} al Tramo ID: {}", idCamion, idTramo);
-        Optional<Tramo> optTramo = tramoRepository.findById(idTramo);
-        Optional<Camion> optCamion = camionRepository.findById(idCamion);
-        Optional<Estado> optEstado = estadoRepository.findByNombre(ESTADO_ASIGNADO);
+        // Validaciones previas (lecturas cortas, sin transacción abierta); se repiten al asignar
+        buscarTramoSinCamion(idTramo);
+        buscarCamion(idCamion);
+        buscarEstado(ESTADO_ASIGNADO);
 
-        if (optTramo.isEmpty()) {
-            logger.error("Tramo no encontrado con ID: {}", idTramo);
-            throw new ResourceNotFoundException("Tramo no encontrado con ID: " + idTramo);
-        }
-        if (optCamion.isEmpty()) {
-            logger.error("Camión no encontrado con ID: {}", idCamion);
-            throw new ResourceNotFoundException("Camión no encontrado con ID: " + idCamion);
+        // ✅ RESERVA: Recursos reserva el camión de forma atómica (un solo intento puede ganarlo)
+        String claveOcupado = claveEvento(idTramo, TipoEventoSaliente.CAMION_OCUPADO);
+        String reserva = claveOcupado + "-" + UUID.randomUUID();
+        reservarCamion(idCamion, reserva);
+
+        try {
+            TramoDto asignado = new TransactionTemplate(transactionManager)
+                    .execute(status -> guardarAsignacion(idTramo, idCamion, claveOcupado, reserva));
+            return Optional.of(asignado);
+        } catch (RuntimeException e) {
+            liberarReserva(idTramo, idCamion, reserva);
+            throw e;
         }
-        if (optEstado.isEmpty()) {
-            logger.error("Estado '{}' no encontrado", ESTADO_ASIGNADO);
-            throw new ResourceNotFoundException("Estado '" + ESTADO_ASIGNADO + "' no encontrado");
+    }
+
+    // Asignación en BD Logística y evento que confirma la ocupación en Recursos (outbox), en una transacción
+    private TramoDto guardarAsignacion(Integer idTramo, Integer idCamion, String claveOcupado, String reserva) {
+        // ✅ VALIDACIÓN: UPDATE condicional, el tramo no debe haber recibido otro camión mientras se reservaba este
+        if (tramoRepository.asignarCamionSiNoTiene(idTramo, buscarCamion(idCamion), buscarEstado(ESTADO_ASIGNADO),
+                reserva) == 0) {
+            buscarTramoSinCamion(idTramo); // Tramo inexistente (404) o ya asignado (409)
+            throw new DataConflictException("El tramo ID " + idTramo + " ya tiene un camión asignado");
         }
+        Tramo tramoAsignado = tramoRepository.findById(idTramo).orElseThrow();
+        logger.info("Tramo ID: {} actualizado a estado 'Asignado' con Camión ID: {}", idTramo, idCamion);
 
-        Tramo tramo = optTramo.get();
-        Camion camion = optCamion.get();
-        logger.debug("Tramo (Estado: {}) y Camión obtenidos.", tramo.getEstado().getNombre());
+        // Actualización de estado del camión en BD Recursos (outbox: se entrega después del commit)
+        // (con la clave de la reserva: Recursos la confirma y deja de vencer)
+        eventosSalientesService.registrarParaCamion(TipoEventoSaliente.CAMION_OCUPADO, idCamion, idTramo, claveOcupado,
+                reserva);
+        logger.info("Cambio a Ocupado del Camión ID: {} registrado para Recursos.", idCamion);
 
+        return TramoMapper.aDto(tramoAsignado);
+    }
+
+    private Tramo buscarTramoSinCamion(Integer idTramo) {
+        Tramo tramo = tramoRepository.findById(idTramo).orElseThrow(() -> {
+            logger.error("Tramo no encontrado con ID: {}", idTramo);
+            return new ResourceNotFoundException("Tramo no encontrado con ID: " + idTramo);
+        });
         // ✅ VALIDACIÓN: Verificar que el tramo no tenga ya un camión asignado
         if (tramo.getCamion() != null) {
             logger.error("El tramo ID {} ya tiene un camión asignado (ID {})", idTramo, tramo.getCamion().getId());
             throw new DataConflictException("El tramo ID " + idTramo + " ya tiene un camión asignado");
         }
+        return tramo;
+    }
 
-        // ✅ VALIDACIÓN: Verificar que el camión no esté ocupado
-        if (!camion.getDisponibilidad()) {
-            logger.error("El camión ID {} ya está ocupado", idCamion);
-            throw new DataConflictException("El camión ID " + idCamion + " ya está ocupado");
+    private Camion buscarCamion(Integer idCamion) {
+        return camionRepository.findById(idCamion).orElseThrow(() -> {
+            logger.error("Camión no encontrado con ID: {}", idCamion);
+            return new ResourceNotFoundException("Camión no encontrado con ID: " + idCamion);
+        });
+    }
+
+    private Estado buscarEstado(String nombre) {
+        return catalogoEstados.buscarPorNombre(nombre).orElseThrow(() -> {
+            logger.error("Estado '{}' no encontrado", nombre);
+            return new ResourceNotFoundException("Estado '" + nombre + "' no encontrado");
+        });
+    }
+
+    /**
+     * Deshace la asignación cuando Recursos no confirmó la ocupación del camión (la reserva venció y otro
+     * tramo tomó el camión, o el evento se agotó sin entregarse). Solo si el tramo sigue 'Asignado' con ese
+     * camión: vuelve a 'Estimado' sin camión y puede asignarse otra vez. Retorna false si el tramo ya avanzó
+     * o cambió de camión, en cuyo caso la inconsistencia queda para revisión manual.
+     */
+    @Transactional
+    public boolean desasignarPorReservaPerdida(Integer idTramo, Integer idCamion) {
+        Optional<Tramo> optTramo = tramoRepository.findById(idTramo);
+        Optional<Estado> optEstado = catalogoEstados.buscarPorNombre(ESTADO_ESTIMADO);
+        if (optTramo.isEmpty() || optEstado.isEmpty()) {
+            return false;
         }
-        
-        // Asignación en BD Logística
-        tramo.setCamion(camion);
-        tramo.setEstado(optEstado.get());
-        Tramo tramoAsignado = tramoRepository.save(tramo);
-        logger.info("Tramo ID: {} actualizado a estado 'Asignado' con Camión ID: {}", idTramo, idCamion);
 
-        try {
-            // Actualización de estado del camión en BD Recursos (RestClient)
-            recursosClient.setCamionOcupado(idCamion);
-            logger.info("Estado de disponibilidad del Camión ID: {} actualizado a Ocupado en Recursos.", idCamion);
-        } catch (RestClientException e) {
-            logger.error("Error al actualizar estado del camión ID {} en Recursos: {}", idCamion, e.getMessage());
-            // Se registra el error, pero se permite que la transacción local de Logística continúe.
+        Tramo tramo = optTramo.get();
+        if (!ESTADO_ASIGNADO.equals(tramo.getEstado().getNombre()) || tramo.getCamion() == null
+                || !tramo.getCamion().getId().equals(idCamion)) {
+            logger.error("Reserva del Camión ID: {} perdida pero el Tramo ID: {} ya no está 'Asignado' a ese camión (estado {}).",
+                    idCamion, idTramo, tramo.getEstado().getNombre());
+            return false;
         }
 
-        return Optional.of(mapTramoToDto(tramoAsignado));
+        tramo.setCamion(null);
+        tramo.setReservaCamion(null);
+        tramo.setEstado(optEstado.get());
+        tramoRepository.save(tramo);
+        logger.warn("Tramo ID: {} vuelve a 'Estimado': Recursos no confirmó la ocupación del Camión ID: {}.", idTramo, idCamion);
+        return true;
     }
 
     // Iniciar tramo
@@ -243,7 +303,7 @@ public class TramoService {
     public Optional<TramoDto> iniciarTramo(Integer idTramo) {
         logger.info("Iniciando Tramo ID: {}", idTramo);
         Optional<Tramo> optTramo = tramoRepository.findById(idTramo);
-        Optional<Estado> optEstado = estadoRepository.findByNombre(ESTADO_INICIADO);
+        Optional<Estado> optEstado = catalogoEstados.buscarPorNombre(ESTADO_INICIADO);
 
         if (optTramo.isEmpty()) {
             logger.error("Tramo no encontrado con ID: {}", idTramo);
@@ -274,28 +334,26 @@ public class TramoService {
         Tramo tramoIniciado = tramoRepository.save(tramo);
         logger.info("Tramo ID: {} actualizado a estado 'Iniciado' en fecha: {}", idTramo, tramo.getFechaHoraInicio());
 
-        try {
-            // Actualización de estado de la solicitud (RestClient)
-            Integer idSolicitud = tramo.getRuta().getSolicitud().getId();
-            String tipoTramo = tramo.getTipoTramo().name();
-            String depositoOrigen = tramo.getOrigen().getNombre();
-
-            if (tipoTramo.equals(TipoTramo.ORIGEN_DESTINO.name()) ||
-                tipoTramo.equals(TipoTramo.ORIGEN_DEPOSITO.name())) {
-                
-                logger.debug("Tramo inicial de ruta, actualizando Solicitud ID: {} a En Tránsito", idSolicitud);
-                solicitudesClient.actualizarSolicitudAEnTransito(idSolicitud);
-            } else {
-                logger.debug("Tramo intermedio, actualizando Contenedor ID: {} a En Viaje desde {}", tramo.getRuta().getSolicitud().getContenedor().getId(), depositoOrigen);
-                solicitudesClient.actualizarContenedorEnViaje(idSolicitud, depositoOrigen);
-            }
-            logger.info("Tramo {} iniciado. Solicitud {} actualizada exitosamente.", idTramo, idSolicitud);
+        // Actualización de estado de la solicitud (outbox: se entrega después del commit)
+        Integer idSolicitud = tramo.getRuta().getSolicitud().getId();
+        String tipoTramo = tramo.getTipoTramo().name();
+        String depositoOrigen = tramo.getOrigen().getNombre();
 
-        } catch (RestClientException e) {
-            logger.error("Error de comunicación con Solicitudes al iniciar tramo {}: {}", idTramo, e.getMessage());
+        if (tipoTramo.equals(TipoTramo.ORIGEN_DESTINO.name()) ||
+            tipoTramo.equals(TipoTramo.ORIGEN_DEPOSITO.name())) {
+            
+            logger.debug("Tramo inicial de ruta, registrando Solicitud ID: {} a En Tránsito", idSolicitud);
+            eventosSalientesService.registrarParaSolicitud(TipoEventoSaliente.SOLICITUD_EN_TRANSITO, idSolicitud,
+                    claveEvento(idTramo, TipoEventoSaliente.SOLICITUD_EN_TRANSITO), Map.of("solicitudId", idSolicitud));
+        } else {
+            logger.debug("Tramo intermedio, registrando Contenedor ID: {} a En Viaje desde {}", tramo.getRuta().getSolicitud().getContenedor().getId(), depositoOrigen);
+            eventosSalientesService.registrarParaSolicitud(TipoEventoSaliente.CONTENEDOR_EN_VIAJE, idSolicitud,
+                    claveEvento(idTramo, TipoEventoSaliente.CONTENEDOR_EN_VIAJE),
+                    Map.of("solicitudId", idSolicitud, "deposito", depositoOrigen));
         }
+        logger.info("Tramo {} iniciado. Actualización de la Solicitud {} registrada.", idTramo, idSolicitud);
 
-        return Optional.of(mapTramoToDto(tramoIniciado));
+        return Optional.of(TramoMapper.aDto(tramoIniciado));
     }
 
     // Finalizar tramo
@@ -303,7 +361,7 @@ public class TramoService {
     public Optional<TramoDto> finalizarTramo(Integer idTramo) {
         logger.info("Finalizando Tramo ID: {}", idTramo);
         Optional<Tramo> optTramo = tramoRepository.findById(idTramo);
-        Optional<Estado> optEstado = estadoRepository.findByNombre(ESTADO_FINALIZADO);
+        Optional<Estado> optEstado = catalogoEstados.buscarPorNombre(ESTADO_FINALIZADO);
 
         if (optTramo.isEmpty()) {
             logger.error("Tramo no encontrado con ID: {}", idTramo);
@@ -328,91 +386,98 @@ public class TramoService {
             throw new DataConflictException("El tramo ID " + idTramo + " no tiene fecha/hora de inicio registrada");
         }
 
-        // Actualización en BD Logística
+        // Tarifas vigentes: si no se pueden obtener no se finaliza nada (el transportista reintenta)
+        TarifasVigentes tarifas;
+        try {
+            tarifas = tarifasVigentesService.obtener();
+        } catch (RestClientException e) {
+            logger.error("Error al obtener las tarifas de Recursos para finalizar el tramo {}: {}", idTramo, e.getMessage());
+            throw new RecursoNoDisponibleException("Error de comunicación con el servicio 'Recursos'.", e);
+        }
+        BigDecimal cargoPorGestion = tarifas.getCargoGestion();
+        BigDecimal costoCombustiblePorLitro = tarifas.getPrecioCombustiblePorLitro();
+
+        // Actualización en BD Logística. Todo lo que sigue es una sola transacción: si algo falla no queda un
+        // tramo 'Finalizado' sin costo real ni sin el evento que avanza la solicitud.
         tramo.setEstado(optEstado.get());
         tramo.setFechaHoraFin(LocalDateTime.now());
-        Tramo tramoFinalizado = tramoRepository.save(tramo);
-        logger.info("Tramo ID: {} actualizado a estado 'Finalizado' en fecha: {}", idTramo, tramo.getFechaHoraFin());
-
-        try {
-            Integer idSolicitud = tramo.getRuta().getSolicitud().getId();
-            String depositoDestino = tramo.getDestino().getNombre();
-            String tipoTramo = tramo.getTipoTramo().name();
-            
-            // 1. Calcular costos y tiempo real del tramo y la ruta
-            BigDecimal cargoPorGestion = recursosClient.getCargoPorGestion().getCostoPorTramo();
-            BigDecimal costoCombustiblePorLitro = recursosClient.getCostoCombustiblePorLitro().getPrecioPorLitro();
-
-            // Calcular tiempo real y costos del tramo actual
-            Long tiempoRealTramo = Duration.between(tramo.getFechaHoraInicio(), tramo.getFechaHoraFin()).toSeconds();
-            tramoFinalizado.setTiempoReal(tiempoRealTramo);
-
-            Long diasEstadiaOrigen = 0L;
-            // Solo se calcula estadía si no es el primer tramo (o ruta directa)
-            if (tramo.getNroOrden() > 1 || tramo.getNroOrden() == 1 && tramo.getRuta().getCantidadTramos() > 1) {
-                // Buscamos el tramo anterior
-                Optional<Tramo> anteriorOpt = tramoRepository.findByRutaIdAndNroOrden(tramo.getRuta().getId(), tramo.getNroOrden() - 1);
-                if (anteriorOpt.isPresent() && anteriorOpt.get().getFechaHoraFin() != null) {
-                    Duration d = Duration.between(anteriorOpt.get().getFechaHoraFin(), tramo.getFechaHoraInicio());
-                    diasEstadiaOrigen = (long) Math.ceil(d.toHours() / 24.0);
-                    logger.debug("Estadía en depósito {} calculada: {} días", tramo.getOrigen().getNombre(), diasEstadiaOrigen);
-                }
+        Integer idSolicitud = tramo.getRuta().getSolicitud().getId();
+        String depositoDestino = tramo.getDestino().getNombre();
+        String tipoTramo = tramo.getTipoTramo().name();
+
+        // 1. Calcular costos y tiempo real del tramo
+        Long tiempoRealTramo = Duration.between(tramo.getFechaHoraInicio(), tramo.getFechaHoraFin()).toSeconds();
+        tramo.setTiempoReal(tiempoRealTramo);
+
+        Long diasEstadiaOrigen = 0L;
+        // Solo se calcula estadía si no es el primer tramo (o ruta directa)
+        if (tramo.getNroOrden() > 1 || tramo.getNroOrden() == 1 && tramo.getRuta().getCantidadTramos() > 1) {
+            // Buscamos el tramo anterior
+            Optional<Tramo> anteriorOpt = tramoRepository.findByRutaIdAndNroOrden(tramo.getRuta().getId(), tramo.getNroOrden() - 1);
+            if (anteriorOpt.isPresent() && anteriorOpt.get().getFechaHoraFin() != null) {
+                Duration d = Duration.between(anteriorOpt.get().getFechaHoraFin(), tramo.getFechaHoraInicio());
+                diasEstadiaOrigen = (long) Math.ceil(d.toHours() / 24.0);
+                logger.debug("Estadía en depósito {} calculada: {} días", tramo.getOrigen().getNombre(), diasEstadiaOrigen);
             }
+        }
 
-            BigDecimal costoEstadia = tramo.getOrigen().getPrecioPorDia()
-                    .multiply(BigDecimal.valueOf(diasEstadiaOrigen));
-            BigDecimal costoKm = tramo.getCamion().getCostoPorKm()
-                    .multiply(BigDecimal.valueOf(tramo.getDistanciaKm()));
-            BigDecimal costoCombustible = BigDecimal.valueOf(tramo.getDistanciaKm())
-                    .multiply(tramo.getCamion().getConsumoCombustiblePromedio())
-                    .multiply(costoCombustiblePorLitro);
-            
-            // Cargo por gestión ya está incluido en el costo estimado, se recalcula aquí con valores reales
-            BigDecimal costoRealTramo = costoEstadia.add(costoKm).add(costoCombustible).add(cargoPorGestion).setScale(SCALE, RoundingMode.HALF_UP);
-
-            tramoFinalizado.setCostoReal(costoRealTramo);
-            tramoRepository.save(tramoFinalizado);
-            logger.info("Tramo ID: {} guardado con Costo Real: {} y Tiempo Real: {} segundos", idTramo, costoRealTramo, tiempoRealTramo);
-
-            // 2. Liberar el camión
-            recursosClient.setCamionLibre(tramo.getCamion().getId());
-            logger.info("Camión ID: {} liberado en Recursos.", tramo.getCamion().getId());
-
-            // 3. Actualizar estado de la solicitud (RestClient)
-            if (tipoTramo.equals(TipoTramo.DEPOSITO_DESTINO.name()) ||
-                tipoTramo.equals(TipoTramo.ORIGEN_DESTINO.name())) {
-                
-                // Fin de la ruta: Recalcular costo/tiempo total
-                List<Tramo> tramosRutaFinalizados = tramoRepository.findByIdRuta(tramo.getRuta().getId())
-                        .stream()
-                        .filter(t -> t.getCostoReal() != null && t.getTiempoReal() != null)
-                        .collect(Collectors.toList());
-
-                BigDecimal costoTotalFinal = tramosRutaFinalizados.stream()
-                        .map(Tramo::getCostoReal)
-                        .reduce(BigDecimal.ZERO, BigDecimal::add);
-                
-                Long tiempoTotalSegundos = tramosRutaFinalizados.stream()
-                        .map(Tramo::getTiempoReal)
-                        .reduce(0L, Long::sum);
-
-                logger.info("Fin de Ruta ID: {}. Solicitud ID: {} a Entregada. Costo Total Real: {}, Tiempo Total Real: {}s", 
-                    tramo.getRuta().getId(), idSolicitud, costoTotalFinal, tiempoTotalSegundos);
-                
-                solicitudesClient.actualizarSolicitudAEntregada(idSolicitud, costoTotalFinal, tiempoTotalSegundos);
-            } else {
-                logger.debug("Tramo intermedio finalizado. Contenedor ID: {} actualizado a En Depósito: {}", tramo.getRuta().getSolicitud().getContenedor().getId(), depositoDestino);
-                solicitudesClient.actualizarContenedorEnDeposito(idSolicitud, depositoDestino);
-            }
+        BigDecimal costoEstadia = tramo.getOrigen().getPrecioPorDia()
+                .multiply(BigDecimal.valueOf(diasEstadiaOrigen));
+        BigDecimal costoKm = tramo.getCamion().getCostoPorKm()
+                .multiply(BigDecimal.valueOf(tramo.getDistanciaKm()));
+        BigDecimal costoCombustible = BigDecimal.valueOf(tramo.getDistanciaKm())
+                .multiply(tramo.getCamion().getConsumoCombustiblePromedio())
+                .multiply(costoCombustiblePorLitro);
 
-        } catch (RestClientException e) {
-            logger.error("Error al finalizar tramo o comunicar con microservicios (Solicitudes/Recursos): {}", e.getMessage());
-            // Se registra el error, pero se permite que la transacción local continúe.
-        } catch (Exception e) {
-            logger.error("Error inesperado en finalizarTramo {}: {}", idTramo, e.getMessage(), e);
+        // Cargo por gestión ya está incluido en el costo estimado, se recalcula aquí con valores reales
+        BigDecimal costoRealTramo = costoEstadia.add(costoKm).add(costoCombustible).add(cargoPorGestion).setScale(SCALE, RoundingMode.HALF_UP);
+
+        tramo.setCostoReal(costoRealTramo);
+        Tramo tramoFinalizado = tramoRepository.save(tramo);
+        logger.info("Tramo ID: {} actualizado a estado 'Finalizado' en fecha: {} con Costo Real: {} y Tiempo Real: {} segundos",
+                idTramo, tramo.getFechaHoraFin(), costoRealTramo, tiempoRealTramo);
+
+        // 2. Liberar el camión (outbox: se entrega después del commit)
+        // Se libera solo la ocupación de este tramo: si el camión ya lo tomó otro tramo, Recursos no lo libera
+        // (los tramos asignados antes de las claves por intento se reservaron con la clave del evento)
+        String reserva = tramo.getReservaCamion() != null ? tramo.getReservaCamion()
+                : claveEvento(idTramo, TipoEventoSaliente.CAMION_OCUPADO);
+        eventosSalientesService.registrarParaCamion(TipoEventoSaliente.CAMION_LIBRE, tramo.getCamion().getId(), idTramo,
+                claveEvento(idTramo, TipoEventoSaliente.CAMION_LIBRE), reserva);
+        logger.info("Liberación del Camión ID: {} registrada para Recursos.", tramo.getCamion().getId());
+
+        // 3. Actualizar estado de la solicitud (outbox)
+        if (tipoTramo.equals(TipoTramo.DEPOSITO_DESTINO.name()) ||
+            tipoTramo.equals(TipoTramo.ORIGEN_DESTINO.name())) {
+
+            // Fin de la ruta: Recalcular costo/tiempo total
+            List<Tramo> tramosRutaFinalizados = tramoRepository.findByIdRuta(tramo.getRuta().getId())
+                    .stream()
+                    .filter(t -> t.getCostoReal() != null && t.getTiempoReal() != null)
+                    .collect(Collectors.toList());
+
+            BigDecimal costoTotalFinal = tramosRutaFinalizados.stream()
+                    .map(Tramo::getCostoReal)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+            Long tiempoTotalSegundos = tramosRutaFinalizados.stream()
+                    .map(Tramo::getTiempoReal)
+                    .reduce(0L, Long::sum);
+
+            logger.info("Fin de Ruta ID: {}. Solicitud ID: {} a Entregada. Costo Total Real: {}, Tiempo Total Real: {}s",
+                tramo.getRuta().getId(), idSolicitud, costoTotalFinal, tiempoTotalSegundos);
+
+            eventosSalientesService.registrarParaSolicitud(TipoEventoSaliente.SOLICITUD_ENTREGADA, idSolicitud,
+                    claveEvento(idTramo, TipoEventoSaliente.SOLICITUD_ENTREGADA),
+                    Map.of("solicitudId", idSolicitud, "costo", costoTotalFinal, "tiempo", tiempoTotalSegundos));
+        } else {
+            logger.debug("Tramo intermedio finalizado. Contenedor ID: {} actualizado a En Depósito: {}", tramo.getRuta().getSolicitud().getContenedor().getId(), depositoDestino);
+            eventosSalientesService.registrarParaSolicitud(TipoEventoSaliente.CONTENEDOR_EN_DEPOSITO, idSolicitud,
+                    claveEvento(idTramo, TipoEventoSaliente.CONTENEDOR_EN_DEPOSITO),
+                    Map.of("solicitudId", idSolicitud, "deposito", depositoDestino));
         }
 
-        return Optional.of(mapTramoToDto(tramoFinalizado));
+        return Optional.of(TramoMapper.aDto(tramoFinalizado));
     }
 
     /**
@@ -429,7 +494,7 @@ public class TramoService {
         
         logger.info("Encontrados {} tramos para Camión ID: {}", tramos.size(), idCamion);
         return tramos.stream()
-                .map(this::mapTramoToDto)
+                .map(TramoMapper::aDto)
                 .collect(Collectors.toList());
     }
 
@@ -498,63 +563,35 @@ public class TramoService {
         return esPropietario;
     }
 
-    /**
-     * Helper para mapear Tramo Entity a Tramo DTO
-     */
-    /**
-     * Helper para mapear Tramo Entity a Tramo DTO
-     */
-    private TramoDto mapTramoToDto(Tramo tramo) {
-        // 1. Mapeo base para Tramo
-        TramoDto tramoDto = modelMapper.map(tramo, TramoDto.class);
-        
-        // ✅ SOLUCIÓN: Mapeo explícito de los campos de tiempo para corregir la discrepancia de nombres
-        // y asegurar que devuelven 0L si son null.
-        tramoDto.setTiempoEstimadoSegundos(
-            tramo.getTiempoEstimado() != null ? tramo.getTiempoEstimado() : 0L
-        );
-        tramoDto.setTiempoRealSegundos(
-            tramo.getTiempoReal() != null ? tramo.getTiempoReal() : 0L
-        );
-        
-        // Mapear campos de relación que ModelMapper no maneja automáticamente o requiere lógica
-        if (tramo.getEstado() != null) {
-            tramoDto.setNombreEstado(tramo.getEstado().getNombre());
-        }
-        if (tramo.getTipoTramo() != null) {
-            tramoDto.setTipoTramo(tramo.getTipoTramo().name());
+    // Reserva el camión en Recursos; un camión ocupado o reservado por otro tramo es un conflicto
+    private void reservarCamion(Integer idCamion, String clave) {
+        try {
+            ReservaCamionDto reserva = recursosClient.reservarCamion(idCamion, clave);
+            logger.info("Camión ID: {} reservado en Recursos hasta {}.", idCamion, reserva != null ? reserva.getVenceEn() : null);
+        } catch (HttpClientErrorException.Conflict e) {
+            logger.error("El camión ID {} ya está ocupado", idCamion);
+            throw new DataConflictException("El camión ID " + idCamion + " ya está ocupado");
+        } catch (HttpClientErrorException.NotFound e) {
+            logger.error("Camión no encontrado en Recursos con ID: {}", idCamion);
+            throw new ResourceNotFoundException("Camión no encontrado con ID: " + idCamion);
+        } catch (RestClientException e) {
+            logger.error("Error al reservar el camión ID {} en 'Recursos': {}", idCamion, e.getMessage(), e);
+            throw new RecursoNoDisponibleException("Error de comunicación con el servicio 'Recursos'.", e);
         }
+    }
 
-        // Depósito Origen
-        if (tramo.getOrigen() != null) {
-            // Mapeamos el Deposito ENTIDAD a Deposito DTO
-            DepositoDto origenDto = modelMapper.map(tramo.getOrigen(), DepositoDto.class);
-
-            // Asignamos el nombre de la ciudad explícitamente desde la entidad
-            if (tramo.getOrigen().getCiudad() != null) {
-                origenDto.setCiudad(tramo.getOrigen().getCiudad().getNombre());
-            } else {
-                // Manejar caso si la ciudad es nula
-                origenDto.setCiudad(null); 
-            }
-            tramoDto.setOrigen(origenDto);
+    // La asignación local no se guardó: se devuelve la reserva de este intento (si falla, vence sola en Recursos)
+    private void liberarReserva(Integer idTramo, Integer idCamion, String reserva) {
+        try {
+            recursosClient.setCamionLibre(idCamion, claveEvento(idTramo, TipoEventoSaliente.CAMION_LIBRE), reserva);
+            logger.info("Reserva del Camión ID: {} devuelta: la asignación al Tramo ID: {} no se guardó.", idCamion, idTramo);
+        } catch (RestClientException e) {
+            logger.warn("No se pudo devolver la reserva del Camión ID: {} ({}); vencerá sola.", idCamion, e.getMessage());
         }
+    }
 
-        // Depósito Destino
-        if (tramo.getDestino() != null) {
-            // Mapeamos el Deposito ENTIDAD a Deposito DTO
-            DepositoDto destinoDto = modelMapper.map(tramo.getDestino(), DepositoDto.class);
-
-            // Asignamos el nombre de la ciudad explícitamente desde la entidad
-            if (tramo.getDestino().getCiudad() != null) {
-                destinoDto.setCiudad(tramo.getDestino().getCiudad().getNombre());
-            } else {
-                // Manejar caso si la ciudad es nula
-                destinoDto.setCiudad(null);
-            }
-            tramoDto.setDestino(destinoDto);
-        }
-        
-        return tramoDto;
+    // Clave de idempotencia del evento: un tramo genera a lo sumo un evento de cada tipo
+    private String claveEvento(Integer idTramo, TipoEventoSaliente tipo) {
+        return "tramo-" + idTramo + "-" + tipo.name();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.observation.DefaultMeterObservationHandler;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+
+/**
+ * Verifica que 'http.client.requests' quede etiquetado con el nombre lógico del destino y con
+ * la plantilla de la URI sin query string (sin API key ni coordenadas).
+ */
+class ConvencionObservacionClienteHttpTest {
+
+	private HttpServer servidor;
+	private SimpleMeterRegistry meterRegistry;
+	private RestClient restClient;
+
+	@BeforeEach
+	void iniciarServidor() throws IOException {
+		servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		servidor.createContext("/", exchange -> {
+			exchange.sendResponseHeaders(200, -1);
+			exchange.close();
+		});
+		servidor.start();
+
+		meterRegistry = new SimpleMeterRegistry();
+		ObservationRegistry observationRegistry = ObservationRegistry.create();
+		observationRegistry.observationConfig().observationHandler(new DefaultMeterObservationHandler(meterRegistry));
+
+		restClient = RestClient.builder()
+				.baseUrl("http://localhost:" + servidor.getAddress().getPort() + "/api")
+				.observationRegistry(observationRegistry)
+				.observationConvention(new ConvencionObservacionClienteHttp("recursos"))
+				.build();
+	}
+
+	@AfterEach
+	void detenerServidor() {
+		servidor.stop(0);
+	}
+
+	@Test
+	void etiquetaDestinoYPlantillaDeLaRuta() {
+		restClient.put().uri("/camiones/{idCamion}/libre", 7).retrieve().toBodilessEntity();
+		restClient.put().uri("/camiones/{idCamion}/libre", 8).retrieve().toBodilessEntity();
+
+		assertEquals(2, meterRegistry.get("http.client.requests")
+				.tag("client.name", "recursos")
+				.tag("uri", "/api/camiones/{idCamion}/libre")
+				.timer().count());
+	}
+
+	@Test
+	void descartaLaQueryString() {
+		restClient.get().uri("?origins={origen}&key={clave}", "-31.4,-64.1", "secreta").retrieve().toBodilessEntity();
+		restClient.get().uri("/camiones/disponibles?volumen={volumen}", 10).retrieve().toBodilessEntity();
+
+		assertEquals(1, meterRegistry.get("http.client.requests").tag("uri", "/api").timer().count());
+		assertEquals(1, meterRegistry.get("http.client.requests").tag("uri", "/api/camiones/disponibles").timer().count());
+	}
+}
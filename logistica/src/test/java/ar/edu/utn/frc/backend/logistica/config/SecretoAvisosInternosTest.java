@@ -0,0 +1,41 @@
+package ar.edu.utn.frc.backend.logistica.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Los avisos internos (invalidación de tarifas) solo se aceptan con el secreto compartido en la cabecera;
+ * sin secreto configurado se rechazan todos.
+ */
+class SecretoAvisosInternosTest {
+
+	private static final String CABECERA = "X-Aviso-Interno";
+
+	@Test
+	void aceptaSoloElSecretoConfigurado() {
+		SecretoAvisosInternos secreto = new SecretoAvisosInternos(CABECERA, "secreto-compartido");
+
+		assertTrue(secreto.esValido(aviso("secreto-compartido")));
+		assertFalse(secreto.esValido(aviso("otro-secreto")));
+		assertFalse(secreto.esValido(aviso(null)));
+	}
+
+	@Test
+	void sinSecretoConfiguradoRechazaTodosLosAvisos() {
+		SecretoAvisosInternos secreto = new SecretoAvisosInternos(CABECERA, "");
+
+		assertFalse(secreto.esValido(aviso("")));
+		assertFalse(secreto.esValido(aviso(null)));
+	}
+
+	private static MockHttpServletRequest aviso(String valor) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/interno/tarifas/invalidacion");
+		if (valor != null) {
+			request.addHeader(CABECERA, valor);
+		}
+		return request;
+	}
+}
@@ -0,0 +1,45 @@
+package ar.edu.utn.frc.backend.logistica.mappers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import ar.edu.utn.frc.backend.logistica.dto.TramoDto;
+import ar.edu.utn.frc.backend.logistica.entities.Ciudad;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+import ar.edu.utn.frc.backend.logistica.entities.Estado;
+import ar.edu.utn.frc.backend.logistica.entities.TipoTramo;
+import ar.edu.utn.frc.backend.logistica.entities.Tramo;
+
+class TramoMapperTest {
+
+	@Test
+	void mapeaRelacionesYTiemposDesconocidosEnCero() {
+		Ciudad cordoba = new Ciudad(1, "Córdoba", "5000");
+		Tramo tramo = new Tramo();
+		tramo.setId(7);
+		tramo.setNroOrden(2);
+		tramo.setCostoEstimado(new BigDecimal("1500.00"));
+		tramo.setTiempoEstimado(3600L);
+		tramo.setEstado(Estado.builder().id(1).nombre("Estimado").build());
+		tramo.setTipoTramo(TipoTramo.DEPOSITO_DESTINO);
+		tramo.setOrigen(new Deposito(3, "Norte", "Calle 1", new BigDecimal("100.00"), -31.4f, -64.2f, cordoba));
+		tramo.setDestino(new Deposito(4, "Sur", "Calle 2", new BigDecimal("200.00"), -31.5f, -64.3f, null));
+
+		TramoDto dto = TramoMapper.aDto(tramo);
+
+		assertEquals(7, dto.getId());
+		assertEquals(2, dto.getNroOrden());
+		assertEquals(3600L, dto.getTiempoEstimadoSegundos());
+		assertEquals(0L, dto.getTiempoRealSegundos());
+		assertEquals("Estimado", dto.getNombreEstado());
+		assertEquals("DEPOSITO_DESTINO", dto.getTipoTramo());
+		assertEquals("Córdoba", dto.getOrigen().getCiudad());
+		assertEquals(-64.2f, dto.getOrigen().getLongitud());
+		assertNull(dto.getDestino().getCiudad());
+		assertNull(dto.getCamion());
+	}
+}
@@ -0,0 +1,83 @@
+package ar.edu.utn.frc.backend.logistica.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import ar.edu.utn.frc.backend.logistica.entities.EstadoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.EventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.TipoEventoSaliente;
+
+/**
+ * Consulta nativa del lote del outbox: a lo sumo el evento más antiguo de cada agregado, retenido detrás
+ * de un evento anterior PENDIENTE (aunque todavía no le toque) o FALLIDO; ENVIADO y DESCARTADO no retienen.
+ */
+@DataJpaTest
+class EventoSalienteRepositoryTest {
+
+	private static final LocalDateTime AHORA = LocalDateTime.of(2025, 11, 3, 10, 0);
+
+	@Autowired
+	private EventoSalienteRepository repository;
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Test
+	void devuelveSoloElMasAntiguoPendienteDeCadaAgregadoEnOrden() {
+		Long primeroA = guardar("solicitud-1", EstadoEventoSaliente.PENDIENTE, AHORA);
+		guardar("solicitud-1", EstadoEventoSaliente.PENDIENTE, AHORA);
+		Long primeroB = guardar("solicitud-2", EstadoEventoSaliente.PENDIENTE, AHORA.minusMinutes(1));
+		// Agregado cuyo primer evento espera un reintento: el siguiente tampoco sale
+		guardar("camion-3", EstadoEventoSaliente.PENDIENTE, AHORA.plusMinutes(5));
+		guardar("camion-3", EstadoEventoSaliente.PENDIENTE, AHORA);
+
+		assertEquals(List.of(primeroA, primeroB), ids(repository.findLoteParaEnviar(AHORA, 10)));
+		assertEquals(List.of(primeroA), ids(repository.findLoteParaEnviar(AHORA, 1)));
+	}
+
+	@Test
+	void unEventoFallidoRetieneLosPosterioresDeSuAgregado() {
+		guardar("solicitud-1", EstadoEventoSaliente.FALLIDO, AHORA);
+		guardar("solicitud-1", EstadoEventoSaliente.PENDIENTE, AHORA);
+		guardar("solicitud-2", EstadoEventoSaliente.ENVIADO, AHORA);
+		Long trasEnviado = guardar("solicitud-2", EstadoEventoSaliente.PENDIENTE, AHORA);
+		guardar("camion-3", EstadoEventoSaliente.DESCARTADO, AHORA);
+		Long trasDescartado = guardar("camion-3", EstadoEventoSaliente.PENDIENTE, AHORA);
+
+		assertEquals(List.of(trasEnviado, trasDescartado), ids(repository.findLoteParaEnviar(AHORA, 10)));
+		assertEquals(1, repository.countAgregadosRetenidos(EstadoEventoSaliente.FALLIDO, EstadoEventoSaliente.PENDIENTE));
+	}
+
+	@Test
+	void losPendientesAnterioresAUnFallidoNoCuentanComoRetenidos() {
+		Long pendiente = guardar("solicitud-1", EstadoEventoSaliente.PENDIENTE, AHORA);
+		guardar("solicitud-1", EstadoEventoSaliente.FALLIDO, AHORA);
+
+		assertEquals(List.of(pendiente), ids(repository.findLoteParaEnviar(AHORA, 10)));
+		assertEquals(0, repository.countAgregadosRetenidos(EstadoEventoSaliente.FALLIDO, EstadoEventoSaliente.PENDIENTE));
+	}
+
+	private Long guardar(String agregado, EstadoEventoSaliente estado, LocalDateTime proximoIntento) {
+		EventoSaliente evento = EventoSaliente.builder()
+				.claveIdempotencia(agregado + "-" + System.nanoTime())
+				.tipo(agregado.startsWith("camion") ? TipoEventoSaliente.CAMION_LIBRE : TipoEventoSaliente.CONTENEDOR_EN_VIAJE)
+				.agregado(agregado)
+				.datos("{}")
+				.estado(estado)
+				.intentos(0)
+				.proximoIntento(proximoIntento)
+				.fechaCreacion(AHORA)
+				.build();
+		return testEntityManager.persistAndFlush(evento).getId();
+	}
+
+	private List<Long> ids(List<EventoSaliente> eventos) {
+		return eventos.stream().map(EventoSaliente::getId).toList();
+	}
+}
@@ -0,0 +1,92 @@
+package ar.edu.utn.frc.backend.logistica.restClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ar.edu.utn.frc.backend.logistica.config.GoogleMapsResilienciaProperties;
+import ar.edu.utn.frc.backend.logistica.restClient.CircuitoProveedor.Estado;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CircuitoProveedorTest {
+
+	private static final Duration RAPIDA = Duration.ofMillis(50);
+
+	private final AtomicLong reloj = new AtomicLong();
+	private SimpleMeterRegistry meterRegistry;
+	private CircuitoProveedor circuito;
+
+	@BeforeEach
+	void crearCircuito() {
+		GoogleMapsResilienciaProperties.Circuito config = new GoogleMapsResilienciaProperties.Circuito();
+		config.setVentana(10);
+		config.setMinimoLlamadas(4);
+		config.setUmbralFallas(0.5);
+		config.setLlamadaLenta(Duration.ofSeconds(1));
+		config.setEsperaAbierto(Duration.ofSeconds(30));
+		config.setLlamadasPrueba(2);
+		meterRegistry = new SimpleMeterRegistry();
+		circuito = new CircuitoProveedor("prueba", config, meterRegistry, reloj::get);
+	}
+
+	@Test
+	void seAbreAlSuperarElUmbralYNoSeAbreAntesDelMinimoDeLlamadas() {
+		registrar(false, RAPIDA);
+		registrar(false, RAPIDA);
+		registrar(true, RAPIDA);
+		assertEquals(Estado.CERRADO, circuito.getEstado());
+
+		// Cuatro llamadas, dos lentas o fallidas: 50%
+		registrar(true, Duration.ofSeconds(3));
+		assertEquals(Estado.ABIERTO, circuito.getEstado());
+		assertFalse(circuito.permitir());
+		assertEquals(2, meterRegistry.get("proveedor.circuito.estado").gauge().value());
+	}
+
+	@Test
+	void pasadaLaEsperaDejaPasarPruebasYSeCierraSiSalenBien() {
+		abrir();
+
+		reloj.addAndGet(Duration.ofSeconds(30).toNanos());
+		assertTrue(circuito.permitir());
+		assertTrue(circuito.permitir());
+		assertFalse(circuito.permitir(), "Solo se permiten 'llamadasPrueba' llamadas a la vez");
+		assertEquals(Estado.SEMIABIERTO, circuito.getEstado());
+
+		circuito.registrar(true, RAPIDA);
+		circuito.registrar(true, RAPIDA);
+		assertEquals(Estado.CERRADO, circuito.getEstado());
+		assertTrue(circuito.permitir());
+	}
+
+	@Test
+	void unaPruebaFallidaLoVuelveAAbrir() {
+		abrir();
+
+		reloj.addAndGet(Duration.ofSeconds(31).toNanos());
+		assertTrue(circuito.permitir());
+		circuito.registrar(false, RAPIDA);
+
+		assertEquals(Estado.ABIERTO, circuito.getEstado());
+		assertFalse(circuito.permitir());
+		assertEquals(2, meterRegistry.get("proveedor.circuito.transiciones").tag("estado", "abierto").counter().count());
+	}
+
+	private void abrir() {
+		for (int i = 0; i < 4; i++) {
+			registrar(false, RAPIDA);
+		}
+		assertEquals(Estado.ABIERTO, circuito.getEstado());
+	}
+
+	private void registrar(boolean exito, Duration duracion) {
+		assertTrue(circuito.permitir());
+		circuito.registrar(exito, duracion);
+	}
+}
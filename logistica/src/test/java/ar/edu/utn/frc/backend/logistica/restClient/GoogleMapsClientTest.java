@@ -0,0 +1,247 @@
+package ar.edu.utn.frc.backend.logistica.restClient;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import ar.edu.utn.frc.backend.logistica.config.GoogleMapsResilienciaProperties;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.CoordenadasDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.DistanciaDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.MatrizDistanciasDto;
+import ar.edu.utn.frc.backend.logistica.services.DistanciaCacheService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Verifica calcularMatriz contra un servidor HTTP local que imita la Distance Matrix API.
+ * El servidor responde, para el origen (lat=i, lon=0) y el destino (lat=0, lon=j),
+ * una distancia de i*1000 + j metros y una duración de i*10 + j segundos, salvo para
+ * el par (0, 0) donde responde ZERO_RESULTS. Con 'proveedorCaido' responde 500 y las primeras
+ * 'respuestasDemoradas' consultas tardan 1,5 segundos.
+ */
+class GoogleMapsClientTest {
+
+	private HttpServer servidor;
+	private ExecutorService hilosServidor;
+	private ExecutorService hilosLlamadas;
+	private SimpleMeterRegistry meterRegistry;
+	private GoogleMapsResilienciaProperties resiliencia;
+	private GoogleMapsClient googleMapsClient;
+	private final AtomicInteger consultas = new AtomicInteger();
+	private final AtomicInteger maxElementosPorConsulta = new AtomicInteger();
+	private final AtomicBoolean proveedorCaido = new AtomicBoolean();
+	private final AtomicInteger respuestasDemoradas = new AtomicInteger();
+
+	@BeforeEach
+	void iniciarServidor() throws IOException {
+		hilosServidor = Executors.newCachedThreadPool();
+		hilosLlamadas = Executors.newVirtualThreadPerTaskExecutor();
+		servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		servidor.createContext("/distancematrix/json", this::responderMatriz);
+		servidor.setExecutor(hilosServidor);
+		servidor.start();
+
+		resiliencia = new GoogleMapsResilienciaProperties();
+		googleMapsClient = crearCliente();
+	}
+
+	@AfterEach
+	void detenerServidor() {
+		servidor.stop(0);
+		hilosServidor.shutdownNow();
+		hilosLlamadas.shutdownNow();
+	}
+
+	@SuppressWarnings("unchecked")
+	private GoogleMapsClient crearCliente() {
+		RestClient restClient = RestClient.builder()
+				.baseUrl("http://localhost:" + servidor.getAddress().getPort() + "/distancematrix/json")
+				.build();
+		// La caché de distancias siempre consulta al proveedor
+		DistanciaCacheService distanciaCacheService = mock(DistanciaCacheService.class);
+		when(distanciaCacheService.obtener(any(), any()))
+				.thenAnswer(invocacion -> ((Supplier<DistanciaDto>) invocacion.getArgument(1)).get());
+		meterRegistry = new SimpleMeterRegistry();
+		return new GoogleMapsClient(restClient, "test-key", distanciaCacheService, resiliencia,
+				new LlamadasAsincronas(hilosLlamadas), meterRegistry);
+	}
+
+	@Test
+	void calcularMatrizDivideEnBloquesYCompletaTodasLasCeldas() {
+		List<CoordenadasDto> origenes = coordenadas(30, true);
+		List<CoordenadasDto> destinos = coordenadas(30, false);
+
+		MatrizDistanciasDto matriz = googleMapsClient.calcularMatriz(origenes, destinos);
+
+		// 25 destinos por bloque -> 4 orígenes por bloque: 8 bloques de filas x 2 bloques de columnas
+		assertEquals(16, consultas.get());
+		assertTrue(maxElementosPorConsulta.get() <= 100);
+
+		for (int i = 0; i < 30; i++) {
+			for (int j = 0; j < 30; j++) {
+				if (i == 0 && j == 0) {
+					continue;
+				}
+				assertFalse(matriz.esAproximada(i, j));
+				assertEquals((i * 1000 + j) / 1000.0f, matriz.getKilometros()[i][j], 1e-6);
+				assertEquals(i * 10L + j, matriz.getDuracionSegundos()[i][j]);
+			}
+		}
+	}
+
+	@Test
+	void calcularMatrizCompletaConFallbackLosElementosSinResultado() {
+		List<CoordenadasDto> origenes = List.of(new CoordenadasDto(0f, 0f), new CoordenadasDto(1f, 0f));
+		List<CoordenadasDto> destinos = List.of(new CoordenadasDto(0f, 0f), new CoordenadasDto(0f, 1f));
+
+		MatrizDistanciasDto matriz = googleMapsClient.calcularMatriz(origenes, destinos);
+
+		assertEquals(1, consultas.get());
+		// (0,0) -> (0,0): el proveedor responde ZERO_RESULTS y se estima con Haversine
+		assertTrue(matriz.estaResuelta(0, 0));
+		assertTrue(matriz.esAproximada(0, 0));
+		assertEquals(0f, matriz.getKilometros()[0][0], 1e-6);
+		assertEquals(0L, matriz.getDuracionSegundos()[0][0]);
+		// El resto de las celdas viene del proveedor
+		assertFalse(matriz.esAproximada(1, 1));
+		assertEquals(1.001f, matriz.getKilometros()[1][1], 1e-6);
+	}
+
+	@Test
+	void calcularMatrizSinOrigenesNoConsultaAlProveedor() {
+		MatrizDistanciasDto matriz = googleMapsClient.calcularMatriz(List.of(), coordenadas(3, false));
+
+		assertEquals(0, consultas.get());
+		assertEquals(0, matriz.getFilas());
+	}
+
+	@Test
+	void conElProveedorCaidoElCircuitoSeAbreYSeEstimaSinConsultar() {
+		proveedorCaido.set(true);
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(googleMapsClient.calcularDistancia(1f, 0f, 0f, 1f).isAproximada());
+		}
+		assertEquals(10, consultas.get());
+
+		// Abierto: la distancia sale de la estimación Haversine sin llegar al proveedor
+		proveedorCaido.set(false);
+		DistanciaDto distancia = googleMapsClient.calcularDistancia(1f, 0f, 0f, 1f);
+		assertTrue(distancia.isAproximada());
+		assertEquals(10, consultas.get());
+		assertEquals(2, meterRegistry.get("proveedor.circuito.estado").gauge().value());
+		assertEquals(1, meterRegistry.get("google.maps.fallback").tag("motivo", "circuito-abierto").counter().count());
+
+		// Los bloques de la matriz tampoco se consultan
+		MatrizDistanciasDto matriz = googleMapsClient.calcularMatriz(coordenadas(2, true), coordenadas(2, false));
+		assertEquals(10, consultas.get());
+		assertTrue(matriz.esAproximada(1, 1));
+	}
+
+	@Test
+	void unaConsultaDeTramoDemoradaSeRepiteYGanaLaMasRapida() {
+		resiliencia.getHedge().setDemoraInicial(Duration.ofMillis(100));
+		resiliencia.getHedge().setPresupuesto(1.0);
+		googleMapsClient = crearCliente();
+		respuestasDemoradas.set(1);
+
+		long inicio = System.nanoTime();
+		DistanciaDto distancia = googleMapsClient.calcularDistancia(1f, 0f, 0f, 1f);
+		long milisegundos = (System.nanoTime() - inicio) / 1_000_000;
+
+		assertFalse(distancia.isAproximada());
+		assertEquals(1.001, distancia.getKilometros(), 1e-6);
+		assertTrue(milisegundos < 1000, "La respuesta tardó " + milisegundos + " ms");
+		assertEquals(2, consultas.get());
+		assertEquals(1, meterRegistry.get("google.maps.hedge").tag("resultado", "ganado").counter().count());
+	}
+
+	private List<CoordenadasDto> coordenadas(int cantidad, boolean origen) {
+		List<CoordenadasDto> lista = new ArrayList<>();
+		for (int i = 0; i < cantidad; i++) {
+			lista.add(origen ? new CoordenadasDto((float) i, 0f) : new CoordenadasDto(0f, (float) i));
+		}
+		return lista;
+	}
+
+	private void responderMatriz(HttpExchange exchange) throws IOException {
+		consultas.incrementAndGet();
+		if (proveedorCaido.get()) {
+			exchange.sendResponseHeaders(500, -1);
+			exchange.close();
+			return;
+		}
+		if (respuestasDemoradas.getAndDecrement() > 0) {
+			try {
+				Thread.sleep(1500);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		Map<String, String> parametros = parametros(exchange.getRequestURI().getRawQuery());
+		String[] origenes = parametros.get("origins").split("\\|");
+		String[] destinos = parametros.get("destinations").split("\\|");
+		maxElementosPorConsulta.accumulateAndGet(origenes.length * destinos.length, Math::max);
+
+		StringBuilder json = new StringBuilder("{\"destination_addresses\":[],\"origin_addresses\":[],\"rows\":[");
+		for (int i = 0; i < origenes.length; i++) {
+			int fila = (int) Float.parseFloat(origenes[i].split(",")[0]);
+			json.append(i > 0 ? "," : "").append("{\"elements\":[");
+			for (int j = 0; j < destinos.length; j++) {
+				int columna = (int) Float.parseFloat(destinos[j].split(",")[1]);
+				json.append(j > 0 ? "," : "");
+				if (fila == 0 && columna == 0) {
+					json.append("{\"status\":\"ZERO_RESULTS\"}");
+				} else {
+					json.append("{\"distance\":{\"text\":\"x\",\"value\":").append(fila * 1000 + columna)
+							.append("},\"duration\":{\"text\":\"y\",\"value\":").append(fila * 10 + columna)
+							.append("},\"status\":\"OK\"}");
+				}
+			}
+			json.append("]}");
+		}
+		json.append("],\"status\":\"OK\"}");
+
+		byte[] cuerpo = json.toString().getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(200, cuerpo.length);
+		try (OutputStream salida = exchange.getResponseBody()) {
+			salida.write(cuerpo);
+		}
+	}
+
+	private Map<String, String> parametros(String query) {
+		Map<String, String> parametros = new HashMap<>();
+		for (String par : query.split("&")) {
+			String[] partes = par.split("=", 2);
+			parametros.put(partes[0], URLDecoder.decode(partes[1], StandardCharsets.UTF_8));
+		}
+		return parametros;
+	}
+}
@@ -0,0 +1,42 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica que el cálculo en centavos coincide con el cálculo original en BigDecimal (HALF_UP a 2 decimales).
+ */
+class CalculadoraCostoTramoTest {
+
+	@Test
+	void costoCentavosCoincideConElCalculoExacto() {
+		Random random = new Random(7);
+		for (int caso = 0; caso < 200; caso++) {
+			CalculadoraCostoTramo calculadora = new CalculadoraCostoTramo(
+					monto(random, 100), monto(random, 5_000), monto(random, 2_000), monto(random, 50_000));
+			for (int tramo = 0; tramo < 1_000; tramo++) {
+				float distancia = random.nextFloat() * 3_000f;
+				assertEquals(calculadora.costoExacto(distancia),
+						CalculadoraCostoTramo.aMonto(calculadora.costoCentavos(distancia)));
+			}
+		}
+	}
+
+	@Test
+	void costoCentavosRedondeaLosEmpatesHaciaArriba() {
+		// 0.25 km * 1 $/km = 0.25; 0.125 km * 0.04 L/km * 1 $/L + 0.125 km * 0.16 $/km = 0.025 -> 0.03
+		CalculadoraCostoTramo calculadora = new CalculadoraCostoTramo(
+				new BigDecimal("0.04"), new BigDecimal("0.16"), BigDecimal.ONE, BigDecimal.ZERO);
+
+		assertEquals(new BigDecimal("0.03"), CalculadoraCostoTramo.aMonto(calculadora.costoCentavos(0.125f)));
+		assertEquals(calculadora.costoExacto(0.125f), CalculadoraCostoTramo.aMonto(calculadora.costoCentavos(0.125f)));
+	}
+
+	private BigDecimal monto(Random random, int maximo) {
+		return BigDecimal.valueOf(random.nextInt(maximo * 100), 2);
+	}
+}
@@ -0,0 +1,79 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Comparator;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compara las consultas del KD-tree contra un recorrido completo sobre depósitos
+ * distribuidos al azar en una zona similar a la de Argentina.
+ */
+class IndiceEspacialDepositosTest {
+
+	private static final double FACTOR = 1.5;
+
+	@Test
+	void candidatosEnElipseCoincideConElRecorridoCompleto() {
+		Random random = new Random(42);
+		int cantidad = 3000;
+		float[] latitudes = new float[cantidad];
+		float[] longitudes = new float[cantidad];
+		for (int i = 0; i < cantidad; i++) {
+			latitudes[i] = -55f + random.nextFloat() * 33f;
+			longitudes[i] = -73f + random.nextFloat() * 20f;
+		}
+		IndiceEspacialDepositos indice = new IndiceEspacialDepositos(latitudes, longitudes);
+
+		for (int consulta = 0; consulta < 50; consulta++) {
+			int origen = random.nextInt(cantidad);
+			int destino = random.nextInt(cantidad);
+			if (origen == destino) {
+				continue;
+			}
+
+			int[] esperado = recorridoCompleto(latitudes, longitudes, origen, destino, 20);
+			assertArrayEquals(esperado, indice.candidatosEnElipse(origen, destino, FACTOR, 20));
+		}
+	}
+
+	@Test
+	void candidatosEnElipseExcluyeOrigenDestinoYDepositosLejanos() {
+		// Córdoba, Rosario, Villa María (en el camino) y Ushuaia (fuera de la elipse)
+		float[] latitudes = {-31.42f, -32.95f, -32.41f, -54.80f};
+		float[] longitudes = {-64.18f, -60.65f, -63.24f, -68.30f};
+		IndiceEspacialDepositos indice = new IndiceEspacialDepositos(latitudes, longitudes);
+
+		assertArrayEquals(new int[] {2}, indice.candidatosEnElipse(0, 1, FACTOR, 10));
+		assertEquals(0, indice.candidatosEnElipse(0, 1, FACTOR, 0).length);
+	}
+
+	private int[] recorridoCompleto(float[] latitudes, float[] longitudes, int origen, int destino, int maximo) {
+		double limite = FACTOR * haversine(latitudes[origen], longitudes[origen], latitudes[destino], longitudes[destino]);
+		return IntStream.range(0, latitudes.length)
+				.filter(i -> i != origen && i != destino)
+				.filter(i -> desvio(latitudes, longitudes, origen, destino, i) <= limite)
+				.boxed()
+				.sorted(Comparator.comparingDouble(i -> desvio(latitudes, longitudes, origen, destino, i)))
+				.limit(maximo)
+				.mapToInt(Integer::intValue)
+				.toArray();
+	}
+
+	private double desvio(float[] latitudes, float[] longitudes, int origen, int destino, int i) {
+		return haversine(latitudes[origen], longitudes[origen], latitudes[i], longitudes[i])
+				+ haversine(latitudes[destino], longitudes[destino], latitudes[i], longitudes[i]);
+	}
+
+	private double haversine(double lat1, double lon1, double lat2, double lon2) {
+		double dLat = Math.toRadians(lat2 - lat1);
+		double dLon = Math.toRadians(lon2 - lon1);
+		double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+				+ Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+		return 6371.0 * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+	}
+}
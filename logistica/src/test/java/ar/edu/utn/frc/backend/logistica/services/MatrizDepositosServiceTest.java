@@ -0,0 +1,104 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ar.edu.utn.frc.backend.logistica.dto.helpers.CoordenadasDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.MatrizDistanciasDto;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+import ar.edu.utn.frc.backend.logistica.repositories.DepositoRepository;
+import ar.edu.utn.frc.backend.logistica.restClient.GoogleMapsClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Reintentos de las filas con celdas aproximadas: el proveedor simulado nunca resuelve nada, así que
+ * cada fila recalculada sigue aproximada y solo debe volver a consultarse al vencer su espera.
+ */
+class MatrizDepositosServiceTest {
+
+	private final AtomicLong reloj = new AtomicLong();
+	// Cantidad de orígenes de cada consulta al proveedor
+	private final List<Integer> consultas = new ArrayList<>();
+	private GoogleMapsClient googleMapsClient;
+	private MatrizDepositosService service;
+
+	@BeforeEach
+	void preparar() {
+		DepositoRepository depositoRepository = mock(DepositoRepository.class);
+		when(depositoRepository.findAll()).thenReturn(List.of(deposito(1, 0f), deposito(2, 1f), deposito(3, 2f)));
+
+		googleMapsClient = mock(GoogleMapsClient.class);
+		when(googleMapsClient.proveedorDisponible()).thenReturn(true);
+		when(googleMapsClient.calcularMatriz(anyList(), anyList())).thenAnswer(invocacion -> {
+			List<CoordenadasDto> origenes = invocacion.getArgument(0);
+			List<CoordenadasDto> destinos = invocacion.getArgument(1);
+			consultas.add(origenes.size());
+			MatrizDistanciasDto matriz = new MatrizDistanciasDto(origenes.size(), destinos.size());
+			for (int i = 0; i < origenes.size(); i++) {
+				for (int j = 0; j < destinos.size(); j++) {
+					matriz.setCeldaAproximada(i, j, 1f, 45);
+				}
+			}
+			return matriz;
+		});
+
+		service = new MatrizDepositosService(depositoRepository, googleMapsClient, new SimpleMeterRegistry(),
+				Duration.ofMinutes(5), Duration.ofMinutes(15), 2, reloj::get);
+	}
+
+	@Test
+	void lasFilasAproximadasSeReintentanConEsperaExponencialYTopePorCiclo() {
+		service.refrescar();
+		assertEquals(List.of(3), consultas);
+
+		// Antes de la espera inicial no se reintenta
+		service.refrescar();
+		assertEquals(1, consultas.size());
+
+		// A los 5 minutos se reintentan a lo sumo 2 filas; la tercera queda para el ciclo siguiente
+		avanzar(Duration.ofMinutes(5));
+		service.refrescar();
+		service.refrescar();
+		assertEquals(List.of(3, 2, 1), consultas);
+
+		// Las dos primeras esperan ahora 10 minutos
+		avanzar(Duration.ofMinutes(5));
+		service.refrescar();
+		assertEquals(3, consultas.size());
+		avanzar(Duration.ofMinutes(5));
+		service.refrescar();
+		assertEquals(List.of(3, 2, 1, 2), consultas);
+	}
+
+	@Test
+	void sinProveedorDisponibleNoSeReintenta() {
+		service.refrescar();
+		when(googleMapsClient.proveedorDisponible()).thenReturn(false);
+
+		avanzar(Duration.ofHours(1));
+		service.refrescar();
+		assertEquals(List.of(3), consultas);
+	}
+
+	private void avanzar(Duration duracion) {
+		reloj.addAndGet(duracion.toNanos());
+	}
+
+	private static Deposito deposito(int id, float latitud) {
+		Deposito deposito = new Deposito();
+		deposito.setId(id);
+		deposito.setLatitud(latitud);
+		deposito.setLongitud(0f);
+		return deposito;
+	}
+}
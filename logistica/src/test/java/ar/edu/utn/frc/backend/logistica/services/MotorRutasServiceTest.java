@@ -0,0 +1,97 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica el motor de rutas sobre depósitos alineados cada 100 km (índices 0..3),
+ * con costo de 1 $/km y cargo de gestión de 10 $ por tramo.
+ */
+class MotorRutasServiceTest {
+
+	private static final CalculadoraCostoTramo CON_CARGO = new CalculadoraCostoTramo(
+			BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.TEN);
+	private static final CalculadoraCostoTramo SIN_CARGO = new CalculadoraCostoTramo(
+			BigDecimal.ZERO, BigDecimal.ONE, BigDecimal.ZERO, BigDecimal.ZERO);
+
+	private final MotorRutasService motorRutasService = new MotorRutasService(3, 3);
+
+	@Test
+	void buscarRutasDevuelveLasMasBaratasOrdenadasPorCosto() {
+		List<int[]> rutas = motorRutasService.buscarRutas(depositosEnLinea(4), 0, 3, CON_CARGO, 4, 3);
+
+		assertEquals(4, rutas.size());
+		assertArrayEquals(new int[] {0, 3}, rutas.get(0)); // 310
+		assertEquals(4, rutas.get(3).length); // 0 -> 1 -> 2 -> 3: 330
+		assertArrayEquals(new int[] {0, 1, 2, 3}, rutas.get(3));
+		assertTrue(rutas.subList(1, 3).stream().allMatch(ruta -> ruta.length == 3)); // 320 cada una
+	}
+
+	@Test
+	void buscarRutasRespetaLaCantidadMaximaDeTramos() {
+		List<int[]> rutas = motorRutasService.buscarRutas(depositosEnLinea(4), 0, 3, CON_CARGO, 10, 2);
+
+		assertEquals(3, rutas.size());
+		assertTrue(rutas.stream().allMatch(ruta -> ruta.length <= 3));
+	}
+
+	@Test
+	void buscarRutasNoRepiteDepositos() {
+		List<int[]> rutas = motorRutasService.buscarRutas(depositosEnLinea(6), 0, 5, SIN_CARGO, 50, 5);
+
+		for (int[] ruta : rutas) {
+			assertEquals(ruta.length, Arrays.stream(ruta).distinct().count());
+			assertEquals(0, ruta[0]);
+			assertEquals(5, ruta[ruta.length - 1]);
+		}
+	}
+
+	@Test
+	void buscarRutasSoloPasaPorLosIntermediosIndicados() {
+		List<int[]> rutas = motorRutasService.buscarRutas(depositosEnLinea(4), new int[] {2}, 0, 3, CON_CARGO, 10, 3);
+
+		assertEquals(2, rutas.size());
+		assertArrayEquals(new int[] {0, 3}, rutas.get(0));
+		assertArrayEquals(new int[] {0, 2, 3}, rutas.get(1));
+	}
+
+	@Test
+	void buscarRutasDevuelveIndicesDeLaMatrizAunqueLaBusquedaUseIndicesLocales() {
+		List<int[]> rutas = motorRutasService.buscarRutas(depositosEnLinea(6), new int[] {5, 3, 5}, 3, 1, CON_CARGO, 10, 3);
+
+		assertEquals(2, rutas.size());
+		assertArrayEquals(new int[] {3, 1}, rutas.get(0));
+		assertArrayEquals(new int[] {3, 5, 1}, rutas.get(1));
+	}
+
+	@Test
+	void buscarRutasSinDepositosEnLaMatrizNoDevuelveRutas() {
+		List<int[]> rutas = motorRutasService.buscarRutas(MatrizDepositos.VACIA, new int[0], -1, -1, CON_CARGO);
+
+		assertTrue(rutas.isEmpty());
+	}
+
+	private MatrizDepositos depositosEnLinea(int cantidad) {
+		int[] ids = new int[cantidad];
+		float[] latitudes = new float[cantidad];
+		float[] longitudes = new float[cantidad];
+		float[][] kilometros = new float[cantidad][cantidad];
+		long[][] duraciones = new long[cantidad][cantidad];
+		for (int i = 0; i < cantidad; i++) {
+			ids[i] = i + 1;
+			latitudes[i] = i;
+			for (int j = 0; j < cantidad; j++) {
+				kilometros[i][j] = Math.abs(i - j) * 100f;
+				duraciones[i][j] = Math.abs(i - j) * 3600L;
+			}
+		}
+		return new MatrizDepositos(ids, latitudes, longitudes, kilometros, duraciones, new boolean[cantidad][cantidad], null);
+	}
+}
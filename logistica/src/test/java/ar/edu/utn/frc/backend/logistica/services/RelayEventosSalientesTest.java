@@ -0,0 +1,218 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ar.edu.utn.frc.backend.logistica.dto.helpers.ResultadoTransicionDto;
+import ar.edu.utn.frc.backend.logistica.dto.helpers.TransicionSolicitudDto;
+import ar.edu.utn.frc.backend.logistica.entities.EstadoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.EventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.TipoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.repositories.EventoSalienteRepository;
+import ar.edu.utn.frc.backend.logistica.restClient.RecursosClient;
+import ar.edu.utn.frc.backend.logistica.restClient.SolicitudesClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Entrega de un lote del outbox con los clientes simulados: resultado de cada evento, reintentos con
+ * espera exponencial (2 s y luego 4 s acotados a 3 s, hasta 3 intentos), rechazos definitivos y compensación de un
+ * CAMION_OCUPADO que no llegó a Recursos.
+ */
+class RelayEventosSalientesTest {
+
+	private EventoSalienteRepository repository;
+	private SolicitudesClient solicitudesClient;
+	private RecursosClient recursosClient;
+	private TramoService tramoService;
+	private RelayEventosSalientes relay;
+
+	@BeforeEach
+	void preparar() {
+		repository = mock(EventoSalienteRepository.class);
+		solicitudesClient = mock(SolicitudesClient.class);
+		recursosClient = mock(RecursosClient.class);
+		tramoService = mock(TramoService.class);
+		relay = new RelayEventosSalientes(repository, solicitudesClient, recursosClient, tramoService,
+				new ObjectMapper(), mock(PlatformTransactionManager.class), new SimpleMeterRegistry(),
+				50, 3, Duration.ofSeconds(2), Duration.ofSeconds(3), Duration.ofMinutes(1), Duration.ofDays(7));
+	}
+
+	@Test
+	void losResultadosDelLoteDeTransicionesSeAsignanASusEventosEnOrden() {
+		EventoSaliente aplicada = evento(1, TipoEventoSaliente.SOLICITUD_EN_TRANSITO, "{\"solicitudId\":1}");
+		EventoSaliente sinCambios = evento(2, TipoEventoSaliente.CONTENEDOR_EN_DEPOSITO,
+				"{\"solicitudId\":2,\"deposito\":\"Rosario\"}");
+		EventoSaliente rechazada = evento(3, TipoEventoSaliente.SOLICITUD_EN_TRANSITO, "{\"solicitudId\":3}");
+		when(solicitudesClient.aplicarTransiciones(any())).thenReturn(List.of(
+				resultado(ResultadoTransicionDto.Resultado.APLICADA),
+				resultado(ResultadoTransicionDto.Resultado.SIN_CAMBIOS),
+				resultado(ResultadoTransicionDto.Resultado.RECHAZADA)));
+
+		despachar(aplicada, sinCambios, rechazada);
+
+		assertEquals(EstadoEventoSaliente.ENVIADO, aplicada.getEstado());
+		assertEquals(EstadoEventoSaliente.ENVIADO, sinCambios.getEstado());
+		assertEquals(EstadoEventoSaliente.FALLIDO, rechazada.getEstado());
+		assertTrue(rechazada.getUltimoError().startsWith("Transición rechazada"));
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<TransicionSolicitudDto>> transiciones = ArgumentCaptor.forClass(List.class);
+		verify(solicitudesClient).aplicarTransiciones(transiciones.capture());
+		assertEquals(List.of("clave-1", "clave-2", "clave-3"),
+				transiciones.getValue().stream().map(TransicionSolicitudDto::getClaveIdempotencia).toList());
+		assertEquals("Rosario", transiciones.getValue().get(1).getDeposito());
+	}
+
+	@Test
+	void unaRespuestaIncompletaReintentaTodoElLote() {
+		EventoSaliente primero = evento(1, TipoEventoSaliente.SOLICITUD_EN_TRANSITO, "{\"solicitudId\":1}");
+		EventoSaliente segundo = evento(2, TipoEventoSaliente.SOLICITUD_EN_TRANSITO, "{\"solicitudId\":2}");
+		when(solicitudesClient.aplicarTransiciones(any()))
+				.thenReturn(List.of(resultado(ResultadoTransicionDto.Resultado.APLICADA)));
+
+		despachar(primero, segundo);
+
+		assertEquals(EstadoEventoSaliente.PENDIENTE, primero.getEstado());
+		assertEquals(EstadoEventoSaliente.PENDIENTE, segundo.getEstado());
+	}
+
+	@Test
+	void losErroresTransitoriosSeReintentanConEsperaExponencialHastaAgotarLosIntentos() {
+		EventoSaliente evento = evento(1, TipoEventoSaliente.CAMION_LIBRE, "{\"camionId\":3,\"tramoId\":7,\"reserva\":\"r\"}");
+		when(recursosClient.setCamionLibre(3, "clave-1", "r"))
+				.thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Unavailable",
+						HttpHeaders.EMPTY, new byte[0], StandardCharsets.UTF_8));
+
+		LocalDateTime antes = LocalDateTime.now();
+		despachar(evento);
+		assertEquals(EstadoEventoSaliente.PENDIENTE, evento.getEstado());
+		assertEquals(1, evento.getIntentos());
+		assertEsperaDe(Duration.ofSeconds(2), antes, evento);
+
+		antes = LocalDateTime.now();
+		despachar(evento);
+		// 4 s acotados por la espera máxima
+		assertEsperaDe(Duration.ofSeconds(3), antes, evento);
+
+		despachar(evento);
+		assertEquals(EstadoEventoSaliente.FALLIDO, evento.getEstado());
+		assertEquals(3, evento.getIntentos());
+	}
+
+	@Test
+	void los4xxSonDefinitivosSalvo408Y429() {
+		EventoSaliente noEncontrado = evento(1, TipoEventoSaliente.CAMION_LIBRE, "{\"camionId\":1,\"tramoId\":7}");
+		EventoSaliente timeout = evento(2, TipoEventoSaliente.CAMION_LIBRE, "{\"camionId\":2,\"tramoId\":8}");
+		EventoSaliente limitado = evento(3, TipoEventoSaliente.CAMION_LIBRE, "{\"camionId\":3,\"tramoId\":9}");
+		EventoSaliente sinRed = evento(4, TipoEventoSaliente.CAMION_LIBRE, "{\"camionId\":4,\"tramoId\":10}");
+		when(recursosClient.setCamionLibre(1, "clave-1", null)).thenThrow(error(HttpStatus.NOT_FOUND));
+		when(recursosClient.setCamionLibre(2, "clave-2", null)).thenThrow(error(HttpStatus.REQUEST_TIMEOUT));
+		when(recursosClient.setCamionLibre(3, "clave-3", null)).thenThrow(error(HttpStatus.TOO_MANY_REQUESTS));
+		when(recursosClient.setCamionLibre(4, "clave-4", null)).thenThrow(new ResourceAccessException("Connection refused"));
+
+		despachar(noEncontrado, timeout, limitado, sinRed);
+
+		assertEquals(EstadoEventoSaliente.FALLIDO, noEncontrado.getEstado());
+		assertEquals(EstadoEventoSaliente.PENDIENTE, timeout.getEstado());
+		assertEquals(EstadoEventoSaliente.PENDIENTE, limitado.getEstado());
+		assertEquals(EstadoEventoSaliente.PENDIENTE, sinRed.getEstado());
+	}
+
+	@Test
+	void laOcupacionSeConfirmaConLaClaveDeLaReserva() {
+		EventoSaliente ocupado = evento(1, TipoEventoSaliente.CAMION_OCUPADO,
+				"{\"camionId\":3,\"tramoId\":7,\"reserva\":\"tramo-7-CAMION_OCUPADO-a1\"}");
+
+		despachar(ocupado);
+
+		verify(recursosClient).setCamionOcupado(3, "tramo-7-CAMION_OCUPADO-a1");
+		assertEquals(EstadoEventoSaliente.ENVIADO, ocupado.getEstado());
+	}
+
+	@Test
+	void unaOcupacionRechazadaDeshaceLaAsignacionYLiberaLaClave() {
+		EventoSaliente ocupado = evento(5, TipoEventoSaliente.CAMION_OCUPADO,
+				"{\"camionId\":3,\"tramoId\":7,\"reserva\":\"r\"}");
+		when(recursosClient.setCamionOcupado(3, "r")).thenThrow(error(HttpStatus.CONFLICT));
+		when(tramoService.desasignarPorReservaPerdida(7, 3)).thenReturn(true);
+
+		despachar(ocupado);
+
+		assertEquals(EstadoEventoSaliente.DESCARTADO, ocupado.getEstado());
+		assertEquals("clave-5#5", ocupado.getClaveIdempotencia());
+	}
+
+	@Test
+	void siElTramoYaAvanzoLaOcupacionRechazadaQuedaFallida() {
+		EventoSaliente ocupado = evento(5, TipoEventoSaliente.CAMION_OCUPADO,
+				"{\"camionId\":3,\"tramoId\":7,\"reserva\":\"r\"}");
+		when(recursosClient.setCamionOcupado(3, "r")).thenThrow(error(HttpStatus.CONFLICT));
+		when(tramoService.desasignarPorReservaPerdida(7, 3)).thenReturn(false);
+
+		despachar(ocupado);
+
+		assertEquals(EstadoEventoSaliente.FALLIDO, ocupado.getEstado());
+		assertEquals("clave-5", ocupado.getClaveIdempotencia());
+		assertNotNull(ocupado.getUltimoError());
+		assertFalse(ocupado.getUltimoError().isBlank());
+	}
+
+	// Un ciclo del relay con un único lote
+	private void despachar(EventoSaliente... lote) {
+		when(repository.findLoteParaEnviar(any(), anyInt())).thenReturn(List.of(lote), List.of());
+		relay.despachar();
+	}
+
+	private void assertEsperaDe(Duration espera, LocalDateTime antes, EventoSaliente evento) {
+		LocalDateTime proximo = evento.getProximoIntento();
+		assertFalse(proximo.isBefore(antes.plus(espera)));
+		assertFalse(proximo.isAfter(LocalDateTime.now().plus(espera)));
+	}
+
+	private static EventoSaliente evento(long id, TipoEventoSaliente tipo, String datos) {
+		return EventoSaliente.builder()
+				.id(id)
+				.claveIdempotencia("clave-" + id)
+				.tipo(tipo)
+				.agregado("agregado-" + id)
+				.datos(datos)
+				.estado(EstadoEventoSaliente.PENDIENTE)
+				.intentos(0)
+				.proximoIntento(LocalDateTime.now())
+				.fechaCreacion(LocalDateTime.now())
+				.build();
+	}
+
+	private static ResultadoTransicionDto resultado(ResultadoTransicionDto.Resultado resultado) {
+		return ResultadoTransicionDto.builder().resultado(resultado).mensaje(resultado.name()).build();
+	}
+
+	private static HttpClientErrorException error(HttpStatus status) {
+		return HttpClientErrorException.create(status, status.getReasonPhrase(), HttpHeaders.EMPTY, new byte[0],
+				StandardCharsets.UTF_8);
+	}
+}
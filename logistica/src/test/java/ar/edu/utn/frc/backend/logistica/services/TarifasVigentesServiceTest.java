@@ -0,0 +1,83 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClientException;
+
+import ar.edu.utn.frc.backend.logistica.dto.CargoGestionDto;
+import ar.edu.utn.frc.backend.logistica.dto.PrecioCombustibleDto;
+import ar.edu.utn.frc.backend.logistica.restClient.LlamadasAsincronas;
+import ar.edu.utn.frc.backend.logistica.restClient.RecursosClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TarifasVigentesServiceTest {
+
+	private static final LocalDateTime DESDE = LocalDateTime.of(2025, 11, 1, 8, 0);
+
+	private RecursosClient recursosClient;
+	private TarifasVigentesService service;
+
+	@BeforeEach
+	void preparar() {
+		recursosClient = mock(RecursosClient.class);
+		when(recursosClient.getCostoCombustiblePorLitro())
+				.thenReturn(new PrecioCombustibleDto(1, new BigDecimal("1450.00"), DESDE));
+		when(recursosClient.getCargoPorGestion())
+				.thenReturn(new CargoGestionDto(1, new BigDecimal("5000.00"), DESDE));
+		service = new TarifasVigentesService(recursosClient, new LlamadasAsincronas(Runnable::run),
+				new SimpleMeterRegistry());
+	}
+
+	@Test
+	void lecturasSucesivasUsanLaMismaFoto() {
+		TarifasVigentes primera = service.obtener();
+		TarifasVigentes segunda = service.obtener();
+
+		assertSame(primera, segunda);
+		assertEquals(new BigDecimal("1450.00"), primera.getPrecioCombustiblePorLitro());
+		assertEquals(DESDE, primera.getGestionVigenteDesde());
+		verify(recursosClient, times(1)).getCostoCombustiblePorLitro();
+		verify(recursosClient, times(1)).getCargoPorGestion();
+	}
+
+	@Test
+	void invalidacionConTarifaMasNuevaRecargaYConTarifaYaConocidaNo() {
+		service.obtener();
+
+		assertFalse(service.invalidar(TarifasVigentesService.TARIFA_COMBUSTIBLE, DESDE));
+		service.obtener();
+		verify(recursosClient, times(1)).getCostoCombustiblePorLitro();
+
+		LocalDateTime nuevaVigencia = DESDE.plusDays(1);
+		when(recursosClient.getCostoCombustiblePorLitro())
+				.thenReturn(new PrecioCombustibleDto(2, new BigDecimal("1500.00"), nuevaVigencia));
+		assertTrue(service.invalidar(TarifasVigentesService.TARIFA_COMBUSTIBLE, nuevaVigencia));
+
+		TarifasVigentes recargada = service.obtener();
+		assertEquals(new BigDecimal("1500.00"), recargada.getPrecioCombustiblePorLitro());
+		assertEquals(nuevaVigencia, recargada.getCombustibleVigenteDesde());
+		verify(recursosClient, times(2)).getCostoCombustiblePorLitro();
+	}
+
+	@Test
+	void refrescoFallidoMantieneLaFotoAnterior() {
+		TarifasVigentes anterior = service.obtener();
+		when(recursosClient.getCostoCombustiblePorLitro()).thenThrow(new RestClientException("Recursos caído"));
+
+		service.refrescar();
+
+		assertSame(anterior, service.obtener());
+	}
+}
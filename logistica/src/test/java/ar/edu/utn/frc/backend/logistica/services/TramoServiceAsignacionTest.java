@@ -0,0 +1,146 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.client.HttpClientErrorException;
+
+import ar.edu.utn.frc.backend.logistica.dto.ReservaCamionDto;
+import ar.edu.utn.frc.backend.logistica.entities.Camion;
+import ar.edu.utn.frc.backend.logistica.entities.Estado;
+import ar.edu.utn.frc.backend.logistica.entities.TipoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.Tramo;
+import ar.edu.utn.frc.backend.logistica.exceptions.DataConflictException;
+import ar.edu.utn.frc.backend.logistica.repositories.CamionRepository;
+import ar.edu.utn.frc.backend.logistica.repositories.TramoRepository;
+import ar.edu.utn.frc.backend.logistica.restClient.RecursosClient;
+
+/**
+ * Dos despachantes asignan el mismo camión al mismo tramo a la vez. Recursos se simula con sus reglas de
+ * reserva: repetir la reserva con la misma clave es un reintento exitoso y otra clave recibe 409. El segundo
+ * pedido corre mientras la transacción del primero sigue abierta (todavía no ve el camión asignado).
+ */
+@ExtendWith(MockitoExtension.class)
+class TramoServiceAsignacionTest {
+
+	private static final int ID_TRAMO = 7;
+	private static final int ID_CAMION = 3;
+
+	@Mock
+	private TramoRepository tramoRepository;
+
+	@Mock
+	private CamionRepository camionRepository;
+
+	@Mock
+	private CatalogoEstados catalogoEstados;
+
+	@Mock
+	private EventosSalientesService eventosSalientesService;
+
+	@Mock
+	private RecursosClient recursosClient;
+
+	@Mock
+	private PlatformTransactionManager transactionManager;
+
+	@InjectMocks
+	private TramoService tramoService;
+
+	// Clave con la que Recursos tiene tomado el camión (null: libre)
+	private String ocupadoCon;
+	private final List<String> reservasConfirmadas = new ArrayList<>();
+
+	@BeforeEach
+	void preparar() {
+		Estado asignado = new Estado();
+		asignado.setNombre("Asignado");
+		Camion camion = new Camion();
+		camion.setId(ID_CAMION);
+		Tramo tramo = new Tramo();
+		tramo.setId(ID_TRAMO);
+
+		when(tramoRepository.findById(ID_TRAMO)).thenReturn(Optional.of(tramo));
+		when(camionRepository.findById(ID_CAMION)).thenReturn(Optional.of(camion));
+		when(catalogoEstados.buscarPorNombre("Asignado")).thenReturn(Optional.of(asignado));
+
+		when(recursosClient.reservarCamion(eq(ID_CAMION), anyString())).thenAnswer(invocacion -> {
+			String clave = invocacion.getArgument(1);
+			if (ocupadoCon != null && !ocupadoCon.equals(clave)) {
+				throw HttpClientErrorException.create(HttpStatus.CONFLICT, "Conflict", HttpHeaders.EMPTY,
+						new byte[0], StandardCharsets.UTF_8);
+			}
+			ocupadoCon = clave;
+			return new ReservaCamionDto(ID_CAMION, clave, LocalDateTime.now().plusMinutes(30));
+		});
+	}
+
+	@Test
+	void elPedidoQuePierdeNoLiberaLaReservaDelQueGano() {
+		// Solo el primer UPDATE condicional asigna el tramo
+		when(tramoRepository.asignarCamionSiNoTiene(eq(ID_TRAMO), any(), any(), anyString())).thenReturn(1, 0);
+		// El segundo despachante asigna mientras la transacción del primero está abierta
+		doAnswer(invocacion -> {
+			reservasConfirmadas.add(invocacion.getArgument(4));
+			assertThrows(DataConflictException.class, () -> tramoService.asignarCamion(ID_TRAMO, ID_CAMION));
+			return null;
+		}).when(eventosSalientesService).registrarParaCamion(eq(TipoEventoSaliente.CAMION_OCUPADO), eq(ID_CAMION),
+				eq(ID_TRAMO), eq("tramo-7-CAMION_OCUPADO"), anyString());
+
+		assertTrue(tramoService.asignarCamion(ID_TRAMO, ID_CAMION).isPresent());
+
+		// El camión sigue tomado por el ganador, con la clave que confirmará el outbox
+		assertEquals(List.of(ocupadoCon), reservasConfirmadas);
+		assertTrue(ocupadoCon.startsWith("tramo-7-CAMION_OCUPADO-"));
+		verify(recursosClient, never()).setCamionLibre(any(), any(), any());
+	}
+
+	@Test
+	void cadaIntentoReservaConSuPropiaClaveYLiberaSoloLaSuya() {
+		when(tramoRepository.asignarCamionSiNoTiene(eq(ID_TRAMO), any(), any(), anyString())).thenReturn(0);
+		List<String> liberadas = new ArrayList<>();
+		when(recursosClient.setCamionLibre(eq(ID_CAMION), anyString(), anyString())).thenAnswer(invocacion -> {
+			liberadas.add(invocacion.getArgument(2));
+			ocupadoCon = null;
+			return null;
+		});
+
+		assertThrows(DataConflictException.class, () -> tramoService.asignarCamion(ID_TRAMO, ID_CAMION));
+		assertThrows(DataConflictException.class, () -> tramoService.asignarCamion(ID_TRAMO, ID_CAMION));
+
+		assertEquals(2, liberadas.size());
+		assertNotEquals(liberadas.get(0), liberadas.get(1));
+	}
+
+	@Test
+	void sinReservaNoSeIntentaLiberar() {
+		ocupadoCon = "tramo-9-CAMION_OCUPADO-otro";
+
+		assertThrows(DataConflictException.class, () -> tramoService.asignarCamion(ID_TRAMO, ID_CAMION));
+		assertEquals("tramo-9-CAMION_OCUPADO-otro", ocupadoCon);
+	}
+}
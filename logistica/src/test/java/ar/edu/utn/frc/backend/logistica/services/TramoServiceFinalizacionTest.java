@@ -0,0 +1,133 @@
+package ar.edu.utn.frc.backend.logistica.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.client.ResourceAccessException;
+
+import ar.edu.utn.frc.backend.logistica.entities.Camion;
+import ar.edu.utn.frc.backend.logistica.entities.Deposito;
+import ar.edu.utn.frc.backend.logistica.entities.Estado;
+import ar.edu.utn.frc.backend.logistica.entities.Ruta;
+import ar.edu.utn.frc.backend.logistica.entities.SolicitudTransporte;
+import ar.edu.utn.frc.backend.logistica.entities.TipoEventoSaliente;
+import ar.edu.utn.frc.backend.logistica.entities.TipoTramo;
+import ar.edu.utn.frc.backend.logistica.entities.Tramo;
+import ar.edu.utn.frc.backend.logistica.exceptions.RecursoNoDisponibleException;
+import ar.edu.utn.frc.backend.logistica.repositories.TramoRepository;
+
+/**
+ * Finalización de un tramo directo (origen-destino) de 100 km: o se guarda todo (costo real, liberación
+ * del camión y entrega de la solicitud) o no se guarda nada y el transportista puede reintentar.
+ */
+@ExtendWith(MockitoExtension.class)
+class TramoServiceFinalizacionTest {
+
+	private static final int ID_TRAMO = 4;
+
+	@Mock
+	private TramoRepository tramoRepository;
+
+	@Mock
+	private CatalogoEstados catalogoEstados;
+
+	@Mock
+	private TarifasVigentesService tarifasVigentesService;
+
+	@Mock
+	private EventosSalientesService eventosSalientesService;
+
+	@InjectMocks
+	private TramoService tramoService;
+
+	private Tramo tramo;
+
+	@BeforeEach
+	void preparar() {
+		Estado iniciado = new Estado();
+		iniciado.setNombre("Iniciado");
+		Estado finalizado = new Estado();
+		finalizado.setNombre("Finalizado");
+
+		SolicitudTransporte solicitud = new SolicitudTransporte();
+		solicitud.setId(20);
+		Ruta ruta = new Ruta();
+		ruta.setId(30);
+		ruta.setCantidadTramos(1);
+		ruta.setSolicitud(solicitud);
+		Deposito origen = new Deposito();
+		origen.setNombre("Rosario");
+		origen.setPrecioPorDia(new BigDecimal("1000"));
+		Deposito destino = new Deposito();
+		destino.setNombre("Córdoba");
+		Camion camion = new Camion();
+		camion.setId(3);
+		camion.setCostoPorKm(new BigDecimal("2"));
+		camion.setConsumoCombustiblePromedio(new BigDecimal("0.5"));
+
+		tramo = new Tramo();
+		tramo.setId(ID_TRAMO);
+		tramo.setNroOrden(1);
+		tramo.setDistanciaKm(100f);
+		tramo.setTipoTramo(TipoTramo.ORIGEN_DESTINO);
+		tramo.setEstado(iniciado);
+		tramo.setFechaHoraInicio(LocalDateTime.now().minusHours(2));
+		tramo.setRuta(ruta);
+		tramo.setOrigen(origen);
+		tramo.setDestino(destino);
+		tramo.setCamion(camion);
+		tramo.setReservaCamion("tramo-4-CAMION_OCUPADO-a1");
+
+		when(tramoRepository.findById(ID_TRAMO)).thenReturn(Optional.of(tramo));
+		when(catalogoEstados.buscarPorNombre("Finalizado")).thenReturn(Optional.of(finalizado));
+	}
+
+	@Test
+	void sinTarifasNoSeFinalizaNiSeRegistranEventos() {
+		when(tarifasVigentesService.obtener()).thenThrow(new ResourceAccessException("Recursos no responde"));
+
+		assertThrows(RecursoNoDisponibleException.class, () -> tramoService.finalizarTramo(ID_TRAMO));
+
+		assertEquals("Iniciado", tramo.getEstado().getNombre());
+		verify(tramoRepository, never()).save(any());
+		verifyNoInteractions(eventosSalientesService);
+	}
+
+	@Test
+	void finalizaConCostoRealYRegistraLiberacionYEntrega() {
+		when(tarifasVigentesService.obtener()).thenReturn(new TarifasVigentes(new BigDecimal("10"), null,
+				new BigDecimal("50"), null, Instant.now()));
+		when(tramoRepository.save(tramo)).thenReturn(tramo);
+		when(tramoRepository.findByIdRuta(30)).thenReturn(List.of(tramo));
+
+		tramoService.finalizarTramo(ID_TRAMO);
+
+		// 100 km * 2 + 100 km * 0,5 l * 10 + 50 de gestión (sin estadía: no hay tramo anterior)
+		assertEquals(new BigDecimal("750.00"), tramo.getCostoReal());
+		assertEquals("Finalizado", tramo.getEstado().getNombre());
+		verify(eventosSalientesService).registrarParaCamion(TipoEventoSaliente.CAMION_LIBRE, 3, ID_TRAMO,
+				"tramo-4-CAMION_LIBRE", "tramo-4-CAMION_OCUPADO-a1");
+		verify(eventosSalientesService).registrarParaSolicitud(eq(TipoEventoSaliente.SOLICITUD_ENTREGADA), eq(20),
+				eq("tramo-4-SOLICITUD_ENTREGADA"), eq(Map.of("solicitudId", 20, "costo", new BigDecimal("750.00"),
+						"tiempo", tramo.getTiempoReal())));
+	}
+}
@@ -2,8 +2,10 @@ package ar.edu.utn.frc.backend.recursos;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class RecursosApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,109 @@
+package ar.edu.utn.frc.backend.recursos.config;
+
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.server.resource.web.BearerTokenResolver;
+import org.springframework.security.oauth2.server.resource.web.DefaultBearerTokenResolver;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.proc.JWSVerificationKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jose.util.Base64URL;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Validación de los JWT de Keycloak con claves precargadas (ClavesJwks) y cache de tokens ya validados.
+ * Si 'app.seguridad.claims-firmados.habilitado' está activo, también se acepta la cabecera que agrega el
+ * gateway con los claims del token ya validado, firmada con HS256 y el secreto compartido: verificarla
+ * es un HMAC en lugar de una firma RSA.
+ * Igual en logistica, recursos y solicitudes (cambia solo el paquete), junto con ClavesJwks y CacheJwtValidados;
+ * el gateway tiene su propia variante reactiva. Cada servicio se construye por separado, así que un cambio
+ * debe aplicarse a las tres copias.
+ */
+@Configuration
+public class JwtConfig {
+
+    @Value("${spring.security.oauth2.resourceserver.jwt.issuer-uri}")
+    private String issuer;
+
+    @Value("${app.seguridad.jwt.cache-maximo-entradas:10000}")
+    private int maximoEntradas;
+
+    @Value("${app.seguridad.claims-firmados.habilitado:false}")
+    private boolean claimsFirmadosHabilitado;
+
+    @Value("${app.seguridad.claims-firmados.cabecera:X-Claims-Validados}")
+    private String cabeceraClaimsFirmados;
+
+    @Value("${app.seguridad.claims-firmados.secreto:}")
+    private String secretoClaimsFirmados;
+
+    @Bean
+    public JwtDecoder jwtDecoder(ClavesJwks clavesJwks, MeterRegistry meterRegistry) {
+        DefaultJWTProcessor<SecurityContext> procesador = new DefaultJWTProcessor<>();
+        procesador.setJWSKeySelector(new JWSVerificationKeySelector<>(JWSAlgorithm.RS256, clavesJwks));
+        // Emisor y vigencia los controlan los validadores de Spring
+        procesador.setJWTClaimsSetVerifier((claims, contexto) -> {
+        });
+        NimbusJwtDecoder keycloak = new NimbusJwtDecoder(procesador);
+        keycloak.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+
+        NimbusJwtDecoder gateway = claimsFirmadosHabilitado ? decodificadorClaimsFirmados() : null;
+        CacheJwtValidados cache = new CacheJwtValidados(maximoEntradas, meterRegistry);
+
+        return token -> cache.obtener(token,
+                t -> gateway != null && esHmac(t) ? gateway.decode(t) : keycloak.decode(t));
+    }
+
+    @Bean
+    public BearerTokenResolver bearerTokenResolver() {
+        DefaultBearerTokenResolver porDefecto = new DefaultBearerTokenResolver();
+        if (!claimsFirmadosHabilitado) {
+            return porDefecto;
+        }
+        return request -> {
+            String claimsFirmados = request.getHeader(cabeceraClaimsFirmados);
+            return claimsFirmados != null && !claimsFirmados.isBlank() ? claimsFirmados : porDefecto.resolve(request);
+        };
+    }
+
+    private NimbusJwtDecoder decodificadorClaimsFirmados() {
+        byte[] secreto = secretoClaimsFirmados.getBytes(StandardCharsets.UTF_8);
+        if (secreto.length < 32) {
+            throw new IllegalStateException(
+                    "app.seguridad.claims-firmados.secreto debe tener al menos 32 bytes para HS256");
+        }
+        NimbusJwtDecoder decoder = NimbusJwtDecoder.withSecretKey(new SecretKeySpec(secreto, "HmacSHA256"))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        decoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(issuer));
+        return decoder;
+    }
+
+    // Solo mira la cabecera del JWT: los tokens de Keycloak son RS256, la cabecera del gateway HS256
+    private static boolean esHmac(String token) {
+        int punto = token.indexOf('.');
+        if (punto <= 0) {
+            throw new BadJwtException("El token no tiene formato JWT");
+        }
+        try {
+            return JWSAlgorithm.HS256.equals(JWSHeader.parse(new Base64URL(token.substring(0, punto))).getAlgorithm());
+        } catch (ParseException e) {
+            throw new BadJwtException("Cabecera de JWT inválida", e);
+        }
+    }
+}
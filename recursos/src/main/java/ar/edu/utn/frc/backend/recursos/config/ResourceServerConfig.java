@@ -37,6 +37,7 @@ public class ResourceServerConfig {
                 .requestMatchers(HttpMethod.GET, "/api/tarifas/**").permitAll()
                 .requestMatchers(HttpMethod.PUT, "/api/camiones/{id}/libre").permitAll()
                 .requestMatchers(HttpMethod.PUT, "/api/camiones/{id}/ocupado").permitAll()
+                .requestMatchers(HttpMethod.PUT, "/api/camiones/{id}/reserva").permitAll()
                 
                 // === PERMISOS LOGISTICA (Se asume que Logística llama con token de ADMIN) ===
                 .requestMatchers(HttpMethod.GET, "/api/camiones/**").hasRole("ADMIN")
@@ -0,0 +1,25 @@
+package ar.edu.utn.frc.backend.recursos.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+@Configuration
+public class RestClientConfig {
+
+  // Cliente para avisos a Logística: timeouts cortos, un aviso perdido lo cubre el refresco programado de Logística
+  @Bean(name = "logisticaRestClient")
+  RestClient logisticaClient(
+      @Value("${app.logistica.base-url}") String baseUrl,
+      @Value("${app.logistica.timeout:2s}") Duration timeout
+  ) {
+    SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(timeout);
+    requestFactory.setReadTimeout(timeout);
+    return RestClient.builder().baseUrl(baseUrl).requestFactory(requestFactory).build();
+  }
+}
@@ -1,5 +1,7 @@
 package ar.edu.utn.frc.backend.recursos.controllers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
@@ -8,6 +10,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import static org.springframework.http.ResponseEntity.status;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,11 +20,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ar.edu.utn.frc.backend.recursos.dto.CamionDto;
+import ar.edu.utn.frc.backend.recursos.dto.PaginaDto;
+import ar.edu.utn.frc.backend.recursos.dto.ReservaCamionDto;
+import ar.edu.utn.frc.backend.recursos.dto.ResumenCamionesDisponiblesDto;
 import ar.edu.utn.frc.backend.recursos.services.CamionService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -39,9 +49,12 @@ import jakarta.validation.Valid;
 @SecurityRequirement(name = "bearerAuth")
 public class CamionController {
     private static final Logger logger = LoggerFactory.getLogger(CamionController.class);
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     @Autowired
     private CamionService camionService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(
         summary = "Obtener camiones disponibles",
@@ -74,6 +87,39 @@ public class CamionController {
         return ResponseEntity.ok().body(camiones);
     }
 
+    @Operation(
+        summary = "Resumen de camiones disponibles",
+        description = """
+            Retorna la cantidad de camiones disponibles que cumplen con la capacidad mínima requerida
+            y las sumas de su costo por km y consumo de combustible promedio, sin listar los camiones.
+            Utilizado por el servicio de Logística para calcular los promedios de las rutas tentativas.
+            
+            **Roles permitidos:** ADMIN
+            """,
+        security = {}
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Resumen de camiones disponibles obtenido exitosamente",
+            content = @Content(schema = @Schema(implementation = ResumenCamionesDisponiblesDto.class))
+        ),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping("/libres/resumen")
+    public ResponseEntity<ResumenCamionesDisponiblesDto> obtenerResumenCamionesDisponibles(
+        @Parameter(description = "Volumen mínimo requerido en m³", example = "50.0") 
+        @RequestParam(name = "volumen", required = false, defaultValue = "0") BigDecimal volumen,
+        
+        @Parameter(description = "Peso mínimo requerido en kg", example = "10000.0") 
+        @RequestParam(name = "peso", required = false, defaultValue = "0") BigDecimal peso
+    ) {
+        logger.info("INICIO - GET /api/camiones/libres/resumen. Filtros: Volumen={}, Peso={}", volumen, peso);
+        ResumenCamionesDisponiblesDto resumen = camionService.resumirCamionesDisponibles(volumen, peso);
+        logger.info("FIN - GET /api/camiones/libres/resumen. {} camiones disponibles.", resumen.getCantidad());
+        return ResponseEntity.ok().body(resumen);
+    }
+
     @Operation(
         summary = "Obtener todos los camiones",
         description = """
@@ -102,6 +148,84 @@ public class CamionController {
         return ResponseEntity.ok().body(camiones);
     }
 
+    @Operation(
+        summary = "Obtener camiones paginados",
+        description = """
+            Retorna una página de camiones ordenados por ID.
+            La paginación es por cursor: la respuesta trae 'siguienteCursor', que se envía en el parámetro
+            'cursor' para pedir la página siguiente (es null en la última página).
+            
+            **Roles permitidos:** ADMIN
+            """,
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Página de camiones obtenida exitosamente",
+            content = @Content(schema = @Schema(implementation = PaginaDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Cursor o límite inválido"),
+        @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
+        @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping("/pagina")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PaginaDto<CamionDto>> obtenerPaginaDeCamiones(
+        @Parameter(description = "Cursor devuelto por la página anterior (vacío: primera página)") 
+        @RequestParam(required = false) String cursor,
+        
+        @Parameter(description = "Cantidad de camiones por página (1 a 500, por defecto 50)", example = "50") 
+        @RequestParam(required = false) Integer limite
+    ) {
+        logger.info("INICIO - GET /api/camiones/pagina. Obteniendo página de camiones.");
+        PaginaDto<CamionDto> pagina = camionService.buscarPaginaDeCamiones(cursor, limite);
+        logger.info("FIN - GET /api/camiones/pagina. {} camiones devueltos.", pagina.getItems().size());
+        return ResponseEntity.ok().body(pagina);
+    }
+
+    @Operation(
+        summary = "Exportar camiones en streaming",
+        description = """
+            Envía todos los camiones en formato NDJSON, una línea por camión, a medida que se leen
+            de la base de datos. Pensado para exportaciones e integraciones que necesitan la flota completa.
+            
+            **Roles permitidos:** ADMIN
+            """,
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Camiones en formato NDJSON",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = CamionDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
+        @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportarCamiones() {
+        logger.info("INICIO - GET /api/camiones/stream. Exportando camiones.");
+
+        StreamingResponseBody cuerpo = salida -> {
+            long enviados = camionService.recorrerTodosLosCamiones(camion -> {
+                try {
+                    salida.write(objectMapper.writeValueAsBytes(camion));
+                    salida.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            salida.flush();
+            logger.info("FIN - GET /api/camiones/stream. {} camiones enviados.", enviados);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+
     @Operation(
         summary = "Obtener camión por ID",
         description = """
@@ -276,11 +400,53 @@ public class CamionController {
         return ResponseEntity.notFound().build();
     }
 
+    @Operation(
+        summary = "Reservar camión",
+        description = """
+            Reserva el camión de forma atómica a nombre de la clave enviada en la cabecera Idempotency-Key.
+            Entre pedidos concurrentes por el mismo camión solo uno obtiene la reserva; repetir el pedido con
+            la misma clave devuelve la misma reserva. La reserva vence si no se confirma (PUT /ocupado con
+            la misma clave) dentro de 'app.camiones.reserva.duracion', y el camión vuelve a quedar libre.
+            Utilizado por el servicio de Logística antes de asignar un camión a un tramo.
+            
+            **Acceso:** Público (interno)
+            """,
+        security = {}
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Camión reservado (o reserva ya existente con la misma clave)",
+            content = @Content(schema = @Schema(implementation = ReservaCamionDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Falta la cabecera Idempotency-Key"),
+        @ApiResponse(responseCode = "404", description = "Camión no encontrado"),
+        @ApiResponse(responseCode = "409", description = "El camión ya está ocupado o reservado con otra clave")
+    })
+    @PutMapping("/{id}/reserva")
+    public ResponseEntity<ReservaCamionDto> reservar(
+            @Parameter(description = "ID del camión", example = "1", required = true) 
+            @PathVariable Integer id,
+            @Parameter(description = "Clave de la reserva (identifica a quien reserva)", example = "tramo-12-CAMION_OCUPADO", required = true)
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String claveIdempotencia) {
+        logger.info("INICIO - PUT /api/camiones/{}/reserva. Reservando camión con clave {}.", id, claveIdempotencia);
+        Optional<ReservaCamionDto> result = camionService.reservarCamion(id, claveIdempotencia);
+        if (result.isPresent()) {
+            logger.info("FIN - PUT /api/camiones/{}/reserva. Camión reservado hasta {}.", id, result.get().getVenceEn());
+        } else {
+            logger.warn("FIN - PUT /api/camiones/{}/reserva. Camión no encontrado (404).", id);
+        }
+        return result
+        .map(reserva -> ResponseEntity.ok().body(reserva))
+        .orElse(ResponseEntity.notFound().build());
+    }
+
     @Operation(
         summary = "Marcar camión como ocupado",
         description = """
             Actualiza el estado del camión a 'ocupado'.
-            Utilizado por el servicio de Logística cuando asigna un camión a un tramo.
+            Utilizado por el servicio de Logística cuando asigna un camión a un tramo. Con la cabecera
+            Idempotency-Key confirma la reserva hecha con esa clave; repetir el pedido no cambia el resultado.
             
             **Acceso:** Público (interno)
             """,
@@ -298,9 +464,11 @@ public class CamionController {
     @PutMapping("/{id}/ocupado")
     public ResponseEntity<CamionDto> setOcupado(
             @Parameter(description = "ID del camión", example = "1", required = true) 
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            @Parameter(description = "Clave de la reserva a confirmar", example = "tramo-12-CAMION_OCUPADO")
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String claveIdempotencia) {
         logger.info("INICIO - PUT /api/camiones/{}/ocupado. Marcando camión como OCUPADO.", id);
-        Optional<CamionDto> result = camionService.setCamionOcupado(id);
+        Optional<CamionDto> result = camionService.setCamionOcupado(id, claveIdempotencia);
         if (result.isPresent()) {
             logger.info("FIN - PUT /api/camiones/{}/ocupado. Camión marcado como OCUPADO con éxito.", id);
         } else {
@@ -315,7 +483,9 @@ public class CamionController {
         summary = "Marcar camión como libre",
         description = """
             Actualiza el estado del camión a 'libre'.
-            Utilizado por el servicio de Logística cuando finaliza un tramo.
+            Utilizado por el servicio de Logística cuando finaliza un tramo. Con el parámetro 'reserva' (la
+            clave con la que el tramo ocupó el camión) solo se libera si el camión sigue ocupado con esa clave;
+            si no, responde el estado actual sin modificarlo.
             
             **Acceso:** Público (interno)
             """,
@@ -328,14 +498,16 @@ public class CamionController {
             content = @Content(schema = @Schema(implementation = CamionDto.class))
         ),
         @ApiResponse(responseCode = "404", description = "Camión no encontrado"),
-        @ApiResponse(responseCode = "409", description = "El camión ya está libre")
+        @ApiResponse(responseCode = "409", description = "El camión ya está libre (sin 'reserva')")
     })
     @PutMapping("/{id}/libre")
     public ResponseEntity<CamionDto> setLibre(
             @Parameter(description = "ID del camión", example = "1", required = true) 
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            @Parameter(description = "Clave con la que se ocupó el camión", example = "tramo-12-CAMION_OCUPADO")
+            @RequestParam(name = "reserva", required = false) String reserva) {
         logger.info("INICIO - PUT /api/camiones/{}/libre. Marcando camión como LIBRE.", id);
-        Optional<CamionDto> result = camionService.setCamionLibre(id);
+        Optional<CamionDto> result = camionService.setCamionLibre(id, reserva);
         if (result.isPresent()) {
             logger.info("FIN - PUT /api/camiones/{}/libre. Camión marcado como LIBRE con éxito.", id);
         } else {
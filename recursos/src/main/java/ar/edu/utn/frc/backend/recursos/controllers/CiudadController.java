@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import ar.edu.utn.frc.backend.recursos.dto.CiudadDto;
+import ar.edu.utn.frc.backend.recursos.services.CacheLectura.Entrada;
 import ar.edu.utn.frc.backend.recursos.services.CiudadService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -46,6 +47,7 @@ public class CiudadController {
     summary = "Obtener todas las ciudades",
     description = """
       Retorna la lista completa de ciudades del sistema.
+      La respuesta incluye ETag y Last-Modified: con If-None-Match / If-Modified-Since se responde 304 si no cambió.
       
       **Roles permitidos:** ADMIN
       """,
@@ -57,6 +59,7 @@ public class CiudadController {
       description = "Lista de ciudades obtenida exitosamente",
       content = @Content(schema = @Schema(implementation = CiudadDto[].class))
     ),
+    @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match / If-Modified-Since"),
     @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
     @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
     @ApiResponse(responseCode = "500", description = "Error interno del servidor")
@@ -65,15 +68,16 @@ public class CiudadController {
   @PreAuthorize("hasRole('ADMIN')")
   public ResponseEntity<List<CiudadDto>> obtenerTodasLasCiudades() {
         logger.info("INICIO - GET /api/ciudades. Obteniendo todas las ciudades.");
-    List<CiudadDto> ciudades = ciudadService.buscarTodos();
-        logger.info("FIN - GET /api/ciudades. Total de {} ciudades encontradas.", ciudades.size());
-    return ResponseEntity.ok(ciudades);
+    Entrada<List<CiudadDto>> ciudades = ciudadService.buscarTodosVersionado();
+        logger.info("FIN - GET /api/ciudades. Total de {} ciudades encontradas.", ciudades.valor().size());
+    return RespuestaCondicional.ok(ciudades);
   }
 
   @Operation(
     summary = "Buscar ciudad por código postal",
     description = """
       Busca una ciudad por su código postal.
+      La respuesta incluye ETag y Last-Modified: con If-None-Match / If-Modified-Since se responde 304 si no cambió.
       
       **Roles permitidos:** ADMIN
       """,
@@ -85,6 +89,7 @@ public class CiudadController {
       description = "Ciudad encontrada",
       content = @Content(schema = @Schema(implementation = CiudadDto.class))
     ),
+    @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match / If-Modified-Since"),
     @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
     @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
     @ApiResponse(responseCode = "404", description = "Ciudad no encontrada")
@@ -95,19 +100,20 @@ public class CiudadController {
       @Parameter(description = "Código postal de la ciudad", example = "X5000", required = true) 
       @RequestParam String codigoPostal) {
         logger.info("INICIO - GET /api/ciudades/buscar?codigoPostal={}. Buscando ciudad por CP.", codigoPostal);
-    Optional<CiudadDto> ciudadOpt = ciudadService.buscarPorCodigoPostal(codigoPostal);
+    Optional<Entrada<CiudadDto>> ciudadOpt = ciudadService.buscarPorCodigoPostalVersionado(codigoPostal);
         if (ciudadOpt.isPresent()) {
             logger.info("FIN - GET /api/ciudades/buscar. Ciudad encontrada para CP {}.", codigoPostal);
         } else {
             logger.warn("FIN - GET /api/ciudades/buscar. Ciudad no encontrada para CP {} (404).", codigoPostal);
         }
-    return ciudadOpt.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    return ciudadOpt.map(RespuestaCondicional::ok).orElse(ResponseEntity.notFound().build());
   }
 
   @Operation(
     summary = "Obtener ciudad por ID",
     description = """
       Retorna los detalles de una ciudad específica por su ID.
+      La respuesta incluye ETag y Last-Modified: con If-None-Match / If-Modified-Since se responde 304 si no cambió.
       
       **Roles permitidos:** ADMIN
       """,
@@ -119,6 +125,7 @@ public class CiudadController {
       description = "Ciudad encontrada",
       content = @Content(schema = @Schema(implementation = CiudadDto.class))
     ),
+    @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match / If-Modified-Since"),
     @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
     @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
     @ApiResponse(responseCode = "404", description = "Ciudad no encontrada")
@@ -129,13 +136,13 @@ public class CiudadController {
       @Parameter(description = "ID de la ciudad", example = "1", required = true) 
       @PathVariable Integer id) {
         logger.info("INICIO - GET /api/ciudades/{}. Buscando ciudad por ID.", id);
-    Optional<CiudadDto> ciudadOpt = ciudadService.buscarPorId(id);
+    Optional<Entrada<CiudadDto>> ciudadOpt = ciudadService.buscarPorIdVersionado(id);
         if (ciudadOpt.isPresent()) {
             logger.info("FIN - GET /api/ciudades/{}. Ciudad encontrada.", id);
         } else {
             logger.warn("FIN - GET /api/ciudades/{}. Ciudad no encontrada (404).", id);
         }
-    return ciudadOpt.map(ResponseEntity::ok).orElse(ResponseEntity.notFound().build());
+    return ciudadOpt.map(RespuestaCondicional::ok).orElse(ResponseEntity.notFound().build());
   }
 
   @Operation(
@@ -19,6 +19,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import ar.edu.utn.frc.backend.recursos.dto.DepositoDto;
+import ar.edu.utn.frc.backend.recursos.services.CacheLectura.Entrada;
 import ar.edu.utn.frc.backend.recursos.services.DepositoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -45,6 +46,7 @@ public class DepositoController {
     summary = "Obtener todos los depósitos",
     description = """
       Retorna la lista completa de depósitos del sistema.
+      La respuesta incluye ETag y Last-Modified: con If-None-Match / If-Modified-Since se responde 304 si no cambió.
       
       **Roles permitidos:** ADMIN
       """,
@@ -56,6 +58,7 @@ public class DepositoController {
       description = "Lista de depósitos obtenida exitosamente",
       content = @Content(schema = @Schema(implementation = DepositoDto[].class))
     ),
+    @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match / If-Modified-Since"),
     @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
     @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
     @ApiResponse(responseCode = "500", description = "Error interno del servidor")
@@ -64,15 +67,16 @@ public class DepositoController {
   @PreAuthorize("hasRole('ADMIN')")
   public ResponseEntity<List<DepositoDto>> obtenerTodosLosDepositos() {
         logger.info("INICIO - GET /api/depositos. Obteniendo todos los depósitos.");
-    List<DepositoDto> depositos = depositoService.buscarTodosLosDepositos();
-        logger.info("FIN - GET /api/depositos. Total de {} depósitos encontrados.", depositos.size());
-    return ResponseEntity.ok().body(depositos);
+    Entrada<List<DepositoDto>> depositos = depositoService.buscarTodosLosDepositosVersionado();
+        logger.info("FIN - GET /api/depositos. Total de {} depósitos encontrados.", depositos.valor().size());
+    return RespuestaCondicional.ok(depositos);
   }
 
   @Operation(
     summary = "Obtener depósito por ID",
     description = """
       Retorna los detalles de un depósito específico por su ID.
+      La respuesta incluye ETag y Last-Modified: con If-None-Match / If-Modified-Since se responde 304 si no cambió.
       
       **Roles permitidos:** ADMIN
       """,
@@ -84,6 +88,7 @@ public class DepositoController {
       description = "Depósito encontrado",
       content = @Content(schema = @Schema(implementation = DepositoDto.class))
     ),
+    @ApiResponse(responseCode = "304", description = "Sin cambios desde la versión indicada en If-None-Match / If-Modified-Since"),
     @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
     @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
     @ApiResponse(responseCode = "404", description = "Depósito no encontrado")
@@ -94,14 +99,14 @@ public class DepositoController {
       @Parameter(description = "ID del depósito", example = "1", required = true) 
       @PathVariable Integer id) {
         logger.info("INICIO - GET /api/depositos/{}. Buscando depósito por ID.", id);
-    Optional<DepositoDto> result = depositoService.buscarPorId(id);
+    Optional<Entrada<DepositoDto>> result = depositoService.buscarPorIdVersionado(id);
         if (result.isPresent()) {
-            logger.info("FIN - GET /api/depositos/{}. Depósito encontrado: {}.", id, result.get().getNombre());
+            logger.info("FIN - GET /api/depositos/{}. Depósito encontrado: {}.", id, result.get().valor().getNombre());
         } else {
             logger.warn("FIN - GET /api/depositos/{}. Depósito no encontrado (404).", id);
         }
     return result
-        .map(depositoDto -> ResponseEntity.ok().body(depositoDto))
+        .map(RespuestaCondicional::ok)
         .orElse(ResponseEntity.notFound().build());
   }
 
@@ -0,0 +1,22 @@
+package ar.edu.utn.frc.backend.recursos.controllers;
+
+import org.springframework.http.ResponseEntity;
+
+import ar.edu.utn.frc.backend.recursos.services.CacheLectura.Entrada;
+
+/**
+ * Respuestas 200 con ETag y Last-Modified a partir de una entrada de cache. Spring MVC compara esos
+ * encabezados con If-None-Match / If-Modified-Since del pedido y responde 304 sin cuerpo si coinciden.
+ */
+final class RespuestaCondicional {
+
+    private RespuestaCondicional() {
+    }
+
+    static <T> ResponseEntity<T> ok(Entrada<T> entrada) {
+        return ResponseEntity.ok()
+                .eTag(entrada.etag())
+                .lastModified(entrada.ultimaModificacion())
+                .body(entrada.valor());
+    }
+}
@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 @Data @AllArgsConstructor @NoArgsConstructor @Builder
 public class CargoGestionDto {
@@ -18,4 +19,7 @@ public class CargoGestionDto {
     @DecimalMin(value = "0.00", message = "El costo por tramo no puede ser negativo.")
     @Digits(integer = 8, fraction = 2, message = "El costo por tramo debe tener máximo 8 enteros y 2 decimales.")
     private BigDecimal costoPorTramo;
-}
\ No newline at end of file
+
+    // Inicio de vigencia (lo asigna Recursos al guardar la tarifa)
+    private LocalDateTime fechaHoraDesde;
+}
@@ -0,0 +1,21 @@
+package ar.edu.utn.frc.backend.recursos.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Página de un listado paginado por cursor. 'siguienteCursor' es null en la última página;
+ * si no, se envía tal cual en el parámetro 'cursor' para obtener la página siguiente.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PaginaDto<T> {
+    private List<T> items;
+    private String siguienteCursor;
+}
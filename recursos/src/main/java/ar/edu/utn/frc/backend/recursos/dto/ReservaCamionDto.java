@@ -0,0 +1,22 @@
+package ar.edu.utn.frc.backend.recursos.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Reserva de un camión. 'venceEn' es null cuando la ocupación ya fue confirmada; si no, el camión
+ * vuelve a quedar libre en ese momento salvo que se confirme con el mismo 'token'.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReservaCamionDto {
+    private Integer idCamion;
+    private String token;
+    private LocalDateTime venceEn;
+}
@@ -0,0 +1,22 @@
+package ar.edu.utn.frc.backend.recursos.dto;
+
+import java.math.BigDecimal;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Agregados de los camiones disponibles que cumplen una capacidad mínima: alcanzan para calcular
+ * los promedios de costo y consumo sin transferir los camiones.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResumenCamionesDisponiblesDto {
+    private Integer cantidad;
+    private BigDecimal sumaCostoPorKm;
+    private BigDecimal sumaConsumoCombustiblePromedio;
+}
@@ -1,6 +1,7 @@
 package ar.edu.utn.frc.backend.recursos.entities;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -53,6 +54,14 @@ public class Camion {
     @Column(name = "disponibilidad", nullable = false)
     private Boolean disponibilidad = true;
 
+    // Clave de quien lo reservó u ocupó (Idempotency-Key de Logística); null si está libre o se ocupó sin clave
+    @Column(name = "reserva_token", nullable = true, length = 100)
+    private String reservaToken;
+
+    // Vencimiento de una reserva sin confirmar; null si está libre o la ocupación está confirmada
+    @Column(name = "reserva_vence", nullable = true)
+    private LocalDateTime reservaVence;
+
     public void liberar() {
         this.disponibilidad = true;
     }
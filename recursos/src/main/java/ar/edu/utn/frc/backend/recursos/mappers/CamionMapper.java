@@ -0,0 +1,28 @@
+package ar.edu.utn.frc.backend.recursos.mappers;
+
+import ar.edu.utn.frc.backend.recursos.dto.CamionDto;
+import ar.edu.utn.frc.backend.recursos.entities.Camion;
+
+/**
+ * Mapeos entidad -> DTO escritos a mano para las respuestas (listados incluidos): evitan la
+ * introspección de ModelMapper en cada fila. ModelMapper queda solo para las altas y modificaciones.
+ */
+public final class CamionMapper {
+
+    private CamionMapper() {
+    }
+
+    // El authId (sub de Keycloak del transportista) no se expone en el DTO
+    public static CamionDto aDto(Camion camion) {
+        return new CamionDto(
+                camion.getId(),
+                camion.getDominio(),
+                camion.getCapacidadVolumen(),
+                camion.getCapacidadPeso(),
+                camion.getCostoPorKm(),
+                camion.getConsumoCombustiblePromedio(),
+                camion.getNombreTransportista(),
+                camion.getTelefonoTransportista(),
+                camion.getDisponibilidad());
+    }
+}
@@ -0,0 +1,14 @@
+package ar.edu.utn.frc.backend.recursos.mappers;
+
+import ar.edu.utn.frc.backend.recursos.dto.CiudadDto;
+import ar.edu.utn.frc.backend.recursos.entities.Ciudad;
+
+public final class CiudadMapper {
+
+    private CiudadMapper() {
+    }
+
+    public static CiudadDto aDto(Ciudad ciudad) {
+        return new CiudadDto(ciudad.getId(), ciudad.getNombre(), ciudad.getCodigoPostal());
+    }
+}
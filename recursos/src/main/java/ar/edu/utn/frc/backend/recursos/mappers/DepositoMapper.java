@@ -0,0 +1,24 @@
+package ar.edu.utn.frc.backend.recursos.mappers;
+
+import ar.edu.utn.frc.backend.recursos.dto.DepositoDto;
+import ar.edu.utn.frc.backend.recursos.entities.Ciudad;
+import ar.edu.utn.frc.backend.recursos.entities.Deposito;
+
+public final class DepositoMapper {
+
+    private DepositoMapper() {
+    }
+
+    // En 'ciudad' va el nombre de la ciudad
+    public static DepositoDto aDto(Deposito deposito) {
+        Ciudad ciudad = deposito.getCiudad();
+        return new DepositoDto(
+                deposito.getId(),
+                deposito.getNombre(),
+                deposito.getDireccion(),
+                deposito.getPrecioPorDia(),
+                deposito.getLatitud(),
+                deposito.getLongitud(),
+                ciudad != null ? ciudad.getNombre() : null);
+    }
+}
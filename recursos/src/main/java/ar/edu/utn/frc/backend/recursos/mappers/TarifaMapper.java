@@ -0,0 +1,22 @@
+package ar.edu.utn.frc.backend.recursos.mappers;
+
+import ar.edu.utn.frc.backend.recursos.dto.CargoGestionDto;
+import ar.edu.utn.frc.backend.recursos.dto.PrecioCombustibleDto;
+import ar.edu.utn.frc.backend.recursos.entities.CargoGestion;
+import ar.edu.utn.frc.backend.recursos.entities.PrecioCombustible;
+
+public final class TarifaMapper {
+
+    private TarifaMapper() {
+    }
+
+    public static CargoGestionDto aDto(CargoGestion cargoGestion) {
+        return new CargoGestionDto(cargoGestion.getId(), cargoGestion.getCostoPorTramo(),
+                cargoGestion.getFechaHoraDesde());
+    }
+
+    public static PrecioCombustibleDto aDto(PrecioCombustible precioCombustible) {
+        return new PrecioCombustibleDto(precioCombustible.getId(), precioCombustible.getPrecioPorLitro(),
+                precioCombustible.getFechaHoraDesde());
+    }
+}
@@ -1,22 +1,87 @@
 package ar.edu.utn.frc.backend.recursos.repositories;
 
 import ar.edu.utn.frc.backend.recursos.entities.Camion;
+import ar.edu.utn.frc.backend.recursos.services.PaginacionKeyset;
+import jakarta.persistence.QueryHint;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CamionRepository extends JpaRepository<Camion, Integer> {
 
     Optional<Camion> findByDominio(String dominio);
 
-    // Encuentra camiones disponibles que cumplan con los requisitos mínimos de volumen y peso
-    List<Camion> findByDisponibilidadTrueAndCapacidadVolumenGreaterThanEqualAndCapacidadPesoGreaterThanEqual(
-            BigDecimal requiredVolumen, 
-            BigDecimal requiredPeso
-    );
-}
\ No newline at end of file
+    // Todos los camiones disponibles (carga del índice en memoria)
+    List<Camion> findByDisponibilidadTrue();
+
+    // Cambios de disponibilidad atómicos: cada UPDATE verifica la condición y modifica la fila en una sola
+    // sentencia, así dos pedidos concurrentes no pueden tomar el mismo camión. Devuelven las filas modificadas.
+    // Una reserva vencida sin confirmar ('reservaVence' pasado) cuenta como camión libre.
+
+    // Reserva temporal: libre (o reserva vencida) -> ocupado hasta 'vence' a nombre de 'token'
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Camion c SET c.disponibilidad = false, c.reservaToken = :token, c.reservaVence = :vence
+            WHERE c.id = :id AND (c.disponibilidad = true OR c.reservaVence < :ahora)""")
+    int reservar(@Param("id") Integer id, @Param("token") String token, @Param("vence") LocalDateTime vence,
+            @Param("ahora") LocalDateTime ahora);
+
+    // Confirmación de la reserva hecha con 'token': la ocupación deja de vencer
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Camion c SET c.disponibilidad = false, c.reservaVence = null WHERE c.id = :id AND c.reservaToken = :token")
+    int confirmarReserva(@Param("id") Integer id, @Param("token") String token);
+
+    // Ocupación directa (sin reserva previa): libre (o reserva vencida) -> ocupado
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Camion c SET c.disponibilidad = false, c.reservaToken = :token, c.reservaVence = null
+            WHERE c.id = :id AND (c.disponibilidad = true OR c.reservaVence < :ahora)""")
+    int ocupar(@Param("id") Integer id, @Param("token") String token, @Param("ahora") LocalDateTime ahora);
+
+    // Ocupado -> libre, descartando la reserva
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Camion c SET c.disponibilidad = true, c.reservaToken = null, c.reservaVence = null
+            WHERE c.id = :id AND c.disponibilidad = false""")
+    int liberar(@Param("id") Integer id);
+
+    // Ocupado -> libre solo si lo ocupa (o reserva) 'token': una liberación tardía no libera al siguiente ocupante
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Camion c SET c.disponibilidad = true, c.reservaToken = null, c.reservaVence = null
+            WHERE c.id = :id AND c.disponibilidad = false AND c.reservaToken = :token""")
+    int liberarOcupacion(@Param("id") Integer id, @Param("token") String token);
+
+    @Query("SELECT c.id FROM Camion c WHERE c.reservaVence < :ahora")
+    List<Integer> findIdsConReservaVencida(@Param("ahora") LocalDateTime ahora);
+
+    // Libera las reservas vencidas sin confirmar
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            UPDATE Camion c SET c.disponibilidad = true, c.reservaToken = null, c.reservaVence = null
+            WHERE c.reservaVence < :ahora""")
+    int liberarReservasVencidas(@Param("ahora") LocalDateTime ahora);
+
+    // Página keyset: camiones con id mayor al último visto
+    @Query("SELECT c FROM Camion c WHERE c.id > :despuesDe ORDER BY c.id")
+    List<Camion> findPagina(@Param("despuesDe") Integer despuesDe, Limit limite);
+
+    // Recorrido completo con cursor de base de datos (requiere transacción abierta y cerrar el stream)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + PaginacionKeyset.TAMANIO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT c FROM Camion c ORDER BY c.id")
+    Stream<Camion> streamTodos();
+}
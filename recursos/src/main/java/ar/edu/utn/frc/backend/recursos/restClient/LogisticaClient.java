@@ -0,0 +1,40 @@
+package ar.edu.utn.frc.backend.recursos.restClient;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+@Component
+public class LogisticaClient {
+
+    private final RestClient restClient;
+    // Logística solo acepta los avisos con el secreto compartido en esta cabecera
+    private final String cabeceraAviso;
+    private final String secretoAviso;
+
+    public LogisticaClient(@Qualifier("logisticaRestClient") RestClient restClient,
+            @Value("${app.seguridad.avisos-internos.cabecera:X-Aviso-Interno}") String cabeceraAviso,
+            @Value("${app.seguridad.avisos-internos.secreto:}") String secretoAviso) {
+        this.restClient = restClient;
+        this.cabeceraAviso = cabeceraAviso;
+        this.secretoAviso = secretoAviso;
+    }
+
+    // Avisar que cambió una tarifa para que Logística descarte su foto de tarifas vigentes
+    public void avisarCambioTarifa(String tarifa, LocalDateTime fechaHoraDesde) {
+        String uri = "/interno/tarifas/invalidacion";
+
+        restClient.post()
+                .uri(uri)
+                .header(cabeceraAviso, secretoAviso)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("tarifa", tarifa, "fechaHoraDesde", fechaHoraDesde))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,107 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cache read-through acotada (LRU, 'maximo' entradas) para datos de referencia que cambian poco.
+ * Cada entrada guarda, junto al valor, su ETag (hash del JSON que se responde) y la fecha de la última
+ * modificación conocida del catálogo, para que los controllers respondan GET condicionales (304).
+ * Las altas, modificaciones y bajas llaman a invalidarTodo() una vez confirmadas; una carga que empezó
+ * antes de la invalidación no guarda su resultado. Los resultados vacíos no se guardan.
+ */
+public final class CacheLectura<K, V> {
+
+    /**
+     * Valor cacheado con sus metadatos HTTP. 'ultimaModificacion' está truncada a segundos (precisión de Last-Modified).
+     */
+    public record Entrada<V>(V valor, String etag, Instant ultimaModificacion) {
+    }
+
+    private final String nombre;
+    private final ObjectMapper objectMapper;
+    private final Map<K, Entrada<V>> entradas;
+    private final Counter aciertos;
+    private final Counter fallos;
+
+    // Se incrementa en cada invalidación: una carga que empezó antes no publica su resultado
+    private long generacion;
+    private Instant ultimaModificacion = ahora();
+
+    public CacheLectura(String nombre, int maximo, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.nombre = nombre;
+        this.objectMapper = objectMapper;
+        this.entradas = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entrada<V>> masAntigua) {
+                return size() > maximo;
+            }
+        };
+        this.aciertos = Counter.builder("cache.referencias.lecturas").tag("cache", nombre).tag("resultado", "acierto")
+                .description("Lecturas de datos de referencia resueltas en memoria").register(meterRegistry);
+        this.fallos = Counter.builder("cache.referencias.lecturas").tag("cache", nombre).tag("resultado", "fallo")
+                .description("Lecturas de datos de referencia que consultaron la base").register(meterRegistry);
+    }
+
+    /**
+     * Devuelve la entrada de 'clave', cargándola con 'carga' si no está. La carga se hace sin el lock tomado.
+     */
+    public Optional<Entrada<V>> obtener(K clave, Function<K, Optional<V>> carga) {
+        long generacionInicial;
+        Instant modificacion;
+        synchronized (this) {
+            Entrada<V> entrada = entradas.get(clave);
+            if (entrada != null) {
+                aciertos.increment();
+                return Optional.of(entrada);
+            }
+            generacionInicial = generacion;
+            modificacion = ultimaModificacion;
+        }
+        fallos.increment();
+
+        Optional<Entrada<V>> cargada = carga.apply(clave).map(valor -> new Entrada<>(valor, etag(valor), modificacion));
+        cargada.ifPresent(entrada -> {
+            synchronized (this) {
+                if (generacion == generacionInicial) {
+                    entradas.put(clave, entrada);
+                }
+            }
+        });
+        return cargada;
+    }
+
+    public synchronized void invalidarTodo() {
+        generacion++;
+        ultimaModificacion = ahora();
+        entradas.clear();
+    }
+
+    public synchronized int size() {
+        return entradas.size();
+    }
+
+    private String etag(V valor) {
+        try {
+            return "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(valor)) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("No se pudo calcular el ETag de la cache " + nombre, e);
+        }
+    }
+
+    private static Instant ahora() {
+        return Instant.now().truncatedTo(ChronoUnit.SECONDS);
+    }
+}
@@ -0,0 +1,25 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import ar.edu.utn.frc.backend.recursos.dto.CamionDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Se publica al dar de alta, modificar, ocupar, liberar o eliminar un camión.
+ * 'camion' es el estado guardado, o null si el camión se eliminó.
+ */
+@Getter
+@AllArgsConstructor
+public class CamionModificadoEvent {
+
+    private final Integer id;
+    private final CamionDto camion;
+
+    public static CamionModificadoEvent guardado(CamionDto camion) {
+        return new CamionModificadoEvent(camion.getId(), camion);
+    }
+
+    public static CamionModificadoEvent eliminado(Integer id) {
+        return new CamionModificadoEvent(id, null);
+    }
+}
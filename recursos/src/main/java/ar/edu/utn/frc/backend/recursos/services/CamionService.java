@@ -1,19 +1,31 @@
 package ar.edu.utn.frc.backend.recursos.services;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import ar.edu.utn.frc.backend.recursos.dto.CamionDto;
+import ar.edu.utn.frc.backend.recursos.dto.PaginaDto;
+import ar.edu.utn.frc.backend.recursos.dto.ReservaCamionDto;
+import ar.edu.utn.frc.backend.recursos.dto.ResumenCamionesDisponiblesDto;
 import ar.edu.utn.frc.backend.recursos.entities.Camion;
+import ar.edu.utn.frc.backend.recursos.mappers.CamionMapper;
 import ar.edu.utn.frc.backend.recursos.repositories.CamionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 
 @Service
@@ -25,6 +37,15 @@ public class CamionService {
     private CamionRepository camionRepository;
     @Autowired
     private ModelMapper modelMapper;
+    @Autowired
+    private DisponibilidadCamionesService disponibilidadCamionesService;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.camiones.reserva.duracion:PT30M}")
+    private Duration duracionReserva;
 
     // Dar de alta un nuevo camión
     @Transactional
@@ -33,19 +54,23 @@ public class CamionService {
         Camion camion = modelMapper.map(camionDto, Camion.class);
         Camion camionGuardado = camionRepository.save(camion);
         logger.info("Finalizado: Camión guardado exitosamente con ID: {}", camionGuardado.getId());
-        return modelMapper.map(camionGuardado, CamionDto.class);
+        return publicarGuardado(camionGuardado);
     }
 
-    // Buscar camiones disponibles por capacidad mínima de volumen y peso
+    // Buscar camiones disponibles por capacidad mínima de volumen y peso (índice en memoria)
     public List<CamionDto> buscarCamionesDisponibles(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
         logger.debug("Buscando camiones disponibles con volumenMinimo: {} y pesoMinimo: {}", volumenMinimo, pesoMinimo);
-        List<Camion> camiones = camionRepository
-                .findByDisponibilidadTrueAndCapacidadVolumenGreaterThanEqualAndCapacidadPesoGreaterThanEqual(
-                        volumenMinimo, pesoMinimo);
+        List<CamionDto> camiones = disponibilidadCamionesService.buscar(volumenMinimo, pesoMinimo);
         logger.info("Encontrados {} camiones disponibles.", camiones.size());
-        return camiones.stream()
-                .map(camion -> modelMapper.map(camion, CamionDto.class))
-                .collect(Collectors.toList());
+        return camiones;
+    }
+
+    // Cantidad y sumas de costo/consumo de los camiones disponibles con capacidad mínima (índice en memoria)
+    public ResumenCamionesDisponiblesDto resumirCamionesDisponibles(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
+        logger.debug("Resumiendo camiones disponibles con volumenMinimo: {} y pesoMinimo: {}", volumenMinimo, pesoMinimo);
+        ResumenCamionesDisponiblesDto resumen = disponibilidadCamionesService.resumir(volumenMinimo, pesoMinimo);
+        logger.info("Resumen de camiones disponibles: {} camiones.", resumen.getCantidad());
+        return resumen;
     }
 
     // buscar camión por ID
@@ -57,7 +82,7 @@ public class CamionService {
         } else {
             logger.warn("Camión ID: {} no encontrado.", id);
         }
-        return camionOpt.map(camion -> modelMapper.map(camion, CamionDto.class));
+        return camionOpt.map(CamionMapper::aDto);
     }
 
     // buscar todos los camiones
@@ -66,10 +91,28 @@ public class CamionService {
         List<Camion> camiones = camionRepository.findAll();
         logger.info("Encontrados {} camiones en total.", camiones.size());
         return camiones.stream()
-                .map(camion -> modelMapper.map(camion, CamionDto.class))
+                .map(CamionMapper::aDto)
                 .collect(Collectors.toList());
     }
 
+    // Página de camiones ordenados por id, a partir del cursor recibido (null: primera página)
+    public PaginaDto<CamionDto> buscarPaginaDeCamiones(String cursor, Integer limite) {
+        int despuesDe = PaginacionKeyset.despuesDe(cursor);
+        logger.debug("Buscando página de camiones a partir del ID {} (límite {}).", despuesDe, limite);
+        List<Camion> filas = camionRepository.findPagina(despuesDe, PaginacionKeyset.limiteConSiguiente(limite));
+        return PaginacionKeyset.pagina(filas, limite, Camion::getId, CamionMapper::aDto);
+    }
+
+    // Entrega todos los camiones al consumidor a medida que se leen, sin armar la lista en memoria
+    @Transactional
+    public long recorrerTodosLosCamiones(Consumer<CamionDto> consumidor) {
+        logger.debug("Recorriendo todos los camiones en modo streaming.");
+        long entregados = PaginacionKeyset.recorrer(camionRepository.streamTodos(), entityManager,
+                CamionMapper::aDto, consumidor);
+        logger.info("Se entregaron {} camiones.", entregados);
+        return entregados;
+    }
+
     // Buscar camión por dominio
     public Optional<CamionDto> buscarPorDominio(String dominio) {
         logger.debug("Buscando camión por Dominio: {}", dominio);
@@ -79,7 +122,7 @@ public class CamionService {
         } else {
             logger.warn("Camión Dominio: {} no encontrado.", dominio);
         }
-        return camionOpt.map(camion -> modelMapper.map(camion, CamionDto.class));
+        return camionOpt.map(CamionMapper::aDto);
     }
 
     // Actualizar camión existente
@@ -92,7 +135,7 @@ public class CamionService {
             modelMapper.map(camionDto, camionExistente);
             Camion camionActualizado = camionRepository.save(camionExistente);
             logger.info("Finalizado: Camión ID: {} actualizado exitosamente.", id);
-            return Optional.of(modelMapper.map(camionActualizado, CamionDto.class));
+            return Optional.of(publicarGuardado(camionActualizado));
         } else {
             logger.warn("Actualización fallida: Camión ID: {} no encontrado.", id);
             return Optional.empty();
@@ -105,6 +148,7 @@ public class CamionService {
         logger.info("Iniciando: Eliminación de camión con ID: {}", id);
         if (camionRepository.existsById(id)) {
             camionRepository.deleteById(id);
+            eventPublisher.publishEvent(CamionModificadoEvent.eliminado(id));
             logger.info("Finalizado: Camión ID: {} eliminado exitosamente.", id);
             return true;
         }
@@ -112,36 +156,120 @@ public class CamionService {
         return false;
     }
 
-    // Marcar camión como ocupado
+    /**
+     * Reserva el camión a nombre de 'token' por 'app.camiones.reserva.duracion'. La reserva es un UPDATE
+     * condicional (sin leer antes), así que entre pedidos concurrentes solo uno gana. Repetir el pedido con
+     * el mismo token devuelve la misma reserva. Si no se confirma (setCamionOcupado con el mismo token)
+     * antes de vencer, el camión vuelve a quedar libre.
+     */
     @Transactional
-    public Optional<CamionDto> setCamionOcupado(Integer id) {
-        logger.info("Intentando: Marcar camión ID: {} como ocupado.", id);
-        return camionRepository.findById(id).map(camion -> {
-            if (!camion.getDisponibilidad()) {
-                logger.error("Error al ocupar: Camión ID: {} ya estaba ocupado.", id);
-                throw new IllegalStateException("No se puede ocupar el camión: ya está ocupado");
+    public Optional<ReservaCamionDto> reservarCamion(Integer id, String token) {
+        if (token == null || token.isBlank()) {
+            throw new IllegalArgumentException("La reserva de un camión requiere una clave de idempotencia.");
+        }
+        logger.info("Intentando: Reservar camión ID: {} con clave {}.", id, token);
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime vence = ahora.plus(duracionReserva);
+
+        if (camionRepository.reservar(id, token, vence, ahora) == 0) {
+            Optional<Camion> camionOpt = camionRepository.findById(id);
+            if (camionOpt.isEmpty()) {
+                return Optional.empty();
             }
-            camion.ocupar();
-            Camion camionActualizado = camionRepository.save(camion);
-            logger.info("Finalizado: Camión ID: {} marcado como OCUPADO.", id);
-            return modelMapper.map(camionActualizado, CamionDto.class);
+            Camion camion = camionOpt.get();
+            if (!token.equals(camion.getReservaToken())) {
+                logger.error("Error al reservar: Camión ID: {} ya está ocupado o reservado.", id);
+                throw new IllegalStateException("No se puede reservar el camión: ya está ocupado");
+            }
+            logger.info("Finalizado: Camión ID: {} ya estaba reservado con la clave {} (reintento).", id, token);
+            return Optional.of(new ReservaCamionDto(id, token, camion.getReservaVence()));
+        }
+
+        // Se relee para devolver el vencimiento tal como quedó guardado (precisión de la base)
+        return camionRepository.findById(id).map(camion -> {
+            publicarGuardado(camion);
+            logger.info("Finalizado: Camión ID: {} reservado hasta {}.", id, camion.getReservaVence());
+            return new ReservaCamionDto(id, token, camion.getReservaVence());
         });
     }
 
-    // Marcar camión como libre  
+    /**
+     * Marca el camión como ocupado. Con 'clave' confirma la reserva hecha con esa clave (o repite una
+     * ocupación ya hecha con ella); sin reserva, ocupa el camión solo si está libre. Todo con UPDATE condicional.
+     * Repetir el pedido con la misma clave (p. ej. tras perderse la respuesta) responde el mismo resultado.
+     */
+    @Transactional
+    public Optional<CamionDto> setCamionOcupado(Integer id, String clave) {
+        logger.info("Intentando: Marcar camión ID: {} como ocupado.", id);
+        boolean ocupado = (clave != null && camionRepository.confirmarReserva(id, clave) > 0)
+                || camionRepository.ocupar(id, clave, LocalDateTime.now()) > 0;
+
+        Optional<Camion> camionOpt = camionRepository.findById(id);
+        if (camionOpt.isPresent() && !ocupado && clave != null && clave.equals(camionOpt.get().getReservaToken())) {
+            logger.info("Finalizado: Camión ID: {} ya estaba ocupado con la clave {} (reintento).", id, clave);
+            return camionOpt.map(CamionMapper::aDto);
+        }
+        if (camionOpt.isPresent() && !ocupado) {
+            logger.error("Error al ocupar: Camión ID: {} ya estaba ocupado.", id);
+            throw new IllegalStateException("No se puede ocupar el camión: ya está ocupado");
+        }
+        if (ocupado) {
+            logger.info("Finalizado: Camión ID: {} marcado como OCUPADO.", id);
+        }
+        return camionOpt.map(this::publicarGuardado);
+    }
+
+    /**
+     * Marca el camión como libre (descarta la reserva que tuviera). Con 'reserva' solo lo libera si sigue
+     * ocupado o reservado con esa clave: si ya lo tomó otro tramo (o ya se liberó), no cambia nada y se
+     * devuelve el estado actual. Sin 'reserva', libera el camión solo si está ocupado.
+     */
     @Transactional
-    public Optional<CamionDto> setCamionLibre(Integer id) {
+    public Optional<CamionDto> setCamionLibre(Integer id, String reserva) {
         logger.info("Intentando: Marcar camión ID: {} como libre.", id);
-        return camionRepository.findById(id).map(camion -> {
-            if (camion.getDisponibilidad()) {
-                logger.error("Error al liberar: Camión ID: {} ya estaba libre.", id);
-                throw new IllegalStateException("No se puede liberar el camión: ya está libre");
+        if (reserva != null) {
+            boolean liberado = camionRepository.liberarOcupacion(id, reserva) > 0;
+            Optional<Camion> camionOpt = camionRepository.findById(id);
+            if (liberado) {
+                logger.info("Finalizado: Camión ID: {} marcado como LIBRE (clave {}).", id, reserva);
+            } else if (camionOpt.isPresent()) {
+                logger.info("Camión ID: {} no está ocupado con la clave {}: no se libera.", id, reserva);
             }
-            camion.liberar();
-            Camion camionActualizado = camionRepository.save(camion);
+            return camionOpt.map(this::publicarGuardado);
+        }
+
+        boolean liberado = camionRepository.liberar(id) > 0;
+
+        Optional<Camion> camionOpt = camionRepository.findById(id);
+        if (camionOpt.isPresent() && !liberado) {
+            logger.error("Error al liberar: Camión ID: {} ya estaba libre.", id);
+            throw new IllegalStateException("No se puede liberar el camión: ya está libre");
+        }
+        if (liberado) {
             logger.info("Finalizado: Camión ID: {} marcado como LIBRE.", id);
-            return modelMapper.map(camionActualizado, CamionDto.class);
-        });
+        }
+        return camionOpt.map(this::publicarGuardado);
     }
 
+    // Libera las reservas que vencieron sin confirmarse
+    @Scheduled(fixedDelayString = "${app.camiones.reserva.intervalo-limpieza:PT30S}")
+    @Transactional
+    public void liberarReservasVencidas() {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<Integer> vencidas = camionRepository.findIdsConReservaVencida(ahora);
+        if (vencidas.isEmpty()) {
+            return;
+        }
+        int liberadas = camionRepository.liberarReservasVencidas(ahora);
+        // Se publica el estado releído: una reserva confirmada entre la consulta y el UPDATE sigue ocupada
+        camionRepository.findAllById(vencidas).forEach(this::publicarGuardado);
+        logger.info("Reservas de camiones vencidas liberadas: {}.", liberadas);
+    }
+
+    // El índice de disponibilidad se actualiza cuando la transacción confirma el cambio
+    private CamionDto publicarGuardado(Camion camion) {
+        CamionDto camionDto = CamionMapper.aDto(camion);
+        eventPublisher.publishEvent(CamionModificadoEvent.guardado(camionDto));
+        return camionDto;
+    }
 }
\ No newline at end of file
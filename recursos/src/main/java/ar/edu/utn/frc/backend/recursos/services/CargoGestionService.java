@@ -8,10 +8,12 @@ import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import ar.edu.utn.frc.backend.recursos.dto.CargoGestionDto;
 import ar.edu.utn.frc.backend.recursos.entities.CargoGestion;
+import ar.edu.utn.frc.backend.recursos.mappers.TarifaMapper;
 import ar.edu.utn.frc.backend.recursos.repositories.CargoGestionRepository;
 import jakarta.transaction.Transactional;
 
@@ -24,6 +26,8 @@ public class CargoGestionService {
     private CargoGestionRepository cargoGestionRepository;
     @Autowired
     private ModelMapper modelMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     // Guardar un nuevo precio de combustible, finalizando el vigente
     @Transactional
@@ -49,7 +53,10 @@ public class CargoGestionService {
 
         CargoGestion savedPrice = cargoGestionRepository.save(newPrice);
         logger.info("Finalizado: Nuevo cargo de gestión (ID: {}) guardado e iniciado su vigencia desde: {}", savedPrice.getId(), now);
-        return modelMapper.map(savedPrice, CargoGestionDto.class);
+
+        // 3. Aviso a Logística (se envía recién después del commit)
+        eventPublisher.publishEvent(new TarifaActualizadaEvent(TarifaActualizadaEvent.GESTION, now));
+        return TarifaMapper.aDto(savedPrice);
     }
 
     // Obtiene el precio actualmente vigente (fechaHoraHasta = NULL).
@@ -59,7 +66,7 @@ public class CargoGestionService {
         if (!currentPrices.isEmpty()) {
             CargoGestion currentPrice = currentPrices.get(0);
             logger.info("Cargo de gestión vigente encontrado (ID: {}, Valor: {}).", currentPrice.getId(), currentPrice.getCostoPorTramo());
-            return Optional.of(modelMapper.map(currentPrice, CargoGestionDto.class));
+            return Optional.of(TarifaMapper.aDto(currentPrice));
         } else {
             logger.warn("No se encontró ningún cargo de gestión actualmente vigente.");
             return Optional.empty();
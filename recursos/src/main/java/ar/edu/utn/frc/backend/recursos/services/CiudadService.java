@@ -8,13 +8,23 @@ import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ar.edu.utn.frc.backend.recursos.dto.CiudadDto;
 import ar.edu.utn.frc.backend.recursos.entities.Ciudad;
 import ar.edu.utn.frc.backend.recursos.exceptions.DataConflictException;
+import ar.edu.utn.frc.backend.recursos.mappers.CiudadMapper;
 import ar.edu.utn.frc.backend.recursos.repositories.CiudadRepository;
 import ar.edu.utn.frc.backend.recursos.repositories.DepositoRepository;
+import ar.edu.utn.frc.backend.recursos.services.CacheLectura.Entrada;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 
 @Service
@@ -28,6 +38,29 @@ public class CiudadService {
     private DepositoRepository depositoRepository;
     @Autowired
     private ModelMapper modelMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.referencias.maximo-entradas:1000}")
+    private int maximoEntradas;
+
+    // Caches de lectura: se invalidan enteras ante cualquier cambio de ciudades
+    private CacheLectura<Integer, CiudadDto> cachePorId;
+    private CacheLectura<String, CiudadDto> cachePorCodigoPostal;
+    private CacheLectura<String, List<CiudadDto>> cacheListado;
+
+    private static final String LISTADO = "todas";
+
+    @PostConstruct
+    void crearCaches() {
+        cachePorId = new CacheLectura<>("ciudades-por-id", maximoEntradas, objectMapper, meterRegistry);
+        cachePorCodigoPostal = new CacheLectura<>("ciudades-por-codigo-postal", maximoEntradas, objectMapper, meterRegistry);
+        cacheListado = new CacheLectura<>("ciudades-listado", 1, objectMapper, meterRegistry);
+    }
 
     // Dar de alta una ciudad
     @Transactional
@@ -35,15 +68,21 @@ public class CiudadService {
         logger.info("Iniciando: Guardar nueva ciudad con nombre: {} y CP: {}", ciudadDto.getNombre(), ciudadDto.getCodigoPostal());
         Ciudad ciudad = modelMapper.map(ciudadDto, Ciudad.class);
         Ciudad ciudadGuardado = ciudadRepository.save(ciudad);
+        eventPublisher.publishEvent(new ReferenciaModificadaEvent(ReferenciaModificadaEvent.CIUDAD));
         logger.info("Finalizado: Ciudad guardada exitosamente con ID: {}", ciudadGuardado.getId());
-        return modelMapper.map(ciudadGuardado, CiudadDto.class);
+        return CiudadMapper.aDto(ciudadGuardado);
     }
 
     // Buscar ciudad por código postal
     public Optional<CiudadDto> buscarPorCodigoPostal(String codigoPostal) {
+        return buscarPorCodigoPostalVersionado(codigoPostal).map(Entrada::valor);
+    }
+
+    // Ciudad por código postal con su ETag y fecha de modificación (cache de lectura)
+    public Optional<Entrada<CiudadDto>> buscarPorCodigoPostalVersionado(String codigoPostal) {
         logger.debug("Buscando ciudad por Código Postal: {}", codigoPostal);
-        Optional<CiudadDto> ciudadOpt = ciudadRepository.findByCodigoPostal(codigoPostal)
-                .map(ciudad -> modelMapper.map(ciudad, CiudadDto.class));
+        Optional<Entrada<CiudadDto>> ciudadOpt = cachePorCodigoPostal.obtener(codigoPostal,
+                clave -> ciudadRepository.findByCodigoPostal(clave).map(CiudadMapper::aDto));
         if (ciudadOpt.isPresent()) {
             logger.info("Ciudad con CP: {} encontrada.", codigoPostal);
         } else {
@@ -54,9 +93,14 @@ public class CiudadService {
 
     // Buscar ciudad por ID
     public Optional<CiudadDto> buscarPorId(Integer id) {
+        return buscarPorIdVersionado(id).map(Entrada::valor);
+    }
+
+    // Ciudad por ID con su ETag y fecha de modificación (cache de lectura)
+    public Optional<Entrada<CiudadDto>> buscarPorIdVersionado(Integer id) {
         logger.debug("Buscando ciudad por ID: {}", id);
-        Optional<CiudadDto> ciudadOpt = ciudadRepository.findById(id)
-                .map(ciudad -> modelMapper.map(ciudad, CiudadDto.class));
+        Optional<Entrada<CiudadDto>> ciudadOpt = cachePorId.obtener(id,
+                clave -> ciudadRepository.findById(clave).map(CiudadMapper::aDto));
         if (ciudadOpt.isPresent()) {
             logger.info("Ciudad ID: {} encontrada.", id);
         } else {
@@ -66,11 +110,18 @@ public class CiudadService {
     }
 
     public List<CiudadDto> buscarTodos() {
+        return buscarTodosVersionado().valor();
+    }
+
+    // Listado de ciudades con su ETag y fecha de modificación (cache de lectura)
+    public Entrada<List<CiudadDto>> buscarTodosVersionado() {
         logger.debug("Buscando todas las ciudades.");
-        List<CiudadDto> ciudades = ciudadRepository.findAll().stream()
-                .map(ciudad -> modelMapper.map(ciudad, CiudadDto.class))
-                .collect(Collectors.toList());
-        logger.info("Encontradas {} ciudades en total.", ciudades.size());
+        Entrada<List<CiudadDto>> ciudades = cacheListado.obtener(LISTADO,
+                clave -> Optional.of(ciudadRepository.findAll().stream()
+                        .map(CiudadMapper::aDto)
+                        .collect(Collectors.toUnmodifiableList())))
+                .orElseThrow();
+        logger.info("Encontradas {} ciudades en total.", ciudades.valor().size());
         return ciudades;
     }
 
@@ -83,8 +134,9 @@ public class CiudadService {
             Ciudad ciudadExistente = ciudadOpt.get();
             modelMapper.map(ciudadDto, ciudadExistente);
             Ciudad ciudadActualizado = ciudadRepository.save(ciudadExistente);
+            eventPublisher.publishEvent(new ReferenciaModificadaEvent(ReferenciaModificadaEvent.CIUDAD));
             logger.info("Finalizado: Ciudad ID: {} actualizada exitosamente.", id);
-            return Optional.of(modelMapper.map(ciudadActualizado, CiudadDto.class));
+            return Optional.of(CiudadMapper.aDto(ciudadActualizado));
         } else {
             logger.warn("Actualización fallida: Ciudad ID: {} no encontrada.", id);
             return Optional.empty();
@@ -101,6 +153,7 @@ public class CiudadService {
                 throw new DataConflictException("No se puede eliminar la ciudad: tiene depósitos asociados");
             }
             ciudadRepository.deleteById(id);
+            eventPublisher.publishEvent(new ReferenciaModificadaEvent(ReferenciaModificadaEvent.CIUDAD));
             logger.info("Finalizado: Ciudad ID: {} eliminada exitosamente.", id);
             return true;
         }
@@ -108,4 +161,14 @@ public class CiudadService {
         return false;
     }
 
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void referenciaModificada(ReferenciaModificadaEvent evento) {
+        if (!ReferenciaModificadaEvent.CIUDAD.equals(evento.getReferencia())) {
+            return;
+        }
+        cachePorId.invalidarTodo();
+        cachePorCodigoPostal.invalidarTodo();
+        cacheListado.invalidarTodo();
+        logger.debug("Caches de ciudades invalidadas.");
+    }
 }
\ No newline at end of file
@@ -8,14 +8,24 @@ import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ar.edu.utn.frc.backend.recursos.dto.DepositoDto;
 import ar.edu.utn.frc.backend.recursos.entities.Ciudad;
 import ar.edu.utn.frc.backend.recursos.entities.Deposito;
 import ar.edu.utn.frc.backend.recursos.exceptions.ResourceNotFoundException;
+import ar.edu.utn.frc.backend.recursos.mappers.DepositoMapper;
 import ar.edu.utn.frc.backend.recursos.repositories.CiudadRepository;
 import ar.edu.utn.frc.backend.recursos.repositories.DepositoRepository;
+import ar.edu.utn.frc.backend.recursos.services.CacheLectura.Entrada;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 
 @Service
@@ -29,6 +39,27 @@ public class DepositoService {
     private CiudadRepository ciudadRepository;
     @Autowired
     private ModelMapper modelMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.cache.referencias.maximo-entradas:1000}")
+    private int maximoEntradas;
+
+    // Caches de lectura: se invalidan enteras ante cualquier cambio de depósitos o ciudades (el DTO incluye la ciudad)
+    private CacheLectura<Integer, DepositoDto> cachePorId;
+    private CacheLectura<String, List<DepositoDto>> cacheListado;
+
+    private static final String LISTADO = "todos";
+
+    @PostConstruct
+    void crearCaches() {
+        cachePorId = new CacheLectura<>("depositos-por-id", maximoEntradas, objectMapper, meterRegistry);
+        cacheListado = new CacheLectura<>("depositos-listado", 1, objectMapper, meterRegistry);
+    }
 
     @Transactional
     public DepositoDto guardarDeposito(DepositoDto depositoDto) {
@@ -48,14 +79,21 @@ public class DepositoService {
         deposito.setCiudad(ciudad);
 
         Deposito depositoGuardado = depositoRepository.save(deposito);
+        eventPublisher.publishEvent(new ReferenciaModificadaEvent(ReferenciaModificadaEvent.DEPOSITO));
         logger.info("Finalizado: Depósito guardado exitosamente con ID: {}", depositoGuardado.getId());
 
-        return convertToDto(depositoGuardado);
+        return DepositoMapper.aDto(depositoGuardado);
     }
 
     public Optional<DepositoDto> buscarPorId(Integer id) {
+        return buscarPorIdVersionado(id).map(Entrada::valor);
+    }
+
+    // Depósito por ID con su ETag y fecha de modificación (cache de lectura)
+    public Optional<Entrada<DepositoDto>> buscarPorIdVersionado(Integer id) {
         logger.debug("Buscando depósito por ID: {}", id);
-        Optional<DepositoDto> depositoOpt = depositoRepository.findById(id).map(this::convertToDto);
+        Optional<Entrada<DepositoDto>> depositoOpt = cachePorId.obtener(id,
+                clave -> depositoRepository.findById(clave).map(DepositoMapper::aDto));
         if (depositoOpt.isPresent()) {
             logger.info("Depósito ID: {} encontrado.", id);
         } else {
@@ -65,11 +103,18 @@ public class DepositoService {
     }
 
     public List<DepositoDto> buscarTodosLosDepositos() {
+        return buscarTodosLosDepositosVersionado().valor();
+    }
+
+    // Listado de depósitos con su ETag y fecha de modificación (cache de lectura)
+    public Entrada<List<DepositoDto>> buscarTodosLosDepositosVersionado() {
         logger.debug("Buscando todos los depósitos.");
-        List<DepositoDto> depositos = depositoRepository.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        logger.info("Encontrados {} depósitos en total.", depositos.size());
+        Entrada<List<DepositoDto>> depositos = cacheListado.obtener(LISTADO,
+                clave -> Optional.of(depositoRepository.findAll().stream()
+                        .map(DepositoMapper::aDto)
+                        .collect(Collectors.toUnmodifiableList())))
+                .orElseThrow();
+        logger.info("Encontrados {} depósitos en total.", depositos.valor().size());
         return depositos;
     }
 
@@ -100,8 +145,9 @@ public class DepositoService {
         logger.debug("Datos de depósito ID: {} actualizados. Ciudad asignada: {}", id, ciudad.getNombre());
 
         Deposito depositoGuardado = depositoRepository.save(depositoExistente);
+        eventPublisher.publishEvent(new ReferenciaModificadaEvent(ReferenciaModificadaEvent.DEPOSITO));
         logger.info("Finalizado: Depósito ID: {} actualizado exitosamente.", id);
-        return Optional.ofNullable(convertToDto(depositoGuardado));
+        return Optional.ofNullable(DepositoMapper.aDto(depositoGuardado));
     }
 
     @Transactional
@@ -112,13 +158,14 @@ public class DepositoService {
             throw new ResourceNotFoundException("Depósito", id);
         }
         depositoRepository.deleteById(id);
+        eventPublisher.publishEvent(new ReferenciaModificadaEvent(ReferenciaModificadaEvent.DEPOSITO));
         logger.info("Finalizado: Depósito ID: {} eliminado exitosamente.", id);
     }
 
-    // Método auxiliar para mapeo de Entidad a DTO (maneja el campo Ciudad ID)
-    private DepositoDto convertToDto(Deposito deposito) {
-        DepositoDto dto = modelMapper.map(deposito, DepositoDto.class);
-        dto.setCiudad(deposito.getCiudad().getNombre());
-        return dto;
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void referenciaModificada(ReferenciaModificadaEvent evento) {
+        cachePorId.invalidarTodo();
+        cacheListado.invalidarTodo();
+        logger.debug("Caches de depósitos invalidadas por cambio de {}.", evento.getReferencia());
     }
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ar.edu.utn.frc.backend.recursos.dto.CamionDto;
+import ar.edu.utn.frc.backend.recursos.dto.ResumenCamionesDisponiblesDto;
+import ar.edu.utn.frc.backend.recursos.mappers.CamionMapper;
+import ar.edu.utn.frc.backend.recursos.repositories.CamionRepository;
+
+/**
+ * Mantiene en memoria el índice de camiones disponibles (IndiceDisponibilidadCamiones) para responder
+ * las búsquedas por capacidad sin ir a la base. Se carga al iniciar, se actualiza con cada alta,
+ * modificación, ocupación, liberación o baja una vez confirmada la transacción, y se recarga completo
+ * cada 'app.camiones.indice.intervalo-recarga' por si la tabla se modificó por fuera de este servicio.
+ * Cada cambio publica un índice nuevo: las lecturas nunca esperan ni ven un índice a medio armar.
+ */
+@Service
+public class DisponibilidadCamionesService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisponibilidadCamionesService.class);
+
+    @Autowired
+    private CamionRepository camionRepository;
+
+    // Camiones disponibles por ID; solo se modifica con el lock de la instancia
+    private final Map<Integer, CamionDto> disponibles = new TreeMap<>();
+    private volatile IndiceDisponibilidadCamiones indice;
+
+    public List<CamionDto> buscar(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
+        return obtener().buscar(volumenMinimo, pesoMinimo);
+    }
+
+    public ResumenCamionesDisponiblesDto resumir(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
+        return obtener().resumir(volumenMinimo, pesoMinimo);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void cargarAlIniciar() {
+        try {
+            recargar();
+        } catch (RuntimeException e) {
+            logger.warn("No se pudo cargar el índice de camiones disponibles al iniciar, se cargará en la primera consulta: {}",
+                    e.getMessage());
+        }
+    }
+
+    /**
+     * Vuelve a leer los camiones disponibles de la base. La lectura se hace con el lock tomado: un cambio
+     * confirmado mientras tanto espera y se aplica después, así que nunca queda pisado por la recarga.
+     */
+    @Scheduled(initialDelayString = "${app.camiones.indice.intervalo-recarga:PT10M}",
+            fixedDelayString = "${app.camiones.indice.intervalo-recarga:PT10M}")
+    public synchronized void recargar() {
+        disponibles.clear();
+        for (CamionDto camion : camionRepository.findByDisponibilidadTrue().stream().map(CamionMapper::aDto).toList()) {
+            disponibles.put(camion.getId(), camion);
+        }
+        publicar();
+        logger.info("Índice de camiones disponibles recargado: {} camiones.", indice.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void camionModificado(CamionModificadoEvent evento) {
+        if (indice == null) {
+            // Todavía no se cargó: la primera consulta lee el estado ya confirmado
+            return;
+        }
+        CamionDto camion = evento.getCamion();
+        if (camion != null && IndiceDisponibilidadCamiones.esIndexable(camion)) {
+            disponibles.put(evento.getId(), camion);
+        } else if (disponibles.remove(evento.getId()) == null) {
+            return;
+        }
+        publicar();
+        logger.debug("Índice de camiones disponibles actualizado por el camión ID {}: {} disponibles.",
+                evento.getId(), indice.size());
+    }
+
+    private IndiceDisponibilidadCamiones obtener() {
+        IndiceDisponibilidadCamiones actual = indice;
+        if (actual != null) {
+            return actual;
+        }
+        synchronized (this) {
+            if (indice == null) {
+                recargar();
+            }
+            return indice;
+        }
+    }
+
+    private void publicar() {
+        indice = IndiceDisponibilidadCamiones.de(disponibles.values());
+    }
+}
@@ -0,0 +1,219 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import ar.edu.utn.frc.backend.recursos.dto.CamionDto;
+import ar.edu.utn.frc.backend.recursos.dto.ResumenCamionesDisponiblesDto;
+
+/**
+ * Índice inmutable de los camiones disponibles para consultas "capacidad >= (volumen, peso)".
+ * Los camiones se ordenan por volumen y sobre ese orden se arma un árbol de segmentos implícito
+ * (nodo k con hijos 2k y 2k+1) donde cada nodo guarda sus camiones ordenados por peso junto con
+ * las sumas por sufijo de costo por km y consumo. El volumen mínimo define un sufijo del orden por
+ * volumen que el árbol cubre con O(log n) nodos; en cada uno el peso mínimo es una búsqueda binaria.
+ * El resumen (cantidad y sumas) sale en O(log² n) sin recorrer los camiones; el listado agrega O(k).
+ */
+public final class IndiceDisponibilidadCamiones {
+
+    private static final Comparator<CamionDto> POR_VOLUMEN = Comparator.comparing(CamionDto::getCapacidadVolumen)
+            .thenComparing(CamionDto::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+    private static final Comparator<CamionDto> POR_PESO = Comparator.comparing(CamionDto::getCapacidadPeso);
+    private static final CamionDto[] SIN_CAMIONES = new CamionDto[0];
+    private static final BigDecimal[] SIN_SUMAS = { BigDecimal.ZERO };
+
+    private final int cantidad;
+    private final int hojas;
+    private final BigDecimal[] volumenes;
+    private final CamionDto[][] porPeso;
+    private final BigDecimal[][] sufijoCosto;
+    private final BigDecimal[][] sufijoConsumo;
+
+    private IndiceDisponibilidadCamiones(List<CamionDto> ordenados) {
+        cantidad = ordenados.size();
+        int potencia = 1;
+        while (potencia < cantidad) {
+            potencia <<= 1;
+        }
+        hojas = potencia;
+        volumenes = new BigDecimal[cantidad];
+        porPeso = new CamionDto[2 * hojas][];
+        sufijoCosto = new BigDecimal[2 * hojas][];
+        sufijoConsumo = new BigDecimal[2 * hojas][];
+
+        for (int i = 0; i < hojas; i++) {
+            CamionDto[] hoja = i < cantidad ? new CamionDto[] { ordenados.get(i) } : SIN_CAMIONES;
+            if (i < cantidad) {
+                volumenes[i] = ordenados.get(i).getCapacidadVolumen();
+            }
+            asignarNodo(hojas + i, hoja);
+        }
+        for (int k = hojas - 1; k >= 1; k--) {
+            asignarNodo(k, fusionarPorPeso(porPeso[2 * k], porPeso[2 * k + 1]));
+        }
+    }
+
+    /**
+     * Arma el índice con los camiones disponibles de la colección. Los que están ocupados o no tienen
+     * capacidades cargadas quedan afuera.
+     */
+    public static IndiceDisponibilidadCamiones de(Collection<CamionDto> camiones) {
+        List<CamionDto> disponibles = new ArrayList<>(camiones.size());
+        for (CamionDto camion : camiones) {
+            if (esIndexable(camion)) {
+                disponibles.add(camion);
+            }
+        }
+        disponibles.sort(POR_VOLUMEN);
+        return new IndiceDisponibilidadCamiones(disponibles);
+    }
+
+    // Un camión entra al índice si está disponible y tiene las capacidades cargadas
+    static boolean esIndexable(CamionDto camion) {
+        return Boolean.TRUE.equals(camion.getDisponibilidad())
+                && camion.getCapacidadVolumen() != null
+                && camion.getCapacidadPeso() != null;
+    }
+
+    public int size() {
+        return cantidad;
+    }
+
+    /**
+     * Camiones disponibles con volumen >= volumenMinimo y peso >= pesoMinimo, ordenados por ID.
+     */
+    public List<CamionDto> buscar(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
+        List<CamionDto> encontrados = new ArrayList<>();
+        int l = hojas + primeroConVolumen(volumenMinimo);
+        int r = hojas + cantidad;
+        while (l < r) {
+            if ((l & 1) == 1) {
+                agregarDesdePeso(porPeso[l++], pesoMinimo, encontrados);
+            }
+            if ((r & 1) == 1) {
+                agregarDesdePeso(porPeso[--r], pesoMinimo, encontrados);
+            }
+            l >>= 1;
+            r >>= 1;
+        }
+        encontrados.sort(Comparator.comparing(CamionDto::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        return encontrados;
+    }
+
+    /**
+     * Cantidad de camiones disponibles con volumen >= volumenMinimo y peso >= pesoMinimo y las sumas
+     * de su costo por km y consumo promedio, sin recorrerlos.
+     */
+    public ResumenCamionesDisponiblesDto resumir(BigDecimal volumenMinimo, BigDecimal pesoMinimo) {
+        ResumenCamionesDisponiblesDto resumen = new ResumenCamionesDisponiblesDto(0, BigDecimal.ZERO, BigDecimal.ZERO);
+        int l = hojas + primeroConVolumen(volumenMinimo);
+        int r = hojas + cantidad;
+        while (l < r) {
+            if ((l & 1) == 1) {
+                acumularDesdePeso(l++, pesoMinimo, resumen);
+            }
+            if ((r & 1) == 1) {
+                acumularDesdePeso(--r, pesoMinimo, resumen);
+            }
+            l >>= 1;
+            r >>= 1;
+        }
+        return resumen;
+    }
+
+    private void acumularDesdePeso(int nodo, BigDecimal pesoMinimo, ResumenCamionesDisponiblesDto resumen) {
+        int desde = primeroConPeso(porPeso[nodo], pesoMinimo);
+        resumen.setCantidad(resumen.getCantidad() + porPeso[nodo].length - desde);
+        resumen.setSumaCostoPorKm(resumen.getSumaCostoPorKm().add(sufijoCosto[nodo][desde]));
+        resumen.setSumaConsumoCombustiblePromedio(
+                resumen.getSumaConsumoCombustiblePromedio().add(sufijoConsumo[nodo][desde]));
+    }
+
+    private void asignarNodo(int nodo, CamionDto[] camiones) {
+        porPeso[nodo] = camiones;
+        if (camiones.length == 0) {
+            sufijoCosto[nodo] = SIN_SUMAS;
+            sufijoConsumo[nodo] = SIN_SUMAS;
+            return;
+        }
+        BigDecimal[] costo = new BigDecimal[camiones.length + 1];
+        BigDecimal[] consumo = new BigDecimal[camiones.length + 1];
+        costo[camiones.length] = BigDecimal.ZERO;
+        consumo[camiones.length] = BigDecimal.ZERO;
+        for (int i = camiones.length - 1; i >= 0; i--) {
+            costo[i] = costo[i + 1].add(Objects.requireNonNullElse(camiones[i].getCostoPorKm(), BigDecimal.ZERO));
+            consumo[i] = consumo[i + 1].add(
+                    Objects.requireNonNullElse(camiones[i].getConsumoCombustiblePromedio(), BigDecimal.ZERO));
+        }
+        sufijoCosto[nodo] = costo;
+        sufijoConsumo[nodo] = consumo;
+    }
+
+    private static CamionDto[] fusionarPorPeso(CamionDto[] izquierda, CamionDto[] derecha) {
+        if (izquierda.length == 0) {
+            return derecha;
+        }
+        if (derecha.length == 0) {
+            return izquierda;
+        }
+        CamionDto[] fusion = new CamionDto[izquierda.length + derecha.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < izquierda.length && j < derecha.length) {
+            fusion[k++] = POR_PESO.compare(izquierda[i], derecha[j]) <= 0 ? izquierda[i++] : derecha[j++];
+        }
+        while (i < izquierda.length) {
+            fusion[k++] = izquierda[i++];
+        }
+        while (j < derecha.length) {
+            fusion[k++] = derecha[j++];
+        }
+        return fusion;
+    }
+
+    private static void agregarDesdePeso(CamionDto[] camiones, BigDecimal pesoMinimo, List<CamionDto> destino) {
+        destino.addAll(Arrays.asList(camiones).subList(primeroConPeso(camiones, pesoMinimo), camiones.length));
+    }
+
+    // Primera posición (en orden de volumen) con volumen >= volumenMinimo
+    private int primeroConVolumen(BigDecimal volumenMinimo) {
+        if (volumenMinimo == null) {
+            return 0;
+        }
+        int desde = 0;
+        int hasta = cantidad;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (volumenes[medio].compareTo(volumenMinimo) < 0) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+
+    // Primera posición del nodo (ordenado por peso) con peso >= pesoMinimo
+    private static int primeroConPeso(CamionDto[] camiones, BigDecimal pesoMinimo) {
+        if (pesoMinimo == null) {
+            return 0;
+        }
+        int desde = 0;
+        int hasta = camiones.length;
+        while (desde < hasta) {
+            int medio = (desde + hasta) >>> 1;
+            if (camiones[medio].getCapacidadPeso().compareTo(pesoMinimo) < 0) {
+                desde = medio + 1;
+            } else {
+                hasta = medio;
+            }
+        }
+        return desde;
+    }
+}
@@ -0,0 +1,34 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import ar.edu.utn.frc.backend.recursos.restClient.LogisticaClient;
+
+/**
+ * Avisa a Logística los cambios de tarifa una vez confirmada la transacción, para que no cachee
+ * un valor que todavía puede volver atrás. Un error en el aviso no afecta el alta de la tarifa.
+ */
+@Component
+public class NotificadorTarifas {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificadorTarifas.class);
+
+    @Autowired
+    private LogisticaClient logisticaClient;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void tarifaActualizada(TarifaActualizadaEvent evento) {
+        try {
+            logisticaClient.avisarCambioTarifa(evento.getTarifa(), evento.getFechaHoraDesde());
+            logger.info("Logística notificada del cambio de tarifa {} (vigente desde {}).",
+                    evento.getTarifa(), evento.getFechaHoraDesde());
+        } catch (Exception e) {
+            logger.warn("No se pudo notificar a Logística el cambio de tarifa {}: {}", evento.getTarifa(), e.getMessage());
+        }
+    }
+}
@@ -8,10 +8,12 @@ import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import ar.edu.utn.frc.backend.recursos.dto.PrecioCombustibleDto;
 import ar.edu.utn.frc.backend.recursos.entities.PrecioCombustible;
+import ar.edu.utn.frc.backend.recursos.mappers.TarifaMapper;
 import ar.edu.utn.frc.backend.recursos.repositories.PrecioCombustibleRepository;
 import jakarta.transaction.Transactional;
 
@@ -24,6 +26,8 @@ public class PrecioCombustibleService {
     private PrecioCombustibleRepository precioCombustibleRepository;
     @Autowired
     private ModelMapper modelMapper;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     // Guardar un nuevo precio de combustible, finalizando el vigente
     @Transactional
@@ -49,7 +53,10 @@ public class PrecioCombustibleService {
 
         PrecioCombustible savedPrice = precioCombustibleRepository.save(newPrice);
         logger.info("Finalizado: Nuevo precio de combustible (ID: {}) guardado e iniciado su vigencia desde: {}", savedPrice.getPrecioPorLitro(), now);
-        return modelMapper.map(savedPrice, PrecioCombustibleDto.class);
+
+        // 3. Aviso a Logística (se envía recién después del commit)
+        eventPublisher.publishEvent(new TarifaActualizadaEvent(TarifaActualizadaEvent.COMBUSTIBLE, now));
+        return TarifaMapper.aDto(savedPrice);
     }
 
     // Obtiene el precio actualmente vigente (fechaHoraHasta = NULL).
@@ -59,7 +66,7 @@ public class PrecioCombustibleService {
         if (!currentPrices.isEmpty()) {
             PrecioCombustible currentPrice = currentPrices.get(0);
             logger.info("Precio de combustible vigente encontrado (ID: {}, Valor: {}).", currentPrice.getId(), currentPrice.getPrecioPorLitro());
-            return Optional.of(modelMapper.map(currentPrice, PrecioCombustibleDto.class));
+            return Optional.of(TarifaMapper.aDto(currentPrice));
         } else {
             logger.warn("No se encontró ningún precio de combustible actualmente vigente.");
             return Optional.empty();
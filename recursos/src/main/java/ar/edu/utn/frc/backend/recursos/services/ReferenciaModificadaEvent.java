@@ -0,0 +1,18 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Se publica al dar de alta, modificar o eliminar un depósito o una ciudad, para invalidar las caches
+ * de lectura una vez confirmada la transacción. 'referencia' es DEPOSITO o CIUDAD.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenciaModificadaEvent {
+
+    public static final String DEPOSITO = "DEPOSITO";
+    public static final String CIUDAD = "CIUDAD";
+
+    private final String referencia;
+}
@@ -0,0 +1,21 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Se publica al guardar un nuevo precio de combustible o cargo de gestión.
+ * 'tarifa' es COMBUSTIBLE o GESTION.
+ */
+@Getter
+@AllArgsConstructor
+public class TarifaActualizadaEvent {
+
+    public static final String COMBUSTIBLE = "COMBUSTIBLE";
+    public static final String GESTION = "GESTION";
+
+    private final String tarifa;
+    private final LocalDateTime fechaHoraDesde;
+}
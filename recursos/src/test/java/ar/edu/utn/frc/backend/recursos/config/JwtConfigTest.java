@@ -0,0 +1,97 @@
+package ar.edu.utn.frc.backend.recursos.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtConfigTest {
+
+	private static final String ISSUER = "http://keycloak:8080/realms/tpi-backend";
+	private static final String SECRETO = "secreto-compartido-de-prueba-con-32-bytes";
+
+	private RSAKey claveKeycloak;
+	private ClavesJwks clavesJwks;
+	private JwtConfig config;
+
+	@BeforeEach
+	void preparar() throws JOSEException {
+		claveKeycloak = new RSAKeyGenerator(2048).keyID("k1").generate();
+		clavesJwks = mock(ClavesJwks.class);
+		when(clavesJwks.get(any(), any())).thenReturn(List.of(claveKeycloak.toPublicJWK()));
+
+		config = new JwtConfig();
+		ReflectionTestUtils.setField(config, "issuer", ISSUER);
+		ReflectionTestUtils.setField(config, "maximoEntradas", 100);
+		ReflectionTestUtils.setField(config, "cabeceraClaimsFirmados", "X-Claims-Validados");
+		ReflectionTestUtils.setField(config, "secretoClaimsFirmados", SECRETO);
+	}
+
+	@Test
+	void unTokenValidadoNoVuelveAVerificarLaFirma() throws JOSEException {
+		JwtDecoder decoder = config.jwtDecoder(clavesJwks, new SimpleMeterRegistry());
+		String token = firmar(new RSASSASigner(claveKeycloak), JWSAlgorithm.RS256, "k1", Instant.now().plusSeconds(300));
+
+		assertEquals("ana", decoder.decode(token).getSubject());
+		assertEquals("ana", decoder.decode(token).getSubject());
+		verify(clavesJwks, times(1)).get(any(), any());
+
+		String vencido = firmar(new RSASSASigner(claveKeycloak), JWSAlgorithm.RS256, "k1", Instant.now().minusSeconds(300));
+		assertThrows(JwtException.class, () -> decoder.decode(vencido));
+	}
+
+	@Test
+	void losClaimsFirmadosPorElGatewaySoloSeAceptanHabilitadosYConElSecreto() throws JOSEException {
+		String claims = firmar(new MACSigner(SECRETO), JWSAlgorithm.HS256, null, Instant.now().plusSeconds(300));
+		String falsificados = firmar(new MACSigner("otro-secreto-de-32-bytes-o-mas-largo"), JWSAlgorithm.HS256, null,
+				Instant.now().plusSeconds(300));
+
+		JwtDecoder deshabilitado = config.jwtDecoder(clavesJwks, new SimpleMeterRegistry());
+		assertThrows(JwtException.class, () -> deshabilitado.decode(claims));
+
+		ReflectionTestUtils.setField(config, "claimsFirmadosHabilitado", true);
+		JwtDecoder habilitado = config.jwtDecoder(clavesJwks, new SimpleMeterRegistry());
+		assertEquals("ana", habilitado.decode(claims).getSubject());
+		assertThrows(JwtException.class, () -> habilitado.decode(falsificados));
+	}
+
+	private static String firmar(JWSSigner firmante, JWSAlgorithm algoritmo, String kid, Instant vence) throws JOSEException {
+		JWTClaimsSet claims = new JWTClaimsSet.Builder()
+				.subject("ana")
+				.issuer(ISSUER)
+				.issueTime(new Date())
+				.expirationTime(Date.from(vence))
+				.claim("realm_access", Map.of("roles", List.of("admin")))
+				.build();
+		SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(algoritmo).keyID(kid).build(), claims);
+		jwt.sign(firmante);
+		return jwt.serialize();
+	}
+}
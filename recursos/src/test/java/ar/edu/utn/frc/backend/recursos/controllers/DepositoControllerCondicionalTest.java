@@ -0,0 +1,62 @@
+package ar.edu.utn.frc.backend.recursos.controllers;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ar.edu.utn.frc.backend.recursos.dto.DepositoDto;
+import ar.edu.utn.frc.backend.recursos.services.CacheLectura;
+import ar.edu.utn.frc.backend.recursos.services.DepositoService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * GET condicionales de depósitos: la respuesta lleva ETag y Last-Modified, y un pedido con el mismo
+ * ETag (If-None-Match) recibe 304 sin cuerpo.
+ */
+class DepositoControllerCondicionalTest {
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void preparar() {
+		CacheLectura<Integer, DepositoDto> cache = new CacheLectura<>("prueba", 10, new ObjectMapper(),
+				new SimpleMeterRegistry());
+		DepositoDto deposito = DepositoDto.builder().id(1).nombre("Depósito Norte").ciudad("Córdoba").build();
+		DepositoService depositoService = mock(DepositoService.class);
+		when(depositoService.buscarPorIdVersionado(1)).thenAnswer(inv -> cache.obtener(1, id -> Optional.of(deposito)));
+		when(depositoService.buscarPorIdVersionado(2)).thenReturn(Optional.empty());
+
+		DepositoController controller = new DepositoController();
+		ReflectionTestUtils.setField(controller, "depositoService", depositoService);
+		mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+	}
+
+	@Test
+	void conElMismoEtagRespondeNotModified() throws Exception {
+		String etag = mockMvc.perform(get("/api/depositos/1"))
+				.andExpect(status().isOk())
+				.andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+				.andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+		mockMvc.perform(get("/api/depositos/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+				.andExpect(status().isNotModified())
+				.andExpect(content().string(""));
+		mockMvc.perform(get("/api/depositos/1").header(HttpHeaders.IF_NONE_MATCH, "\"otro\""))
+				.andExpect(status().isOk());
+		mockMvc.perform(get("/api/depositos/2")).andExpect(status().isNotFound());
+	}
+}
@@ -0,0 +1,63 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import ar.edu.utn.frc.backend.recursos.services.CacheLectura.Entrada;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CacheLecturaTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final CacheLectura<Integer, String> cache = new CacheLectura<>("prueba", 2, new ObjectMapper(), meterRegistry);
+
+	@Test
+	void leeUnaSolaVezHastaQueSeInvalidaYElEtagSigueAlContenido() {
+		AtomicInteger cargas = new AtomicInteger();
+		Entrada<String> primera = cache.obtener(1, id -> Optional.of("Depósito " + cargas.incrementAndGet())).orElseThrow();
+		Entrada<String> segunda = cache.obtener(1, id -> Optional.of("Depósito " + cargas.incrementAndGet())).orElseThrow();
+
+		assertEquals(1, cargas.get());
+		assertEquals(primera, segunda);
+		assertEquals(1.0, meterRegistry.get("cache.referencias.lecturas").tag("resultado", "acierto").counter().count());
+
+		cache.invalidarTodo();
+		Entrada<String> recargada = cache.obtener(1, id -> Optional.of("Depósito " + cargas.incrementAndGet())).orElseThrow();
+		assertEquals(2, cargas.get());
+		assertNotEquals(primera.etag(), recargada.etag());
+		assertTrue(!recargada.ultimaModificacion().isBefore(primera.ultimaModificacion()));
+	}
+
+	@Test
+	void descartaLaEntradaMenosUsadaAlSuperarElMaximoYNoGuardaVacios() {
+		cache.obtener(1, id -> Optional.of("uno"));
+		cache.obtener(2, id -> Optional.of("dos"));
+		cache.obtener(1, id -> Optional.of("uno"));
+		cache.obtener(3, id -> Optional.of("tres"));
+
+		assertEquals(2, cache.size());
+		assertEquals("uno", cache.obtener(1, id -> Optional.of("recargado")).orElseThrow().valor());
+		assertEquals("dos otra vez", cache.obtener(2, id -> Optional.of("dos otra vez")).orElseThrow().valor());
+
+		assertTrue(cache.obtener(9, id -> Optional.empty()).isEmpty());
+		assertEquals("nueve", cache.obtener(9, id -> Optional.of("nueve")).orElseThrow().valor());
+	}
+
+	@Test
+	void unaCargaQueTerminaDespuesDeUnaInvalidacionNoQuedaGuardada() {
+		cache.obtener(1, id -> {
+			cache.invalidarTodo();
+			return Optional.of("valor anterior al cambio");
+		});
+
+		assertEquals("valor nuevo", cache.obtener(1, id -> Optional.of("valor nuevo")).orElseThrow().valor());
+	}
+}
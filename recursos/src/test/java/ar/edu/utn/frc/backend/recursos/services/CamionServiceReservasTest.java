@@ -0,0 +1,124 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import ar.edu.utn.frc.backend.recursos.dto.ReservaCamionDto;
+import ar.edu.utn.frc.backend.recursos.entities.Camion;
+
+/**
+ * Reservas de camiones con UPDATE condicional: una sola clave gana, los reintentos con la misma clave
+ * son idempotentes, la confirmación deja la ocupación firme y una reserva vencida libera el camión.
+ */
+@DataJpaTest
+@Import(CamionService.class)
+class CamionServiceReservasTest {
+
+	@Autowired
+	private CamionService service;
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@MockitoBean
+	private ModelMapper modelMapper;
+	@MockitoBean
+	private DisponibilidadCamionesService disponibilidadCamionesService;
+
+	private Integer camionId;
+
+	@BeforeEach
+	void preparar() {
+		// El servicio se comparte entre tests: se restablece la duración que modifica el test de vencimiento
+		ReflectionTestUtils.setField(service, "duracionReserva", Duration.ofMinutes(2));
+		Camion camion = new Camion();
+		camion.setDominio("AB123CD");
+		camion.setCapacidadVolumen(new BigDecimal("30.00"));
+		camion.setCapacidadPeso(new BigDecimal("10000.00"));
+		camion.setCostoPorKm(new BigDecimal("150.00"));
+		camion.setConsumoCombustiblePromedio(new BigDecimal("0.35"));
+		camion.setNombreTransportista("Juan Gómez");
+		camion.setTelefonoTransportista("3511234567");
+		camionId = testEntityManager.persistAndFlush(camion).getId();
+		testEntityManager.clear();
+	}
+
+	@Test
+	void soloUnaClaveObtieneLaReservaYElReintentoDevuelveLaMisma() {
+		ReservaCamionDto reserva = service.reservarCamion(camionId, "tramo-1").orElseThrow();
+
+		assertThrows(IllegalStateException.class, () -> service.reservarCamion(camionId, "tramo-2"));
+		ReservaCamionDto reintento = service.reservarCamion(camionId, "tramo-1").orElseThrow();
+		assertEquals(reserva.getVenceEn(), reintento.getVenceEn());
+		assertFalse(camion().getDisponibilidad());
+	}
+
+	@Test
+	void laConfirmacionEsIdempotenteYNoVence() {
+		service.reservarCamion(camionId, "tramo-1");
+
+		service.setCamionOcupado(camionId, "tramo-1");
+		service.setCamionOcupado(camionId, "tramo-1");
+		assertNull(camion().getReservaVence());
+		assertThrows(IllegalStateException.class, () -> service.setCamionOcupado(camionId, "tramo-2"));
+		assertThrows(IllegalStateException.class, () -> service.reservarCamion(camionId, "tramo-2"));
+	}
+
+	@Test
+	void unaReservaVencidaDejaElCamionLibre() {
+		ReflectionTestUtils.setField(service, "duracionReserva", Duration.ofSeconds(-1));
+		service.reservarCamion(camionId, "tramo-1");
+
+		service.liberarReservasVencidas();
+		Camion liberado = camion();
+		assertTrue(liberado.getDisponibilidad());
+		assertNull(liberado.getReservaToken());
+
+		service.reservarCamion(camionId, "tramo-1");
+		assertEquals("tramo-2", service.reservarCamion(camionId, "tramo-2").map(ReservaCamionDto::getToken).orElseThrow());
+	}
+
+	@Test
+	void unaLiberacionConOtraClaveNoLiberaAlOcupanteActual() {
+		service.reservarCamion(camionId, "tramo-2");
+		service.setCamionOcupado(camionId, "tramo-2");
+
+		// Liberación tardía del tramo anterior: el camión sigue ocupado por 'tramo-2'
+		assertTrue(service.setCamionLibre(camionId, "tramo-1").isPresent());
+		assertFalse(camion().getDisponibilidad());
+		assertEquals("tramo-2", camion().getReservaToken());
+
+		service.setCamionLibre(camionId, "tramo-2");
+		assertTrue(camion().getDisponibilidad());
+		assertNull(camion().getReservaToken());
+		// Reentrega de la misma liberación: no es un error
+		assertTrue(service.setCamionLibre(camionId, "tramo-2").isPresent());
+		assertTrue(camion().getDisponibilidad());
+	}
+
+	@Test
+	void sinClaveNoSePuedeReservarYUnCamionInexistenteNoSeEncuentra() {
+		assertThrows(IllegalArgumentException.class, () -> service.reservarCamion(camionId, " "));
+		assertTrue(service.reservarCamion(camionId + 1000, "tramo-1").isEmpty());
+	}
+
+	private Camion camion() {
+		testEntityManager.clear();
+		return testEntityManager.find(Camion.class, camionId);
+	}
+}
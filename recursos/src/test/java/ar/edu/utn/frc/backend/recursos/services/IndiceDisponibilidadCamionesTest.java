@@ -0,0 +1,78 @@
+package ar.edu.utn.frc.backend.recursos.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import ar.edu.utn.frc.backend.recursos.dto.CamionDto;
+import ar.edu.utn.frc.backend.recursos.dto.ResumenCamionesDisponiblesDto;
+
+class IndiceDisponibilidadCamionesTest {
+
+	@Test
+	void coincideConElFiltradoLinealParaCualquierCapacidad() {
+		Random random = new Random(42);
+		List<CamionDto> flota = new ArrayList<>();
+		for (int i = 1; i <= 200; i++) {
+			flota.add(camion(i, random.nextInt(50) + 1, random.nextInt(50) + 1, random.nextInt(8) != 0));
+		}
+		IndiceDisponibilidadCamiones indice = IndiceDisponibilidadCamiones.de(flota);
+
+		for (int i = 0; i < 300; i++) {
+			BigDecimal volumen = BigDecimal.valueOf(random.nextInt(55));
+			BigDecimal peso = BigDecimal.valueOf(random.nextInt(55));
+			List<CamionDto> esperados = flota.stream()
+					.filter(c -> c.getDisponibilidad()
+							&& c.getCapacidadVolumen().compareTo(volumen) >= 0
+							&& c.getCapacidadPeso().compareTo(peso) >= 0)
+					.toList();
+
+			assertEquals(esperados, indice.buscar(volumen, peso));
+
+			ResumenCamionesDisponiblesDto resumen = indice.resumir(volumen, peso);
+			assertEquals(esperados.size(), resumen.getCantidad());
+			assertEquals(0, suma(esperados, true).compareTo(resumen.getSumaCostoPorKm()));
+			assertEquals(0, suma(esperados, false).compareTo(resumen.getSumaConsumoCombustiblePromedio()));
+		}
+	}
+
+	@Test
+	void losLimitesSonInclusivosYSinCamionesElResumenEsCero() {
+		IndiceDisponibilidadCamiones indice = IndiceDisponibilidadCamiones.de(List.of(
+				camion(1, 10, 20, true), camion(2, 30, 5, true), camion(3, 40, 40, false)));
+
+		assertEquals(List.of(1), indice.buscar(new BigDecimal("10.00"), new BigDecimal("20")).stream()
+				.map(CamionDto::getId).toList());
+		assertEquals(2, indice.size());
+
+		ResumenCamionesDisponiblesDto vacio = IndiceDisponibilidadCamiones.de(List.of())
+				.resumir(BigDecimal.ONE, BigDecimal.ONE);
+		assertEquals(0, vacio.getCantidad());
+		assertEquals(0, BigDecimal.ZERO.compareTo(vacio.getSumaCostoPorKm()));
+		assertTrue(indice.buscar(new BigDecimal("41"), BigDecimal.ZERO).isEmpty());
+	}
+
+	private static CamionDto camion(int id, int volumen, int peso, boolean disponible) {
+		return CamionDto.builder()
+				.id(id)
+				.dominio("AA" + id)
+				.capacidadVolumen(BigDecimal.valueOf(volumen))
+				.capacidadPeso(BigDecimal.valueOf(peso))
+				.costoPorKm(BigDecimal.valueOf(100 + id, 2))
+				.consumoCombustiblePromedio(BigDecimal.valueOf(id, 3))
+				.disponibilidad(disponible)
+				.build();
+	}
+
+	private static BigDecimal suma(List<CamionDto> camiones, boolean costo) {
+		return camiones.stream()
+				.map(c -> costo ? c.getCostoPorKm() : c.getConsumoCombustiblePromedio())
+				.reduce(BigDecimal.ZERO, BigDecimal::add);
+	}
+}
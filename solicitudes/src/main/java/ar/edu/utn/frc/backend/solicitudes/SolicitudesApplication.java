@@ -2,8 +2,10 @@ package ar.edu.utn.frc.backend.solicitudes;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SolicitudesApplication {
 
 	public static void main(String[] args) {
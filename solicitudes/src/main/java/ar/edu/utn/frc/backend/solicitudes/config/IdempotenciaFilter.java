@@ -0,0 +1,97 @@
+package ar.edu.utn.frc.backend.solicitudes.config;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import ar.edu.utn.frc.backend.solicitudes.entities.OperacionProcesada;
+import ar.edu.utn.frc.backend.solicitudes.repositories.OperacionProcesadaRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Hace idempotentes las actualizaciones (PUT) que llegan con la cabecera Idempotency-Key, como las que
+ * reintenta el outbox de Logística. La operación y el registro de la clave se confirman en la misma
+ * transacción: si la clave ya estaba registrada no se vuelve a aplicar y se responde 200 sin cuerpo.
+ * La respuesta se retiene hasta el commit para no informar éxito de una operación que luego se revierte.
+ */
+@Component
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
+    private static final Logger logger = LoggerFactory.getLogger(IdempotenciaFilter.class);
+
+    private final OperacionProcesadaRepository operacionProcesadaRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public IdempotenciaFilter(OperacionProcesadaRepository operacionProcesadaRepository,
+            PlatformTransactionManager transactionManager) {
+        this.operacionProcesadaRepository = operacionProcesadaRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.PUT.matches(request.getMethod()) || request.getHeader(IDEMPOTENCY_KEY) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String clave = request.getHeader(IDEMPOTENCY_KEY);
+
+        if (operacionProcesadaRepository.existsById(clave)) {
+            responderRepetida(response, clave);
+            return;
+        }
+
+        ContentCachingResponseWrapper respuesta = new ContentCachingResponseWrapper(response);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    filterChain.doFilter(request, respuesta);
+                } catch (IOException | ServletException e) {
+                    throw new IllegalStateException(e);
+                }
+                if (HttpStatus.valueOf(respuesta.getStatus()).is2xxSuccessful()) {
+                    operacionProcesadaRepository.save(new OperacionProcesada(clave, LocalDateTime.now()));
+                } else {
+                    status.setRollbackOnly();
+                }
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Otra ejecución con la misma clave se confirmó primero: esta se revirtió completa
+            respuesta.resetBuffer();
+            responderRepetida(respuesta, clave);
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof IOException io) {
+                throw io;
+            }
+            if (e.getCause() instanceof ServletException servlet) {
+                throw servlet;
+            }
+            throw e;
+        }
+        respuesta.copyBodyToResponse();
+    }
+
+    private void responderRepetida(HttpServletResponse response, String clave) {
+        logger.info("Operación con {} {} ya aplicada. Se omite.", IDEMPOTENCY_KEY, clave);
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader(IDEMPOTENT_REPLAYED, "true");
+    }
+}
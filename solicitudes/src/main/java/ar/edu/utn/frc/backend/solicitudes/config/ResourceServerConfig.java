@@ -47,6 +47,7 @@ public class ResourceServerConfig {
                 .requestMatchers(HttpMethod.PUT, "/api/solicitudes/{id}/en-transito").permitAll()
                 .requestMatchers(HttpMethod.PUT, "/api/solicitudes/{id}/entregada").permitAll()
                 .requestMatchers(HttpMethod.PUT, "/api/solicitudes/{id}/contenedor/**").permitAll()
+                .requestMatchers(HttpMethod.PUT, "/api/solicitudes/transiciones").permitAll()
                 
                 // === 2. RUTAS DE CLIENTES AUTENTICADOS (hasRole / authenticated) ===
 
@@ -55,6 +56,8 @@ public class ResourceServerConfig {
                 // Lectura de seguimiento, perfil y modificación de perfil 
                 .requestMatchers(HttpMethod.GET, "/api/clientes/{id}").authenticated() 
                 .requestMatchers(HttpMethod.PUT, "/api/clientes/{id}").authenticated()
+                // Listados paginados y exportación (antes de '{id}' para que no los tome como un ID)
+                .requestMatchers(HttpMethod.GET, "/api/solicitudes/pagina", "/api/solicitudes/stream").hasRole("ADMIN")
                 .requestMatchers(HttpMethod.GET, "/api/solicitudes/{id}").authenticated()
                 .requestMatchers(HttpMethod.GET, "/api/solicitudes/{id}/contenedor/seguimiento").authenticated()
 
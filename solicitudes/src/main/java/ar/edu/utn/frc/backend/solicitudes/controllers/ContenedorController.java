@@ -1,19 +1,27 @@
 package ar.edu.utn.frc.backend.solicitudes.controllers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ar.edu.utn.frc.backend.solicitudes.dto.ContenedorDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.PaginaDto;
 import ar.edu.utn.frc.backend.solicitudes.services.ContenedorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,6 +42,8 @@ public class ContenedorController {
 
     @Autowired
     private ContenedorService contenedorService;
+    @Autowired
+    private ObjectMapper objectMapper;
 
     @Operation(
         summary = "Obtener todos los contenedores",
@@ -215,4 +225,85 @@ public class ContenedorController {
         logger.info("Se encontraron {} contenedores con el estado {}.", contenedores.size(), estado);
         return ResponseEntity.ok(contenedores);
     }
-}
\ No newline at end of file
+
+    @Operation(
+        summary = "Obtener contenedores paginados",
+        description = """
+            Retorna una página de contenedores ordenados por ID, opcionalmente filtrados por estado.
+            La paginación es por cursor: la respuesta trae 'siguienteCursor', que se envía en el parámetro
+            'cursor' para pedir la página siguiente (es null en la última página).
+            
+            **Roles permitidos:** ADMIN
+            """,
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Página de contenedores obtenida exitosamente",
+            content = @Content(schema = @Schema(implementation = PaginaDto.class))
+        ),
+        @ApiResponse(responseCode = "400", description = "Cursor o límite inválido"),
+        @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
+        @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping("/pagina")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<PaginaDto<ContenedorDto>> obtenerPaginaDeContenedores(
+            @Parameter(description = "Estado del contenedor (opcional)", example = "En Viaje") 
+            @RequestParam(required = false) String estado,
+            @Parameter(description = "Cursor devuelto por la página anterior (vacío: primera página)") 
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Cantidad de contenedores por página (1 a 500, por defecto 50)", example = "50") 
+            @RequestParam(required = false) Integer limite) {
+        logger.info("GET /api/contenedores/pagina: Solicitud de página de contenedores (estado: {}).", estado);
+        PaginaDto<ContenedorDto> pagina = contenedorService.buscarPagina(estado, cursor, limite);
+        logger.info("Se devolvieron {} contenedores.", pagina.getItems().size());
+        return ResponseEntity.ok(pagina);
+    }
+
+    @Operation(
+        summary = "Exportar contenedores en streaming",
+        description = """
+            Envía todos los contenedores (o los de un estado) en formato NDJSON, una línea por contenedor,
+            a medida que se leen de la base de datos. Pensado para exportaciones e integraciones que
+            necesitan el listado completo sin paginar.
+            
+            **Roles permitidos:** ADMIN
+            """,
+        security = @SecurityRequirement(name = "bearerAuth")
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200", 
+            description = "Contenedores en formato NDJSON",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                    schema = @Schema(implementation = ContenedorDto.class))
+        ),
+        @ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
+        @ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
+        @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportarContenedores(
+            @Parameter(description = "Estado del contenedor (opcional)", example = "En Viaje") 
+            @RequestParam(required = false) String estado) {
+        logger.info("GET /api/contenedores/stream: Solicitud de exportación de contenedores (estado: {}).", estado);
+
+        StreamingResponseBody cuerpo = salida -> {
+            long enviados = contenedorService.recorrer(estado, contenedor -> {
+                try {
+                    salida.write(objectMapper.writeValueAsBytes(contenedor));
+                    salida.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            salida.flush();
+            logger.info("Exportación de contenedores finalizada: {} enviados.", enviados);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+    }
+}
@@ -1,5 +1,7 @@
 package ar.edu.utn.frc.backend.solicitudes.controllers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 
@@ -7,6 +9,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import static org.springframework.http.ResponseEntity.status;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,14 +19,21 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import ar.edu.utn.frc.backend.solicitudes.dto.ContenedorDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.HistoricoEstadoContenedorDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.PaginaDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.SolicitudTransporteDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.SolicitudTransportePostDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.helpers.CostoYTiempoDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.helpers.InfoDepositoDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.helpers.ResultadoTransicionDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.helpers.TransicionSolicitudDto;
 import ar.edu.utn.frc.backend.solicitudes.services.SolicitudTransporteService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,6 +44,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
 
 @RestController
 @RequestMapping("/api/solicitudes")
@@ -45,6 +56,8 @@ public class SolicitudTransporteController {
 
 	@Autowired
 	private SolicitudTransporteService solicitudService;
+	@Autowired
+	private ObjectMapper objectMapper;
 
 	@Operation(
 		summary = "Obtener todas las solicitudes",
@@ -74,6 +87,83 @@ public class SolicitudTransporteController {
 		return ResponseEntity.ok(solicitudes);
 	}
 
+	@Operation(
+		summary = "Obtener solicitudes paginadas",
+		description = """
+			Retorna una página de solicitudes de transporte ordenadas por ID.
+			La paginación es por cursor: la respuesta trae 'siguienteCursor', que se envía en el parámetro
+			'cursor' para pedir la página siguiente (es null en la última página).
+			
+			**Roles permitidos:** ADMIN
+			""",
+		security = @SecurityRequirement(name = "bearerAuth")
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200", 
+			description = "Página de solicitudes obtenida exitosamente",
+			content = @Content(schema = @Schema(implementation = PaginaDto.class))
+		),
+		@ApiResponse(responseCode = "400", description = "Cursor o límite inválido"),
+		@ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
+		@ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
+		@ApiResponse(responseCode = "500", description = "Error interno del servidor")
+	})
+	@GetMapping("/pagina")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<PaginaDto<SolicitudTransporteDto>> buscarPagina(
+			@Parameter(description = "Cursor devuelto por la página anterior (vacío: primera página)") 
+			@RequestParam(required = false) String cursor,
+			@Parameter(description = "Cantidad de solicitudes por página (1 a 500, por defecto 50)", example = "50") 
+			@RequestParam(required = false) Integer limite) {
+		logger.info("GET /api/solicitudes/pagina: Solicitud de página de solicitudes.");
+		PaginaDto<SolicitudTransporteDto> pagina = solicitudService.buscarPagina(cursor, limite);
+		logger.info("Se devolvieron {} solicitudes.", pagina.getItems().size());
+		return ResponseEntity.ok(pagina);
+	}
+
+	@Operation(
+		summary = "Exportar solicitudes en streaming",
+		description = """
+			Envía todas las solicitudes de transporte en formato NDJSON, una línea por solicitud,
+			a medida que se leen de la base de datos. Pensado para exportaciones e integraciones que
+			necesitan el listado completo sin paginar.
+			
+			**Roles permitidos:** ADMIN
+			""",
+		security = @SecurityRequirement(name = "bearerAuth")
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200", 
+			description = "Solicitudes en formato NDJSON",
+			content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+					schema = @Schema(implementation = SolicitudTransporteDto.class))
+		),
+		@ApiResponse(responseCode = "401", description = "No autenticado - Token JWT inválido o faltante"),
+		@ApiResponse(responseCode = "403", description = "No autorizado - Se requiere rol ADMIN"),
+		@ApiResponse(responseCode = "500", description = "Error interno del servidor")
+	})
+	@GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<StreamingResponseBody> exportarSolicitudes() {
+		logger.info("GET /api/solicitudes/stream: Solicitud de exportación de solicitudes.");
+
+		StreamingResponseBody cuerpo = salida -> {
+			long enviadas = solicitudService.recorrerTodos(solicitud -> {
+				try {
+					salida.write(objectMapper.writeValueAsBytes(solicitud));
+					salida.write('\n');
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+			salida.flush();
+			logger.info("Exportación de solicitudes finalizada: {} enviadas.", enviadas);
+		};
+		return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(cuerpo);
+	}
+
 	@Operation(
 		summary = "Obtener solicitud por ID",
 		description = """
@@ -346,6 +436,34 @@ public class SolicitudTransporteController {
 		}
 	}
 
+	@Operation(
+		summary = "Aplicar transiciones en lote",
+		description = """
+			Aplica varias transiciones de estado (en tránsito, entregada, contenedor en viaje o en depósito)
+			en una sola transacción y devuelve el resultado de cada una en el mismo orden.
+			Una transición rechazada no impide aplicar las demás.
+			Utilizado por el servicio de Logística cuando finalizan muchos tramos a la vez.
+			
+			**Acceso:** Público (interno)
+			""",
+		security = {}
+	)
+	@ApiResponses({
+		@ApiResponse(
+			responseCode = "200", 
+			description = "Lote procesado; el resultado de cada transición indica si se aplicó",
+			content = @Content(schema = @Schema(implementation = ResultadoTransicionDto[].class))
+		),
+		@ApiResponse(responseCode = "400", description = "Datos de entrada inválidos")
+	})
+	@PutMapping("/transiciones")
+	public ResponseEntity<List<ResultadoTransicionDto>> aplicarTransiciones(
+			@Valid @RequestBody @NotEmpty List<@Valid TransicionSolicitudDto> transiciones) {
+		logger.info("PUT /api/solicitudes/transiciones: Solicitud para aplicar {} transiciones.", transiciones.size());
+		List<ResultadoTransicionDto> resultados = solicitudService.aplicarTransiciones(transiciones);
+		return ResponseEntity.ok(resultados);
+	}
+
 	@Operation(
 		summary = "Obtener seguimiento del contenedor",
 		description = """
@@ -0,0 +1,28 @@
+package ar.edu.utn.frc.backend.solicitudes.dto.helpers;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resultado de cada transición de un lote, en el mismo orden en que se recibieron
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ResultadoTransicionDto {
+
+    public enum Resultado {
+        APLICADA,
+        SIN_CAMBIOS, // La solicitud/contenedor ya estaba en el estado pedido o la clave ya fue procesada
+        RECHAZADA
+    }
+
+    private Integer solicitudId;
+    private String claveIdempotencia;
+    private TransicionSolicitudDto.Tipo tipo;
+    private Resultado resultado;
+    private String estadoSolicitud;
+    private String estadoContenedor;
+    private String mensaje;
+}
@@ -0,0 +1,42 @@
+package ar.edu.utn.frc.backend.solicitudes.dto.helpers;
+
+import java.math.BigDecimal;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Cambio de estado de una solicitud o de su contenedor dentro de un lote (PUT /api/solicitudes/transiciones)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TransicionSolicitudDto {
+
+    public enum Tipo {
+        EN_TRANSITO,
+        ENTREGADA,
+        CONTENEDOR_EN_VIAJE,
+        CONTENEDOR_EN_DEPOSITO
+    }
+
+    // Opcional: si ya se aplicó una transición con la misma clave, no se vuelve a aplicar
+    @Size(max = 100, message = "La clave de idempotencia no puede superar los 100 caracteres")
+    private String claveIdempotencia;
+
+    @NotNull(message = "El ID de la solicitud no puede ser nulo")
+    private Integer solicitudId;
+
+    @NotNull(message = "El tipo de transición no puede ser nulo")
+    private Tipo tipo;
+
+    // Requerido en CONTENEDOR_EN_VIAJE y CONTENEDOR_EN_DEPOSITO
+    private String deposito;
+
+    // Requeridos en ENTREGADA
+    private BigDecimal costo;
+    private Long tiempo;
+}
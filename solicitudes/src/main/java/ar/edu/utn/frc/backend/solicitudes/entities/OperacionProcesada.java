@@ -0,0 +1,30 @@
+package ar.edu.utn.frc.backend.solicitudes.entities;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// Clave de idempotencia de una actualización ya aplicada (cabecera Idempotency-Key enviada por Logística)
+@Entity
+@Table(name = "operacion_procesada")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OperacionProcesada {
+    @Id
+    @Column(name = "clave", length = 100)
+    private String clave;
+
+    @Column(name = "fecha_procesada", nullable = false)
+    private LocalDateTime fechaProcesada;
+}
@@ -0,0 +1,21 @@
+package ar.edu.utn.frc.backend.solicitudes.mappers;
+
+import ar.edu.utn.frc.backend.solicitudes.dto.ClienteDto;
+import ar.edu.utn.frc.backend.solicitudes.entities.Cliente;
+
+public final class ClienteMapper {
+
+    private ClienteMapper() {
+    }
+
+    // El authId (sub de Keycloak) no se expone en el DTO
+    public static ClienteDto aDto(Cliente cliente) {
+        return new ClienteDto(
+                cliente.getId(),
+                cliente.getNombre(),
+                cliente.getApellido(),
+                cliente.getEmail(),
+                cliente.getTelefono(),
+                cliente.getDni());
+    }
+}
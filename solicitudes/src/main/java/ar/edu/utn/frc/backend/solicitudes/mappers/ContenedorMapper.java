@@ -0,0 +1,22 @@
+package ar.edu.utn.frc.backend.solicitudes.mappers;
+
+import ar.edu.utn.frc.backend.solicitudes.dto.ContenedorDto;
+import ar.edu.utn.frc.backend.solicitudes.entities.Contenedor;
+
+public final class ContenedorMapper {
+
+    private ContenedorMapper() {
+    }
+
+    // Recorre 'estadoActual' (LAZY): el contenedor debe venir con el estado cargado o dentro de una sesión abierta
+    public static ContenedorDto aDto(Contenedor contenedor) {
+        if (contenedor == null) {
+            return null;
+        }
+        return new ContenedorDto(
+                contenedor.getId(),
+                contenedor.getVolumen(),
+                contenedor.getPeso(),
+                contenedor.getEstadoActual() != null ? contenedor.getEstadoActual().getNombre() : null);
+    }
+}
@@ -0,0 +1,27 @@
+package ar.edu.utn.frc.backend.solicitudes.mappers;
+
+import ar.edu.utn.frc.backend.solicitudes.dto.DepositoDto;
+import ar.edu.utn.frc.backend.solicitudes.entities.Ciudad;
+import ar.edu.utn.frc.backend.solicitudes.entities.Deposito;
+
+public final class DepositoMapper {
+
+    private DepositoMapper() {
+    }
+
+    // En 'ciudad' va el nombre de la ciudad, igual que en los DTO de Recursos y Logística
+    public static DepositoDto aDto(Deposito deposito) {
+        if (deposito == null) {
+            return null;
+        }
+        Ciudad ciudad = deposito.getCiudad();
+        return new DepositoDto(
+                deposito.getId(),
+                deposito.getNombre(),
+                deposito.getDireccion(),
+                deposito.getPrecioPorDia(),
+                deposito.getLatitud(),
+                deposito.getLongitud(),
+                ciudad != null ? ciudad.getNombre() : null);
+    }
+}
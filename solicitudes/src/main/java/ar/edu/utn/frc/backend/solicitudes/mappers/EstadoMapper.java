@@ -0,0 +1,14 @@
+package ar.edu.utn.frc.backend.solicitudes.mappers;
+
+import ar.edu.utn.frc.backend.solicitudes.dto.EstadoDto;
+import ar.edu.utn.frc.backend.solicitudes.entities.Estado;
+
+public final class EstadoMapper {
+
+    private EstadoMapper() {
+    }
+
+    public static EstadoDto aDto(Estado estado) {
+        return new EstadoDto(estado.getId(), estado.getNombre(), estado.getDescripcion());
+    }
+}
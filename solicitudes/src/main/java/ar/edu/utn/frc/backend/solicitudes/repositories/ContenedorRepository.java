@@ -1,11 +1,17 @@
 package ar.edu.utn.frc.backend.solicitudes.repositories;
 
 import ar.edu.utn.frc.backend.solicitudes.entities.Contenedor;
+import ar.edu.utn.frc.backend.solicitudes.services.PaginacionKeyset;
+import jakarta.persistence.QueryHint;
 
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
@@ -21,4 +27,26 @@ public interface ContenedorRepository extends JpaRepository<Contenedor, Integer>
                    "WHERE s.id_cliente = :idCliente",
              nativeQuery = true)
     List<Contenedor> findBySolicitudClienteId(@Param("idCliente") Integer idCliente);
+
+    // Páginas keyset (id mayor al último visto), con el estado ya cargado para armar el DTO
+    @Query("SELECT c FROM Contenedor c JOIN FETCH c.estadoActual WHERE c.id > :despuesDe ORDER BY c.id")
+    List<Contenedor> findPagina(@Param("despuesDe") Integer despuesDe, Limit limite);
+
+    @Query("SELECT c FROM Contenedor c JOIN FETCH c.estadoActual e "
+            + "WHERE e.nombre = :nombreEstado AND c.id > :despuesDe ORDER BY c.id")
+    List<Contenedor> findPaginaPorEstado(@Param("nombreEstado") String nombreEstado,
+            @Param("despuesDe") Integer despuesDe, Limit limite);
+
+    // Recorridos completos con cursor de base de datos (requieren transacción abierta y cerrar el stream)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + PaginacionKeyset.TAMANIO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT c FROM Contenedor c JOIN FETCH c.estadoActual ORDER BY c.id")
+    Stream<Contenedor> streamTodos();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + PaginacionKeyset.TAMANIO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query("SELECT c FROM Contenedor c JOIN FETCH c.estadoActual e WHERE e.nombre = :nombreEstado ORDER BY c.id")
+    Stream<Contenedor> streamPorEstado(@Param("nombreEstado") String nombreEstado);
 }
@@ -0,0 +1,10 @@
+package ar.edu.utn.frc.backend.solicitudes.repositories;
+
+import ar.edu.utn.frc.backend.solicitudes.entities.OperacionProcesada;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OperacionProcesadaRepository extends JpaRepository<OperacionProcesada, String> {
+}
@@ -1,19 +1,58 @@
 package ar.edu.utn.frc.backend.solicitudes.repositories;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import ar.edu.utn.frc.backend.solicitudes.entities.SolicitudTransporte;
+import ar.edu.utn.frc.backend.solicitudes.services.PaginacionKeyset;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface SolicitudTransporteRepository extends JpaRepository<SolicitudTransporte, Integer> {
 
-    @Query("SELECT s FROM SolicitudTransporte s JOIN s.estado e WHERE e.nombre = :nombreEstado")
-    List<SolicitudTransporte> findByEstadoNombre(@Param("nombreEstado") String nombreEstado);
+    // Todo lo que se necesita para armar el DTO, para no disparar cargas lazy por fila
+    // (del cliente solo se usa el id, que ya viene en la FK de la solicitud)
+    String SELECT_CON_DETALLE = "SELECT s FROM SolicitudTransporte s JOIN FETCH s.estado e "
+            + "JOIN FETCH s.contenedor c JOIN FETCH c.estadoActual "
+            + "JOIN FETCH s.depositoOrigen o JOIN FETCH o.ciudad "
+            + "JOIN FETCH s.depositoDestino d JOIN FETCH d.ciudad ";
 
-    List<SolicitudTransporte> findByClienteId(Integer idCliente);
+    // Solicitudes de un lote de transiciones con todo lo que se actualiza, en una sola consulta
+    @Query("SELECT s FROM SolicitudTransporte s JOIN FETCH s.estado JOIN FETCH s.contenedor c "
+            + "JOIN FETCH c.estadoActual JOIN FETCH s.depositoOrigen WHERE s.id IN :ids")
+    List<SolicitudTransporte> findConContenedorByIdIn(@Param("ids") Collection<Integer> ids);
+
+    // Consultas de lectura para armar SolicitudTransporteDto en una sola sentencia SQL
+    @Query(SELECT_CON_DETALLE + "WHERE s.id = :id")
+    Optional<SolicitudTransporte> findConDetalleById(@Param("id") Integer id);
+
+    @Query(SELECT_CON_DETALLE + "ORDER BY s.id")
+    List<SolicitudTransporte> findAllConDetalle();
+
+    @Query(SELECT_CON_DETALLE + "WHERE e.nombre = :nombreEstado ORDER BY s.id")
+    List<SolicitudTransporte> findConDetalleByEstadoNombre(@Param("nombreEstado") String nombreEstado);
+
+    @Query(SELECT_CON_DETALLE + "WHERE s.cliente.id = :idCliente ORDER BY s.id")
+    List<SolicitudTransporte> findConDetalleByClienteId(@Param("idCliente") Integer idCliente);
+
+    // Página keyset: solicitudes con id mayor al último visto
+    @Query(SELECT_CON_DETALLE + "WHERE s.id > :despuesDe ORDER BY s.id")
+    List<SolicitudTransporte> findPaginaConDetalle(@Param("despuesDe") Integer despuesDe, Limit limite);
+
+    // Recorrido completo con cursor de base de datos (requiere transacción abierta y cerrar el stream)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + PaginacionKeyset.TAMANIO_FETCH),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true") })
+    @Query(SELECT_CON_DETALLE + "ORDER BY s.id")
+    Stream<SolicitudTransporte> streamConDetalle();
 }
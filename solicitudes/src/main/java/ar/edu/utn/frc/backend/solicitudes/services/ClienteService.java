@@ -12,6 +12,7 @@ import org.springframework.stereotype.Service;
 
 import ar.edu.utn.frc.backend.solicitudes.dto.ClienteDto;
 import ar.edu.utn.frc.backend.solicitudes.entities.Cliente;
+import ar.edu.utn.frc.backend.solicitudes.mappers.ClienteMapper;
 import ar.edu.utn.frc.backend.solicitudes.repositories.ClienteRepository;
 import jakarta.transaction.Transactional;
 
@@ -31,7 +32,7 @@ public class ClienteService {
         Cliente clienteEntity = modelMapper.map(clienteDto, Cliente.class);
         log.debug("Mapeado a entidad Cliente: {}", clienteEntity);
         Cliente clienteGuardado = clienteRepository.save(clienteEntity);
-        ClienteDto resultado = modelMapper.map(clienteGuardado, ClienteDto.class);
+        ClienteDto resultado = ClienteMapper.aDto(clienteGuardado);
         log.info("Cliente guardado con ID: {}", resultado.getId());
         return resultado;
     }
@@ -45,7 +46,7 @@ public class ClienteService {
         } else {
             log.warn("Cliente no encontrado con ID: {}", id);
         }
-        return clienteOpt.map(cliente -> modelMapper.map(cliente, ClienteDto.class));
+        return clienteOpt.map(ClienteMapper::aDto);
     }
 
     // buscar todos los clientes
@@ -53,7 +54,7 @@ public class ClienteService {
         log.info("Buscando todos los clientes.");
         List<Cliente> clientes = clienteRepository.findAll();
         List<ClienteDto> resultado = clientes.stream()
-                .map(cliente -> modelMapper.map(cliente, ClienteDto.class))
+                .map(ClienteMapper::aDto)
                 .collect(Collectors.toList());
         log.info("Se encontraron {} clientes.", resultado.size());
         return resultado;
@@ -69,7 +70,7 @@ public class ClienteService {
             log.debug("Cliente existente encontrado. Mapeando DTO: {}", clienteDto);
             modelMapper.map(clienteDto, clienteExistente);
             Cliente clienteActualizado = clienteRepository.save(clienteExistente);
-            ClienteDto resultado = modelMapper.map(clienteActualizado, ClienteDto.class);
+            ClienteDto resultado = ClienteMapper.aDto(clienteActualizado);
             log.info("Cliente con ID {} actualizado exitosamente.", id);
             return Optional.of(resultado);
         } else {
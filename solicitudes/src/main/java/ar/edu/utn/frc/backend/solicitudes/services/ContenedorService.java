@@ -4,9 +4,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,12 +14,14 @@ import org.springframework.stereotype.Service;
 
 import ar.edu.utn.frc.backend.solicitudes.dto.ContenedorDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.HistoricoEstadoContenedorDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.PaginaDto;
 import ar.edu.utn.frc.backend.solicitudes.entities.Contenedor;
 import ar.edu.utn.frc.backend.solicitudes.entities.Estado;
 import ar.edu.utn.frc.backend.solicitudes.exceptions.ResourceNotFoundException;
+import ar.edu.utn.frc.backend.solicitudes.mappers.ContenedorMapper;
 import ar.edu.utn.frc.backend.solicitudes.repositories.ContenedorRepository;
-import ar.edu.utn.frc.backend.solicitudes.repositories.EstadoRepository;
-import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 
 @Service
@@ -38,26 +40,18 @@ public class ContenedorService {
     @Autowired
     private ContenedorRepository contenedorRepository;
     @Autowired
-    private EstadoRepository estadoRepository;
+    private CatalogoEstados catalogoEstados;
     @Autowired
     private HistoricoEstadoContenedorService historicoEstadoService;
-    @Autowired
-    private ModelMapper modelMapper;
-
-    @PostConstruct
-    public void setupMapper() {
-        log.info("Configurando ModelMapper para ContenedorService.");
-        modelMapper.createTypeMap(Contenedor.class, ContenedorDto.class).addMapping(
-                src -> src.getEstadoActual().getNombre(),
-                ContenedorDto::setEstadoActual);
-    }
+    @PersistenceContext
+    private EntityManager entityManager;
 
     // Guardar un nuevo contenedor
     public Contenedor guardarContenedor(BigDecimal volumen, BigDecimal peso) {
         log.info("Iniciando guardarContenedor. Volumen: {}, Peso: {}", volumen, peso);
 
         // 1. Obtener el estado inicial (Pendiente de Entrega)
-        Estado estadoInicial = estadoRepository.findByNombre(ESTADO_PENDIENTE_ENTREGA)
+        Estado estadoInicial = catalogoEstados.buscarPorNombre(ESTADO_PENDIENTE_ENTREGA)
                 .orElseThrow(() -> {
                     log.error("Estado inicial '{}' no configurado.", ESTADO_PENDIENTE_ENTREGA);
                     return new ResourceNotFoundException("Estado",
@@ -99,7 +93,7 @@ public class ContenedorService {
         } else {
             log.warn("Contenedor no encontrado con ID: {}", id);
         }
-        return contenedorOpt.map(contenedor -> modelMapper.map(contenedor, ContenedorDto.class));
+        return contenedorOpt.map(ContenedorMapper::aDto);
     }
 
     // Buscar todos los contenedores
@@ -107,7 +101,7 @@ public class ContenedorService {
         log.info("Buscando todos los contenedores.");
         List<Contenedor> contenedores = contenedorRepository.findAll();
         List<ContenedorDto> resultado = contenedores.stream()
-                .map(contenedor -> modelMapper.map(contenedor, ContenedorDto.class))
+                .map(ContenedorMapper::aDto)
                 .collect(Collectors.toList());
         log.info("Se encontraron {} contenedores.", resultado.size());
         return resultado;
@@ -118,12 +112,36 @@ public class ContenedorService {
         log.info("Buscando contenedores por estado: {}", estado);
         List<Contenedor> contenedores = contenedorRepository.findByEstadoNombre(estado);
         List<ContenedorDto> resultado = contenedores.stream()
-                .map(contenedor -> modelMapper.map(contenedor, ContenedorDto.class))
+                .map(ContenedorMapper::aDto)
                 .collect(Collectors.toList());
         log.info("Se encontraron {} contenedores con estado: {}", resultado.size(), estado);
         return resultado;
     }
 
+    // Página de contenedores ordenados por id, opcionalmente filtrados por estado (cursor null: primera página)
+    @Transactional
+    public PaginaDto<ContenedorDto> buscarPagina(String estado, String cursor, Integer limite) {
+        int despuesDe = PaginacionKeyset.despuesDe(cursor);
+        log.info("Buscando página de contenedores (estado: {}) a partir del ID {} (límite {}).",
+                estado != null ? estado : "todos", despuesDe, limite);
+        List<Contenedor> filas = estado == null
+                ? contenedorRepository.findPagina(despuesDe, PaginacionKeyset.limiteConSiguiente(limite))
+                : contenedorRepository.findPaginaPorEstado(estado, despuesDe, PaginacionKeyset.limiteConSiguiente(limite));
+        return PaginacionKeyset.pagina(filas, limite, Contenedor::getId,
+                ContenedorMapper::aDto);
+    }
+
+    // Entrega los contenedores (todos o los de un estado) al consumidor a medida que se leen
+    @Transactional
+    public long recorrer(String estado, Consumer<ContenedorDto> consumidor) {
+        log.info("Recorriendo contenedores (estado: {}) en modo streaming.", estado != null ? estado : "todos");
+        long entregados = PaginacionKeyset.recorrer(
+                estado == null ? contenedorRepository.streamTodos() : contenedorRepository.streamPorEstado(estado),
+                entityManager, ContenedorMapper::aDto, consumidor);
+        log.info("Se entregaron {} contenedores.", entregados);
+        return entregados;
+    }
+
     // Buscar contenedores pendientes de entrega
     public List<ContenedorDto> buscarContenedoresPendientesDeEntrega() {
         log.info("Buscando contenedores pendientes de entrega.");
@@ -147,7 +165,7 @@ public class ContenedorService {
         log.info("Buscando contenedores por ID de cliente: {}", idCliente);
         List<Contenedor> contenedores = contenedorRepository.findBySolicitudClienteId(idCliente);
         List<ContenedorDto> resultado = contenedores.stream()
-                .map(contenedor -> modelMapper.map(contenedor, ContenedorDto.class))
+                .map(ContenedorMapper::aDto)
                 .collect(Collectors.toList());
         log.info("Se encontraron {} contenedores para el cliente ID: {}", resultado.size(), idCliente);
         return resultado;
@@ -175,6 +193,46 @@ public class ContenedorService {
         return actualizarEstadoContenedor(id, ESTADO_EN_DEPOSITO, descripcionFormateada);
     }
 
+    // Iniciar un lote de cambios de estado (ver aplicarLote)
+    public LoteCambiosContenedor nuevoLote() {
+        return new LoteCambiosContenedor(catalogoEstados.porNombre());
+    }
+
+    // Variantes en lote: el contenedor ya está cargado y el histórico se registra en aplicarLote.
+    // Retornan false si el contenedor ya tenía el estado pedido.
+    public boolean marcarComoEntregado(LoteCambiosContenedor lote, Contenedor contenedor) {
+        return cambiarEstadoEnLote(lote, contenedor, ESTADO_ENTREGADO, TEMPLATE_DESCRIPCION_ENTREGADO);
+    }
+
+    public boolean marcarEnViaje(LoteCambiosContenedor lote, Contenedor contenedor, String nombreDeposito) {
+        return cambiarEstadoEnLote(lote, contenedor, ESTADO_EN_VIAJE,
+                String.format(TEMPLATE_DESCRIPCION_EN_VIAJE, nombreDeposito));
+    }
+
+    public boolean marcarEnDeposito(LoteCambiosContenedor lote, Contenedor contenedor, String nombreDeposito) {
+        return cambiarEstadoEnLote(lote, contenedor, ESTADO_EN_DEPOSITO,
+                String.format(TEMPLATE_DESCRIPCION_EN_DEPOSITO, nombreDeposito));
+    }
+
+    // Registrar los históricos de todos los cambios del lote
+    @Transactional
+    public void aplicarLote(LoteCambiosContenedor lote) {
+        historicoEstadoService.registrarEnLote(lote.getHistoricos());
+    }
+
+    private boolean cambiarEstadoEnLote(LoteCambiosContenedor lote, Contenedor contenedor, String nuevoEstadoNombre,
+            String descripcion) {
+        Estado nuevoEstado = lote.estado(nuevoEstadoNombre);
+        if (contenedor.getEstadoActual().getNombre().equals(nuevoEstadoNombre)) {
+            log.debug("El contenedor ID: {} ya tiene el estado {}. No se realiza la actualización.", contenedor.getId(), nuevoEstadoNombre);
+            return false;
+        }
+        contenedor.setEstadoActual(nuevoEstado);
+        lote.agregar(new HistoricoEstadoContenedorService.NuevoHistorico(
+                contenedor.getId(), nuevoEstado.getId(), LocalDateTime.now(), descripcion));
+        return true;
+    }
+
     // Actualizar el estado de un contenedor
     @Transactional
     public Optional<ContenedorDto> actualizarEstadoContenedor(
@@ -191,7 +249,7 @@ public class ContenedorService {
                 });
 
         // 2. Buscar Estado
-        Estado nuevoEstado = estadoRepository.findByNombre(nuevoEstadoNombre)
+        Estado nuevoEstado = catalogoEstados.buscarPorNombre(nuevoEstadoNombre)
                 .orElseThrow(() -> {
                     log.error("Estado '{}' no encontrado.", nuevoEstadoNombre);
                     return new ResourceNotFoundException("Estado", nuevoEstadoNombre);
@@ -200,7 +258,7 @@ public class ContenedorService {
         log.debug("Contenedor actual: {}. Nuevo estado: {}", contenedor.getEstadoActual().getNombre(), nuevoEstadoNombre);
         if (contenedor.getEstadoActual().getNombre().equals(nuevoEstadoNombre)) {
             log.warn("El contenedor ID: {} ya tiene el estado {}. No se realiza la actualización.", id, nuevoEstadoNombre);
-            return Optional.of(modelMapper.map(contenedor, ContenedorDto.class));
+            return Optional.of(ContenedorMapper.aDto(contenedor));
         }
 
         // ********* LÓGICA CLAVE DE CORRECCIÓN: Manejo de Histórico *********
@@ -223,7 +281,7 @@ public class ContenedorService {
                 descripcion);
         log.debug("Creado nuevo histórico para Contenedor ID: {} con descripción: {}", id, descripcion);
 
-        return Optional.of(modelMapper.map(contenedorActualizado, ContenedorDto.class));
+        return Optional.of(ContenedorMapper.aDto(contenedorActualizado));
     }
     
     // Obtener el seguimiento histórico de un contenedor
@@ -1,5 +1,6 @@
 package ar.edu.utn.frc.backend.solicitudes.services;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.modelmapper.ModelMapper;
@@ -10,6 +11,7 @@ import org.springframework.stereotype.Service;
 
 import ar.edu.utn.frc.backend.solicitudes.dto.EstadoDto;
 import ar.edu.utn.frc.backend.solicitudes.entities.Estado;
+import ar.edu.utn.frc.backend.solicitudes.mappers.EstadoMapper;
 import ar.edu.utn.frc.backend.solicitudes.repositories.EstadoRepository;
 import jakarta.transaction.Transactional;
 
@@ -20,6 +22,8 @@ public class EstadoService {
     @Autowired
     private EstadoRepository estadoRepository;
     @Autowired
+    private CatalogoEstados catalogoEstados;
+    @Autowired
     private ModelMapper modelMapper;
 
       // Guardar un nuevo estado
@@ -28,7 +32,7 @@ public class EstadoService {
         log.info("Iniciando guardarEstado con EstadoDto: {}", estadoDto.getNombre());
         Estado estadoEntity = modelMapper.map(estadoDto, Estado.class);
         Estado estadoGuardado = estadoRepository.save(estadoEntity);
-        EstadoDto resultado = modelMapper.map(estadoGuardado, EstadoDto.class);
+        EstadoDto resultado = EstadoMapper.aDto(estadoGuardado);
         log.info("Estado guardado con ID: {}", resultado.getId());
         return resultado;
     }
@@ -36,25 +40,32 @@ public class EstadoService {
     // Buscar un estado por ID
     public Optional<EstadoDto> buscarPorId(Integer id) {
         log.info("Buscando estado por ID: {}", id);
-        Optional<Estado> estadoOpt = estadoRepository.findById(id);
+        Optional<Estado> estadoOpt = catalogoEstados.buscarPorId(id);
         if (estadoOpt.isPresent()) {
             log.info("Estado encontrado con ID: {}", id);
         } else {
             log.warn("Estado no encontrado con ID: {}", id);
         }
-        return estadoOpt.map(estado -> modelMapper.map(estado, EstadoDto.class));
+        return estadoOpt.map(EstadoMapper::aDto);
     }
 
     // Buscar un estado por nombre
     public Optional<EstadoDto> buscarPorNombre(String nombre) {
         log.info("Buscando estado por nombre: {}", nombre);
-        Optional<Estado> estadoOpt = estadoRepository.findByNombre(nombre);
+        Optional<Estado> estadoOpt = catalogoEstados.buscarPorNombre(nombre);
         if (estadoOpt.isPresent()) {
             log.info("Estado encontrado: {}", nombre);
         } else {
             log.warn("Estado no encontrado con nombre: {}", nombre);
         }
-        return estadoOpt.map(estado -> modelMapper.map(estado, EstadoDto.class));
+        return estadoOpt.map(EstadoMapper::aDto);
     }
 
-}
\ No newline at end of file
+    // Recargar el catálogo de estados en memoria (p. ej. después de modificar la tabla 'estado')
+    public List<EstadoDto> recargarCatalogo() {
+        log.info("Recargando catálogo de estados.");
+        return catalogoEstados.recargar().stream()
+                .map(EstadoMapper::aDto)
+                .toList();
+    }
+}
@@ -1,14 +1,18 @@
 package ar.edu.utn.frc.backend.solicitudes.services;
 
+import java.sql.Types;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import ar.edu.utn.frc.backend.solicitudes.dto.HistoricoEstadoContenedorDto;
@@ -22,10 +26,21 @@ import jakarta.transaction.Transactional;
 public class HistoricoEstadoContenedorService {
     private static final Logger log = LoggerFactory.getLogger(HistoricoEstadoContenedorService.class);
 
+    private static final String SQL_CERRAR_HISTORICO = "UPDATE historico_estado_contenedor SET fecha_hora_hasta = ? "
+            + "WHERE contenedor_id = ? AND fecha_hora_hasta IS NULL";
+    private static final int[] TIPOS_CERRAR_HISTORICO = {Types.TIMESTAMP, Types.INTEGER};
+    private static final String SQL_INSERTAR_HISTORICO = "INSERT INTO historico_estado_contenedor "
+            + "(fecha_hora_desde, fecha_hora_hasta, descripcion, estado_id, contenedor_id) VALUES (?, ?, ?, ?, ?)";
+    private static final int[] TIPOS_INSERTAR_HISTORICO = {Types.TIMESTAMP, Types.TIMESTAMP, Types.VARCHAR, Types.INTEGER, Types.INTEGER};
+
+    // Histórico a registrar en lote: identificadores en lugar de entidades para insertarlo por JDBC
+    public record NuevoHistorico(Integer contenedorId, Integer estadoId, LocalDateTime fechaDesde, String descripcion) {
+    }
+
     @Autowired
     private HistoricoEstadoContenedorRepository historicoEstadoRepository;
     @Autowired
-    private ModelMapper modelMapper;
+    private JdbcTemplate jdbcTemplate;
 
     // Crear un nuevo registro de histórico de estado para un contenedor
     @Transactional
@@ -59,7 +74,7 @@ public class HistoricoEstadoContenedorService {
             log.warn("Histórico de estado no encontrado con ID: {}", id);
         }
         return historicoEstadoOpt
-                .map(historicoEstado -> modelMapper.map(historicoEstado, HistoricoEstadoContenedorDto.class));
+                .map(this::mapearADto);
     }
 
     // Buscar todos los historicos de un contenedor por su ID en orden ascendente de fechaHoraDesde
@@ -87,6 +102,39 @@ public class HistoricoEstadoContenedorService {
         log.debug("Finalizado intento de cierre de histórico anterior para Contenedor ID: {}", contenedorId);
     }
 
+    /**
+     * Registra varios cambios de estado con dos sentencias JDBC en batch: una que cierra el histórico
+     * abierto de cada contenedor y otra que inserta los nuevos. Si un contenedor cambia más de una vez
+     * en el lote, sus históricos intermedios se insertan ya cerrados con la fecha del cambio siguiente.
+     */
+    @Transactional
+    public void registrarEnLote(List<NuevoHistorico> historicos) {
+        if (historicos.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<NuevoHistorico>> porContenedor = new LinkedHashMap<>();
+        for (NuevoHistorico historico : historicos) {
+            porContenedor.computeIfAbsent(historico.contenedorId(), id -> new ArrayList<>()).add(historico);
+        }
+
+        List<Object[]> cierres = new ArrayList<>(porContenedor.size());
+        List<Object[]> inserciones = new ArrayList<>(historicos.size());
+        for (Map.Entry<Integer, List<NuevoHistorico>> entrada : porContenedor.entrySet()) {
+            List<NuevoHistorico> cambios = entrada.getValue();
+            cierres.add(new Object[] {cambios.get(0).fechaDesde(), entrada.getKey()});
+            for (int i = 0; i < cambios.size(); i++) {
+                NuevoHistorico historico = cambios.get(i);
+                LocalDateTime fechaHasta = i + 1 < cambios.size() ? cambios.get(i + 1).fechaDesde() : null;
+                inserciones.add(new Object[] {historico.fechaDesde(), fechaHasta, historico.descripcion(),
+                        historico.estadoId(), historico.contenedorId()});
+            }
+        }
+
+        jdbcTemplate.batchUpdate(SQL_CERRAR_HISTORICO, cierres, TIPOS_CERRAR_HISTORICO);
+        jdbcTemplate.batchUpdate(SQL_INSERTAR_HISTORICO, inserciones, TIPOS_INSERTAR_HISTORICO);
+        log.info("Registrados {} históricos para {} contenedores en lote.", inserciones.size(), porContenedor.size());
+    }
+
     private HistoricoEstadoContenedorDto mapearADto(HistoricoEstadoContenedor entity) {
         return HistoricoEstadoContenedorDto.builder()
                 .id(entity.getId())
@@ -0,0 +1,40 @@
+package ar.edu.utn.frc.backend.solicitudes.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import ar.edu.utn.frc.backend.solicitudes.entities.Estado;
+import ar.edu.utn.frc.backend.solicitudes.exceptions.ResourceNotFoundException;
+
+/**
+ * Cambios de estado de contenedores acumulados durante un lote de transiciones. Los estados se
+ * toman del catálogo en memoria al crear el lote y los históricos se insertan todos juntos al aplicarlo
+ * (ver ContenedorService.aplicarLote).
+ */
+public class LoteCambiosContenedor {
+
+    private final Map<String, Estado> estadosPorNombre;
+    private final List<HistoricoEstadoContenedorService.NuevoHistorico> historicos = new ArrayList<>();
+
+    LoteCambiosContenedor(Map<String, Estado> estadosPorNombre) {
+        this.estadosPorNombre = estadosPorNombre;
+    }
+
+    public Estado estado(String nombre) {
+        Estado estado = estadosPorNombre.get(nombre);
+        if (estado == null) {
+            throw new ResourceNotFoundException("Estado", nombre);
+        }
+        return estado;
+    }
+
+    void agregar(HistoricoEstadoContenedorService.NuevoHistorico historico) {
+        historicos.add(historico);
+    }
+
+    List<HistoricoEstadoContenedorService.NuevoHistorico> getHistoricos() {
+        return Collections.unmodifiableList(historicos);
+    }
+}
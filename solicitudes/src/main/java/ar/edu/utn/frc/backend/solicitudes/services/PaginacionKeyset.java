@@ -0,0 +1,108 @@
+package ar.edu.utn.frc.backend.solicitudes.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+
+import ar.edu.utn.frc.backend.solicitudes.dto.PaginaDto;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Utilidades para listados paginados por clave (keyset): en lugar de OFFSET cada página se pide
+ * con 'id > último id visto ORDER BY id', así el costo no crece con el número de página y las
+ * altas/bajas concurrentes no duplican ni saltean filas. El cursor es el último id codificado en
+ * Base64 URL-safe; el cliente lo trata como un valor opaco.
+ * Igual en recursos y solicitudes (cambia solo el paquete): un cambio debe aplicarse a ambas copias.
+ */
+public final class PaginacionKeyset {
+
+    public static final int LIMITE_POR_DEFECTO = 50;
+    public static final int LIMITE_MAXIMO = 500;
+
+    // Filas que el driver trae por viaje al recorrer un listado en modo streaming
+    public static final int TAMANIO_FETCH = 500;
+
+    private static final String PREFIJO = "id:";
+
+    private PaginacionKeyset() {
+    }
+
+    /** Id a partir del cual empieza la página (exclusivo). Sin cursor se empieza desde el principio. */
+    public static int despuesDe(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (valor.startsWith(PREFIJO)) {
+                int id = Integer.parseInt(valor.substring(PREFIJO.length()));
+                if (id >= 0) {
+                    return id;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Base64 o número inválido: se informa abajo con un mensaje uniforme
+        }
+        throw new IllegalArgumentException("El cursor de paginación es inválido.");
+    }
+
+    public static String cursor(int ultimoId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIJO + ultimoId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Límite a pedir a la base: uno más que el tamaño de página para saber si hay página siguiente. */
+    public static Limit limiteConSiguiente(Integer limite) {
+        return Limit.of(tamanioPagina(limite) + 1);
+    }
+
+    public static int tamanioPagina(Integer limite) {
+        if (limite == null) {
+            return LIMITE_POR_DEFECTO;
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException(
+                    String.format("El límite de página debe estar entre 1 y %d.", LIMITE_MAXIMO));
+        }
+        return limite;
+    }
+
+    /**
+     * Arma la página a partir de las filas leídas con {@link #limiteConSiguiente(Integer)}: la fila
+     * sobrante no se devuelve, solo indica que hay que emitir cursor.
+     */
+    public static <E, D> PaginaDto<D> pagina(List<E> filas, Integer limite, Function<E, Integer> id,
+            Function<E, D> mapeo) {
+        int tamanio = tamanioPagina(limite);
+        boolean haySiguiente = filas.size() > tamanio;
+        List<E> visibles = haySiguiente ? filas.subList(0, tamanio) : filas;
+        return PaginaDto.<D>builder()
+                .items(visibles.stream().map(mapeo).toList())
+                .siguienteCursor(haySiguiente ? cursor(id.apply(visibles.get(tamanio - 1))) : null)
+                .build();
+    }
+
+    /**
+     * Recorre un stream de entidades entregando cada fila ya mapeada. Cada {@link #TAMANIO_FETCH} filas se
+     * vacía el contexto de persistencia para que la memoria no crezca con el tamaño de la tabla.
+     * Debe llamarse dentro de una transacción; el stream se cierra al terminar. Devuelve las filas entregadas.
+     */
+    public static <E, D> long recorrer(Stream<E> filas, EntityManager entityManager, Function<E, D> mapeo,
+            Consumer<D> consumidor) {
+        long entregadas = 0;
+        try (filas) {
+            for (E fila : (Iterable<E>) filas::iterator) {
+                consumidor.accept(mapeo.apply(fila));
+                if (++entregadas % TAMANIO_FETCH == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+        return entregadas;
+    }
+}
@@ -2,11 +2,17 @@ package ar.edu.utn.frc.backend.solicitudes.services;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired; // Import de Spring para @Transactional
@@ -14,20 +20,27 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import ar.edu.utn.frc.backend.solicitudes.dto.ContenedorDto;
-import ar.edu.utn.frc.backend.solicitudes.dto.DepositoDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.HistoricoEstadoContenedorDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.PaginaDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.SolicitudTransporteDto;
 import ar.edu.utn.frc.backend.solicitudes.dto.SolicitudTransportePostDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.helpers.ResultadoTransicionDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.helpers.TransicionSolicitudDto;
 import ar.edu.utn.frc.backend.solicitudes.entities.Cliente;
 import ar.edu.utn.frc.backend.solicitudes.entities.Contenedor;
 import ar.edu.utn.frc.backend.solicitudes.entities.Deposito;
 import ar.edu.utn.frc.backend.solicitudes.entities.Estado;
+import ar.edu.utn.frc.backend.solicitudes.entities.OperacionProcesada;
 import ar.edu.utn.frc.backend.solicitudes.entities.SolicitudTransporte;
 import ar.edu.utn.frc.backend.solicitudes.exceptions.ResourceNotFoundException;
+import ar.edu.utn.frc.backend.solicitudes.mappers.ContenedorMapper;
+import ar.edu.utn.frc.backend.solicitudes.mappers.DepositoMapper;
 import ar.edu.utn.frc.backend.solicitudes.repositories.ClienteRepository;
 import ar.edu.utn.frc.backend.solicitudes.repositories.DepositoRepository;
-import ar.edu.utn.frc.backend.solicitudes.repositories.EstadoRepository;
+import ar.edu.utn.frc.backend.solicitudes.repositories.OperacionProcesadaRepository;
 import ar.edu.utn.frc.backend.solicitudes.repositories.SolicitudTransporteRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 @Service
 public class SolicitudTransporteService {
@@ -45,19 +58,21 @@ public class SolicitudTransporteService {
     @Autowired
     private ContenedorService contenedorService;
     @Autowired
-    private EstadoRepository estadoRepository;
+    private CatalogoEstados catalogoEstados;
     @Autowired
     private ClienteRepository clienteRepository;
     @Autowired
     private DepositoRepository depositoRepository;
     @Autowired
-    private ModelMapper modelMapper;
+    private OperacionProcesadaRepository operacionProcesadaRepository;
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Transactional
     public SolicitudTransporteDto guardarSolicitud(SolicitudTransportePostDto postDto) {
         log.info("Iniciando guardarSolicitud para Cliente ID: {}", postDto.getIdCliente());
 
-        Estado estadoBorrador = estadoRepository.findByNombre(ESTADO_BORRADOR)
+        Estado estadoBorrador = catalogoEstados.buscarPorNombre(ESTADO_BORRADOR)
                 .orElseThrow(() -> {
                     log.error("Estado '{}' no configurado.", ESTADO_BORRADOR);
                     return new ResourceNotFoundException("Estado", ESTADO_BORRADOR + " no configurado.");
@@ -111,7 +126,7 @@ public class SolicitudTransporteService {
                     return new ResourceNotFoundException(RESOURCE_SOLICITUD, id);
                 });
 
-        Estado estadoProgramada = estadoRepository.findByNombre(ESTADO_PROGRAMADA)
+        Estado estadoProgramada = catalogoEstados.buscarPorNombre(ESTADO_PROGRAMADA)
                 .orElseThrow(() -> {
                     log.error("Estado '{}' no configurado.", ESTADO_PROGRAMADA);
                     return new ResourceNotFoundException("Estado", ESTADO_PROGRAMADA + " no configurado.");
@@ -135,7 +150,7 @@ public class SolicitudTransporteService {
                     return new ResourceNotFoundException(RESOURCE_SOLICITUD, id);
                 });
 
-        Estado estadoEnTransito = estadoRepository.findByNombre(ESTADO_EN_TRANSITO)
+        Estado estadoEnTransito = catalogoEstados.buscarPorNombre(ESTADO_EN_TRANSITO)
                 .orElseThrow(() -> {
                     log.error("Estado '{}' no configurado.", ESTADO_EN_TRANSITO);
                     return new ResourceNotFoundException("Estado", ESTADO_EN_TRANSITO + " no configurado.");
@@ -159,7 +174,7 @@ public class SolicitudTransporteService {
                     return new ResourceNotFoundException(RESOURCE_SOLICITUD, id);
                 });
 
-        Estado estadoEntregada = estadoRepository.findByNombre(ESTADO_ENTREGADA)
+        Estado estadoEntregada = catalogoEstados.buscarPorNombre(ESTADO_ENTREGADA)
                 .orElseThrow(() -> {
                     log.error("Estado '{}' no configurado.", ESTADO_ENTREGADA);
                     return new ResourceNotFoundException("Estado", ESTADO_ENTREGADA + " no configurado.");
@@ -198,6 +213,131 @@ public class SolicitudTransporteService {
         return contenedorService.marcarEnDeposito(solicitud.getContenedor().getId(), nombreDeposito);
     }
 
+    /**
+     * Aplica un lote de transiciones en una sola transacción: las solicitudes y los estados se cargan
+     * con una consulta cada uno y los históricos de los contenedores se insertan por JDBC en batch.
+     * Cada transición se valida por separado y devuelve su propio resultado; una transición rechazada
+     * no modifica nada y no impide aplicar las demás. Las transiciones se aplican en el orden recibido.
+     */
+    @Transactional
+    public List<ResultadoTransicionDto> aplicarTransiciones(List<TransicionSolicitudDto> transiciones) {
+        log.info("Aplicando lote de {} transiciones.", transiciones.size());
+
+        Set<Integer> ids = new HashSet<>();
+        Set<String> claves = new HashSet<>();
+        for (TransicionSolicitudDto transicion : transiciones) {
+            ids.add(transicion.getSolicitudId());
+            if (transicion.getClaveIdempotencia() != null) {
+                claves.add(transicion.getClaveIdempotencia());
+            }
+        }
+        Map<Integer, SolicitudTransporte> solicitudes = solicitudRepository.findConContenedorByIdIn(ids).stream()
+                .collect(Collectors.toMap(SolicitudTransporte::getId, Function.identity()));
+        Set<String> clavesProcesadas = new HashSet<>();
+        operacionProcesadaRepository.findAllById(claves).forEach(operacion -> clavesProcesadas.add(operacion.getClave()));
+
+        LoteCambiosContenedor lote = contenedorService.nuevoLote();
+        LocalDateTime ahora = LocalDateTime.now();
+        List<OperacionProcesada> operaciones = new ArrayList<>();
+        List<ResultadoTransicionDto> resultados = new ArrayList<>(transiciones.size());
+
+        for (TransicionSolicitudDto transicion : transiciones) {
+            ResultadoTransicionDto resultado = ResultadoTransicionDto.builder()
+                    .solicitudId(transicion.getSolicitudId())
+                    .claveIdempotencia(transicion.getClaveIdempotencia())
+                    .tipo(transicion.getTipo())
+                    .build();
+            resultados.add(resultado);
+
+            String clave = transicion.getClaveIdempotencia();
+            if (clave != null && !clavesProcesadas.add(clave)) {
+                resultado.setResultado(ResultadoTransicionDto.Resultado.SIN_CAMBIOS);
+                resultado.setMensaje("Transición ya aplicada con la misma clave de idempotencia.");
+                continue;
+            }
+
+            SolicitudTransporte solicitud = solicitudes.get(transicion.getSolicitudId());
+            try {
+                if (solicitud == null) {
+                    throw new ResourceNotFoundException(RESOURCE_SOLICITUD, transicion.getSolicitudId());
+                }
+                boolean aplicada = aplicarTransicion(lote, solicitud, transicion);
+                resultado.setResultado(aplicada ? ResultadoTransicionDto.Resultado.APLICADA
+                        : ResultadoTransicionDto.Resultado.SIN_CAMBIOS);
+                if (clave != null) {
+                    operaciones.add(new OperacionProcesada(clave, ahora));
+                }
+            } catch (ResourceNotFoundException | IllegalArgumentException e) {
+                log.warn("Transición {} de la solicitud ID: {} rechazada: {}", transicion.getTipo(),
+                        transicion.getSolicitudId(), e.getMessage());
+                resultado.setResultado(ResultadoTransicionDto.Resultado.RECHAZADA);
+                resultado.setMensaje(e.getMessage());
+                if (clave != null) {
+                    // Un rechazo no consume la clave: la transición puede reenviarse corregida
+                    clavesProcesadas.remove(clave);
+                }
+            }
+            if (solicitud != null) {
+                resultado.setEstadoSolicitud(solicitud.getEstado().getNombre());
+                resultado.setEstadoContenedor(solicitud.getContenedor().getEstadoActual().getNombre());
+            }
+        }
+
+        contenedorService.aplicarLote(lote);
+        operacionProcesadaRepository.saveAll(operaciones);
+        log.info("Lote de transiciones aplicado: {} de {} con cambios.", resultados.stream()
+                .filter(r -> r.getResultado() == ResultadoTransicionDto.Resultado.APLICADA).count(), transiciones.size());
+        return resultados;
+    }
+
+    // Valida todo antes de modificar, para que una transición rechazada no deje cambios a medias
+    private boolean aplicarTransicion(LoteCambiosContenedor lote, SolicitudTransporte solicitud,
+            TransicionSolicitudDto transicion) {
+        Contenedor contenedor = solicitud.getContenedor();
+        switch (transicion.getTipo()) {
+            case EN_TRANSITO -> {
+                Estado estadoEnTransito = lote.estado(ESTADO_EN_TRANSITO);
+                boolean contenedorCambiado = contenedorService.marcarEnViaje(lote, contenedor,
+                        solicitud.getDepositoOrigen().getNombre());
+                return cambiarEstado(solicitud, estadoEnTransito) || contenedorCambiado;
+            }
+            case ENTREGADA -> {
+                if (transicion.getCosto() == null || transicion.getTiempo() == null) {
+                    throw new IllegalArgumentException("El costo y el tiempo reales son obligatorios para marcar la solicitud como entregada.");
+                }
+                Estado estadoEntregada = lote.estado(ESTADO_ENTREGADA);
+                boolean contenedorCambiado = contenedorService.marcarComoEntregado(lote, contenedor);
+                boolean datosCambiados = !Objects.equals(solicitud.getCostoReal(), transicion.getCosto())
+                        || !Objects.equals(solicitud.getTiempoReal(), transicion.getTiempo());
+                solicitud.setCostoReal(transicion.getCosto());
+                solicitud.setTiempoReal(transicion.getTiempo());
+                return cambiarEstado(solicitud, estadoEntregada) || contenedorCambiado || datosCambiados;
+            }
+            case CONTENEDOR_EN_VIAJE -> {
+                return contenedorService.marcarEnViaje(lote, contenedor, depositoRequerido(transicion));
+            }
+            case CONTENEDOR_EN_DEPOSITO -> {
+                return contenedorService.marcarEnDeposito(lote, contenedor, depositoRequerido(transicion));
+            }
+            default -> throw new IllegalArgumentException("Tipo de transición no soportado: " + transicion.getTipo());
+        }
+    }
+
+    private boolean cambiarEstado(SolicitudTransporte solicitud, Estado estado) {
+        if (solicitud.getEstado().getId().equals(estado.getId())) {
+            return false;
+        }
+        solicitud.setEstado(estado);
+        return true;
+    }
+
+    private String depositoRequerido(TransicionSolicitudDto transicion) {
+        if (transicion.getDeposito() == null || transicion.getDeposito().isBlank()) {
+            throw new IllegalArgumentException("El nombre del depósito es obligatorio para la transición " + transicion.getTipo() + ".");
+        }
+        return transicion.getDeposito();
+    }
+
     public List<HistoricoEstadoContenedorDto> obtenerSeguimientoContenedor(Integer idSolicitud) {
         log.info("Obteniendo seguimiento de contenedor para Solicitud ID: {}", idSolicitud);
         SolicitudTransporte solicitud = solicitudRepository.findById(idSolicitud)
@@ -208,9 +348,10 @@ public class SolicitudTransporteService {
         return contenedorService.obtenerSeguimientoHistorico(solicitud.getContenedor().getId());
     }
 
+    @Transactional(readOnly = true)
     public Optional<SolicitudTransporteDto> buscarPorId(Integer id) {
         log.info("Buscando solicitud por ID: {}", id);
-        Optional<SolicitudTransporteDto> resultado = solicitudRepository.findById(id).map(this::mapearADto);
+        Optional<SolicitudTransporteDto> resultado = solicitudRepository.findConDetalleById(id).map(this::mapearADto);
         if (resultado.isPresent()) {
             log.info("Solicitud encontrada con ID: {}", id);
         } else {
@@ -219,18 +360,40 @@ public class SolicitudTransporteService {
         return resultado;
     }
 
+    @Transactional(readOnly = true)
     public List<SolicitudTransporteDto> buscarTodos() {
         log.info("Buscando todas las solicitudes.");
-        List<SolicitudTransporteDto> resultado = solicitudRepository.findAll().stream()
+        List<SolicitudTransporteDto> resultado = solicitudRepository.findAllConDetalle().stream()
                 .map(this::mapearADto)
                 .collect(Collectors.toList());
         log.info("Se encontraron {} solicitudes.", resultado.size());
         return resultado;
     }
 
+    // Página de solicitudes ordenadas por id, a partir del cursor recibido (null: primera página)
+    @Transactional(readOnly = true)
+    public PaginaDto<SolicitudTransporteDto> buscarPagina(String cursor, Integer limite) {
+        int despuesDe = PaginacionKeyset.despuesDe(cursor);
+        log.info("Buscando página de solicitudes a partir del ID {} (límite {}).", despuesDe, limite);
+        List<SolicitudTransporte> filas = solicitudRepository.findPaginaConDetalle(despuesDe,
+                PaginacionKeyset.limiteConSiguiente(limite));
+        return PaginacionKeyset.pagina(filas, limite, SolicitudTransporte::getId, this::mapearADto);
+    }
+
+    // Entrega todas las solicitudes al consumidor a medida que se leen, sin armar la lista en memoria
+    @Transactional(readOnly = true)
+    public long recorrerTodos(Consumer<SolicitudTransporteDto> consumidor) {
+        log.info("Recorriendo todas las solicitudes en modo streaming.");
+        long entregadas = PaginacionKeyset.recorrer(solicitudRepository.streamConDetalle(), entityManager,
+                this::mapearADto, consumidor);
+        log.info("Se entregaron {} solicitudes.", entregadas);
+        return entregadas;
+    }
+
+    @Transactional(readOnly = true)
     public List<SolicitudTransporteDto> buscarPorEstado(String nombreEstado) {
         log.info("Buscando solicitudes por estado: {}", nombreEstado);
-        List<SolicitudTransporteDto> resultado = solicitudRepository.findByEstadoNombre(nombreEstado).stream()
+        List<SolicitudTransporteDto> resultado = solicitudRepository.findConDetalleByEstadoNombre(nombreEstado).stream()
                 .map(this::mapearADto)
                 .toList();
         log.info("Se encontraron {} solicitudes con estado: {}", resultado.size(), nombreEstado);
@@ -242,10 +405,11 @@ public class SolicitudTransporteService {
         return buscarPorEstado(ESTADO_BORRADOR);
     }
 
+    @Transactional(readOnly = true)
     public List<SolicitudTransporteDto> buscarPorClienteId(Integer idCliente) {
         log.info("Buscando solicitudes para Cliente ID: {}", idCliente);
 
-        List<SolicitudTransporteDto> resultado = solicitudRepository.findByClienteId(idCliente).stream()
+        List<SolicitudTransporteDto> resultado = solicitudRepository.findConDetalleByClienteId(idCliente).stream()
                 .map(this::mapearADto)
                 .collect(Collectors.toList());
 
@@ -299,6 +463,8 @@ public class SolicitudTransporteService {
         return esDuenio;
     }
 
+    // Las lecturas deben traer la solicitud con SolicitudTransporteRepository.SELECT_CON_DETALLE:
+    // acá se recorren estado, contenedor y depósitos, que son LAZY
     private SolicitudTransporteDto mapearADto(SolicitudTransporte entity) {
         return SolicitudTransporteDto.builder()
                 .id(entity.getId())
@@ -309,9 +475,9 @@ public class SolicitudTransporteService {
                 .tiempoReal(entity.getTiempoReal())
                 .estado(entity.getEstado().getNombre())
                 .clienteId(entity.getCliente().getId())
-                .contenedor(modelMapper.map(entity.getContenedor(), ContenedorDto.class))
-                .depositoOrigen(modelMapper.map(entity.getDepositoOrigen(), DepositoDto.class))
-                .depositoDestino(modelMapper.map(entity.getDepositoDestino(), DepositoDto.class))
+                .contenedor(ContenedorMapper.aDto(entity.getContenedor()))
+                .depositoOrigen(DepositoMapper.aDto(entity.getDepositoOrigen()))
+                .depositoDestino(DepositoMapper.aDto(entity.getDepositoDestino()))
                 .build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package ar.edu.utn.frc.backend.solicitudes.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import ar.edu.utn.frc.backend.solicitudes.entities.Estado;
+import ar.edu.utn.frc.backend.solicitudes.repositories.EstadoRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CatalogoEstadosTest {
+
+	private final Estado borrador = new Estado(1, "Borrador", "Solicitud creada");
+	private final Estado programada = new Estado(2, "Programada", "Ruta asignada");
+
+	private EstadoRepository estadoRepository;
+	private SimpleMeterRegistry meterRegistry;
+	private CatalogoEstados catalogo;
+
+	@BeforeEach
+	void setUp() {
+		estadoRepository = mock(EstadoRepository.class);
+		when(estadoRepository.findAll()).thenReturn(List.of(borrador));
+		meterRegistry = new SimpleMeterRegistry();
+		catalogo = new CatalogoEstados(estadoRepository, meterRegistry);
+		catalogo.cargarAlIniciar();
+	}
+
+	@Test
+	void lasConsultasNoVuelvenALaBase() {
+		assertSame(borrador, catalogo.buscarPorNombre("Borrador").orElseThrow());
+		assertSame(borrador, catalogo.buscarPorId(1).orElseThrow());
+		assertSame(borrador, catalogo.buscarPorNombre("Borrador").orElseThrow());
+
+		verify(estadoRepository, times(1)).findAll();
+		assertEquals(1.0, meterRegistry.get("estados.catalogo.tamanio").gauge().value());
+	}
+
+	@Test
+	void unEstadoFaltanteRecargaUnaVez() {
+		when(estadoRepository.findAll()).thenReturn(List.of(borrador, programada));
+
+		assertSame(programada, catalogo.buscarPorNombre("Programada").orElseThrow());
+		assertFalse(catalogo.buscarPorNombre("Inexistente").isPresent());
+
+		verify(estadoRepository, times(3)).findAll();
+		assertEquals(2.0, meterRegistry.get("estados.catalogo.faltantes").counter().count());
+		assertEquals(2.0, meterRegistry.get("estados.catalogo.recargas").tag("motivo", "faltante").counter().count());
+	}
+
+	@Test
+	void recargarPublicaLosEstadosActuales() {
+		when(estadoRepository.findAll()).thenReturn(List.of(programada, borrador));
+
+		List<Estado> estados = catalogo.recargar();
+
+		assertEquals(List.of(borrador, programada), estados);
+		assertTrue(catalogo.porNombre().containsKey("Programada"));
+		assertEquals(1.0, meterRegistry.get("estados.catalogo.recargas").tag("motivo", "admin").counter().count());
+	}
+}
@@ -0,0 +1,73 @@
+package ar.edu.utn.frc.backend.solicitudes.services;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import ar.edu.utn.frc.backend.solicitudes.services.HistoricoEstadoContenedorService.NuevoHistorico;
+
+/**
+ * Verifica las sentencias en batch de registrarEnLote: un cierre por contenedor y, si un contenedor
+ * cambia varias veces en el lote, los históricos intermedios insertados ya cerrados.
+ */
+@ExtendWith(MockitoExtension.class)
+class HistoricoEstadoContenedorServiceTest {
+
+	private static final LocalDateTime T1 = LocalDateTime.of(2025, 11, 3, 10, 0);
+	private static final LocalDateTime T2 = T1.plusMinutes(5);
+	private static final LocalDateTime T3 = T1.plusMinutes(9);
+
+	@Mock
+	private JdbcTemplate jdbcTemplate;
+
+	@InjectMocks
+	private HistoricoEstadoContenedorService service;
+
+	@Captor
+	private ArgumentCaptor<List<Object[]>> cierres;
+
+	@Captor
+	private ArgumentCaptor<List<Object[]>> inserciones;
+
+	@Test
+	void cierraUnaVezPorContenedorEInsertaIntermediosCerrados() {
+		service.registrarEnLote(List.of(
+				new NuevoHistorico(1, 10, T1, "En depósito A"),
+				new NuevoHistorico(2, 11, T2, "En viaje"),
+				new NuevoHistorico(1, 11, T3, "En viaje desde A")));
+
+		verify(jdbcTemplate).batchUpdate(startsWith("UPDATE"), cierres.capture(), any(int[].class));
+		verify(jdbcTemplate).batchUpdate(startsWith("INSERT"), inserciones.capture(), any(int[].class));
+
+		assertEquals(2, cierres.getValue().size());
+		assertArrayEquals(new Object[] {T1, 1}, cierres.getValue().get(0));
+		assertArrayEquals(new Object[] {T2, 2}, cierres.getValue().get(1));
+
+		assertEquals(3, inserciones.getValue().size());
+		assertArrayEquals(new Object[] {T1, T3, "En depósito A", 10, 1}, inserciones.getValue().get(0));
+		assertArrayEquals(new Object[] {T3, null, "En viaje desde A", 11, 1}, inserciones.getValue().get(1));
+		assertArrayEquals(new Object[] {T2, null, "En viaje", 11, 2}, inserciones.getValue().get(2));
+	}
+
+	@Test
+	void loteVacioNoEjecutaSentencias() {
+		service.registrarEnLote(List.of());
+
+		verifyNoInteractions(jdbcTemplate);
+	}
+}
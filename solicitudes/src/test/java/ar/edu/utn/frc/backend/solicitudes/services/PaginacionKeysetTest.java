@@ -0,0 +1,70 @@
+package ar.edu.utn.frc.backend.solicitudes.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import ar.edu.utn.frc.backend.solicitudes.dto.PaginaDto;
+import jakarta.persistence.EntityManager;
+
+class PaginacionKeysetTest {
+
+	@Test
+	void cursorIdaYVuelta() {
+		assertEquals(0, PaginacionKeyset.despuesDe(null));
+		assertEquals(0, PaginacionKeyset.despuesDe(" "));
+		assertEquals(1234, PaginacionKeyset.despuesDe(PaginacionKeyset.cursor(1234)));
+	}
+
+	@Test
+	void cursorAdulteradoOLimiteFueraDeRangoSonInvalidos() {
+		assertThrows(IllegalArgumentException.class, () -> PaginacionKeyset.despuesDe("no es base64!"));
+		assertThrows(IllegalArgumentException.class, () -> PaginacionKeyset.despuesDe("MTIz"));
+		assertThrows(IllegalArgumentException.class, () -> PaginacionKeyset.tamanioPagina(0));
+		assertThrows(IllegalArgumentException.class,
+				() -> PaginacionKeyset.tamanioPagina(PaginacionKeyset.LIMITE_MAXIMO + 1));
+	}
+
+	@Test
+	void laFilaSobranteIndicaQueHayPaginaSiguiente() {
+		// Se leen limite + 1 filas: ids 1..4 con límite 3
+		PaginaDto<String> pagina = PaginacionKeyset.pagina(List.of(1, 2, 3, 4), 3, Function.identity(),
+				id -> "c" + id);
+
+		assertEquals(List.of("c1", "c2", "c3"), pagina.getItems());
+		assertEquals(3, PaginacionKeyset.despuesDe(pagina.getSiguienteCursor()));
+
+		PaginaDto<String> ultima = PaginacionKeyset.pagina(List.of(4), 3, Function.identity(), id -> "c" + id);
+		assertEquals(List.of("c4"), ultima.getItems());
+		assertNull(ultima.getSiguienteCursor());
+	}
+
+	@Test
+	void recorrerEntregaTodoVaciaElContextoPorBloqueYCierraElStream() {
+		EntityManager entityManager = mock(EntityManager.class);
+		AtomicBoolean cerrado = new AtomicBoolean();
+		List<Integer> recibidos = new ArrayList<>();
+		int total = PaginacionKeyset.TAMANIO_FETCH * 2 + 1;
+
+		long entregados = PaginacionKeyset.recorrer(
+				IntStream.rangeClosed(1, total).boxed().onClose(() -> cerrado.set(true)),
+				entityManager, Function.identity(), recibidos::add);
+
+		assertEquals(total, entregados);
+		assertEquals(total, recibidos.size());
+		verify(entityManager, times(2)).clear();
+		assertTrue(cerrado.get());
+	}
+}
@@ -0,0 +1,146 @@
+package ar.edu.utn.frc.backend.solicitudes.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import ar.edu.utn.frc.backend.solicitudes.dto.PaginaDto;
+import ar.edu.utn.frc.backend.solicitudes.dto.SolicitudTransporteDto;
+import ar.edu.utn.frc.backend.solicitudes.entities.Ciudad;
+import ar.edu.utn.frc.backend.solicitudes.entities.Cliente;
+import ar.edu.utn.frc.backend.solicitudes.entities.Contenedor;
+import ar.edu.utn.frc.backend.solicitudes.entities.Deposito;
+import ar.edu.utn.frc.backend.solicitudes.entities.Estado;
+import ar.edu.utn.frc.backend.solicitudes.entities.SolicitudTransporte;
+
+/**
+ * Verifica con las estadísticas de Hibernate que las lecturas de solicitudes se resuelven con una
+ * única sentencia SQL, sin importar cuántas filas se devuelvan (sin N+1 por las relaciones LAZY).
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SolicitudTransporteService.class)
+class SolicitudTransporteServiceConsultasTest {
+
+	private static final int SOLICITUDES = 5;
+
+	@Autowired
+	private SolicitudTransporteService service;
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@MockitoBean
+	private ContenedorService contenedorService;
+	@MockitoBean
+	private CatalogoEstados catalogoEstados;
+
+	private Statistics estadisticas;
+	private Integer clienteId;
+	private Integer primeraSolicitudId;
+
+	@BeforeEach
+	void preparar() {
+		Estado borrador = testEntityManager.persist(Estado.builder().nombre("Borrador").descripcion("Borrador").build());
+		Estado enDeposito = testEntityManager.persist(Estado.builder().nombre("En Depósito").descripcion("En depósito").build());
+		Ciudad cordoba = testEntityManager.persist(new Ciudad(null, "Córdoba", "5000"));
+		Ciudad rosario = testEntityManager.persist(new Ciudad(null, "Rosario", "2000"));
+		Deposito origen = testEntityManager.persist(deposito("Depósito Norte", cordoba));
+		Deposito destino = testEntityManager.persist(deposito("Depósito Sur", rosario));
+		Cliente cliente = testEntityManager.persist(Cliente.builder().nombre("Ana").apellido("Pérez")
+				.email("ana@example.com").dni("30111222").build());
+		clienteId = cliente.getId();
+
+		for (int i = 0; i < SOLICITUDES; i++) {
+			Contenedor contenedor = testEntityManager.persist(Contenedor.builder()
+					.volumen(new BigDecimal("10.00")).peso(new BigDecimal("500.00")).estadoActual(enDeposito).build());
+			SolicitudTransporte solicitud = testEntityManager.persist(SolicitudTransporte.builder()
+					.fechaSolicitud(LocalDateTime.of(2025, 11, 1, 8, 0)).estado(borrador).cliente(cliente)
+					.contenedor(contenedor).depositoOrigen(origen).depositoDestino(destino).build());
+			if (primeraSolicitudId == null) {
+				primeraSolicitudId = solicitud.getId();
+			}
+		}
+		// Se vacía el contexto para que las relaciones vuelvan a ser proxies LAZY como en una petición real
+		testEntityManager.flush();
+		testEntityManager.clear();
+
+		estadisticas = testEntityManager.getEntityManager().getEntityManagerFactory()
+				.unwrap(SessionFactory.class).getStatistics();
+	}
+
+	@Test
+	void buscarTodosUsaUnaSolaConsulta() {
+		List<SolicitudTransporteDto> solicitudes = contandoConsultas(service::buscarTodos);
+
+		assertEquals(SOLICITUDES, solicitudes.size());
+		SolicitudTransporteDto primera = solicitudes.get(0);
+		assertEquals("Borrador", primera.getEstado());
+		assertEquals(clienteId, primera.getClienteId());
+		assertEquals("En Depósito", primera.getContenedor().getEstadoActual());
+		assertEquals("Depósito Norte", primera.getDepositoOrigen().getNombre());
+		assertEquals("Depósito Sur", primera.getDepositoDestino().getNombre());
+		assertEquals("Rosario", primera.getDepositoDestino().getCiudad());
+	}
+
+	@Test
+	void buscarPorEstadoYPorClienteUsanUnaSolaConsulta() {
+		assertEquals(SOLICITUDES, contandoConsultas(() -> service.buscarPorEstado("Borrador")).size());
+		assertEquals(SOLICITUDES, contandoConsultas(() -> service.buscarPorClienteId(clienteId)).size());
+		assertTrue(contandoConsultas(() -> service.buscarPorEstado("Entregada")).isEmpty());
+	}
+
+	@Test
+	void buscarPorIdUsaUnaSolaConsulta() {
+		Optional<SolicitudTransporteDto> solicitud = contandoConsultas(() -> service.buscarPorId(primeraSolicitudId));
+
+		assertTrue(solicitud.isPresent());
+		assertEquals("Depósito Sur", solicitud.get().getDepositoDestino().getNombre());
+	}
+
+	@Test
+	void paginaKeysetUsaUnaSolaConsultaYContinuaDesdeElCursor() {
+		PaginaDto<SolicitudTransporteDto> primera = contandoConsultas(() -> service.buscarPagina(null, 3));
+		PaginaDto<SolicitudTransporteDto> segunda = contandoConsultas(
+				() -> service.buscarPagina(primera.getSiguienteCursor(), 3));
+
+		assertEquals(3, primera.getItems().size());
+		assertEquals(primeraSolicitudId, primera.getItems().get(0).getId());
+		assertEquals(SOLICITUDES - 3, segunda.getItems().size());
+		assertEquals(primeraSolicitudId + 3, segunda.getItems().get(0).getId());
+		assertNull(segunda.getSiguienteCursor());
+	}
+
+	private <T> T contandoConsultas(Supplier<T> lectura) {
+		estadisticas.clear();
+		T resultado = lectura.get();
+		assertEquals(1, estadisticas.getPrepareStatementCount(), "Sentencias SQL ejecutadas");
+		testEntityManager.clear();
+		return resultado;
+	}
+
+	private static Deposito deposito(String nombre, Ciudad ciudad) {
+		Deposito deposito = new Deposito();
+		deposito.setNombre(nombre);
+		deposito.setDireccion("Calle 123");
+		deposito.setPrecioPorDia(new BigDecimal("1000.00"));
+		deposito.setLatitud(-31.4f);
+		deposito.setLongitud(-64.2f);
+		deposito.setCiudad(ciudad);
+		return deposito;
+	}
+}